@@ -0,0 +1,107 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.audio;
+
+import net.dv8tion.jda.core.entities.User;
+import net.dv8tion.jda.core.entities.impl.UserImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mixes one 20ms frame of combined audio for 1 to 25 speakers.
+ *
+ * <p>{@link #mixer()} uses the {@link AudioMixer} and releases the result like a handler that reads the data once,
+ * so the frames come from its pool. {@link #linkedLists()} repeats the mix the playout used before the mixer,
+ * collecting users and frames in LinkedLists and allocating a new frame for every mix.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class AudioMixerBenchmark
+{
+    @Param({"1", "5", "10", "25"})
+    public int speakers;
+
+    private User[] users;
+    private short[][] frames;
+    private AudioMixer mixer;
+
+    @Setup
+    public void setup()
+    {
+        Random random = new Random(0);
+        users = new User[speakers];
+        frames = new short[speakers][AudioMixer.FRAME_LENGTH];
+        for (int i = 0; i < speakers; i++)
+        {
+            users[i] = new UserImpl(i + 1, null);
+            for (int j = 0; j < AudioMixer.FRAME_LENGTH; j++)
+                frames[i][j] = (short) (random.nextGaussian() * 4000);
+        }
+        mixer = new AudioMixer();
+    }
+
+    @Benchmark
+    public short[] mixer()
+    {
+        for (int i = 0; i < speakers; i++)
+            mixer.add(users[i], frames[i]);
+        CombinedAudio audio = mixer.mix();
+        short[] data = audio.audioData;
+        audio.release();
+        return data;
+    }
+
+    @Benchmark
+    public CombinedAudio linkedLists()
+    {
+        List<User> users = new LinkedList<>();
+        List<short[]> audioParts = new LinkedList<>();
+        for (int i = 0; i < speakers; i++)
+        {
+            users.add(this.users[i]);
+            audioParts.add(frames[i]);
+        }
+        if (audioParts.isEmpty())
+            return new CombinedAudio(Collections.emptyList(), new short[AudioMixer.FRAME_LENGTH]);
+
+        int audioLength = audioParts.get(0).length;
+        short[] mix = new short[AudioMixer.FRAME_LENGTH];
+        int sample;
+        for (int i = 0; i < audioLength; i++)
+        {
+            sample = 0;
+            for (short[] audio : audioParts)
+                sample += audio[i];
+            if (sample > Short.MAX_VALUE)
+                mix[i] = Short.MAX_VALUE;
+            else if (sample < Short.MIN_VALUE)
+                mix[i] = Short.MIN_VALUE;
+            else
+                mix[i] = (short) sample;
+        }
+        return new CombinedAudio(users, mix);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.entities;
+
+import net.dv8tion.jda.core.entities.impl.JDAImpl;
+import net.dv8tion.jda.core.utils.SessionStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a cold start, building every Guild from its GUILD_CREATE json, with a warm start that restores
+ * the same cache from an {@link EntitySnapshot}.
+ *
+ * <p>The snapshot file is written once and deleted on teardown, which also checks that restoring
+ * does not keep the file open. The sizes of the json corpus and the snapshot are printed once the snapshot was written.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class EntitySnapshotBenchmark
+{
+    private static final String SESSION_ID = "snapshot-benchmark";
+
+    @Param({"10000"})
+    public int guilds;
+
+    @Param({"25"})
+    public int membersPerGuild;
+
+    private GuildCorpus corpus;
+    private File snapshot;
+    private JDAImpl api;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException
+    {
+        corpus = new GuildCorpus(guilds, membersPerGuild);
+        snapshot = File.createTempFile("jda-snapshot", ".bin");
+
+        JDAImpl source = GuildCorpus.createApi();
+        corpus.load(source);
+        EntitySnapshot.write(source, new SessionStore.Session(SESSION_ID, 1), snapshot);
+
+        long jsonBytes = 0;
+        for (String guild : corpus.getGuilds())
+            jsonBytes += guild.length();
+        System.out.printf("%n%d guilds with %d members, %d bytes of json, %d bytes of snapshot%n",
+            guilds, corpus.getMemberCount(), jsonBytes, snapshot.length());
+    }
+
+    @Setup(Level.Invocation)
+    public void createApi()
+    {
+        api = GuildCorpus.createApi();
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() throws IOException
+    {
+        Files.delete(snapshot.toPath());
+    }
+
+    @Benchmark
+    public JDAImpl coldJson()
+    {
+        corpus.load(api);
+        return api;
+    }
+
+    @Benchmark
+    public JDAImpl warmSnapshot() throws IOException
+    {
+        if (EntitySnapshot.read(api, SESSION_ID, snapshot) == null)
+            throw new IllegalStateException("Snapshot was not restored");
+        return api;
+    }
+}
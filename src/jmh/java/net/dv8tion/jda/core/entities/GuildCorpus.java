@@ -0,0 +1,223 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.dv8tion.jda.core.entities;
+
+import net.dv8tion.jda.core.AccountType;
+import net.dv8tion.jda.core.entities.impl.JDAImpl;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Synthetic READY / GUILD_CREATE corpus shared by the entity benchmarks.
+ * <br>Every guild has two roles, a text and a voice channel with overrides, an emote, a voice state
+ * and the configured amount of members with presences. Member ids overlap between guilds
+ * the same way they do for real bots, every user is a member of {@link #GUILDS_PER_USER} guilds.
+ */
+public class GuildCorpus
+{
+    public static final long SELF_ID = 1;
+    public static final int GUILDS_PER_USER = 4;
+
+    private final List<String> guilds;
+    private final int members;
+
+    /**
+     * Generates the corpus.
+     *
+     * @param  guildCount
+     *         The amount of guilds
+     * @param  membersPerGuild
+     *         The amount of members in every guild, not counting the bot itself
+     */
+    public GuildCorpus(int guildCount, int membersPerGuild)
+    {
+        this.guilds = new ArrayList<>(guildCount);
+        this.members = membersPerGuild;
+        for (int i = 0; i < guildCount; i++)
+            guilds.add(createGuild(i).toString());
+    }
+
+    /**
+     * The raw GUILD_CREATE payloads, as received from the gateway.
+     *
+     * @return Immutable list of the json strings
+     */
+    public List<String> getGuilds()
+    {
+        return guilds;
+    }
+
+    /**
+     * The total amount of members in the corpus, including the bot itself.
+     *
+     * @return The member count
+     */
+    public long getMemberCount()
+    {
+        return (long) guilds.size() * (members + 1);
+    }
+
+    /**
+     * Creates an empty bot account JDA instance that was not logged in.
+     *
+     * @return The new JDA instance
+     */
+    public static JDAImpl createApi()
+    {
+        return new JDAImpl(AccountType.BOT, null, null, false, false, false, true);
+    }
+
+    /**
+     * Parses and builds the whole corpus through the {@link net.dv8tion.jda.core.entities.EntityBuilder EntityBuilder},
+     * the same way the guilds of a READY are built.
+     *
+     * @param  api
+     *         The JDA instance to fill
+     */
+    public void load(JDAImpl api)
+    {
+        EntityBuilder builder = EntityBuilder.get(api);
+        builder.createSelfUser(createUser(SELF_ID)
+                .put("verified", true)
+                .put("mfa_enabled", false)
+                .put("bot", true));
+        for (String guild : guilds)
+            builder.createGuildFirstPass(new JSONObject(guild), null);
+    }
+
+    private JSONObject createGuild(int index)
+    {
+        final long guildId = 81384788765712384L + index * 16L;
+        JSONArray roles = new JSONArray()
+                .put(createRole(guildId, "@everyone", 0, 104324161, 0))
+                .put(createRole(guildId + 1, "Moderator", 1, 8, 0x1F8B4C));
+
+        JSONArray memberArray = new JSONArray();
+        JSONArray presences = new JSONArray();
+        //Spread the members so that every user shares GUILDS_PER_USER guilds
+        long firstUser = 100000000000000000L + (long) (index / GUILDS_PER_USER) * members;
+        for (int i = 0; i < members; i++)
+        {
+            long userId = firstUser + i;
+            memberArray.put(new JSONObject()
+                    .put("user", createUser(userId))
+                    .put("nick", i % 5 == 0 ? "Nick " + i : JSONObject.NULL)
+                    .put("roles", new JSONArray().put(i % 10 == 0 ? guildId + 1 : guildId))
+                    .put("joined_at", "2017-03-12T18:45:21.137000+00:00")
+                    .put("mute", false)
+                    .put("deaf", false));
+            presences.put(new JSONObject()
+                    .put("user", new JSONObject().put("id", userId))
+                    .put("status", i % 3 == 0 ? "offline" : "online")
+                    .put("game", i % 7 == 0 ? new JSONObject().put("name", "Game " + i).put("type", 0) : JSONObject.NULL));
+        }
+        memberArray.put(new JSONObject()
+                .put("user", createUser(SELF_ID))
+                .put("roles", new JSONArray().put(guildId + 1))
+                .put("joined_at", "2017-01-01T00:00:00.000000+00:00")
+                .put("mute", false)
+                .put("deaf", false));
+
+        JSONArray channels = new JSONArray()
+                .put(new JSONObject()
+                        .put("id", guildId)
+                        .put("type", 0)
+                        .put("name", "general")
+                        .put("topic", "General discussion")
+                        .put("position", 0)
+                        .put("permission_overwrites", new JSONArray()
+                                .put(createOverride(guildId + 1, "role", 1024, 0))
+                                .put(createOverride(firstUser, "member", 0, 2048))))
+                .put(new JSONObject()
+                        .put("id", guildId + 2)
+                        .put("type", 2)
+                        .put("name", "Voice")
+                        .put("position", 1)
+                        .put("user_limit", 0)
+                        .put("bitrate", 64000)
+                        .put("permission_overwrites", new JSONArray()));
+        JSONArray voiceStates = new JSONArray()
+                .put(new JSONObject()
+                        .put("user_id", firstUser)
+                        .put("channel_id", guildId + 2)
+                        .put("session_id", "voice-session")
+                        .put("self_mute", false)
+                        .put("self_deaf", false)
+                        .put("mute", false)
+                        .put("deaf", false)
+                        .put("suppress", false));
+        JSONArray emojis = new JSONArray()
+                .put(new JSONObject()
+                        .put("id", guildId + 3)
+                        .put("name", "jda")
+                        .put("managed", false)
+                        .put("roles", new JSONArray()));
+
+        return new JSONObject()
+                .put("id", guildId)
+                .put("name", "Guild " + index)
+                .put("icon", JSONObject.NULL)
+                .put("splash", JSONObject.NULL)
+                .put("region", "us-central")
+                .put("owner_id", firstUser)
+                .put("afk_timeout", 300)
+                .put("afk_channel_id", guildId + 2)
+                .put("verification_level", 1)
+                .put("default_message_notifications", 0)
+                .put("mfa_level", 0)
+                .put("member_count", members + 1)
+                .put("roles", roles)
+                .put("emojis", emojis)
+                .put("members", memberArray)
+                .put("presences", presences)
+                .put("channels", channels)
+                .put("voice_states", voiceStates);
+    }
+
+    private static JSONObject createUser(long id)
+    {
+        return new JSONObject()
+                .put("id", Long.toUnsignedString(id))
+                .put("username", "User " + id)
+                .put("discriminator", String.format("%04d", id % 10000))
+                .put("avatar", id % 2 == 0 ? JSONObject.NULL : "a0b1c2d3e4f5a6b7c8d9e0f1a2b3c4d5");
+    }
+
+    private static JSONObject createRole(long id, String name, int position, long permissions, int color)
+    {
+        return new JSONObject()
+                .put("id", id)
+                .put("name", name)
+                .put("position", position)
+                .put("permissions", permissions)
+                .put("managed", false)
+                .put("hoist", color != 0)
+                .put("mentionable", false)
+                .put("color", color);
+    }
+
+    private static JSONObject createOverride(long id, String type, long allow, long deny)
+    {
+        return new JSONObject()
+                .put("id", id)
+                .put("type", type)
+                .put("allow", allow)
+                .put("deny", deny);
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.dv8tion.jda.core.entities;
+
+import gnu.trove.map.TLongObjectMap;
+import net.dv8tion.jda.core.entities.impl.GuildImpl;
+import net.dv8tion.jda.core.entities.impl.JDAImpl;
+import net.dv8tion.jda.core.utils.MiscUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the long keyed snowflake caches with the String keyed HashMaps they replaced.
+ *
+ * <p>{@link #lookupStringKeyed()} and {@link #lookupLongKeyed()} resolve an id as it arrives in a payload.
+ * Both start from a freshly decoded String, as the previous caches had to hash that String while
+ * the long keyed caches parse it once.
+ *
+ * <p>The heap benchmarks report the retained heap as secondary results,
+ * {@code bytesPerMember} for the whole entity cache built from a READY corpus and
+ * {@code stringKeyedBytesPerEntry} / {@code longKeyedBytesPerEntry} for a member index keyed either way.
+ * Their timings include the forced garbage collections and are meaningless.
+ * Every iteration runs a single invocation and only one iteration is measured, as JMH sums event counters over all iterations.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class SnowflakeCacheBenchmark
+{
+    private static final int LOOKUP_ENTRIES = 250_000;
+
+    private char[][] idChars;
+    private Map<String, Object> stringKeyed;
+    private TLongObjectMap<Object> longKeyed;
+
+    @Setup
+    public void setup()
+    {
+        idChars = new char[LOOKUP_ENTRIES][];
+        stringKeyed = new HashMap<>();
+        longKeyed = MiscUtil.newLongMap();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < LOOKUP_ENTRIES; i++)
+        {
+            long id = random.nextLong(1L << 62);
+            Object value = new Object();
+            idChars[i] = Long.toUnsignedString(id).toCharArray();
+            stringKeyed.put(Long.toUnsignedString(id), value);
+            longKeyed.put(id, value);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Object lookupStringKeyed()
+    {
+        int index = ThreadLocalRandom.current().nextInt(LOOKUP_ENTRIES);
+        return stringKeyed.get(new String(idChars[index]));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Object lookupLongKeyed()
+    {
+        int index = ThreadLocalRandom.current().nextInt(LOOKUP_ENTRIES);
+        return longKeyed.get(MiscUtil.parseSnowflake(new String(idChars[index])));
+    }
+
+    @State(Scope.Benchmark)
+    public static class Corpus
+    {
+        @Param({"2500"})
+        public int guilds;
+
+        @Param({"100"})
+        public int membersPerGuild;
+
+        GuildCorpus corpus;
+        JDAImpl api;
+
+        @Setup
+        public void setup()
+        {
+            corpus = new GuildCorpus(guilds, membersPerGuild);
+            api = GuildCorpus.createApi();
+            corpus.load(api);
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class CacheHeap
+    {
+        public double bytesPerMember;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class IndexHeap
+    {
+        public double stringKeyedBytesPerEntry;
+        public double longKeyedBytesPerEntry;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 1, time = 1)
+    @Measurement(iterations = 1, time = 1)
+    public JDAImpl entityCacheHeap(Corpus corpus, CacheHeap heap)
+    {
+        long before = usedHeap();
+        JDAImpl api = GuildCorpus.createApi();
+        corpus.corpus.load(api);
+        heap.bytesPerMember = (double) (usedHeap() - before) / corpus.corpus.getMemberCount();
+        return api;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 1, time = 1)
+    @Measurement(iterations = 1, time = 1)
+    public void memberIndexHeap(Corpus corpus, IndexHeap heap, Blackhole blackhole)
+    {
+        long entries = corpus.corpus.getMemberCount();
+
+        long before = usedHeap();
+        Map<String, Map<String, Member>> stringKeyed = new HashMap<>();
+        for (Guild guild : corpus.api.getGuildMap().valueCollection())
+        {
+            Map<String, Member> members = new HashMap<>();
+            for (Member member : ((GuildImpl) guild).getMembersMap().valueCollection())
+                members.put(member.getUser().getId(), member);
+            stringKeyed.put(guild.getId(), members);
+        }
+        heap.stringKeyedBytesPerEntry = (double) (usedHeap() - before) / entries;
+        blackhole.consume(stringKeyed);
+        stringKeyed = null;
+
+        before = usedHeap();
+        TLongObjectMap<TLongObjectMap<Member>> longKeyed = MiscUtil.newLongMap();
+        for (Guild guild : corpus.api.getGuildMap().valueCollection())
+        {
+            TLongObjectMap<Member> members = MiscUtil.newLongMap();
+            for (Member member : ((GuildImpl) guild).getMembersMap().valueCollection())
+                members.put(member.getUser().getIdLong(), member);
+            longKeyed.put(guild.getIdLong(), members);
+        }
+        heap.longKeyedBytesPerEntry = (double) (usedHeap() - before) / entries;
+        blackhole.consume(longKeyed);
+    }
+
+    private static long usedHeap()
+    {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 4; i++)
+            System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.hooks;
+
+import net.dv8tion.jda.core.events.Event;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the events per second that reach a listener, fired by a single thread like the WebSocket thread.
+ * <br>The {@link InterfacedEventManager} handles every event on the firing thread, the {@link AsyncEventManager}
+ * spreads them over its worker threads. The events are spread over {@value #KEYS} keys, like the guilds of a bot,
+ * and each one costs the listener {@code work} tokens of cpu time.
+ *
+ * <p>The interfaced baseline does not use any workers, it is the same for every thread count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class AsyncEventManagerBenchmark
+{
+    private static final int EVENTS = 10000;
+    private static final int KEYS = 100;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    @Param({"0", "500"})
+    public int work;
+
+    private Event[] events;
+    private CountingListener listener;
+    private InterfacedEventManager interfaced;
+    private AsyncEventManager async;
+
+    @Setup
+    public void setup()
+    {
+        events = new Event[EVENTS];
+        for (int i = 0; i < EVENTS; i++)
+            events[i] = new KeyedEvent(i % KEYS);
+        listener = new CountingListener(work);
+
+        interfaced = new InterfacedEventManager();
+        interfaced.register(listener);
+        async = new AsyncEventManager(new InterfacedEventManager(), threads, AsyncEventManager.DEFAULT_QUEUE_CAPACITY)
+                .setKeyMapper(Event::getResponseNumber);
+        async.register(listener);
+    }
+
+    @TearDown
+    public void teardown()
+    {
+        async.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public long interfacedEventManager()
+    {
+        for (Event event : events)
+            interfaced.handle(event);
+        return listener.handled.sum();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public long asyncEventManager()
+    {
+        final long target = listener.handled.sum() + EVENTS;
+        for (Event event : events)
+            async.handle(event);
+        //An invocation ends once every event was handled, not when the last one was queued
+        long handled;
+        while ((handled = listener.handled.sum()) < target)
+            Thread.yield();
+        return handled;
+    }
+
+    private static class KeyedEvent extends Event
+    {
+        private KeyedEvent(long key)
+        {
+            super(null, key);
+        }
+    }
+
+    private static class CountingListener implements EventListener
+    {
+        private final LongAdder handled = new LongAdder();
+        private final int work;
+
+        private CountingListener(int work)
+        {
+            this.work = work;
+        }
+
+        @Override
+        public void onEvent(Event event)
+        {
+            Blackhole.consumeCPU(work);
+            handled.increment();
+        }
+    }
+}
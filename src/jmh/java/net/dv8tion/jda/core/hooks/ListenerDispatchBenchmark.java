@@ -0,0 +1,141 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.hooks;
+
+import net.dv8tion.jda.core.OnlineStatus;
+import net.dv8tion.jda.core.entities.*;
+import net.dv8tion.jda.core.entities.impl.JDAImpl;
+import net.dv8tion.jda.core.events.Event;
+import net.dv8tion.jda.core.events.guild.member.GuildMemberJoinEvent;
+import net.dv8tion.jda.core.events.message.MessageReceivedEvent;
+import net.dv8tion.jda.core.events.message.guild.GuildMessageReceivedEvent;
+import net.dv8tion.jda.core.events.user.UserOnlineStatusUpdateEvent;
+import net.dv8tion.jda.core.events.user.UserTypingEvent;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatches common events to a {@link ListenerAdapter}, directly and through an {@link InterfacedEventManager}.
+ * <br>The listener overrides the message and member join methods like a typical bot, so some of the events
+ * only reach {@link ListenerAdapter#onGenericEvent(Event) onGenericEvent}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class ListenerDispatchBenchmark
+{
+    @Param({"MessageReceived", "GuildMessageReceived", "UserTyping", "UserOnlineStatusUpdate", "GuildMemberJoin"})
+    public String eventType;
+
+    private Event event;
+    private CountingListener listener;
+    private InterfacedEventManager manager;
+
+    @Setup
+    public void setup()
+    {
+        JDAImpl api = GuildCorpus.createApi();
+        new GuildCorpus(1, 10).load(api);
+        Guild guild = api.getGuilds().get(0);
+        TextChannel channel = guild.getTextChannels().get(0);
+        Member member = guild.getMembers().get(0);
+        Message message = EntityBuilder.get(api).createMessage(new JSONObject()
+                .put("id", "400000000000000000")
+                .put("type", 0)
+                .put("channel_id", channel.getId())
+                .put("author", new JSONObject()
+                        .put("id", member.getUser().getId())
+                        .put("username", member.getUser().getName())
+                        .put("discriminator", member.getUser().getDiscriminator())
+                        .put("avatar", JSONObject.NULL))
+                .put("content", "!ping")
+                .put("timestamp", "2017-09-01T12:00:00.000000+00:00")
+                .put("mentions", new JSONArray())
+                .put("mention_roles", new JSONArray())
+                .put("attachments", new JSONArray())
+                .put("embeds", new JSONArray()));
+
+        switch (eventType)
+        {
+            case "MessageReceived":
+                event = new MessageReceivedEvent(api, 1, message);
+                break;
+            case "GuildMessageReceived":
+                event = new GuildMessageReceivedEvent(api, 1, message);
+                break;
+            case "UserTyping":
+                event = new UserTypingEvent(api, 1, member.getUser(), channel, OffsetDateTime.now());
+                break;
+            case "UserOnlineStatusUpdate":
+                event = new UserOnlineStatusUpdateEvent(api, 1, member.getUser(), guild, OnlineStatus.IDLE);
+                break;
+            case "GuildMemberJoin":
+                event = new GuildMemberJoinEvent(api, 1, guild, member);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown event type " + eventType);
+        }
+
+        listener = new CountingListener();
+        manager = new InterfacedEventManager();
+        manager.register(listener);
+    }
+
+    @Benchmark
+    public long listenerAdapter()
+    {
+        listener.onEvent(event);
+        return listener.count;
+    }
+
+    @Benchmark
+    public long eventManager()
+    {
+        manager.handle(event);
+        return listener.count;
+    }
+
+    public static class CountingListener extends ListenerAdapter
+    {
+        long count;
+
+        @Override
+        public void onMessageReceived(MessageReceivedEvent event)
+        {
+            count++;
+        }
+
+        @Override
+        public void onGuildMessageReceived(GuildMessageReceivedEvent event)
+        {
+            count++;
+        }
+
+        @Override
+        public void onGuildMemberJoin(GuildMemberJoinEvent event)
+        {
+            count++;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.requests;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compiles {@link Route.Messages#SEND_MESSAGE}, the most frequently compiled route.
+ * <br>{@link #compile()} uses the pre-split templates, {@link #format()} runs the code that was used before,
+ * which fills the url and the ratelimit route with {@code String.format}.
+ * {@link #compileAndHash()} includes the hash lookup the ratelimiter does for every request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class RouteCompileBenchmark
+{
+    private static final int CHANNELS = 1024;
+    //channel_id is the only parameter of SEND_MESSAGE and its major parameter
+    private static final List<Integer> SEND_MESSAGE_MAJOR_PARAMS = new ArrayList<>(Collections.singletonList(0));
+
+    private String[] channelIds;
+
+    @Setup
+    public void setup()
+    {
+        channelIds = new String[CHANNELS];
+        for (int i = 0; i < CHANNELS; i++)
+            channelIds[i] = Long.toUnsignedString(ThreadLocalRandom.current().nextLong(1L << 62));
+    }
+
+    @Benchmark
+    public Route.CompiledRoute compile()
+    {
+        return Route.Messages.SEND_MESSAGE.compile(nextChannel());
+    }
+
+    @Benchmark
+    public int compileAndHash()
+    {
+        return Route.Messages.SEND_MESSAGE.compile(nextChannel()).hashCode();
+    }
+
+    @Benchmark
+    public FormattedRoute format()
+    {
+        return format(Route.Messages.SEND_MESSAGE, SEND_MESSAGE_MAJOR_PARAMS, nextChannel());
+    }
+
+    private String nextChannel()
+    {
+        return channelIds[ThreadLocalRandom.current().nextInt(CHANNELS)];
+    }
+
+    //The body of Route.compile(String...) before the templates were pre-split
+    private static FormattedRoute format(Route route, List<Integer> majorParamIndexes, String... params)
+    {
+        if (params.length != route.getParamCount())
+        {
+            throw new IllegalArgumentException("Error Compiling Route: [" + route.getRoute() + "], incorrect amount of parameters provided." +
+                    "Expected: " + route.getParamCount() + ", Provided: " + params.length);
+        }
+
+        String compiledRoute = String.format(route.getCompilableRoute(), (Object[]) params);
+        String compiledRatelimitRoute = route.getRatelimitRoute();
+
+        if (!majorParamIndexes.isEmpty())
+        {
+            String[] majorParams = new String[majorParamIndexes.size()];
+            for (int i = 0; i < majorParams.length; i++)
+            {
+                majorParams[i] = params[majorParamIndexes.get(i)];
+            }
+            compiledRatelimitRoute = String.format(compiledRatelimitRoute, (Object[]) majorParams);
+        }
+
+        return new FormattedRoute(route, compiledRatelimitRoute, compiledRoute);
+    }
+
+    //The fields of the CompiledRoute that was returned before
+    public static class FormattedRoute
+    {
+        private final Route baseRoute;
+        private final String ratelimitRoute;
+        private final String compiledRoute;
+
+        private FormattedRoute(Route baseRoute, String ratelimitRoute, String compiledRoute)
+        {
+            this.baseRoute = baseRoute;
+            this.ratelimitRoute = ratelimitRoute;
+            this.compiledRoute = compiledRoute;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.requests;
+
+import net.dv8tion.jda.core.entities.GuildCorpus;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Replays a gateway frame stream through the {@link ZlibStreamDecompressor} and through the
+ * per-message payload compression that was used before transport compression.
+ *
+ * <p>The stream is either recorded, a file with one gateway payload per line passed as the {@code recording} parameter,
+ * or synthetic: a burst of GUILD_CREATE payloads followed by MESSAGE_CREATE, PRESENCE_UPDATE and TYPING_START events.
+ * Every invocation replays the whole stream as a fresh connection would receive it.
+ *
+ * <p>The compressed size of the stream in either mode is printed once the stream was prepared.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class ZlibStreamBenchmark
+{
+    @Param({""})
+    public String recording;
+
+    @Param({"4096"})
+    public int maxFrameSize;
+
+    private List<byte[]> streamFrames;
+    private List<byte[]> payloadFrames;
+    private long streamBytes;
+    private long payloadBytes;
+    private ZlibStreamDecompressor decompressor;
+
+    @Setup
+    public void setup() throws IOException
+    {
+        List<String> messages = recording.isEmpty() ? synthetic() : Files.readAllLines(Paths.get(recording), StandardCharsets.UTF_8);
+        messages.removeIf(String::isEmpty);
+
+        //zlib-stream: one context for the connection, every message ends with a sync flush and may be split into frames
+        streamFrames = new ArrayList<>();
+        Deflater deflater = new Deflater();
+        byte[] buffer = new byte[8192];
+        for (String message : messages)
+        {
+            deflater.setInput(message.getBytes(StandardCharsets.UTF_8));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            int deflated;
+            do
+            {
+                deflated = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                out.write(buffer, 0, deflated);
+            }
+            while (deflated == buffer.length);
+            byte[] compressed = out.toByteArray();
+            streamBytes += compressed.length;
+            for (int i = 0; i < compressed.length; i += maxFrameSize)
+                streamFrames.add(Arrays.copyOfRange(compressed, i, Math.min(compressed.length, i + maxFrameSize)));
+        }
+        deflater.end();
+
+        //payload compression: every message is compressed on its own
+        payloadFrames = new ArrayList<>();
+        for (String message : messages)
+        {
+            deflater = new Deflater();
+            deflater.setInput(message.getBytes(StandardCharsets.UTF_8));
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            while (!deflater.finished())
+                out.write(buffer, 0, deflater.deflate(buffer));
+            deflater.end();
+            payloadBytes += out.size();
+            payloadFrames.add(out.toByteArray());
+        }
+
+        decompressor = new ZlibStreamDecompressor();
+        System.out.printf("%n%d messages, %d bytes with zlib-stream (%d frames), %d bytes with payload compression%n",
+            messages.size(), streamBytes, streamFrames.size(), payloadBytes);
+    }
+
+    @TearDown
+    public void teardown()
+    {
+        decompressor.shutdown();
+    }
+
+    @Benchmark
+    public void zlibStream(Blackhole blackhole) throws DataFormatException, IOException
+    {
+        decompressor.reset();
+        for (byte[] frame : streamFrames)
+        {
+            String message = decompressor.decompress(frame);
+            if (message != null)
+                blackhole.consume(message);
+        }
+    }
+
+    @Benchmark
+    public void payloadCompression(Blackhole blackhole) throws DataFormatException, IOException
+    {
+        //mirrors the inflate path of WebSocketClient#onBinaryMessage without transport compression
+        for (byte[] frame : payloadFrames)
+        {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(frame.length * 4);
+            Inflater inflater = new Inflater();
+            inflater.setInput(frame, 0, frame.length);
+            byte[] result = new byte[8192];
+            while (!inflater.finished())
+            {
+                int resultLength = inflater.inflate(result);
+                if (resultLength == 0 && inflater.needsInput())
+                    break;
+                out.write(result, 0, resultLength);
+            }
+            inflater.end();
+            blackhole.consume(out.toString("UTF-8"));
+        }
+    }
+
+    private static List<String> synthetic()
+    {
+        List<String> messages = new ArrayList<>();
+        Random random = new Random(0);
+        int sequence = 0;
+        for (String guild : new GuildCorpus(50, 250).getGuilds())
+            messages.add(dispatch("GUILD_CREATE", new JSONObject(guild), ++sequence));
+
+        for (int i = 0; i < 5000; i++)
+        {
+            String guildId = Integer.toString(1000 + random.nextInt(50));
+            String userId = Integer.toString(100000 + random.nextInt(1000));
+            JSONObject user = new JSONObject()
+                .put("id", userId)
+                .put("username", "User " + userId)
+                .put("discriminator", "0001")
+                .put("avatar", JSONObject.NULL);
+            switch (random.nextInt(3))
+            {
+                case 0:
+                    messages.add(dispatch("MESSAGE_CREATE", new JSONObject()
+                        .put("id", Long.toString(400000000000000000L + i))
+                        .put("type", 0)
+                        .put("channel_id", guildId + "1")
+                        .put("guild_id", guildId)
+                        .put("author", user)
+                        .put("content", "Message number " + i + " with some text that is a bit longer than a word")
+                        .put("timestamp", "2017-09-01T12:00:00.000000+00:00")
+                        .put("edited_timestamp", JSONObject.NULL)
+                        .put("tts", false)
+                        .put("mention_everyone", false)
+                        .put("mentions", new JSONArray())
+                        .put("mention_roles", new JSONArray())
+                        .put("attachments", new JSONArray())
+                        .put("embeds", new JSONArray())
+                        .put("pinned", false), ++sequence));
+                    break;
+                case 1:
+                    messages.add(dispatch("PRESENCE_UPDATE", new JSONObject()
+                        .put("user", new JSONObject().put("id", userId))
+                        .put("guild_id", guildId)
+                        .put("status", random.nextBoolean() ? "online" : "idle")
+                        .put("game", new JSONObject().put("name", "Game " + random.nextInt(20)).put("type", 0))
+                        .put("roles", new JSONArray().put(guildId + "2"))
+                        .put("nick", JSONObject.NULL), ++sequence));
+                    break;
+                default:
+                    messages.add(dispatch("TYPING_START", new JSONObject()
+                        .put("user_id", userId)
+                        .put("channel_id", guildId + "1")
+                        .put("timestamp", 1504267200 + i), ++sequence));
+            }
+        }
+        return messages;
+    }
+
+    private static String dispatch(String type, JSONObject data, int sequence)
+    {
+        return new JSONObject()
+            .put("op", 0)
+            .put("t", type)
+            .put("s", sequence)
+            .put("d", data)
+            .toString();
+    }
+}
@@ -0,0 +1,303 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.requests.ratelimit;
+
+import net.dv8tion.jda.core.requests.*;
+import net.dv8tion.jda.core.requests.Route.CompiledRoute;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Queues requests on many buckets from several threads, as the shards of a big bot do.
+ * <br>{@link #botRateLimiter()} goes through {@link BotRateLimiter#queueRequest(Request)}, so every request
+ * takes the bucket from its queue through {@code submitForProcessing}, the ratelimit pool and {@code finishProcessing}.
+ * {@link #submittedBucketsLock()} runs the same requests through a copy of the buckets that were used before,
+ * which schedule and finish under the shared {@code submittedBuckets} lock.
+ *
+ * <p>The requests are not sent, the {@link Requester} completes them right away. An invocation ends once
+ * every request queued by the thread was handled. Delayed buckets are measured by {@link TimerWheelBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class BucketSchedulingBenchmark
+{
+    private static final int REQUESTS = 1000;
+
+    @Param({"10", "1000"})
+    public int buckets;
+
+    private CompiledRoute[] routes;
+    private ScheduledThreadPoolExecutor pool;
+    private BotRateLimiter rateLimiter;
+    private LockedRateLimiter lockedRateLimiter;
+
+    @Setup
+    public void setup()
+    {
+        routes = new CompiledRoute[buckets];
+        for (int i = 0; i < buckets; i++)
+            routes[i] = Route.Messages.SEND_MESSAGE.compile(Integer.toString(i));
+
+        //Same size as the pool of a Requester
+        pool = new ScheduledThreadPoolExecutor(5);
+        AtomicLong globalCooldown = new AtomicLong(Long.MIN_VALUE);
+        Requester requester = new Requester(null, pool, globalCooldown)
+        {
+            @Override
+            public CompletableFuture<Long> execute(Request<?> apiRequest)
+            {
+                apiRequest.onSuccess(null);
+                return CompletableFuture.completedFuture(null);
+            }
+        };
+        rateLimiter = (BotRateLimiter) requester.getRateLimiter();
+        lockedRateLimiter = new LockedRateLimiter(requester, pool, globalCooldown, routes);
+    }
+
+    @TearDown
+    public void teardown()
+    {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public long botRateLimiter(Submitter submitter)
+    {
+        final long target = submitter.handled.get() + REQUESTS;
+        for (Request<Void> request : submitter.requests)
+            rateLimiter.queueRequest(request);
+        return submitter.await(target);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public long submittedBucketsLock(Submitter submitter)
+    {
+        final long target = submitter.handled.get() + REQUESTS;
+        for (Request<Void> request : submitter.requests)
+            lockedRateLimiter.queueRequest(request);
+        return submitter.await(target);
+    }
+
+    @State(Scope.Thread)
+    public static class Submitter
+    {
+        private final AtomicLong handled = new AtomicLong();
+        private Request<Void>[] requests;
+
+        @Setup
+        @SuppressWarnings("unchecked")
+        public void setup(BucketSchedulingBenchmark benchmark)
+        {
+            requests = (Request<Void>[]) new Request<?>[REQUESTS];
+            for (int i = 0; i < REQUESTS; i++)
+            {
+                CompiledRoute route = benchmark.routes[ThreadLocalRandom.current().nextInt(benchmark.buckets)];
+                RestAction<Void> action = new RestAction<Void>(null, route, null)
+                {
+                    @Override
+                    protected void handleResponse(Response response, Request<Void> request) {}
+                };
+                requests[i] = new Request<>(action, v -> handled.incrementAndGet(), t -> {}, true);
+            }
+        }
+
+        private long await(long target)
+        {
+            long count;
+            while ((count = handled.get()) < target)
+                Thread.yield();
+            return count;
+        }
+    }
+
+    /**
+     * The scheduling of {@link BotRateLimiter} before the buckets had their own scheduled flag.
+     * <br>Everything but the scheduling is the same as in the {@link BotRateLimiter}.
+     */
+    private static class LockedRateLimiter
+    {
+        final Requester requester;
+        final ScheduledExecutorService pool;
+        final AtomicLong globalCooldown;
+        final Map<String, Bucket> buckets = new HashMap<>();
+        final ConcurrentLinkedQueue<Bucket> submittedBuckets = new ConcurrentLinkedQueue<>();
+
+        LockedRateLimiter(Requester requester, ScheduledExecutorService pool, AtomicLong globalCooldown, CompiledRoute[] routes)
+        {
+            this.requester = requester;
+            this.pool = pool;
+            this.globalCooldown = globalCooldown;
+            for (CompiledRoute route : routes)
+                buckets.put(route.getRatelimitRoute(), new Bucket(route.getRatelimitRoute(), route.getBaseRoute().getRatelimit()));
+        }
+
+        void queueRequest(Request<?> request)
+        {
+            Bucket bucket = buckets.get(request.getRoute().getRatelimitRoute());
+            synchronized (bucket)
+            {
+                bucket.addToQueue(request);
+            }
+        }
+
+        long getNow()
+        {
+            return System.currentTimeMillis();
+        }
+
+        private class Bucket implements Runnable
+        {
+            final String route;
+            volatile long resetTime = 0;
+            volatile int routeUsageRemaining = 1;
+            volatile int routeUsageLimit = 1;
+            volatile ConcurrentLinkedQueue<Request<?>> requests = new ConcurrentLinkedQueue<>();
+
+            Bucket(String route, Route.RateLimit rateLimit)
+            {
+                this.route = route;
+                if (rateLimit != null)
+                {
+                    this.routeUsageRemaining = rateLimit.getUsageLimit();
+                    this.routeUsageLimit = rateLimit.getUsageLimit();
+                }
+            }
+
+            void addToQueue(Request<?> request)
+            {
+                requests.add(request);
+                submitForProcessing();
+            }
+
+            void submitForProcessing()
+            {
+                synchronized (submittedBuckets)
+                {
+                    if (!submittedBuckets.contains(this))
+                    {
+                        Long delay = getRateLimit();
+                        if (delay == null)
+                            delay = 0L;
+
+                        pool.schedule(this, delay, TimeUnit.MILLISECONDS);
+                        submittedBuckets.add(this);
+                    }
+                }
+            }
+
+            Long getRateLimit()
+            {
+                long gCooldown = globalCooldown.get();
+                if (gCooldown != Long.MIN_VALUE)
+                {
+                    long now = getNow();
+                    if (now > gCooldown)
+                        globalCooldown.set(Long.MIN_VALUE);
+                    else
+                        return gCooldown - now;
+                }
+                if (this.routeUsageRemaining <= 0)
+                {
+                    if (getNow() > this.resetTime)
+                    {
+                        this.routeUsageRemaining = this.routeUsageLimit;
+                        this.resetTime = 0;
+                    }
+                }
+                if (this.routeUsageRemaining > 0)
+                    return null;
+                else
+                    return this.resetTime - getNow();
+            }
+
+            @Override
+            public boolean equals(Object o)
+            {
+                return o instanceof Bucket && route.equals(((Bucket) o).route);
+            }
+
+            @Override
+            public int hashCode()
+            {
+                return route.hashCode();
+            }
+
+            @Override
+            public void run()
+            {
+                Request<?> request = requests.peek();
+                if (request == null)
+                {
+                    finishProcessing();
+                    return;
+                }
+
+                CompletableFuture<Long> execution;
+                try
+                {
+                    execution = requester.execute(request);
+                }
+                catch (Throwable t)
+                {
+                    execution = new CompletableFuture<>();
+                    execution.completeExceptionally(t);
+                }
+
+                execution.whenComplete((retryAfter, error) ->
+                {
+                    if (error != null)
+                    {
+                        requests.remove(request);
+                        request.onFailure(error);
+                    }
+                    else if (retryAfter == null)
+                    {
+                        requests.remove(request);
+                    }
+                    finishProcessing();
+                });
+            }
+
+            private void finishProcessing()
+            {
+                synchronized (submittedBuckets)
+                {
+                    submittedBuckets.remove(this);
+                    if (!requests.isEmpty())
+                    {
+                        try
+                        {
+                            this.submitForProcessing();
+                        }
+                        catch (RejectedExecutionException ignored) {}
+                    }
+                }
+            }
+        }
+    }
+}
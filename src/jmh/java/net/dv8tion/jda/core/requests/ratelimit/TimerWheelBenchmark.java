@@ -0,0 +1,82 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.requests.ratelimit;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delays buckets from many threads at once, as the ratelimiter does when thousands of buckets hit their limit.
+ * <br>{@link #timerWheel()} uses the {@link TimerWheel}, {@link #scheduledPool()} the delay queue of the
+ * ratelimit pool that was used before. Every bucket resets at its own time within the next second.
+ *
+ * <p>Runs with 8 threads by default, use {@code -t} to change the amount of enqueuing threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(8)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class TimerWheelBenchmark
+{
+    @Param({"10000"})
+    public int buckets;
+
+    private Runnable[] tasks;
+    private long[] delays;
+    private ScheduledThreadPoolExecutor pool;
+    private TimerWheel wheel;
+
+    @Setup
+    public void setup()
+    {
+        tasks = new Runnable[buckets];
+        delays = new long[buckets];
+        for (int i = 0; i < buckets; i++)
+        {
+            tasks[i] = () -> {};
+            delays[i] = 1 + (i * 997L) % 1000;
+        }
+        pool = new ScheduledThreadPoolExecutor(4);
+        wheel = new TimerWheel(pool);
+    }
+
+    @TearDown
+    public void teardown()
+    {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public void timerWheel()
+    {
+        int bucket = ThreadLocalRandom.current().nextInt(buckets);
+        wheel.schedule(tasks[bucket], delays[bucket]);
+    }
+
+    @Benchmark
+    public Object scheduledPool()
+    {
+        int bucket = ThreadLocalRandom.current().nextInt(buckets);
+        return pool.schedule(tasks[bucket], delays[bucket], TimeUnit.MILLISECONDS);
+    }
+}
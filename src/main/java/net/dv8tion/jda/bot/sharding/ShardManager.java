@@ -0,0 +1,466 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.dv8tion.jda.bot.sharding;
+
+import com.mashape.unirest.http.Unirest;
+import com.neovisionaries.ws.client.WebSocketFactory;
+import net.dv8tion.jda.core.AccountType;
+import net.dv8tion.jda.core.JDA;
+import net.dv8tion.jda.core.entities.Guild;
+import net.dv8tion.jda.core.entities.TextChannel;
+import net.dv8tion.jda.core.entities.User;
+import net.dv8tion.jda.core.entities.VoiceChannel;
+import net.dv8tion.jda.core.entities.impl.JDAImpl;
+import net.dv8tion.jda.core.exceptions.RateLimitedException;
+import net.dv8tion.jda.core.hooks.IEventManager;
+import net.dv8tion.jda.core.managers.impl.PresenceImpl;
+import net.dv8tion.jda.core.requests.IdentifyQueue;
+import net.dv8tion.jda.core.requests.Requester;
+import net.dv8tion.jda.core.utils.MiscUtil;
+import net.dv8tion.jda.core.utils.SimpleLog;
+
+import javax.security.auth.login.LoginException;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runs all shards of a {@link net.dv8tion.jda.core.AccountType#BOT BOT} account in the same JVM.
+ * <br>Create an instance using a {@link net.dv8tion.jda.bot.sharding.ShardManagerBuilder ShardManagerBuilder}.
+ *
+ * <p>All shards share
+ * <ul>
+ *     <li>the thread pool that processes ratelimited requests,</li>
+ *     <li>the global ratelimit cooldown,</li>
+ *     <li>the thread pool that sends the gateway heartbeats and</li>
+ *     <li>the IDENTIFY queue, which spaces out logins (and re-identifies) of all shards by 5 seconds.</li>
+ * </ul>
+ * Shards are connected one after another, each only once its IDENTIFY slot is free.
+ *
+ * <p>Lookups that can be resolved without asking every shard, like {@link #getGuildById(long)},
+ * are routed directly to the responsible shard using {@code (guild_id >> 22) % shards_total}.
+ */
+public class ShardManager
+{
+    public static final SimpleLog LOG = SimpleLog.getLog("JDAShardManager");
+
+    protected final AtomicReferenceArray<JDAImpl> shards;
+    protected final int shardsTotal;
+    protected final String token;
+    protected final List<Object> listeners;
+    protected final IEventManager eventManager;
+    protected final ShardManagerBuilder config;
+
+    protected final ScheduledExecutorService rateLimitPool;
+    protected final ScheduledExecutorService heartbeatPool;
+    protected final AtomicLong globalCooldown = new AtomicLong(Long.MIN_VALUE);
+    protected final IdentifyQueue identifyQueue = new IdentifyQueue();
+
+    protected volatile Thread loginThread;
+    protected volatile boolean shutdown = false;
+
+    protected ShardManager(ShardManagerBuilder builder)
+    {
+        this.config = builder;
+        this.shardsTotal = builder.shardsTotal;
+        this.token = builder.token;
+        this.listeners = new ArrayList<>(builder.listeners);
+        this.eventManager = builder.eventManager;
+        this.shards = new AtomicReferenceArray<>(shardsTotal);
+        this.rateLimitPool = Executors.newScheduledThreadPool(builder.rateLimitPoolSize, new ShardThreadFactory("RateLimit-Queue Pool", false));
+        this.heartbeatPool = Executors.newScheduledThreadPool(1, new ShardThreadFactory("MainWS-KeepAlive Pool", true));
+
+        //A shared EventManager only needs the listeners once
+        if (eventManager != null)
+            listeners.forEach(eventManager::register);
+    }
+
+    protected void login() throws LoginException, RateLimitedException
+    {
+        //Login the first shard on the calling thread so that login issues are thrown to the developer
+        try
+        {
+            buildShard(0);
+        }
+        catch (LoginException | RateLimitedException | RuntimeException e)
+        {
+            shutdown();
+            throw e;
+        }
+
+        if (config.enableShutdownHook)
+            Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "JDA ShardManager Shutdown Hook"));
+
+        if (shardsTotal == 1)
+            return;
+
+        loginThread = new Thread(() ->
+        {
+            for (int shardId = 1; shardId < shardsTotal && !shutdown; shardId++)
+            {
+                try
+                {
+                    //An open connection that waits for its IDENTIFY slot only idles, connect once the shard may identify
+                    awaitConnection(shards.get(shardId - 1));
+                    identifyQueue.awaitSlot();
+                    buildShard(shardId);
+                }
+                catch (InterruptedException e)
+                {
+                    //Interrupted by shutdown
+                    break;
+                }
+                catch (Exception e)
+                {
+                    LOG.fatal("Could not login shard " + shardId + " of " + shardsTotal);
+                    LOG.log(e);
+                }
+            }
+            LOG.info("Finished logging in all shards");
+        }, "JDA ShardManager Login Thread");
+        loginThread.setDaemon(true);
+        loginThread.start();
+    }
+
+    protected JDAImpl buildShard(int shardId) throws LoginException, RateLimitedException
+    {
+        JDAImpl jda = new JDAImpl(AccountType.BOT, null, new WebSocketFactory(), config.autoReconnect,
+                config.enableVoice, false, config.enableBulkDeleteSplitting);
+
+        jda.setRequester(new Requester(jda, rateLimitPool, globalCooldown));
+        jda.setHeartbeatPool(heartbeatPool);
+        jda.setIdentifyQueue(identifyQueue);
+        jda.setTransportCompressionEnabled(config.transportCompression);
+        jda.setMemberCachePolicy(config.memberCachePolicy);
+        jda.setSessionStore(config.sessionStore);
+        if (config.restEndpoint != null)
+            jda.setRestEndpoint(config.restEndpoint);
+        jda.setGatewayEndpoint(config.gatewayEndpoint);
+        if (config.httpClient != null)
+            jda.setHttpClient(config.httpClient);
+
+        if (eventManager != null)
+            jda.setEventManager(eventManager);
+        else
+            listeners.forEach(jda::addEventListener);
+        jda.setStatus(JDA.Status.INITIALIZED);  //This is already set by JDA internally, but this is to make sure the listeners catch it.
+
+        ((PresenceImpl) jda.getPresence())
+                .setCacheGame(config.game)
+                .setCacheIdle(config.idle)
+                .setCacheStatus(config.status);
+
+        shards.set(shardId, jda);
+        jda.login(token, new JDA.ShardInfo(shardId, shardsTotal));
+        return jda;
+    }
+
+    //Waits until the shard established its connection, and with that reserved its IDENTIFY slot, or gave up on it
+    protected void awaitConnection(JDAImpl shard) throws InterruptedException
+    {
+        final long deadline = System.currentTimeMillis() + IdentifyQueue.IDENTIFY_DELAY;
+        while (shard != null && shard.getStatus() == JDA.Status.CONNECTING_TO_WEBSOCKET && System.currentTimeMillis() < deadline)
+            Thread.sleep(10);
+    }
+
+    /**
+     * The total amount of shards managed by this ShardManager.
+     *
+     * @return The total amount of shards
+     */
+    public int getShardsTotal()
+    {
+        return shardsTotal;
+    }
+
+    /**
+     * The shard with the specified id.
+     *
+     * @param  shardId
+     *         The id of the shard
+     *
+     * @throws IndexOutOfBoundsException
+     *         If the provided id is not between 0 and {@link #getShardsTotal()} - 1
+     *
+     * @return The shard, or {@code null} if the shard has not been started yet
+     */
+    public JDA getShardById(int shardId)
+    {
+        return shards.get(shardId);
+    }
+
+    /**
+     * The shard that is responsible for the guild with the specified id.
+     *
+     * @param  guildId
+     *         The id of the guild
+     *
+     * @return The responsible shard, or {@code null} if the shard has not been started yet
+     */
+    public JDA getShardForGuild(long guildId)
+    {
+        return shards.get((int) ((guildId >>> 22) % shardsTotal));
+    }
+
+    /**
+     * All shards that have been started so far, ordered by their shard id.
+     *
+     * @return Immutable list of all started shards
+     */
+    public List<JDA> getShards()
+    {
+        List<JDA> list = new ArrayList<>(shardsTotal);
+        for (int i = 0; i < shardsTotal; i++)
+        {
+            JDA shard = shards.get(i);
+            if (shard != null)
+                list.add(shard);
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    /**
+     * The {@link net.dv8tion.jda.core.JDA.Status Status} of every shard, mapped by shard id.
+     * <br>Shards that have not been started yet are not contained.
+     *
+     * @return Map of shard id to status
+     */
+    public Map<Integer, JDA.Status> getStatuses()
+    {
+        Map<Integer, JDA.Status> statuses = new TreeMap<>();
+        for (int i = 0; i < shardsTotal; i++)
+        {
+            JDA shard = shards.get(i);
+            if (shard != null)
+                statuses.put(i, shard.getStatus());
+        }
+        return statuses;
+    }
+
+    /**
+     * The {@link net.dv8tion.jda.core.entities.Guild Guild} with the specified id.
+     * <br>This only asks the shard that is responsible for the guild.
+     *
+     * @param  id
+     *         The id of the Guild
+     *
+     * @return Possibly-null Guild with matching id.
+     */
+    public Guild getGuildById(long id)
+    {
+        JDA shard = getShardForGuild(id);
+        return shard == null ? null : shard.getGuildById(id);
+    }
+
+    /**
+     * The {@link net.dv8tion.jda.core.entities.Guild Guild} with the specified id.
+     * <br>This only asks the shard that is responsible for the guild.
+     *
+     * @param  id
+     *         The id of the Guild
+     *
+     * @throws java.lang.NumberFormatException
+     *         If the provided {@code id} is not a valid snowflake
+     *
+     * @return Possibly-null Guild with matching id.
+     */
+    public Guild getGuildById(String id)
+    {
+        return getGuildById(MiscUtil.parseSnowflake(id));
+    }
+
+    /**
+     * All {@link net.dv8tion.jda.core.entities.Guild Guilds} of all started shards.
+     *
+     * @return Immutable list of all Guilds
+     */
+    public List<Guild> getGuilds()
+    {
+        return collect(JDA::getGuilds);
+    }
+
+    /**
+     * The {@link net.dv8tion.jda.core.entities.User User} with the specified id, taken from the first shard that knows it.
+     *
+     * @param  id
+     *         The id of the User
+     *
+     * @return Possibly-null User with matching id.
+     */
+    public User getUserById(long id)
+    {
+        return find(shard -> shard.getUserById(id));
+    }
+
+    /**
+     * The {@link net.dv8tion.jda.core.entities.User User} with the specified id, taken from the first shard that knows it.
+     *
+     * @param  id
+     *         The id of the User
+     *
+     * @throws java.lang.NumberFormatException
+     *         If the provided {@code id} is not a valid snowflake
+     *
+     * @return Possibly-null User with matching id.
+     */
+    public User getUserById(String id)
+    {
+        return getUserById(MiscUtil.parseSnowflake(id));
+    }
+
+    /**
+     * The {@link net.dv8tion.jda.core.entities.TextChannel TextChannel} with the specified id.
+     *
+     * @param  id
+     *         The id of the TextChannel
+     *
+     * @return Possibly-null TextChannel with matching id.
+     */
+    public TextChannel getTextChannelById(long id)
+    {
+        return find(shard -> shard.getTextChannelById(id));
+    }
+
+    /**
+     * The {@link net.dv8tion.jda.core.entities.TextChannel TextChannel} with the specified id.
+     *
+     * @param  id
+     *         The id of the TextChannel
+     *
+     * @throws java.lang.NumberFormatException
+     *         If the provided {@code id} is not a valid snowflake
+     *
+     * @return Possibly-null TextChannel with matching id.
+     */
+    public TextChannel getTextChannelById(String id)
+    {
+        return getTextChannelById(MiscUtil.parseSnowflake(id));
+    }
+
+    /**
+     * The {@link net.dv8tion.jda.core.entities.VoiceChannel VoiceChannel} with the specified id.
+     *
+     * @param  id
+     *         The id of the VoiceChannel
+     *
+     * @return Possibly-null VoiceChannel with matching id.
+     */
+    public VoiceChannel getVoiceChannelById(long id)
+    {
+        return find(shard -> shard.getVoiceChannelById(id));
+    }
+
+    /**
+     * The {@link net.dv8tion.jda.core.entities.VoiceChannel VoiceChannel} with the specified id.
+     *
+     * @param  id
+     *         The id of the VoiceChannel
+     *
+     * @throws java.lang.NumberFormatException
+     *         If the provided {@code id} is not a valid snowflake
+     *
+     * @return Possibly-null VoiceChannel with matching id.
+     */
+    public VoiceChannel getVoiceChannelById(String id)
+    {
+        return getVoiceChannelById(MiscUtil.parseSnowflake(id));
+    }
+
+    /**
+     * Shuts down all shards and releases the shared thread pools.
+     * <br>Unirest is only shut down if no custom {@link net.dv8tion.jda.core.requests.http.IHttpClient IHttpClient} was provided.
+     * <br>A shutdown ShardManager can not be restarted.
+     */
+    public synchronized void shutdown()
+    {
+        if (shutdown)
+            return;
+        shutdown = true;
+
+        if (loginThread != null)
+            loginThread.interrupt();
+
+        for (int i = 0; i < shardsTotal; i++)
+        {
+            JDAImpl shard = shards.get(i);
+            if (shard != null && shard.getStatus() != JDA.Status.SHUTDOWN)
+                shard.shutdown(false);
+        }
+
+        rateLimitPool.shutdownNow();
+        heartbeatPool.shutdownNow();
+        //A provided IHttpClient is owned by the developer, only the default Unirest client is ours to shut down
+        if (config.httpClient == null)
+        {
+            try
+            {
+                Unirest.shutdown();
+            }
+            catch (IOException ignored) {}
+        }
+    }
+
+    private <T> T find(Function<JDA, T> mapper)
+    {
+        for (int i = 0; i < shardsTotal; i++)
+        {
+            JDA shard = shards.get(i);
+            if (shard == null)
+                continue;
+            T value = mapper.apply(shard);
+            if (value != null)
+                return value;
+        }
+        return null;
+    }
+
+    private <T> List<T> collect(Function<JDA, List<T>> mapper)
+    {
+        return Collections.unmodifiableList(getShards().stream()
+                .flatMap(shard -> mapper.apply(shard).stream())
+                .collect(Collectors.toList()));
+    }
+
+    private class ShardThreadFactory implements ThreadFactory
+    {
+        final String identifier;
+        final boolean highPriority;
+        final AtomicInteger threadCount = new AtomicInteger(1);
+
+        ShardThreadFactory(String identifier, boolean highPriority)
+        {
+            this.identifier = "JDA ShardManager " + identifier;
+            this.highPriority = highPriority;
+        }
+
+        @Override
+        public Thread newThread(Runnable r)
+        {
+            Thread t = new Thread(r, identifier + " - Thread " + threadCount.getAndIncrement());
+            t.setDaemon(true);
+            if (highPriority)
+                t.setPriority(Thread.MAX_PRIORITY);
+            return t;
+        }
+    }
+}
@@ -0,0 +1,413 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.dv8tion.jda.bot.sharding;
+
+import net.dv8tion.jda.core.OnlineStatus;
+import net.dv8tion.jda.core.entities.Game;
+import net.dv8tion.jda.core.exceptions.RateLimitedException;
+import net.dv8tion.jda.core.hooks.IEventManager;
+import net.dv8tion.jda.core.requests.http.IHttpClient;
+import net.dv8tion.jda.core.utils.SessionStore;
+import net.dv8tion.jda.core.utils.cache.MemberCachePolicy;
+import org.apache.http.util.Args;
+
+import javax.security.auth.login.LoginException;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Used to create a new {@link net.dv8tion.jda.bot.sharding.ShardManager ShardManager} which runs all
+ * shards of a {@link net.dv8tion.jda.core.AccountType#BOT BOT} account in the same JVM.
+ *
+ * <p>The configuration of this builder is applied to every shard.
+ * Contrary to creating each shard with its own {@link net.dv8tion.jda.core.JDABuilder JDABuilder},
+ * all shards share their ratelimit and heartbeat thread pools, the global ratelimit and the IDENTIFY queue.
+ */
+public class ShardManagerBuilder
+{
+    protected final List<Object> listeners = new LinkedList<>();
+
+    protected String token = null;
+    protected int shardsTotal = 1;
+    protected IEventManager eventManager = null;
+    protected IHttpClient httpClient = null;
+    protected Game game = null;
+    protected OnlineStatus status = OnlineStatus.ONLINE;
+    protected int rateLimitPoolSize = 5;
+    protected boolean enableVoice = true;
+    protected boolean enableShutdownHook = true;
+    protected boolean enableBulkDeleteSplitting = true;
+    protected boolean autoReconnect = true;
+    protected boolean transportCompression = false;
+    protected boolean idle = false;
+    protected MemberCachePolicy memberCachePolicy = MemberCachePolicy.ALL;
+    protected SessionStore sessionStore = null;
+    protected String restEndpoint = null;
+    protected String gatewayEndpoint = null;
+
+    /**
+     * Sets the token of the bot that all shards will log in with.
+     *
+     * @param  token
+     *         The bot token
+     *
+     * @return Returns the {@link net.dv8tion.jda.bot.sharding.ShardManagerBuilder ShardManagerBuilder} instance. Useful for chaining.
+     */
+    public ShardManagerBuilder setToken(String token)
+    {
+        this.token = token;
+        return this;
+    }
+
+    /**
+     * Sets the total amount of shards that will be started.
+     *
+     * <p>Default: <b>1</b>
+     *
+     * @param  shardsTotal
+     *         The total amount of shards, must be at least 1
+     *
+     * @throws IllegalArgumentException
+     *         If the provided amount is less than 1
+     *
+     * @return Returns the {@link net.dv8tion.jda.bot.sharding.ShardManagerBuilder ShardManagerBuilder} instance. Useful for chaining.
+     */
+    public ShardManagerBuilder setShardsTotal(int shardsTotal)
+    {
+        Args.positive(shardsTotal, "Shards total");
+        this.shardsTotal = shardsTotal;
+        return this;
+    }
+
+    /**
+     * Sets the amount of threads in the pool that processes the ratelimited requests of all shards.
+     *
+     * <p>Default: <b>5</b>
+     *
+     * @param  size
+     *         The pool size, must be at least 1
+     *
+     * @throws IllegalArgumentException
+     *         If the provided size is less than 1
+     *
+     * @return Returns the {@link net.dv8tion.jda.bot.sharding.ShardManagerBuilder ShardManagerBuilder} instance. Useful for chaining.
+     */
+    public ShardManagerBuilder setRateLimitPoolSize(int size)
+    {
+        Args.positive(size, "Pool size");
+        this.rateLimitPoolSize = size;
+        return this;
+    }
+
+    /**
+     * Changes the EventManager used by the shards.
+     * <br>If set, this <b>single instance</b> is shared by all shards and the listeners are only registered to it once.
+     * Otherwise each shard uses its own {@link net.dv8tion.jda.core.hooks.InterfacedEventManager InterfacedEventManager}.
+     *
+     * @param  manager
+     *         The {@link net.dv8tion.jda.core.hooks.IEventManager IEventManager} to use, or null to use the default
+     *
+     * @return Returns the {@link net.dv8tion.jda.bot.sharding.ShardManagerBuilder ShardManagerBuilder} instance. Useful for chaining.
+     */
+    public ShardManagerBuilder setEventManager(IEventManager manager)
+    {
+        this.eventManager = manager;
+        return this;
+    }
+
+    /**
+     * Adds all provided listeners to the list of listeners that will be registered to the shards.
+     *
+     * @param  listeners
+     *         The listener(s) to add
+     *
+     * @return Returns the {@link net.dv8tion.jda.bot.sharding.ShardManagerBuilder ShardManagerBuilder} instance. Useful for chaining.
+     */
+    public ShardManagerBuilder addListener(Object... listeners)
+    {
+        this.listeners.addAll(Arrays.asList(listeners));
+        return this;
+    }
+
+    /**
+     * Removes all provided listeners from the list of listeners.
+     *
+     * @param  listeners
+     *         The listener(s) to remove
+     *
+     * @return Returns the {@link net.dv8tion.jda.bot.sharding.ShardManagerBuilder ShardManagerBuilder} instance. Useful for chaining.
+     */
+    public ShardManagerBuilder removeListener(Object... listeners)
+    {
+        this.listeners.removeAll(Arrays.asList(listeners));
+        return this;
+    }
+
+    /**
+     * Sets the {@link net.dv8tion.jda.core.entities.Game Game} all shards will display.
+     *
+     * @param  game
+     *         An instance of {@link net.dv8tion.jda.core.entities.Game Game} (null allowed)
+     *
+     * @return Returns the {@link net.dv8tion.jda.bot.sharding.ShardManagerBuilder ShardManagerBuilder} instance. Useful for chaining.
+     */
+    public ShardManagerBuilder setGame(Game game)
+    {
+        this.game = game;
+        return this;
+    }
+
+    /**
+     * Sets the {@link net.dv8tion.jda.core.OnlineStatus OnlineStatus} all shards will display.
+     *
+     * @param  status
+     *         Not-null OnlineStatus (default online)
+     *
+     * @throws IllegalArgumentException
+     *         if the provided OnlineStatus is null or {@link net.dv8tion.jda.core.OnlineStatus#UNKNOWN UNKNOWN}
+     *
+     * @return Returns the {@link net.dv8tion.jda.bot.sharding.ShardManagerBuilder ShardManagerBuilder} instance. Useful for chaining.
+     */
+    public ShardManagerBuilder setStatus(OnlineStatus status)
+    {
+        if (status == null || status == OnlineStatus.UNKNOWN)
+            throw new IllegalArgumentException("OnlineStatus cannot be null or unknown!");
+        this.status = status;
+        return this;
+    }
+
+    /**
+     * Sets whether or not the sessions of all shards should be marked as afk.
+     *
+     * @param  idle
+     *         Whether the sessions should be marked as afk <b>(default false)</b>
+     *
+     * @return Returns the {@link net.dv8tion.jda.bot.sharding.ShardManagerBuilder ShardManagerBuilder} instance. Useful for chaining.
+     */
+    public ShardManagerBuilder setIdle(boolean idle)
+    {
+        this.idle = idle;
+        return this;
+    }
+
+    /**
+     * Enables/Disables Voice functionality for all shards.
+     *
+     * <p>Default: <b>true (enabled)</b>
+     *
+     * @param  enabled
+     *         True - enables voice support.
+     *
+     * @return Returns the {@link net.dv8tion.jda.bot.sharding.ShardManagerBuilder ShardManagerBuilder} instance. Useful for chaining.
+     */
+    public ShardManagerBuilder setAudioEnabled(boolean enabled)
+    {
+        this.enableVoice = enabled;
+        return this;
+    }
+
+    /**
+     * Enables/Disables the splitting of bulk delete events into individual delete events.
+     *
+     * <p>Default: <b>true (enabled)</b>
+     *
+     * @param  enabled
+     *         True - The MESSAGE_DELETE_BULK will be split into multiple individual MessageDeleteEvents.
+     *
+     * @return Returns the {@link net.dv8tion.jda.bot.sharding.ShardManagerBuilder ShardManagerBuilder} instance. Useful for chaining.
+     *
+     * @see    net.dv8tion.jda.core.JDABuilder#setBulkDeleteSplittingEnabled(boolean)
+     */
+    public ShardManagerBuilder setBulkDeleteSplittingEnabled(boolean enabled)
+    {
+        this.enableBulkDeleteSplitting = enabled;
+        return this;
+    }
+
+    /**
+     * Enables/Disables the use of a single Shutdown hook which shuts down all shards.
+     *
+     * <p>Default: <b>true (enabled)</b>
+     *
+     * @param  enable
+     *         True (default) - use shutdown hook to clean up all shards if the Java program is closed.
+     *
+     * @return Returns the {@link net.dv8tion.jda.bot.sharding.ShardManagerBuilder ShardManagerBuilder} instance. Useful for chaining.
+     */
+    public ShardManagerBuilder setEnableShutdownHook(boolean enable)
+    {
+        this.enableShutdownHook = enable;
+        return this;
+    }
+
+    /**
+     * Sets whether or not the shards should try to reconnect if a connection-error is encountered.
+     *
+     * <p>Default: <b>true (enabled)</b>
+     *
+     * @param  autoReconnect
+     *         If true - enables autoReconnect
+     *
+     * @return Returns the {@link net.dv8tion.jda.bot.sharding.ShardManagerBuilder ShardManagerBuilder} instance. Useful for chaining.
+     */
+    public ShardManagerBuilder setAutoReconnect(boolean autoReconnect)
+    {
+        this.autoReconnect = autoReconnect;
+        return this;
+    }
+
+    /**
+     * Enables/Disables {@code zlib-stream} transport compression for the gateway connections of all shards.
+     *
+     * <p>Default: <b>false (disabled)</b>
+     *
+     * @param  enabled
+     *         True - The gateway connections will use zlib-stream transport compression
+     *
+     * @return Returns the {@link net.dv8tion.jda.bot.sharding.ShardManagerBuilder ShardManagerBuilder} instance. Useful for chaining.
+     *
+     * @see    net.dv8tion.jda.core.JDABuilder#setTransportCompressionEnabled(boolean)
+     */
+    public ShardManagerBuilder setTransportCompressionEnabled(boolean enabled)
+    {
+        this.transportCompression = enabled;
+        return this;
+    }
+
+    /**
+     * Sets the base url of the REST api that all requests are sent to.
+     * <br>This is meant for tests and benchmarks against a local stand-in of the Discord api, the authorization
+     * header is sent to this endpoint as well. Routes are appended to this url, e.g. {@code users/@me}.
+     *
+     * <p>Default: {@value net.dv8tion.jda.core.requests.Requester#DISCORD_API_PREFIX}
+     *
+     * @param  url
+     *         The base url of the REST api, or {@code null} to use Discord's api
+     *
+     * @return Returns the {@link net.dv8tion.jda.bot.sharding.ShardManagerBuilder ShardManagerBuilder} instance. Useful for chaining.
+     *
+     * @see    net.dv8tion.jda.core.JDABuilder#setRestEndpoint(String)
+     */
+    public ShardManagerBuilder setRestEndpoint(String url)
+    {
+        Args.check(url == null || !url.isEmpty(), "REST endpoint may not be empty");
+        this.restEndpoint = url;
+        return this;
+    }
+
+    /**
+     * Sets the url of the gateway the WebSocket connects to.
+     * <br>If not set, the gateway url is requested from the REST api on every connect.
+     * The encoding, version and compression parameters are appended by JDA.
+     *
+     * <p>Default: {@code null} (fetched from the REST api)
+     *
+     * @param  url
+     *         The gateway url, or {@code null} to request it from the REST api
+     *
+     * @return Returns the {@link net.dv8tion.jda.bot.sharding.ShardManagerBuilder ShardManagerBuilder} instance. Useful for chaining.
+     *
+     * @see    net.dv8tion.jda.core.JDABuilder#setGatewayEndpoint(String)
+     */
+    public ShardManagerBuilder setGatewayEndpoint(String url)
+    {
+        Args.check(url == null || !url.isEmpty(), "Gateway endpoint may not be empty");
+        this.gatewayEndpoint = url;
+        return this;
+    }
+
+    /**
+     * Sets the {@link net.dv8tion.jda.core.utils.cache.MemberCachePolicy MemberCachePolicy} used by all shards.
+     * <br>If set, this <b>single instance</b> is shared by all shards.
+     *
+     * <p>Default: {@link net.dv8tion.jda.core.utils.cache.MemberCachePolicy#ALL MemberCachePolicy.ALL}
+     *
+     * @param  policy
+     *         The MemberCachePolicy to use
+     *
+     * @throws IllegalArgumentException
+     *         If the provided policy is null
+     *
+     * @return Returns the {@link net.dv8tion.jda.bot.sharding.ShardManagerBuilder ShardManagerBuilder} instance. Useful for chaining.
+     *
+     * @see    net.dv8tion.jda.core.JDABuilder#setMemberCachePolicy(net.dv8tion.jda.core.utils.cache.MemberCachePolicy)
+     */
+    public ShardManagerBuilder setMemberCachePolicy(MemberCachePolicy policy)
+    {
+        Args.notNull(policy, "MemberCachePolicy");
+        this.memberCachePolicy = policy;
+        return this;
+    }
+
+    /**
+     * Sets the {@link net.dv8tion.jda.core.utils.SessionStore SessionStore} used by all shards to checkpoint their sessions.
+     * <br>If set, this <b>single instance</b> is shared by all shards, sessions are stored per shard id.
+     *
+     * <p>Default: {@code null} (disabled)
+     *
+     * @param  store
+     *         The SessionStore to use, or {@code null} to disable session persistence
+     *
+     * @return Returns the {@link net.dv8tion.jda.bot.sharding.ShardManagerBuilder ShardManagerBuilder} instance. Useful for chaining.
+     *
+     * @see    net.dv8tion.jda.core.JDABuilder#setSessionStore(net.dv8tion.jda.core.utils.SessionStore)
+     */
+    public ShardManagerBuilder setSessionStore(SessionStore store)
+    {
+        this.sessionStore = store;
+        return this;
+    }
+
+    /**
+     * Changes the HTTP backend used by all shards to send requests to the Discord REST api.
+     * <br>If set, this <b>single instance</b> is shared by all shards.
+     *
+     * @param  httpClient
+     *         The {@link net.dv8tion.jda.core.requests.http.IHttpClient IHttpClient} to use, or null to use the default
+     *
+     * @return Returns the {@link net.dv8tion.jda.bot.sharding.ShardManagerBuilder ShardManagerBuilder} instance. Useful for chaining.
+     *
+     * @see    net.dv8tion.jda.core.JDABuilder#setHttpClient(net.dv8tion.jda.core.requests.http.IHttpClient)
+     */
+    public ShardManagerBuilder setHttpClient(IHttpClient httpClient)
+    {
+        this.httpClient = httpClient;
+        return this;
+    }
+
+    /**
+     * Builds a new {@link net.dv8tion.jda.bot.sharding.ShardManager ShardManager} and starts logging in the shards.
+     * <br>The first shard is logged in before this method returns so that an invalid token is reported immediately.
+     * All other shards are logged in by a background thread, one IDENTIFY every 5 seconds.
+     *
+     * @throws LoginException
+     *         If the provided token is invalid.
+     * @throws IllegalArgumentException
+     *         If the provided token is empty or null.
+     * @throws RateLimitedException
+     *         If we are being Global RateLimited.
+     *
+     * @return The new {@link net.dv8tion.jda.bot.sharding.ShardManager ShardManager}
+     */
+    public ShardManager build() throws LoginException, IllegalArgumentException, RateLimitedException
+    {
+        Args.notEmpty(token, "Token");
+        ShardManager manager = new ShardManager(this);
+        manager.login();
+        return manager;
+    }
+}
@@ -39,15 +39,15 @@ public class CallCreateHandler extends SocketHandler
     }
 
     @Override
-    protected String handleInternally(JSONObject content)
+    protected Long handleInternally(JSONObject content)
     {
-        String channelId = content.getString("channel_id");
+        final long channelId = content.getLong("channel_id");
         String messageId = content.getString("message_id");
         Region region = Region.fromKey(content.getString("region"));
         JSONArray voiceStates = content.getJSONArray("voice_states");
         JSONArray ringing = content.getJSONArray("ringing");
 
-        CallableChannel channel = api.asClient().getGroupById(channelId);
+        CallableChannel channel = api.asClient().getGroupById(content.getString("channel_id"));
         if (channel == null)
             channel = api.getPrivateChannelMap().get(channelId);
         if (channel == null)
@@ -36,10 +36,10 @@ public class CallDeleteHandler extends SocketHandler
     }
 
     @Override
-    protected String handleInternally(JSONObject content)
+    protected Long handleInternally(JSONObject content)
     {
-        String channelId = content.getString("channel_id");
-        CallableChannel channel = api.asClient().getGroupById(channelId);
+        final long channelId = content.getLong("channel_id");
+        CallableChannel channel = api.asClient().getGroupById(content.getString("channel_id"));
         if (channel == null)
             channel = api.getPrivateChannelMap().get(channelId);
         if (channel == null)
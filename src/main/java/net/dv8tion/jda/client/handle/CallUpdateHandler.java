@@ -41,13 +41,13 @@ public class CallUpdateHandler extends SocketHandler
     }
 
     @Override
-    protected String handleInternally(JSONObject content)
+    protected Long handleInternally(JSONObject content)
     {
-        String channelId = content.getString("channel_id");
+        final long channelId = content.getLong("channel_id");
         JSONArray ringing = content.getJSONArray("ringing");
         Region region = Region.fromKey(content.getString("region"));
 
-        CallableChannel channel = api.asClient().getGroupById(channelId);
+        CallableChannel channel = api.asClient().getGroupById(content.getString("channel_id"));
         if (channel == null)
             channel = api.getPrivateChannelMap().get(channelId);
         if (channel == null)
@@ -35,7 +35,7 @@ public class ChannelRecipientAddHandler extends SocketHandler
     }
 
     @Override
-    protected String handleInternally(JSONObject content)
+    protected Long handleInternally(JSONObject content)
     {
         String groupId = content.getString("channel_id");
         JSONObject userJson = content.getJSONObject("user");
@@ -43,7 +43,7 @@ public class ChannelRecipientAddHandler extends SocketHandler
         GroupImpl group = (GroupImpl) api.asClient().getGroupById(groupId);
         if (group == null)
         {
-            EventCache.get(api).cache(EventCache.Type.CHANNEL, groupId, () ->
+            EventCache.get(api).cache(EventCache.Type.CHANNEL, content.getLong("channel_id"), () ->
             {
                 handle(responseNumber, allContent);
             });
@@ -65,7 +65,7 @@ public class ChannelRecipientAddHandler extends SocketHandler
                         api, responseNumber,
                         group, user));
 
-        EventCache.get(api).playbackCache(EventCache.Type.USER, user.getId());
+        EventCache.get(api).playbackCache(EventCache.Type.USER, user.getIdLong());
         return null;
     }
 }
@@ -33,12 +33,12 @@ public class ChannelRecipientRemoveHandler extends SocketHandler
     }
 
     @Override
-    protected String handleInternally(JSONObject content)
+    protected Long handleInternally(JSONObject content)
     {
-        String groupId = content.getString("channel_id");
-        String userId = content.getJSONObject("user").getString("id");
+        final long groupId = content.getLong("channel_id");
+        final long userId = content.getJSONObject("user").getLong("id");
 
-        GroupImpl group = (GroupImpl) api.asClient().getGroupById(groupId);
+        GroupImpl group = (GroupImpl) api.asClient().getGroupById(content.getString("channel_id"));
         if (group == null)
         {
             EventCache.get(api).cache(EventCache.Type.CHANNEL, groupId, () ->
@@ -49,7 +49,7 @@ public class ChannelRecipientRemoveHandler extends SocketHandler
             return null;
         }
 
-        User user = group.getUserMap().remove(userId);
+        User user = group.getUserMap().remove(Long.toUnsignedString(userId));
         if (user == null)
         {
             EventCache.get(api).cache(EventCache.Type.USER, userId, () ->
@@ -63,7 +63,7 @@ public class ChannelRecipientRemoveHandler extends SocketHandler
         CallImpl call = (CallImpl) group.getCurrentCall();
         if (call != null)
         {
-            call.getCallUserMap().remove(userId);
+            call.getCallUserMap().remove(user.getId());
         }
 
         //User is fake, has no privateChannel, is not in a relationship, and is not in any other groups
@@ -71,7 +71,7 @@ public class ChannelRecipientRemoveHandler extends SocketHandler
         //Note: we getGroups() which gets all groups, however we already removed the user from the current group.
         if (user.isFake()
                 && !user.hasPrivateChannel()
-                && api.asClient().getRelationshipById(userId) == null
+                && api.asClient().getRelationshipById(user.getId()) == null
                 && api.asClient().getGroups().stream().allMatch(g -> !g.getUsers().contains(user)))
         {
             api.getFakeUserMap().remove(userId);
@@ -42,9 +42,9 @@ public class RelationshipRemoveHandler extends SocketHandler
     }
 
     @Override
-    protected String handleInternally(JSONObject content)
+    protected Long handleInternally(JSONObject content)
     {
-        String userId = content.getString("id");
+        final long userId = content.getLong("id");
         RelationshipType type = RelationshipType.fromKey(content.getInt("type"));
 
         //Technically this could be used to detect when another user has unblocked us,
@@ -54,7 +54,7 @@ public class RelationshipRemoveHandler extends SocketHandler
 
         //Make sure that we get the proper relationship, not just any one cached by this userId.
         //Deals with possibly out of order RELATIONSHIP_REMOVE and RELATIONSHIP_ADD when blocking a Friend.
-        Relationship relationship = api.asClient().getRelationshipById(userId, type);
+        Relationship relationship = api.asClient().getRelationshipById(content.getString("id"), type);
         if (relationship == null)
         {
             EventCache.get(api).cache(EventCache.Type.RELATIONSHIP, userId, () ->
@@ -64,12 +64,12 @@ public class RelationshipRemoveHandler extends SocketHandler
             EventCache.LOG.debug("Received a RELATIONSHIP_REMOVE for a relationship that was not yet cached! JSON: " + content);
             return null;
         }
-        ((JDAClientImpl) api.asClient()).getRelationshipMap().remove(userId);
+        ((JDAClientImpl) api.asClient()).getRelationshipMap().remove(content.getString("id"));
 
         if (relationship.getType() == RelationshipType.FRIEND)
         {
             //The user is not in a different guild that we share
-            if (!api.getGuildMap().values().stream().anyMatch(g -> ((GuildImpl) g).getMembersMap().containsKey(userId)))
+            if (!api.getGuildCache().stream().anyMatch(g -> ((GuildImpl) g).getMembersMap().containsKey(userId)))
             {
                 UserImpl user = (UserImpl) api.getUserMap().remove(userId);
                 if (user.hasPrivateChannel())
@@ -77,8 +77,8 @@ public class RelationshipRemoveHandler extends SocketHandler
                     PrivateChannelImpl priv = (PrivateChannelImpl) user.getPrivateChannel();
                     user.setFake(true);
                     priv.setFake(true);
-                    api.getFakeUserMap().put(user.getId(), user);
-                    api.getFakePrivateChannelMap().put(priv.getId(), priv);
+                    api.getFakeUserMap().put(user.getIdLong(), user);
+                    api.getFakePrivateChannelMap().put(priv.getIdLong(), priv);
                 }
                 else
                 {
@@ -90,7 +90,7 @@ public class RelationshipRemoveHandler extends SocketHandler
                         if (grp.getNonFriendUsers().contains(user))
                         {
                             user.setFake(true);
-                            api.getFakeUserMap().put(user.getId(), user);
+                            api.getFakeUserMap().put(user.getIdLong(), user);
                             break;
                         }
                     }
@@ -23,6 +23,7 @@ import net.dv8tion.jda.core.hooks.IEventManager;
 import net.dv8tion.jda.core.managers.Presence;
 import net.dv8tion.jda.core.requests.RestAction;
 import net.dv8tion.jda.core.requests.ratelimit.IBucket;
+import net.dv8tion.jda.core.utils.cache.SnowflakeCacheView;
 import org.apache.http.HttpHost;
 
 import java.util.Collection;
@@ -77,7 +78,7 @@ public interface JDA
         int shardId;
         int shardTotal;
 
-        ShardInfo(int shardId, int shardTotal)
+        public ShardInfo(int shardId, int shardTotal)
         {
             this.shardId = shardId;
             this.shardTotal = shardTotal;
@@ -198,6 +199,16 @@ public interface JDA
      */
     List<User> getUsers();
 
+    /**
+     * Thread-safe {@link net.dv8tion.jda.core.utils.cache.SnowflakeCacheView SnowflakeCacheView} of all cached
+     * {@link net.dv8tion.jda.core.entities.User Users} visible to this JDA session.
+     * <br>This can be streamed or iterated with {@code forEach} without copying all Users on every call,
+     * the view only takes a new snapshot after the cache has changed.
+     *
+     * @return The SnowflakeCacheView of all cached Users
+     */
+    SnowflakeCacheView<User> getUserCache();
+
     /**
      * This returns the {@link net.dv8tion.jda.core.entities.User User} which has the same id as the one provided.
      * <br>If there is no visible user with an id that matches the provided one, this returns {@code null}.
@@ -205,10 +216,24 @@ public interface JDA
      * @param  id
      *         The id of the requested {@link net.dv8tion.jda.core.entities.User User}.
      *
+     * @throws java.lang.NumberFormatException
+     *         If the provided {@code id} is not a valid snowflake
+     *
      * @return Possibly-null {@link net.dv8tion.jda.core.entities.User User} with matching id.
      */
     User getUserById(String id);
 
+    /**
+     * This returns the {@link net.dv8tion.jda.core.entities.User User} which has the same id as the one provided.
+     * <br>If there is no visible user with an id that matches the provided one, this returns {@code null}.
+     *
+     * @param  id
+     *         The id of the requested {@link net.dv8tion.jda.core.entities.User User}.
+     *
+     * @return Possibly-null {@link net.dv8tion.jda.core.entities.User User} with matching id.
+     */
+    User getUserById(long id);
+
     /**
      * Gets all {@link net.dv8tion.jda.core.entities.Guild Guilds} that contain all given users as their members.
      *
@@ -288,6 +313,16 @@ public interface JDA
      */
     List<Guild> getGuilds();
 
+    /**
+     * Thread-safe {@link net.dv8tion.jda.core.utils.cache.SnowflakeCacheView SnowflakeCacheView} of all cached
+     * {@link net.dv8tion.jda.core.entities.Guild Guilds} visible to this JDA session.
+     * <br>This can be streamed or iterated with {@code forEach} without copying all Guilds on every call,
+     * the view only takes a new snapshot after the cache has changed.
+     *
+     * @return The SnowflakeCacheView of all cached Guilds
+     */
+    SnowflakeCacheView<Guild> getGuildCache();
+
     /**
      * This returns the {@link net.dv8tion.jda.core.entities.Guild Guild} which has the same id as the one provided.
      * <br>If there is no connected guild with an id that matches the provided one, then this returns {@code null}.
@@ -295,10 +330,24 @@ public interface JDA
      * @param  id
      *         The id of the {@link net.dv8tion.jda.core.entities.Guild Guild}.
      *
+     * @throws java.lang.NumberFormatException
+     *         If the provided {@code id} is not a valid snowflake
+     *
      * @return Possibly-null {@link net.dv8tion.jda.core.entities.Guild Guild} with matching id.
      */
     Guild getGuildById(String id);
 
+    /**
+     * This returns the {@link net.dv8tion.jda.core.entities.Guild Guild} which has the same id as the one provided.
+     * <br>If there is no connected guild with an id that matches the provided one, then this returns {@code null}.
+     *
+     * @param  id
+     *         The id of the {@link net.dv8tion.jda.core.entities.Guild Guild}.
+     *
+     * @return Possibly-null {@link net.dv8tion.jda.core.entities.Guild Guild} with matching id.
+     */
+    Guild getGuildById(long id);
+
     /**
      * An unmodifiable list of all {@link net.dv8tion.jda.core.entities.Guild Guilds} that have the same name as the one provided.
      * <br>If there are no {@link net.dv8tion.jda.core.entities.Guild Guilds} with the provided name, then this returns an empty list.
@@ -327,6 +376,16 @@ public interface JDA
      */
     List<TextChannel> getTextChannels();
 
+    /**
+     * Thread-safe {@link net.dv8tion.jda.core.utils.cache.SnowflakeCacheView SnowflakeCacheView} of all cached
+     * {@link net.dv8tion.jda.core.entities.TextChannel TextChannels} visible to this JDA session.
+     * <br>This can be streamed or iterated with {@code forEach} without copying all channels on every call,
+     * the view only takes a new snapshot after the cache has changed.
+     *
+     * @return The SnowflakeCacheView of all cached TextChannels
+     */
+    SnowflakeCacheView<TextChannel> getTextChannelCache();
+
     /**
      * This returns the {@link net.dv8tion.jda.core.entities.TextChannel TextChannel} which has the same id as the one provided.
      * <br>If there is no known {@link net.dv8tion.jda.core.entities.TextChannel TextChannel} with an id that matches the provided
@@ -341,10 +400,31 @@ public interface JDA
      * @param  id
      *         The id of the {@link net.dv8tion.jda.core.entities.TextChannel TextChannel}.
      *
+     * @throws java.lang.NumberFormatException
+     *         If the provided {@code id} is not a valid snowflake
+     *
      * @return Possibly-null {@link net.dv8tion.jda.core.entities.TextChannel TextChannel} with matching id.
      */
     TextChannel getTextChannelById(String id);
 
+    /**
+     * This returns the {@link net.dv8tion.jda.core.entities.TextChannel TextChannel} which has the same id as the one provided.
+     * <br>If there is no known {@link net.dv8tion.jda.core.entities.TextChannel TextChannel} with an id that matches the provided
+     * one, then this returns {@code null}.
+     *
+     * <p><b>Note:</b> just because a {@link net.dv8tion.jda.core.entities.TextChannel TextChannel} is present does
+     * not mean that you will be able to send messages to it. Furthermore, if you log into this account on the discord
+     * client, it is you will not see the channel that this returns. This is because the discord client
+     * hides any {@link net.dv8tion.jda.core.entities.TextChannel TextChannel} that you don't have the
+     * {@link net.dv8tion.jda.core.Permission#MESSAGE_READ Permission.MESSAGE_READ} permission in.
+     *
+     * @param  id
+     *         The id of the {@link net.dv8tion.jda.core.entities.TextChannel TextChannel}.
+     *
+     * @return Possibly-null {@link net.dv8tion.jda.core.entities.TextChannel TextChannel} with matching id.
+     */
+    TextChannel getTextChannelById(long id);
+
     /**
      * An unmodifiable list of all {@link net.dv8tion.jda.core.entities.TextChannel TextChannels} that have the same name as the one provided.
      * <br>If there are no {@link net.dv8tion.jda.core.entities.TextChannel TextChannels} with the provided name, then this returns an empty list.
@@ -373,6 +453,16 @@ public interface JDA
      */
     List<VoiceChannel> getVoiceChannels();
 
+    /**
+     * Thread-safe {@link net.dv8tion.jda.core.utils.cache.SnowflakeCacheView SnowflakeCacheView} of all cached
+     * {@link net.dv8tion.jda.core.entities.VoiceChannel VoiceChannels} visible to this JDA session.
+     * <br>This can be streamed or iterated with {@code forEach} without copying all channels on every call,
+     * the view only takes a new snapshot after the cache has changed.
+     *
+     * @return The SnowflakeCacheView of all cached VoiceChannels
+     */
+    SnowflakeCacheView<VoiceChannel> getVoiceChannelCache();
+
     /**
      * This returns the {@link net.dv8tion.jda.core.entities.VoiceChannel VoiceChannel} which has the same id as the one provided.
      * <br>If there is no known {@link net.dv8tion.jda.core.entities.VoiceChannel VoiceChannel} with an id that matches the provided
@@ -380,10 +470,24 @@ public interface JDA
      *
      * @param  id The id of the {@link net.dv8tion.jda.core.entities.VoiceChannel VoiceChannel}.
      *
+     * @throws java.lang.NumberFormatException
+     *         If the provided {@code id} is not a valid snowflake
+     *
      * @return Possibly-null {@link net.dv8tion.jda.core.entities.VoiceChannel VoiceChannel} with matching id.
      */
     VoiceChannel getVoiceChannelById(String id);
 
+    /**
+     * This returns the {@link net.dv8tion.jda.core.entities.VoiceChannel VoiceChannel} which has the same id as the one provided.
+     * <br>If there is no known {@link net.dv8tion.jda.core.entities.VoiceChannel VoiceChannel} with an id that matches the provided
+     * one, then this returns {@code null}.
+     *
+     * @param  id The id of the {@link net.dv8tion.jda.core.entities.VoiceChannel VoiceChannel}.
+     *
+     * @return Possibly-null {@link net.dv8tion.jda.core.entities.VoiceChannel VoiceChannel} with matching id.
+     */
+    VoiceChannel getVoiceChannelById(long id);
+
     /**
      * An unmodifiable list of all {@link net.dv8tion.jda.core.entities.VoiceChannel VoiceChannels} that have the same name as the one provided.
      * <br>If there are no {@link net.dv8tion.jda.core.entities.VoiceChannel VoiceChannels} with the provided name, then this returns an empty list.
@@ -405,6 +509,16 @@ public interface JDA
      */
     List<PrivateChannel> getPrivateChannels();
 
+    /**
+     * Thread-safe {@link net.dv8tion.jda.core.utils.cache.SnowflakeCacheView SnowflakeCacheView} of all cached
+     * {@link net.dv8tion.jda.core.entities.PrivateChannel PrivateChannels} visible to this JDA session.
+     * <br>This can be streamed or iterated with {@code forEach} without copying all channels on every call,
+     * the view only takes a new snapshot after the cache has changed.
+     *
+     * @return The SnowflakeCacheView of all cached PrivateChannels
+     */
+    SnowflakeCacheView<PrivateChannel> getPrivateChannelCache();
+
     /**
      * This returns the {@link net.dv8tion.jda.core.entities.PrivateChannel PrivateChannel} which has the same id as the one provided.
      * <br>If there is no known {@link net.dv8tion.jda.core.entities.PrivateChannel PrivateChannel} with an id that matches the
@@ -413,10 +527,25 @@ public interface JDA
      * @param  id
      *         The id of the {@link net.dv8tion.jda.core.entities.PrivateChannel PrivateChannel}.
      *
+     * @throws java.lang.NumberFormatException
+     *         If the provided {@code id} is not a valid snowflake
+     *
      * @return Possibly-null {@link net.dv8tion.jda.core.entities.PrivateChannel PrivateChannel} with matching id.
      */
     PrivateChannel getPrivateChannelById(String id);
 
+    /**
+     * This returns the {@link net.dv8tion.jda.core.entities.PrivateChannel PrivateChannel} which has the same id as the one provided.
+     * <br>If there is no known {@link net.dv8tion.jda.core.entities.PrivateChannel PrivateChannel} with an id that matches the
+     * provided one, then this returns {@code null}.
+     *
+     * @param  id
+     *         The id of the {@link net.dv8tion.jda.core.entities.PrivateChannel PrivateChannel}.
+     *
+     * @return Possibly-null {@link net.dv8tion.jda.core.entities.PrivateChannel PrivateChannel} with matching id.
+     */
+    PrivateChannel getPrivateChannelById(long id);
+
     /**
      * A collection of all to us known emotes (managed/restricted included).
      *
@@ -434,10 +563,23 @@ public interface JDA
      * @param  id
      *         The id of the requested {@link net.dv8tion.jda.core.entities.Emote}.
      *
+     * @throws java.lang.NumberFormatException
+     *         If the provided {@code id} is not a valid snowflake
+     *
      * @return An {@link net.dv8tion.jda.core.entities.Emote Emote} represented by this id or null if none is found in our cache.
      */
     Emote getEmoteById(String id);
 
+    /**
+     * Retrieves an emote matching the specified {@code id} if one is available in our cache.
+     *
+     * @param  id
+     *         The id of the requested {@link net.dv8tion.jda.core.entities.Emote}.
+     *
+     * @return An {@link net.dv8tion.jda.core.entities.Emote Emote} represented by this id or null if none is found in our cache.
+     */
+    Emote getEmoteById(long id);
+
     /**
      * An unmodifiable list of all {@link net.dv8tion.jda.core.entities.Emote Emotes} that have the same name as the one provided.
      * <br>If there are no {@link net.dv8tion.jda.core.entities.Emote Emotes} with the provided name, then this returns an empty list.
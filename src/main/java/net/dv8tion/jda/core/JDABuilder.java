@@ -24,6 +24,9 @@ import net.dv8tion.jda.core.entities.impl.JDAImpl;
 import net.dv8tion.jda.core.exceptions.RateLimitedException;
 import net.dv8tion.jda.core.hooks.IEventManager;
 import net.dv8tion.jda.core.managers.impl.PresenceImpl;
+import net.dv8tion.jda.core.requests.http.IHttpClient;
+import net.dv8tion.jda.core.utils.SessionStore;
+import net.dv8tion.jda.core.utils.cache.MemberCachePolicy;
 import org.apache.http.HttpHost;
 import org.apache.http.util.Args;
 
@@ -55,6 +58,7 @@ public class JDABuilder
     protected String token = null;
     protected IEventManager eventManager = null;
     protected IAudioSendFactory audioSendFactory = null;
+    protected IHttpClient httpClient = null;
     protected JDA.ShardInfo shardInfo = null;
     protected Game game = null;
     protected OnlineStatus status = OnlineStatus.ONLINE;
@@ -63,7 +67,12 @@ public class JDABuilder
     protected boolean enableShutdownHook = true;
     protected boolean enableBulkDeleteSplitting = true;
     protected boolean autoReconnect = true;
+    protected boolean transportCompression = false;
     protected boolean idle = false;
+    protected MemberCachePolicy memberCachePolicy = MemberCachePolicy.ALL;
+    protected SessionStore sessionStore = null;
+    protected String restEndpoint = null;
+    protected String gatewayEndpoint = null;
 
     /**
      * Creates a completely empty JDABuilder.
@@ -231,6 +240,110 @@ public class JDABuilder
         return this;
     }
 
+    /**
+     * Enables/Disables {@code zlib-stream} transport compression for the gateway connection.
+     * <br>When enabled every payload sent by Discord is compressed, not only the initial READY event.
+     * JDA keeps one zlib context for the whole connection which drastically reduces the used bandwidth
+     * at the cost of a little CPU time for decompression.
+     *
+     * <p>Default: <b>false (disabled)</b>
+     *
+     * @param  enabled
+     *         True - The gateway connection will use zlib-stream transport compression
+     *
+     * @return Returns the {@link net.dv8tion.jda.core.JDABuilder JDABuilder} instance. Useful for chaining.
+     */
+    public JDABuilder setTransportCompressionEnabled(boolean enabled)
+    {
+        this.transportCompression = enabled;
+        return this;
+    }
+
+    /**
+     * Sets the base url of the REST api that all requests are sent to.
+     * <br>This is meant for tests and benchmarks against a local stand-in of the Discord api, the authorization
+     * header is sent to this endpoint as well. Routes are appended to this url, e.g. {@code users/@me}.
+     *
+     * <p>Default: {@value net.dv8tion.jda.core.requests.Requester#DISCORD_API_PREFIX}
+     *
+     * @param  url
+     *         The base url of the REST api, or {@code null} to use Discord's api
+     *
+     * @return Returns the {@link net.dv8tion.jda.core.JDABuilder JDABuilder} instance. Useful for chaining.
+     */
+    public JDABuilder setRestEndpoint(String url)
+    {
+        Args.check(url == null || !url.isEmpty(), "REST endpoint may not be empty");
+        this.restEndpoint = url;
+        return this;
+    }
+
+    /**
+     * Sets the url of the gateway the WebSocket connects to.
+     * <br>If not set, the gateway url is requested from the REST api on every connect.
+     * The encoding, version and compression parameters are appended by JDA.
+     *
+     * <p>Default: {@code null} (fetched from the REST api)
+     *
+     * @param  url
+     *         The gateway url, or {@code null} to request it from the REST api
+     *
+     * @return Returns the {@link net.dv8tion.jda.core.JDABuilder JDABuilder} instance. Useful for chaining.
+     */
+    public JDABuilder setGatewayEndpoint(String url)
+    {
+        Args.check(url == null || !url.isEmpty(), "Gateway endpoint may not be empty");
+        this.gatewayEndpoint = url;
+        return this;
+    }
+
+    /**
+     * Sets the {@link net.dv8tion.jda.core.utils.cache.MemberCachePolicy MemberCachePolicy} that decides which
+     * {@link net.dv8tion.jda.core.entities.Member Members} are kept in the cache.
+     * <br>Every policy other than {@link net.dv8tion.jda.core.utils.cache.MemberCachePolicy#ALL MemberCachePolicy.ALL}
+     * disables the requests for the complete member list of every Guild on startup,
+     * which drastically reduces memory usage and startup time for accounts in large Guilds.
+     * Members that are not cached can be retrieved with {@link net.dv8tion.jda.core.entities.Guild#retrieveMemberById(long)}.
+     *
+     * <p>Default: {@link net.dv8tion.jda.core.utils.cache.MemberCachePolicy#ALL MemberCachePolicy.ALL}
+     *
+     * @param  policy
+     *         The MemberCachePolicy to use
+     *
+     * @throws IllegalArgumentException
+     *         If the provided policy is null
+     *
+     * @return Returns the {@link net.dv8tion.jda.core.JDABuilder JDABuilder} instance. Useful for chaining.
+     */
+    public JDABuilder setMemberCachePolicy(MemberCachePolicy policy)
+    {
+        Args.notNull(policy, "MemberCachePolicy");
+        this.memberCachePolicy = policy;
+        return this;
+    }
+
+    /**
+     * Sets the {@link net.dv8tion.jda.core.utils.SessionStore SessionStore} that checkpoints the gateway session.
+     * <br>When a session was stored by a previous process, JDA attempts to RESUME it instead of identifying
+     * a new session, which skips the loading of all Guilds. If the session can no longer be resumed a new one is identified.
+     * <br>As Discord only replays missed events on RESUME, stored sessions are only resumed if the entity cache
+     * of the previous process was restored as well.
+     *
+     * <p>Default: {@code null} (disabled)
+     *
+     * @param  store
+     *         The SessionStore to use, or {@code null} to disable session persistence
+     *
+     * @return Returns the {@link net.dv8tion.jda.core.JDABuilder JDABuilder} instance. Useful for chaining.
+     *
+     * @see    net.dv8tion.jda.core.utils.FileSessionStore
+     */
+    public JDABuilder setSessionStore(SessionStore store)
+    {
+        this.sessionStore = store;
+        return this;
+    }
+
     /**
      * Changes the internally used EventManager.
      * <br>There are 2 provided Implementations:
@@ -272,6 +385,22 @@ public class JDABuilder
         return this;
     }
 
+    /**
+     * Changes the HTTP backend used to send requests to the Discord REST api.
+     * <br>By default, JDA uses {@link net.dv8tion.jda.core.requests.http.DefaultHttpClient DefaultHttpClient}
+     * which sends all requests asynchronously over a pool of keep-alive connections.
+     *
+     * @param  httpClient
+     *         The new {@link net.dv8tion.jda.core.requests.http.IHttpClient IHttpClient} to be used, or null to use the default
+     *
+     * @return Returns the {@link net.dv8tion.jda.core.JDABuilder JDABuilder} instance. Useful for chaining.
+     */
+    public JDABuilder setHttpClient(IHttpClient httpClient)
+    {
+        this.httpClient = httpClient;
+        return this;
+    }
+
     /**
      * Sets whether or not we should mark our session as afk
      * <br>This value can be changed at any time in the {@link net.dv8tion.jda.core.managers.Presence Presence} from a JDA instance.
@@ -443,6 +572,16 @@ public class JDABuilder
         if (audioSendFactory != null)
             jda.setAudioSendFactory(audioSendFactory);
 
+        if (httpClient != null)
+            jda.setHttpClient(httpClient);
+
+        jda.setTransportCompressionEnabled(transportCompression);
+        jda.setMemberCachePolicy(memberCachePolicy);
+        jda.setSessionStore(sessionStore);
+        if (restEndpoint != null)
+            jda.setRestEndpoint(restEndpoint);
+        jda.setGatewayEndpoint(gatewayEndpoint);
+
         listeners.forEach(jda::addEventListener);
         jda.setStatus(JDA.Status.INITIALIZED);  //This is already set by JDA internally, but this is to make sure the listeners catch it.
 
@@ -0,0 +1,129 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.dv8tion.jda.core.audio;
+
+import com.iwebpp.crypto.TweetNaclFast;
+
+import static net.dv8tion.jda.core.audio.AudioPacket.RTP_HEADER_BYTE_LENGTH;
+import static net.dv8tion.jda.core.audio.AudioPacket.XSALSA20_NONCE_LENGTH;
+
+/**
+ * Encrypts and decrypts RTP packets with the {@code xsalsa20_poly1305} secret key of a voice connection.
+ * <br>An instance is created once per secret key and reuses its nonce and scratch buffers for every packet.
+ *
+ * <p>This class is not thread-safe, the sending and the receiving side of a connection use separate instances.
+ */
+final class AudioCipher
+{
+    //Amount of bytes the encryption adds to the payload (poly1305 MAC)
+    static final int MAC_LENGTH = 16;
+    //crypto_secretbox requires the first 32 bytes of the message to be zero and leaves the first 16 bytes of the box unused
+    private static final int ZERO_BYTES = 32;
+    private static final int BOX_ZERO_BYTES = 16;
+
+    private final byte[] secretKey;
+    private final byte[] nonce = new byte[XSALSA20_NONCE_LENGTH];
+    private byte[] message = new byte[ZERO_BYTES + 1024];
+    private byte[] box = new byte[ZERO_BYTES + 1024];
+
+    AudioCipher(byte[] secretKey)
+    {
+        this.secretKey = secretKey;
+    }
+
+    /**
+     * Whether this cipher was created for the provided secret key.
+     *
+     * @param  secretKey
+     *         The current secret key of the connection
+     *
+     * @return True, if this cipher can be reused for the provided key
+     */
+    boolean usesKey(byte[] secretKey)
+    {
+        return this.secretKey == secretKey;
+    }
+
+    /**
+     * Encrypts the provided payload and writes it behind the RTP header of the packet.
+     * <br>The RTP header (the first {@value AudioPacket#RTP_HEADER_BYTE_LENGTH} bytes of the packet) is used as nonce
+     * and has to be written before calling this method.
+     *
+     * @param  packet
+     *         The packet buffer, must be able to hold the header, the payload and {@value #MAC_LENGTH} additional bytes
+     * @param  payload
+     *         The unencrypted payload
+     * @param  offset
+     *         The offset of the payload in the provided array
+     * @param  length
+     *         The length of the payload
+     *
+     * @return The total length of the encrypted packet
+     */
+    int encrypt(byte[] packet, byte[] payload, int offset, int length)
+    {
+        int messageLength = ZERO_BYTES + length;
+        if (message.length < messageLength)
+        {
+            message = new byte[messageLength];
+            box = new byte[messageLength];
+        }
+
+        //The extended nonce is the RTP header followed by 12 zero bytes
+        System.arraycopy(packet, 0, nonce, 0, RTP_HEADER_BYTE_LENGTH);
+        System.arraycopy(payload, offset, message, ZERO_BYTES, length);
+        TweetNaclFast.crypto_secretbox(box, message, messageLength, nonce, secretKey);
+
+        int boxLength = messageLength - BOX_ZERO_BYTES;
+        System.arraycopy(box, BOX_ZERO_BYTES, packet, RTP_HEADER_BYTE_LENGTH, boxLength);
+        return RTP_HEADER_BYTE_LENGTH + boxLength;
+    }
+
+    /**
+     * Decrypts a received packet.
+     *
+     * @param  packet
+     *         The received packet
+     * @param  length
+     *         The length of the received packet
+     *
+     * @return The decrypted {@link net.dv8tion.jda.core.audio.AudioPacket AudioPacket},
+     *         or {@code null} if the packet is too short or could not be authenticated
+     */
+    AudioPacket decrypt(byte[] packet, int length)
+    {
+        int boxLength = length - RTP_HEADER_BYTE_LENGTH;
+        if (boxLength < MAC_LENGTH)
+            return null;
+        int cipherLength = BOX_ZERO_BYTES + boxLength;
+        if (box.length < cipherLength)
+        {
+            message = new byte[cipherLength];
+            box = new byte[cipherLength];
+        }
+
+        System.arraycopy(packet, 0, nonce, 0, RTP_HEADER_BYTE_LENGTH);
+        System.arraycopy(packet, RTP_HEADER_BYTE_LENGTH, box, BOX_ZERO_BYTES, boxLength);
+        if (TweetNaclFast.crypto_secretbox_open(message, box, cipherLength, nonce, secretKey) != 0)
+            return null;
+
+        int audioLength = cipherLength - ZERO_BYTES;
+        byte[] decrypted = new byte[RTP_HEADER_BYTE_LENGTH + audioLength];
+        System.arraycopy(packet, 0, decrypted, 0, RTP_HEADER_BYTE_LENGTH);
+        System.arraycopy(message, ZERO_BYTES, decrypted, RTP_HEADER_BYTE_LENGTH, audioLength);
+        return new AudioPacket(decrypted);
+    }
+}
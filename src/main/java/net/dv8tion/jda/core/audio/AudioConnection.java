@@ -27,22 +27,18 @@ import net.dv8tion.jda.core.entities.User;
 import net.dv8tion.jda.core.entities.VoiceChannel;
 import net.dv8tion.jda.core.entities.impl.JDAImpl;
 import net.dv8tion.jda.core.utils.SimpleLog;
-import org.apache.commons.lang3.tuple.Pair;
 import org.json.JSONObject;
 import tomp2p.opuswrapper.Opus;
 
+import java.io.IOException;
 import java.net.DatagramPacket;
 import java.net.DatagramSocket;
-import java.net.SocketException;
-import java.net.SocketTimeoutException;
 import java.nio.ByteBuffer;
 import java.nio.IntBuffer;
 import java.nio.ShortBuffer;
+import java.nio.channels.DatagramChannel;
 import java.util.*;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class AudioConnection
 {
@@ -52,6 +48,7 @@ public class AudioConnection
     public static final int OPUS_FRAME_TIME_AMOUNT = 20;//This is 20 milliseconds. We are only dealing with 20ms opus packets.
     public static final int OPUS_CHANNEL_COUNT = 2;     //We want to use stereo. If the audio given is mono, the encoder promotes it
                                                         // to Left and Right mono (stereo that is the same on both sides)
+    public static final int MAX_OPUS_PACKET_SIZE = 4096;//Upper bound for the size of a single encoded opus frame.
     private final String threadIdentifier;
     private final AudioWebSocket webSocket;
     private DatagramSocket udpSocket;
@@ -60,12 +57,13 @@ public class AudioConnection
     private volatile AudioReceiveHandler receiveHandler = null;
     private PointerByReference opusEncoder;
     private volatile HashMap<Integer, String> ssrcMap = new HashMap<>();
-    private volatile HashMap<Integer, Decoder> opusDecoders = new HashMap<>();
-    private volatile HashMap<User, Queue<Pair<Long, short[]>>> combinedQueue = new HashMap<>();
-    private ScheduledExecutorService combinedAudioExecutor;
+    private final Map<Integer, JitterBuffer> jitterBuffers = new ConcurrentHashMap<>();
+    private AudioPlayoutClock.Registration playoutRegistration;
+    private final AudioMixer mixer = new AudioMixer();
 
     private IAudioSendSystem sendSystem;
-    private Thread receiveThread;
+    private AudioReceiveEngine.Registration receiveRegistration;
+    private AudioCipher receiveCipher;
     private long queueTimeout;
 
     private volatile boolean couldReceive = false;
@@ -74,6 +72,8 @@ public class AudioConnection
     private volatile int silenceCounter = 0;
     boolean sentSilenceOnConnect = false;
     private final byte[] silenceBytes = new byte[] {(byte)0xF8, (byte)0xFF, (byte)0xFE};
+    private ShortBuffer nonEncodedAudio = ShortBuffer.allocate(OPUS_FRAME_SIZE * OPUS_CHANNEL_COUNT);
+    private final ByteBuffer encodedAudio = ByteBuffer.allocate(MAX_OPUS_PACKET_SIZE);
 
     public AudioConnection(AudioWebSocket webSocket, VoiceChannel channel)
     {
@@ -185,8 +185,9 @@ public class AudioConnection
             ssrcMap.put(ssrc, userId);
 
             //Only create a decoder if we are actively handling received audio.
-            if (receiveThread != null)
-                opusDecoders.put(ssrc, new Decoder(ssrc));
+            //The receiving thread might have created the buffer already, never replace it
+            if (receiveRegistration != null)
+                jitterBuffers.computeIfAbsent(ssrc, key -> new JitterBuffer(key, queueTimeout));
         }
     }
 
@@ -204,15 +205,15 @@ public class AudioConnection
             sendSystem.shutdown();
             sendSystem = null;
         }
-        if (receiveThread != null)
+        if (receiveRegistration != null)
         {
-            receiveThread.interrupt();
-            receiveThread = null;
+            receiveRegistration.close();
+            receiveRegistration = null;
         }
-        if (combinedAudioExecutor != null)
+        if (playoutRegistration != null)
         {
-            combinedAudioExecutor.shutdownNow();
-            combinedAudioExecutor = null;
+            playoutRegistration.close();
+            playoutRegistration = null;
         }
         if (opusEncoder != null)
         {
@@ -220,8 +221,8 @@ public class AudioConnection
             opusEncoder = null;
         }
 
-        opusDecoders.values().forEach(decoder -> decoder.close());
-        opusDecoders.clear();
+        jitterBuffers.values().forEach(buffer -> buffer.close());
+        jitterBuffers.clear();
     }
 
     private synchronized void setupSendSystem()
@@ -250,231 +251,159 @@ public class AudioConnection
 
     private synchronized void setupReceiveSystem()
     {
-        if (udpSocket != null && !udpSocket.isClosed() && receiveHandler != null && receiveThread == null)
+        if (udpSocket != null && !udpSocket.isClosed() && receiveHandler != null && receiveRegistration == null)
         {
-            setupReceiveThread();
+            registerReceiver();
         }
-        else if (receiveHandler == null && receiveThread != null)
+        else if (receiveHandler == null && receiveRegistration != null)
         {
-            receiveThread.interrupt();
-            receiveThread = null;
+            receiveRegistration.close();
+            receiveRegistration = null;
 
-            if (combinedAudioExecutor != null)
+            if (playoutRegistration != null)
             {
-                combinedAudioExecutor.shutdownNow();
-                combinedAudioExecutor = null;
+                playoutRegistration.close();
+                playoutRegistration = null;
             }
 
-            opusDecoders.values().forEach(decoder -> decoder.close());
-            opusDecoders.clear();
+            jitterBuffers.values().forEach(buffer -> buffer.close());
+            jitterBuffers.clear();
         }
-        else if (receiveHandler != null && !receiveHandler.canReceiveCombined() && combinedAudioExecutor != null)
+        else if (receiveHandler != null && receiveRegistration != null)
         {
-            combinedAudioExecutor.shutdownNow();
-            combinedAudioExecutor = null;
+            //The handler might have started receiving user or combined audio
+            setupPlayout();
         }
     }
 
-    private synchronized void setupReceiveThread()
+    private synchronized void registerReceiver()
     {
-        if (receiveThread == null)
+        if (receiveRegistration == null)
         {
-            receiveThread = new Thread(threadIdentifier + " Receiving Thread")
+            DatagramChannel udpChannel = udpSocket.getChannel();
+            if (udpChannel == null)
             {
-                @Override
-                public void run()
-                {
-                    try
-                    {
-                        udpSocket.setSoTimeout(1000);
-                    }
-                    catch (SocketException e)
-                    {
-                        LOG.log(e);
-                    }
-                    while (!udpSocket.isClosed() && !this.isInterrupted())
-                    {
-                        DatagramPacket receivedPacket = new DatagramPacket(new byte[1920], 1920);
-                        try
-                        {
-                            udpSocket.receive(receivedPacket);
-
-                            if (receiveHandler != null && (receiveHandler.canReceiveUser() || receiveHandler.canReceiveCombined()) && webSocket.getSecretKey() != null)
-                            {
-                                if (!couldReceive)
-                                {
-                                    couldReceive = true;
-                                    sendSilentPackets();
-                                }
-                                AudioPacket decryptedPacket = AudioPacket.decryptAudioPacket(receivedPacket, webSocket.getSecretKey());
-
-                                int ssrc = decryptedPacket.getSSRC();
-                                String userId = ssrcMap.get(ssrc);
-                                Decoder decoder = opusDecoders.get(ssrc);
-                                if (userId == null)
-                                {
-                                    byte[] audio = decryptedPacket.getEncodedAudio();
-
-                                    //If the bytes are silence, then this was caused by a User joining the voice channel,
-                                    // and as such, we haven't yet received information to pair the SSRC with the UserId.
-                                    if (!Arrays.equals(audio, silenceBytes))
-                                        LOG.debug("Received audio data with an unknown SSRC id. Ignoring");
-
-                                    continue;
-                                }
-                                if (decoder == null)
-                                {
-                                    decoder = new Decoder(ssrc);
-                                    opusDecoders.put(ssrc, decoder);
-                                }
-                                if (!decoder.isInOrder(decryptedPacket.getSequence()))
-                                {
-                                    LOG.trace("Got out-of-order audio packet. Ignoring.");
-                                    continue;
-                                }
-
-                                User user = getJDA().getUserById(userId);
-                                if (user == null)
-                                    LOG.warn("Received audio data with a known SSRC, but the userId associate with the SSRC is unknown to JDA!");
-                                else
-                                {
-//                                    if (decoder.wasPacketLost(decryptedPacket.getSequence()))
-//                                    {
-//                                        LOG.debug("Packet(s) missed. Using Opus packetloss-compensation.");
-//                                        short[] decodedAudio = decoder.decodeFromOpus(null);
-//                                        receiveHandler.handleUserAudio(new UserAudio(user, decodedAudio));
-//                                    }
-                                    short[] decodedAudio = decoder.decodeFromOpus(decryptedPacket);
-
-                                    //If decodedAudio is null, then the Opus decode failed, so throw away the packet.
-                                    if (decodedAudio == null)
-                                    {
-                                        LOG.trace("Received audio data but Opus failed to properly decode, instead it returned an error");
-                                    }
-                                    else
-                                    {
-                                        if (receiveHandler.canReceiveUser())
-                                        {
-                                            receiveHandler.handleUserAudio(new UserAudio(user, decodedAudio));
-                                        }
-                                        if (receiveHandler.canReceiveCombined())
-                                        {
-                                            Queue<Pair<Long, short[]>> queue = combinedQueue.get(user);
-                                            if (queue == null)
-                                            {
-                                                queue = new ConcurrentLinkedQueue<>();
-                                                combinedQueue.put(user, queue);
-                                            }
-                                            queue.add(Pair.<Long, short[]>of(System.currentTimeMillis(), decodedAudio));
-                                        }
-                                    }
-                                }
-                            }
-                            else if (couldReceive)
-                            {
-                                couldReceive = false;
-                                sendSilentPackets();
-                            }
-                        }
-                        catch (SocketTimeoutException e)
-                        {
-                            //Ignore. We set a low timeout so that we wont block forever so we can properly shutdown the loop.
-                        }
-                        catch (SocketException e)
-                        {
-                            //The socket was closed while we were listening for the next packet.
-                            //This is expected. Ignore the exception. The thread will exit during the next while
-                            // iteration because the udpSocket.isClosed() will return true.
-                        }
-                        catch (Exception e)
-                        {
-                            LOG.log(e);
-                        }
-                    }
-                }
-            };
-            receiveThread.setDaemon(true);
-            receiveThread.start();
+                LOG.fatal("The UDP socket of this connection is not backed by a channel, cannot receive audio");
+                return;
+            }
+            try
+            {
+                receiveRegistration = AudioReceiveEngine.register(udpChannel, this);
+            }
+            catch (IOException e)
+            {
+                LOG.fatal("Could not start receiving audio");
+                LOG.log(e);
+                return;
+            }
         }
 
-        if (receiveHandler.canReceiveCombined())
+        setupPlayout();
+    }
+
+    //Called by the AudioReceiveEngine when it stopped because of an error, the connection registers with a new one
+    synchronized void restartReceiving(AudioReceiveEngine.Registration registration)
+    {
+        if (receiveRegistration != registration)
+            return;
+        receiveRegistration = null;
+        setupReceiveSystem();
+    }
+
+    //Called by the workers of the AudioReceiveEngine, never concurrently for the same connection
+    void receive(byte[] data, int length)
+    {
+        AudioReceiveHandler receiveHandler = this.receiveHandler;
+        byte[] secretKey = webSocket.getSecretKeyReference();
+        if (receiveHandler != null && (receiveHandler.canReceiveUser() || receiveHandler.canReceiveCombined()) && secretKey != null)
         {
-            setupCombinedExecutor();
+            if (!couldReceive)
+            {
+                couldReceive = true;
+                sendSilentPackets();
+            }
+            if (receiveCipher == null || !receiveCipher.usesKey(secretKey))
+                receiveCipher = new AudioCipher(secretKey);
+            AudioPacket decryptedPacket = receiveCipher.decrypt(data, length);
+            if (decryptedPacket == null)
+            {
+                LOG.trace("Received audio packet that could not be decrypted. Ignoring.");
+                return;
+            }
+
+            int ssrc = decryptedPacket.getSSRC();
+            String userId = ssrcMap.get(ssrc);
+            if (userId == null)
+            {
+                byte[] audio = decryptedPacket.getEncodedAudio();
+
+                //If the bytes are silence, then this was caused by a User joining the voice channel,
+                // and as such, we haven't yet received information to pair the SSRC with the UserId.
+                if (!Arrays.equals(audio, silenceBytes))
+                    LOG.debug("Received audio data with an unknown SSRC id. Ignoring");
+
+                return;
+            }
+
+            //Decoding happens on the playout clock, once the jitter buffer put the packets back in order
+            JitterBuffer jitterBuffer = jitterBuffers.computeIfAbsent(ssrc, key -> new JitterBuffer(key, queueTimeout));
+            jitterBuffer.offer(decryptedPacket);
+        }
+        else if (couldReceive)
+        {
+            couldReceive = false;
+            sendSilentPackets();
         }
     }
 
-    private synchronized void setupCombinedExecutor()
+    private synchronized void setupPlayout()
     {
-        if (combinedAudioExecutor == null)
+        AudioReceiveHandler receiveHandler = this.receiveHandler;
+        boolean canReceive = receiveHandler != null && (receiveHandler.canReceiveUser() || receiveHandler.canReceiveCombined());
+        if (playoutRegistration == null && canReceive)
+        {
+            //All connections share one playout clock instead of a thread each
+            playoutRegistration = AudioPlayoutClock.register(this::playout);
+        }
+        else if (playoutRegistration != null && !canReceive)
         {
-            combinedAudioExecutor = Executors.newSingleThreadScheduledExecutor( r -> new Thread(r, threadIdentifier + " Combined Thread"));
-            combinedAudioExecutor.scheduleAtFixedRate(() ->
+            playoutRegistration.close();
+            playoutRegistration = null;
+        }
+    }
+
+    //Called every 20ms by the playout clock, takes one frame out of every jitter buffer
+    private void playout()
+    {
+        AudioReceiveHandler receiveHandler = this.receiveHandler;
+        if (receiveHandler == null)
+            return;
+        boolean canReceiveUser = receiveHandler.canReceiveUser();
+        boolean canReceiveCombined = receiveHandler.canReceiveCombined();
+
+        for (Map.Entry<Integer, JitterBuffer> entry : jitterBuffers.entrySet())
+        {
+            short[] audio = entry.getValue().poll();
+            if (audio == null)
+                continue;
+
+            String userId = ssrcMap.get(entry.getKey());
+            User user = userId == null ? null : getJDA().getUserById(userId);
+            if (user == null)
             {
-                try
-                {
-                    List<User> users = new LinkedList<>();
-                    List<short[]> audioParts = new LinkedList<>();
-                    if (receiveHandler != null && receiveHandler.canReceiveCombined())
-                    {
-                        long currentTime = System.currentTimeMillis();
-                        for (Map.Entry<User, Queue<Pair<Long, short[]>>> entry : combinedQueue.entrySet())
-                        {
-                            User user = entry.getKey();
-                            Queue<Pair<Long, short[]>> queue = entry.getValue();
-            
-                            if (queue.isEmpty())
-                                continue;
-            
-                            Pair<Long, short[]> audioData = queue.poll();
-                            //Make sure the audio packet is younger than 100ms
-                            while (audioData != null && currentTime - audioData.getLeft() > queueTimeout)
-                            {
-                                audioData = queue.poll();
-                            }
-            
-                            //If none of the audio packets were younger than 100ms, then there is nothing to add.
-                            if (audioData == null)
-                            {
-                                continue;
-                            }
-                            users.add(user);
-                            audioParts.add(audioData.getRight());
-                        }
-            
-                        if (!audioParts.isEmpty())
-                        {
-                            int audioLength = audioParts.get(0).length;
-                            short[] mix = new short[1920];  //960 PCM samples for each channel
-                            int sample;
-                            for (int i = 0; i < audioLength; i++)
-                            {
-                                sample = 0;
-                                for (short[] audio : audioParts)
-                                {
-                                    sample += audio[i];
-                                }
-                                if (sample > Short.MAX_VALUE)
-                                    mix[i] = Short.MAX_VALUE;
-                                else if (sample < Short.MIN_VALUE)
-                                    mix[i] = Short.MIN_VALUE;
-                                else
-                                    mix[i] = (short) sample;
-                            }
-                            receiveHandler.handleCombinedAudio(new CombinedAudio(users, mix));
-                        }
-                        else
-                        {
-                            //No audio to mix, provide 20 MS of silence. (960 PCM samples for each channel)
-                            receiveHandler.handleCombinedAudio(new CombinedAudio(Collections.emptyList(), new short[1920]));
-                        }
-                    }
-                }
-                catch (Exception e)
-                {
-                    LOG.log(e);
-                }
-            }, 0, 20, TimeUnit.MILLISECONDS);
+                LOG.warn("Received audio data with a known SSRC, but the userId associate with the SSRC is unknown to JDA!");
+                continue;
+            }
+
+            if (canReceiveUser)
+                receiveHandler.handleUserAudio(new UserAudio(user, audio));
+            if (canReceiveCombined)
+                mixer.add(user, audio);
         }
+
+        //Provides 20 MS of silence if nobody was speaking
+        if (canReceiveCombined)
+            receiveHandler.handleCombinedAudio(mixer.mix());
     }
 
     private class PacketProvider implements IPacketProvider
@@ -482,6 +411,11 @@ public class AudioConnection
         char seq = 0;           //Sequence of audio packets. Used to determine the order of the packets.
         int timestamp = 0;      //Used to sync up our packets within the same timeframe of other people talking.
 
+        //Every packet is built into the same buffer and returned as the same DatagramPacket instance
+        private byte[] packetBuffer = new byte[AudioPacket.RTP_HEADER_BYTE_LENGTH + MAX_OPUS_PACKET_SIZE + AudioCipher.MAC_LENGTH];
+        private final DatagramPacket packet = new DatagramPacket(packetBuffer, 0);
+        private AudioCipher cipher;
+
         @Override
         public String getIdentifier()
         {
@@ -502,6 +436,17 @@ public class AudioConnection
 
         @Override
         public DatagramPacket getNextPacket(boolean changeTalking)
+        {
+            //The caller may keep the packet, it gets its own copy of the reused buffer
+            DatagramPacket reused = getNextPacketReused(changeTalking);
+            if (reused == null)
+                return null;
+            byte[] data = Arrays.copyOfRange(reused.getData(), reused.getOffset(), reused.getOffset() + reused.getLength());
+            return new DatagramPacket(data, data.length, reused.getSocketAddress());
+        }
+
+        @Override
+        public DatagramPacket getNextPacketReused(boolean changeTalking)
         {
             DatagramPacket nextPacket = null;
 
@@ -518,32 +463,26 @@ public class AudioConnection
                     }
                     else
                     {
-                        if (!sendHandler.isOpus())
-                        {
-                            rawAudio = encodeToOpus(rawAudio);
-                        }
-                        AudioPacket packet = new AudioPacket(seq, timestamp, webSocket.getSSRC(), rawAudio);
                         if (!speaking)
                             setSpeaking(true);
 
-                        nextPacket = packet.asEncryptedUdpPacket(webSocket.getAddress(), webSocket.getSecretKey());
-
-                        if (seq + 1 > Character.MAX_VALUE)
-                            seq = 0;
+                        if (sendHandler.isOpus())
+                        {
+                            nextPacket = buildPacket(rawAudio, rawAudio.length);
+                        }
                         else
-                            seq++;
+                        {
+                            int length = encodeToOpus(rawAudio);
+                            if (length > 0)
+                                nextPacket = buildPacket(encodedAudio.array(), length);
+                            else
+                                LOG.trace("Opus failed to encode the provided audio, it returned error code " + length);
+                        }
                     }
                 }
                 else if (silenceCounter > -1)
                 {
-                    AudioPacket packet = new AudioPacket(seq, timestamp, webSocket.getSSRC(), silenceBytes);
-
-                    nextPacket = packet.asEncryptedUdpPacket(webSocket.getAddress(), webSocket.getSecretKey());
-
-                    if (seq + 1 > Character.MAX_VALUE)
-                        seq = 0;
-                    else
-                        seq++;
+                    nextPacket = buildPacket(silenceBytes, silenceBytes.length);
 
                     if (++silenceCounter > 10)
                     {
@@ -560,11 +499,35 @@ public class AudioConnection
             }
 
             if (nextPacket != null)
+            {
                 timestamp += OPUS_FRAME_SIZE;
+                if (seq + 1 > Character.MAX_VALUE)
+                    seq = 0;
+                else
+                    seq++;
+            }
 
             return nextPacket;
         }
 
+        //Builds the RTP header and the encrypted payload in place, the previous packet is overwritten
+        private DatagramPacket buildPacket(byte[] payload, int length)
+        {
+            byte[] secretKey = webSocket.getSecretKeyReference();
+            if (cipher == null || !cipher.usesKey(secretKey))
+                cipher = new AudioCipher(secretKey);
+
+            int capacity = AudioPacket.RTP_HEADER_BYTE_LENGTH + length + AudioCipher.MAC_LENGTH;
+            if (packetBuffer.length < capacity)
+                packetBuffer = new byte[capacity];
+
+            AudioPacket.writeHeader(packetBuffer, seq, timestamp, webSocket.getSSRC());
+            int packetLength = cipher.encrypt(packetBuffer, payload, 0, length);
+            packet.setData(packetBuffer, 0, packetLength);
+            packet.setSocketAddress(webSocket.getAddress());
+            return packet;
+        }
+
         @Override
         public void onConnectionError(ConnectionStatus status)
         {
@@ -583,10 +546,13 @@ public class AudioConnection
         }
     }
 
-    private byte[] encodeToOpus(byte[] rawAudio)
+    //Only used by the sending thread, reused for every frame
+    private int encodeToOpus(byte[] rawAudio)
     {
-        ShortBuffer nonEncodedBuffer = ShortBuffer.allocate(rawAudio.length / 2);
-        ByteBuffer encoded = ByteBuffer.allocate(4096);
+        int samples = rawAudio.length / 2;
+        if (nonEncodedAudio.capacity() < samples)
+            nonEncodedAudio = ShortBuffer.allocate(samples);
+        nonEncodedAudio.clear();
         for (int i = 0; i < rawAudio.length; i += 2)
         {
             int firstByte =  (0x000000FF & rawAudio[i]);      //Promotes to int and handles the fact that it was unsigned.
@@ -595,18 +561,13 @@ public class AudioConnection
             //Combines the 2 bytes into a short. Opus deals with unsigned shorts, not bytes.
             short toShort = (short) ((firstByte << 8) | secondByte);
 
-            nonEncodedBuffer.put(toShort);
+            nonEncodedAudio.put(toShort);
         }
-        nonEncodedBuffer.flip();
-
-        //TODO: check for 0 / negative value for error.
-        int result = Opus.INSTANCE.opus_encode(opusEncoder, nonEncodedBuffer, OPUS_FRAME_SIZE, encoded, encoded.capacity());
-
-        //ENCODING STOPS HERE
+        nonEncodedAudio.flip();
 
-        byte[] audio = new byte[result];
-        encoded.get(audio);
-        return audio;
+        encodedAudio.clear();
+        //A negative result is an opus error code
+        return Opus.INSTANCE.opus_encode(opusEncoder, nonEncodedAudio, OPUS_FRAME_SIZE, encodedAudio, encodedAudio.capacity());
     }
 
     private void setSpeaking(boolean isSpeaking)
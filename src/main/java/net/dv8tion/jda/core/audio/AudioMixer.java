@@ -0,0 +1,92 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.dv8tion.jda.core.audio;
+
+import net.dv8tion.jda.core.entities.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Mixes the decoded audio of all users for {@link AudioReceiveHandler#handleCombinedAudio(CombinedAudio)}.
+ *
+ * <p>Samples are summed into a preallocated int accumulator and only clamped once when the mix is written,
+ * both loops are branch-free so the JIT can vectorize them. The written frames are taken from a small pool that
+ * is refilled by {@link CombinedAudio#release()}, if the handler does not release them they are simply collected.
+ *
+ * <p>This class is not thread-safe, it is only used by the playout clock of an {@link AudioConnection}.
+ */
+class AudioMixer
+{
+    static final int FRAME_LENGTH = 1920;   //960 PCM samples for each channel
+    static final int POOL_SIZE = 8;
+
+    private final int[] accumulator = new int[FRAME_LENGTH];
+    private final ArrayBlockingQueue<short[]> pool = new ArrayBlockingQueue<>(POOL_SIZE);
+    private List<User> users = null;
+
+    /**
+     * Adds the audio of a user to the current mix.
+     *
+     * @param  user
+     *         The user that provided the audio
+     * @param  audio
+     *         The decoded audio of the user
+     */
+    void add(User user, short[] audio)
+    {
+        if (users == null)
+            users = new ArrayList<>();
+        users.add(user);
+
+        int[] accumulator = this.accumulator;
+        int length = Math.min(audio.length, FRAME_LENGTH);
+        for (int i = 0; i < length; i++)
+            accumulator[i] += audio[i];
+    }
+
+    /**
+     * Writes the current mix and starts a new one.
+     *
+     * @return The combined audio of all added users, silence if no audio was added
+     */
+    CombinedAudio mix()
+    {
+        short[] mix = pool.poll();
+        if (mix == null)
+            mix = new short[FRAME_LENGTH];
+
+        if (users == null)
+        {
+            Arrays.fill(mix, (short) 0);
+            return new CombinedAudio(Collections.emptyList(), mix, pool);
+        }
+
+        int[] accumulator = this.accumulator;
+        for (int i = 0; i < FRAME_LENGTH; i++)
+        {
+            mix[i] = (short) Math.min(Short.MAX_VALUE, Math.max(Short.MIN_VALUE, accumulator[i]));
+            accumulator[i] = 0;
+        }
+
+        CombinedAudio combinedAudio = new CombinedAudio(users, mix, pool);
+        users = null;
+        return combinedAudio;
+    }
+}
@@ -87,15 +87,38 @@ public class AudioPacket
         this.timestamp = timestamp;
         this.encodedAudio = encodedAudio;
 
-        ByteBuffer buffer = ByteBuffer.allocate(RTP_HEADER_BYTE_LENGTH + encodedAudio.length);
-        buffer.put(RTP_VERSION_PAD_EXTEND_INDEX, RTP_VERSION_PAD_EXTEND);   //0
-        buffer.put(RTP_PAYLOAD_INDEX, RTP_PAYLOAD_TYPE);                    //1
-        buffer.putChar(SEQ_INDEX, seq);                                     //2 - 3
-        buffer.putInt(TIMESTAMP_INDEX, timestamp);                          //4 - 7
-        buffer.putInt(SSRC_INDEX, ssrc);                                    //8 - 11
-        System.arraycopy(encodedAudio, 0, buffer.array(), RTP_HEADER_BYTE_LENGTH, encodedAudio.length);//12 - n
-        this.rawPacket = buffer.array();
+        this.rawPacket = new byte[RTP_HEADER_BYTE_LENGTH + encodedAudio.length];
+        writeHeader(rawPacket, seq, timestamp, ssrc);                                                   //0 - 11
+        System.arraycopy(encodedAudio, 0, rawPacket, RTP_HEADER_BYTE_LENGTH, encodedAudio.length);      //12 - n
+    }
 
+    /**
+     * Writes the RTP header of an audio packet into the first {@value #RTP_HEADER_BYTE_LENGTH} bytes of the provided buffer.
+     * <br>Used to build packets in place without creating an AudioPacket instance.
+     *
+     * @param  buffer
+     *         The packet buffer
+     * @param  seq
+     *         The sequence number of the packet
+     * @param  timestamp
+     *         The RTP timestamp of the packet
+     * @param  ssrc
+     *         The SSRC of the sender
+     */
+    static void writeHeader(byte[] buffer, char seq, int timestamp, int ssrc)
+    {
+        buffer[RTP_VERSION_PAD_EXTEND_INDEX] = RTP_VERSION_PAD_EXTEND;  //0
+        buffer[RTP_PAYLOAD_INDEX] = RTP_PAYLOAD_TYPE;                   //1
+        buffer[SEQ_INDEX] = (byte) (seq >> 8);                          //2 - 3
+        buffer[SEQ_INDEX + 1] = (byte) seq;
+        buffer[TIMESTAMP_INDEX] = (byte) (timestamp >> 24);             //4 - 7
+        buffer[TIMESTAMP_INDEX + 1] = (byte) (timestamp >> 16);
+        buffer[TIMESTAMP_INDEX + 2] = (byte) (timestamp >> 8);
+        buffer[TIMESTAMP_INDEX + 3] = (byte) timestamp;
+        buffer[SSRC_INDEX] = (byte) (ssrc >> 24);                       //8 - 11
+        buffer[SSRC_INDEX + 1] = (byte) (ssrc >> 16);
+        buffer[SSRC_INDEX + 2] = (byte) (ssrc >> 8);
+        buffer[SSRC_INDEX + 3] = (byte) ssrc;
     }
 
     public byte[] getNonce()
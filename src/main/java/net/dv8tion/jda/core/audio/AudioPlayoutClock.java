@@ -0,0 +1,155 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.audio;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drives the playout of the received audio of all voice connections from a single 20ms clock.
+ * <br>Every tick the playout of each registered connection is handed to a small worker pool, so a slow
+ * {@link net.dv8tion.jda.core.audio.AudioReceiveHandler AudioReceiveHandler} only delays its own connection.
+ * The playout of one connection never runs concurrently, ticks that pass while it is still running are caught up right after.
+ *
+ * <p>The clock is started with the first registered connection and stopped when the last one is closed.
+ */
+final class AudioPlayoutClock
+{
+    static final long TICK_MILLIS = AudioConnection.OPUS_FRAME_TIME_AMOUNT;
+    //Ticks a connection can fall behind before further ticks are skipped, one second of audio
+    static final int MAX_PENDING_TICKS = 50;
+
+    private static AudioPlayoutClock instance;
+    private static int registrations = 0;
+
+    private final ScheduledExecutorService clock;
+    private final ExecutorService workers;
+    private final List<Registration> connections = new CopyOnWriteArrayList<>();
+
+    private AudioPlayoutClock()
+    {
+        this.clock = Executors.newSingleThreadScheduledExecutor(r ->
+        {
+            Thread t = new Thread(r, "AudioPlayoutClock");
+            t.setDaemon(true);
+            return t;
+        });
+        AtomicInteger threadCount = new AtomicInteger(1);
+        this.workers = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() / 2), r ->
+        {
+            Thread t = new Thread(r, "AudioPlayoutClock Worker " + threadCount.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        });
+        clock.scheduleAtFixedRate(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Starts calling the provided playout every {@value #TICK_MILLIS}ms.
+     *
+     * @param  playout
+     *         The playout of the connection, takes one frame out of every jitter buffer
+     *
+     * @return The registration, has to be {@link Registration#close() closed} to stop the playout
+     */
+    static synchronized Registration register(Runnable playout)
+    {
+        if (instance == null)
+            instance = new AudioPlayoutClock();
+        registrations++;
+        Registration registration = instance.new Registration(playout);
+        instance.connections.add(registration);
+        return registration;
+    }
+
+    private static synchronized void release(AudioPlayoutClock clock)
+    {
+        if (clock != instance || --registrations > 0)
+            return;
+        instance = null;
+        clock.clock.shutdown();
+        clock.workers.shutdown();
+    }
+
+    private void tick()
+    {
+        for (Registration registration : connections)
+            registration.tick();
+    }
+
+    final class Registration implements Runnable
+    {
+        private final Runnable playout;
+        private final AtomicInteger pendingTicks = new AtomicInteger(0);
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+
+        private Registration(Runnable playout)
+        {
+            this.playout = playout;
+        }
+
+        /**
+         * Stops the playout of this connection. A playout that is currently running is finished.
+         */
+        void close()
+        {
+            if (!closed.compareAndSet(false, true))
+                return;
+            connections.remove(this);
+            release(AudioPlayoutClock.this);
+        }
+
+        private void tick()
+        {
+            if (pendingTicks.getAndUpdate(ticks -> Math.min(ticks + 1, MAX_PENDING_TICKS)) != 0)
+                return;
+            try
+            {
+                workers.execute(this);
+            }
+            catch (RejectedExecutionException e)
+            {
+                //The clock was shut down
+                pendingTicks.set(0);
+            }
+        }
+
+        @Override
+        public void run()
+        {
+            do
+            {
+                if (closed.get())
+                {
+                    pendingTicks.set(0);
+                    return;
+                }
+                try
+                {
+                    playout.run();
+                }
+                catch (Exception e)
+                {
+                    AudioConnection.LOG.log(e);
+                }
+            }
+            while (pendingTicks.decrementAndGet() > 0);
+        }
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.dv8tion.jda.core.audio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Receives the UDP packets of all voice connections with a single {@link java.nio.channels.Selector Selector} thread.
+ * <br>Decryption and opus decoding are done by a small worker pool, the packets of one connection are always
+ * handled one after another in the order they were received.
+ *
+ * <p>The engine is started with the first registered connection and stopped when the last one is closed.
+ */
+final class AudioReceiveEngine
+{
+    //Same size the receiving threads used, larger than any audio packet discord sends
+    static final int PACKET_SIZE = 1920;
+    //Packets that are waiting for a worker, further packets of that connection are dropped
+    static final int MAX_QUEUED_PACKETS = 64;
+    //Packets read from one socket before the other ready sockets are served
+    static final int MAX_READS_PER_SELECT = 16;
+
+    private static AudioReceiveEngine instance;
+    private static int registrations = 0;
+
+    private final Selector selector;
+    private final ExecutorService workers;
+    private final Queue<Runnable> pendingChanges = new ConcurrentLinkedQueue<>();
+    private final Set<Registration> registered = ConcurrentHashMap.newKeySet();
+    private volatile boolean running = true;
+
+    private AudioReceiveEngine() throws IOException
+    {
+        this.selector = Selector.open();
+        AtomicInteger threadCount = new AtomicInteger(1);
+        this.workers = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() / 2), r ->
+        {
+            Thread t = new Thread(r, "AudioReceiveEngine Worker " + threadCount.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        });
+        Thread selectorThread = new Thread(this::run, "AudioReceiveEngine Selector");
+        selectorThread.setDaemon(true);
+        selectorThread.start();
+    }
+
+    /**
+     * Starts receiving the packets of the provided channel.
+     *
+     * @param  channel
+     *         The non-blocking UDP channel of the connection
+     * @param  connection
+     *         The connection that handles the received packets
+     *
+     * @throws java.io.IOException
+     *         If the engine could not be started
+     *
+     * @return The registration, has to be {@link Registration#close() closed} to stop receiving
+     */
+    static synchronized Registration register(DatagramChannel channel, AudioConnection connection) throws IOException
+    {
+        if (instance == null)
+            instance = new AudioReceiveEngine();
+        registrations++;
+        Registration registration = instance.new Registration(channel, connection);
+        instance.registered.add(registration);
+        instance.pendingChanges.add(registration::attach);
+        instance.selector.wakeup();
+        return registration;
+    }
+
+    private static synchronized void release(AudioReceiveEngine engine)
+    {
+        if (engine != instance || --registrations > 0)
+            return;
+        instance = null;
+        engine.running = false;
+        engine.selector.wakeup();
+        engine.workers.shutdown();
+    }
+
+    private void run()
+    {
+        try
+        {
+            while (running)
+            {
+                selector.select();
+
+                Runnable change;
+                while ((change = pendingChanges.poll()) != null)
+                    change.run();
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext())
+                {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (key.isValid())
+                        ((Registration) key.attachment()).read();
+                }
+            }
+        }
+        catch (IOException | ClosedSelectorException e)
+        {
+            AudioConnection.LOG.log(e);
+        }
+        finally
+        {
+            try
+            {
+                selector.close();
+            }
+            catch (IOException e)
+            {
+                AudioConnection.LOG.log(e);
+            }
+            if (running)
+                recover();
+        }
+    }
+
+    //The selector failed while connections were still registered, they are moved to a new engine
+    private void recover()
+    {
+        synchronized (AudioReceiveEngine.class)
+        {
+            if (instance == this)
+            {
+                instance = null;
+                registrations = 0;
+            }
+        }
+        running = false;
+        workers.shutdown();
+        for (Registration registration : registered)
+        {
+            if (registration.closed.compareAndSet(false, true))
+                registration.connection.restartReceiving(registration);
+        }
+    }
+
+    final class Registration implements Runnable
+    {
+        private final DatagramChannel channel;
+        private final AudioConnection connection;
+        //Only used by the selector thread
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(PACKET_SIZE);
+        private final Queue<Packet> pool = new ConcurrentLinkedQueue<>();
+        private final Queue<Packet> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger(0);
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+        private SelectionKey key;
+
+        private Registration(DatagramChannel channel, AudioConnection connection)
+        {
+            this.channel = channel;
+            this.connection = connection;
+        }
+
+        /**
+         * Stops receiving packets for this connection. Packets that are already queued are discarded.
+         */
+        void close()
+        {
+            if (!closed.compareAndSet(false, true))
+                return;
+            registered.remove(this);
+            pendingChanges.add(() ->
+            {
+                if (key != null)
+                    key.cancel();
+            });
+            selector.wakeup();
+            release(AudioReceiveEngine.this);
+        }
+
+        private void attach()
+        {
+            if (closed.get())
+                return;
+            try
+            {
+                key = channel.register(selector, SelectionKey.OP_READ, this);
+            }
+            catch (ClosedChannelException e)
+            {
+                AudioConnection.LOG.debug("Tried to receive audio from a closed UDP channel");
+            }
+        }
+
+        private void read()
+        {
+            try
+            {
+                for (int i = 0; i < MAX_READS_PER_SELECT; i++)
+                {
+                    buffer.clear();
+                    if (channel.receive(buffer) == null)
+                        break;
+                    buffer.flip();
+
+                    if (queued.get() >= MAX_QUEUED_PACKETS)
+                    {
+                        AudioConnection.LOG.trace("Audio receive queue is full, dropping packet");
+                        continue;
+                    }
+                    Packet packet = pool.poll();
+                    if (packet == null)
+                        packet = new Packet();
+                    packet.length = buffer.remaining();
+                    buffer.get(packet.data, 0, packet.length);
+                    queue.add(packet);
+                    queued.incrementAndGet();
+                }
+            }
+            catch (ClosedChannelException e)
+            {
+                //The connection was closed, the key is cancelled by the selector
+                return;
+            }
+            catch (IOException e)
+            {
+                AudioConnection.LOG.log(e);
+            }
+            schedule();
+        }
+
+        private void schedule()
+        {
+            if (queue.isEmpty() || !scheduled.compareAndSet(false, true))
+                return;
+            try
+            {
+                workers.execute(this);
+            }
+            catch (RejectedExecutionException e)
+            {
+                //The engine was shut down
+                scheduled.set(false);
+            }
+        }
+
+        @Override
+        public void run()
+        {
+            try
+            {
+                //Limited so that a busy connection cannot keep a worker from the other connections
+                Packet packet;
+                for (int i = 0; i < MAX_QUEUED_PACKETS && (packet = queue.poll()) != null; i++)
+                {
+                    queued.decrementAndGet();
+                    try
+                    {
+                        if (!closed.get())
+                            connection.receive(packet.data, packet.length);
+                    }
+                    catch (Exception e)
+                    {
+                        AudioConnection.LOG.log(e);
+                    }
+                    pool.add(packet);
+                }
+            }
+            finally
+            {
+                scheduled.set(false);
+                //A packet might have been added after our last poll
+                schedule();
+            }
+        }
+    }
+
+    private static final class Packet
+    {
+        private final byte[] data = new byte[PACKET_SIZE];
+        private int length;
+    }
+}
@@ -66,9 +66,9 @@ public interface AudioReceiveHandler
 
     /**
      * If {@link #canReceiveUser()} returns true, JDA will provide a {@link net.dv8tion.jda.core.audio.UserAudio UserAudio}
-     * object to this method <b>every time the user speaks.</b> Continuing with the last statement: This method is only fired
-     * when discord provides us audio data which is very different from the scheduled firing time of
-     * {@link #handleCombinedAudio(CombinedAudio)}.
+     * object to this method <b>every 20 milliseconds while the user speaks.</b> The received packets of every user are
+     * put back in order by a jitter buffer and provided on the same clock as {@link #handleCombinedAudio(CombinedAudio)},
+     * lost packets are concealed by the Opus decoder.
      * <p>
      * The {@link net.dv8tion.jda.core.audio.UserAudio UserAudio} object provided to this method will contain the
      * {@link net.dv8tion.jda.core.entities.User User} that spoke along with <b>only</b> the audio data sent by the specific user.
@@ -33,6 +33,7 @@ import org.json.JSONObject;
 import java.io.IOException;
 import java.net.*;
 import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -74,7 +75,7 @@ public class AudioWebSocket extends WebSocketAdapter
     private int ssrc;
     private String sessionId;
     private String token;
-    private byte[] secretKey;
+    private volatile byte[] secretKey;
 
     private DatagramSocket udpSocket;
     private InetSocketAddress address;
@@ -214,9 +215,11 @@ public class AudioWebSocket extends WebSocketAdapter
                 //secret_key is an array of 32 ints that are less than 256, so they are bytes.
                 JSONArray keyArray = contentAll.getJSONObject("d").getJSONArray("secret_key");
 
-                secretKey = new byte[DISCORD_SECRET_KEY_LENGTH];
+                //The key is replaced instead of modified so that ciphers can identify it by reference
+                byte[] key = new byte[DISCORD_SECRET_KEY_LENGTH];
                 for (int i = 0; i < keyArray.length(); i++)
-                    secretKey[i] = (byte) keyArray.getInt(i);
+                    key[i] = (byte) keyArray.getInt(i);
+                secretKey = key;
 
                 LOG.trace("Audio connection has finished connecting!");
                 ready = true;
@@ -368,6 +371,12 @@ public class AudioWebSocket extends WebSocketAdapter
         return Arrays.copyOf(secretKey, secretKey.length);
     }
 
+    //Not copied, used by the audio connection to reuse its ciphers for the lifetime of the key. Must not be modified!
+    byte[] getSecretKeyReference()
+    {
+        return secretKey;
+    }
+
     public int getSSRC()
     {
         return ssrc;
@@ -387,7 +396,11 @@ public class AudioWebSocket extends WebSocketAdapter
         //This is called UDP hole punching.
         try
         {
-            udpSocket = new DatagramSocket();   //Use UDP, not TCP.
+            //Use UDP, not TCP. The channel is used in blocking mode for the discovery and then handed to the
+            // AudioReceiveEngine which requires non-blocking mode.
+            DatagramChannel udpChannel = DatagramChannel.open();
+            udpChannel.bind(null);
+            udpSocket = udpChannel.socket();
 
             //Create a byte array of length 70 containing our ssrc.
             ByteBuffer buffer = ByteBuffer.allocate(70);    //70 taken from https://github.com/Rapptz/discord.py/blob/async/discord/voice_client.py#L208
@@ -434,6 +447,9 @@ public class AudioWebSocket extends WebSocketAdapter
 
             this.address = address;
 
+            udpChannel.configureBlocking(false);
+            udpSocket = new NioDatagramSocket(udpChannel);
+
             return new InetSocketAddress(ourIP, ourPort);
         }
         catch (SocketException e)
@@ -20,6 +20,7 @@ import net.dv8tion.jda.core.entities.User;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Queue;
 
 /**
  * Represents a packet of combined audio data from 0 to n Users.
@@ -28,11 +29,18 @@ public class CombinedAudio
 {
     protected List<User> users;
     protected short[] audioData;
+    protected Queue<short[]> bufferPool;
 
     public CombinedAudio(List<User> users, short[] audioData)
+    {
+        this(users, audioData, null);
+    }
+
+    CombinedAudio(List<User> users, short[] audioData, Queue<short[]> bufferPool)
     {
         this.users = Collections.unmodifiableList(users);
         this.audioData = audioData;
+        this.bufferPool = bufferPool;
     }
 
     /**
@@ -60,10 +68,16 @@ public class CombinedAudio
      * @param  volume
      *         Value used to modify the "volume" of the returned audio data. 1.0 is normal volume.
      *
+     * @throws IllegalStateException
+     *         If this object was already {@link #release() released}
+     *
      * @return Never-null byte array of PCM data defined by {@link net.dv8tion.jda.core.audio.AudioReceiveHandler#OUTPUT_FORMAT AudioReceiveHandler.OUTPUT_FORMAT}
      */
-    public byte[] getAudioData(double volume)
+    public synchronized byte[] getAudioData(double volume)
     {
+        short[] audioData = this.audioData;
+        if (audioData == null)
+            throw new IllegalStateException("This CombinedAudio was already released");
         short s;
         int byteIndex = 0;
         byte[] audio = new byte[audioData.length * 2];
@@ -81,4 +95,18 @@ public class CombinedAudio
         }
         return audio;
     }
+
+    /**
+     * Gives the underlying audio buffer back to JDA so it can be reused for the combined audio of a following 20ms.
+     * <br>Calling this is optional, it only saves the allocation of a new buffer. This object
+     * must not be used anymore after it was released.
+     * <br>Releasing waits for a concurrent {@link #getAudioData(double)} to finish, the buffer is never reused while it is read.
+     */
+    public synchronized void release()
+    {
+        short[] audioData = this.audioData;
+        this.audioData = null;
+        if (audioData != null && bufferPool != null)
+            bufferPool.offer(audioData);
+    }
 }
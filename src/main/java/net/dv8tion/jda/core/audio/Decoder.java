@@ -31,6 +31,7 @@ public class Decoder
     protected char lastSeq;
     protected int lastTimestamp;
     protected PointerByReference opusDecoder;
+    protected final ShortBuffer decoded = ShortBuffer.allocate(4096);
 
     protected Decoder(int ssrc)
     {
@@ -57,7 +58,7 @@ public class Decoder
     protected short[] decodeFromOpus(AudioPacket decryptedPacket)
     {
         int result;
-        ShortBuffer decoded = ShortBuffer.allocate(4096);
+        decoded.clear();
         if (decryptedPacket == null)    //Flag for packet-loss
         {
             result = Opus.INSTANCE.opus_decode(opusDecoder, null, 0, decoded,
@@ -77,6 +78,29 @@ public class Decoder
                     AudioConnection.OPUS_FRAME_SIZE, 0);
         }
 
+        return getDecodedAudio(result);
+    }
+
+    /**
+     * Recovers the audio of a lost packet from the forward error correction data
+     * carried by the packet that followed it.
+     *
+     * @param  nextPacket
+     *         The packet that directly follows the lost packet
+     *
+     * @return The recovered audio, or {@code null} if Opus failed to decode
+     */
+    protected short[] decodeFec(AudioPacket nextPacket)
+    {
+        decoded.clear();
+        byte[] encodedAudio = nextPacket.getEncodedAudio();
+        int result = Opus.INSTANCE.opus_decode(opusDecoder, encodedAudio, encodedAudio.length, decoded,
+                AudioConnection.OPUS_FRAME_SIZE, 1);
+        return getDecodedAudio(result);
+    }
+
+    private short[] getDecodedAudio(int result)
+    {
         //If we get a result that is less than 0, then there was an error. Return null as a signifier.
         if (result < 0)
             return null;
@@ -0,0 +1,221 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.dv8tion.jda.core.audio;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adaptive jitter buffer for the audio received from a single SSRC.
+ *
+ * <p>Packets are {@link #offer(AudioPacket) offered} in the order they arrive from the network and
+ * {@link #poll() polled} by the playout clock of the {@link AudioConnection} once every 20ms.
+ * Packets are ordered by their RTP sequence, late packets are dropped and gaps are concealed by decoding
+ * the forward error correction data of the following packet or, if that has not arrived yet, by Opus packet-loss
+ * concealment.
+ *
+ * <p>Playout of a talk spurt only starts once enough frames are buffered to cover the current jitter.
+ * The required depth is estimated from the interarrival jitter (RFC 3550, 6.4.1) and is never larger
+ * than the maximum delay provided in the constructor. Once the buffer runs dry the talk spurt is considered over
+ * and the next packet starts buffering again.
+ */
+class JitterBuffer
+{
+    static final int CAPACITY = 64; //Must be a power of two, 64 frames are 1.28 seconds of audio
+    static final long FRAME_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+    static final double NANOS_PER_SAMPLE = TimeUnit.SECONDS.toNanos(1) / (double) AudioConnection.OPUS_SAMPLE_RATE;
+
+    private final Decoder decoder;
+    private final int maxDelayFrames;
+    private final AudioPacket[] slots = new AudioPacket[CAPACITY];
+    private int buffered = 0;
+    private boolean playing = false;
+    private char nextSeq;       //The sequence of the next frame that will be played
+    private char highestSeq;    //The highest sequence that is currently buffered
+    private int targetDelayFrames = 1;
+
+    private double jitter = 0;  //Interarrival jitter estimate in nanoseconds
+    private long lastArrival;
+    private int lastTimestamp;
+    private boolean hasArrival = false;
+
+    JitterBuffer(int ssrc, long maxDelayMillis)
+    {
+        this.decoder = new Decoder(ssrc);
+        long maxDelayFrames = maxDelayMillis / TimeUnit.NANOSECONDS.toMillis(FRAME_NANOS);
+        this.maxDelayFrames = (int) Math.max(1, Math.min(CAPACITY / 2, maxDelayFrames));
+    }
+
+    /**
+     * Inserts a received packet into this buffer.
+     *
+     * @param  packet
+     *         The decrypted packet
+     */
+    synchronized void offer(AudioPacket packet)
+    {
+        updateJitter(packet.getTimestamp(), System.nanoTime());
+
+        char seq = packet.getSequence();
+        if (buffered == 0 && !playing)
+        {
+            //First packet of a new talk spurt
+            targetDelayFrames = computeTargetDelay();
+            nextSeq = seq;
+            highestSeq = seq;
+        }
+        else
+        {
+            int offset = (short) (seq - nextSeq);
+            if (offset < 0)
+            {
+                if (playing)
+                {
+                    AudioConnection.LOG.trace("Received audio packet after its playout time. Ignoring.");
+                    return;
+                }
+                //Still buffering, an earlier packet of this talk spurt arrived late
+                if ((short) (highestSeq - seq) >= CAPACITY)
+                    return;
+                nextSeq = seq;
+            }
+            else if (offset >= CAPACITY)
+            {
+                //The stream jumped further than we could ever buffer, start over
+                clear();
+                nextSeq = seq;
+                highestSeq = seq;
+            }
+            if ((short) (seq - highestSeq) > 0)
+                highestSeq = seq;
+        }
+
+        int index = seq & (CAPACITY - 1);
+        if (slots[index] == null)
+            buffered++;
+        slots[index] = packet;
+
+        if (!playing && getDepth() >= targetDelayFrames)
+            playing = true;
+    }
+
+    /**
+     * Provides the audio of the next frame.
+     * <br>This is called once every 20ms by the playout clock.
+     *
+     * @return The decoded 20ms of audio, or {@code null} if this SSRC is currently not talking
+     */
+    synchronized short[] poll()
+    {
+        if (!playing)
+            return null;
+        if (buffered == 0)
+        {
+            //Talk spurt is over or we lost more than we buffered, wait for a new depth before playing again
+            playing = false;
+            return null;
+        }
+
+        //We are behind by more than we are allowed to be delayed, skip to the allowed depth
+        while (getDepth() > maxDelayFrames)
+        {
+            if (take(nextSeq) != null)
+                AudioConnection.LOG.trace("Audio packet exceeded the maximum delay. Dropping.");
+            nextSeq++;
+        }
+
+        AudioPacket packet = take(nextSeq);
+        short[] audio;
+        if (packet != null)
+        {
+            audio = decoder.decodeFromOpus(packet);
+        }
+        else
+        {
+            AudioPacket next = slots[(nextSeq + 1) & (CAPACITY - 1)];
+            if (next != null && next.getSequence() == (char) (nextSeq + 1))
+            {
+                AudioConnection.LOG.trace("Audio packet lost. Recovering it using Opus forward error correction.");
+                audio = decoder.decodeFec(next);
+            }
+            else
+            {
+                AudioConnection.LOG.trace("Audio packet lost. Using Opus packet-loss concealment.");
+                audio = decoder.decodeFromOpus(null);
+            }
+        }
+        nextSeq++;
+
+        if (audio == null)
+            AudioConnection.LOG.trace("Received audio data but Opus failed to properly decode, instead it returned an error");
+        return audio;
+    }
+
+    /**
+     * Drops all buffered packets and releases the native decoder.
+     */
+    synchronized void close()
+    {
+        clear();
+        decoder.close();
+    }
+
+    private AudioPacket take(char seq)
+    {
+        int index = seq & (CAPACITY - 1);
+        AudioPacket packet = slots[index];
+        if (packet == null)
+            return null;
+        slots[index] = null;
+        buffered--;
+        //A packet that wrapped around the ring from a previous pass is stale
+        return packet.getSequence() == seq ? packet : null;
+    }
+
+    private int getDepth()
+    {
+        return (short) (highestSeq - nextSeq) + 1;
+    }
+
+    private void clear()
+    {
+        for (int i = 0; i < CAPACITY; i++)
+            slots[i] = null;
+        buffered = 0;
+        playing = false;
+    }
+
+    private void updateJitter(int timestamp, long arrival)
+    {
+        if (hasArrival)
+        {
+            //RFC 3550: D(i-1,i) = (R_i - R_i-1) - (S_i - S_i-1), J += (|D| - J) / 16
+            double transit = Math.abs((arrival - lastArrival) - (timestamp - lastTimestamp) * NANOS_PER_SAMPLE);
+            //Ignore the jumps of a restarted stream, they are no jitter
+            if (transit < CAPACITY * FRAME_NANOS)
+                jitter += (transit - jitter) / 16;
+        }
+        hasArrival = true;
+        lastArrival = arrival;
+        lastTimestamp = timestamp;
+    }
+
+    private int computeTargetDelay()
+    {
+        //Buffer the frame that is played plus enough frames to cover twice the current jitter
+        int frames = 1 + (int) Math.ceil(2 * jitter / FRAME_NANOS);
+        return Math.min(frames, maxDelayFrames);
+    }
+}
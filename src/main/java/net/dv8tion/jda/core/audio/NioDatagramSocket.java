@@ -0,0 +1,289 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.dv8tion.jda.core.audio;
+
+import java.io.IOException;
+import java.net.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.IllegalBlockingModeException;
+
+/**
+ * A {@link java.net.DatagramSocket DatagramSocket} view of a non-blocking {@link java.nio.channels.DatagramChannel DatagramChannel}.
+ * <br>The channel of a voice connection is registered to the shared {@link AudioReceiveEngine AudioReceiveEngine},
+ * this keeps the {@link net.dv8tion.jda.core.audio.factory.IPacketProvider#getUdpSocket() UDP socket} API
+ * for {@link net.dv8tion.jda.core.audio.factory.IAudioSendSystem IAudioSendSystems} working.
+ *
+ * <p>Packets are sent without blocking, a packet is silently dropped if the send buffer of the socket is full.
+ * Receiving is only possible through the channel, {@link #receive(DatagramPacket)} always fails.
+ * All other operations are delegated to the {@link java.nio.channels.DatagramChannel#socket() socket adaptor} of the channel.
+ */
+class NioDatagramSocket extends DatagramSocket
+{
+    private final DatagramChannel channel;
+    //The socket adaptor of the channel, it supports everything but sending while the channel is non-blocking
+    private final DatagramSocket socket;
+
+    NioDatagramSocket(DatagramChannel channel)
+    {
+        super(new UnsupportedSocketImpl());
+        this.channel = channel;
+        this.socket = channel.socket();
+    }
+
+    @Override
+    public void send(DatagramPacket p) throws IOException
+    {
+        ByteBuffer buffer;
+        SocketAddress address;
+        synchronized (p)
+        {
+            buffer = ByteBuffer.wrap(p.getData(), p.getOffset(), p.getLength());
+            address = p.getSocketAddress();
+        }
+        try
+        {
+            channel.send(buffer, address);
+        }
+        catch (ClosedChannelException e)
+        {
+            throw new SocketException("Socket is closed");
+        }
+    }
+
+    @Override
+    public synchronized void receive(DatagramPacket p) throws IOException
+    {
+        throw new IllegalBlockingModeException();
+    }
+
+    @Override
+    public DatagramChannel getChannel()
+    {
+        return channel;
+    }
+
+    @Override
+    public void close()
+    {
+        try
+        {
+            channel.close();
+        }
+        catch (IOException e)
+        {
+            AudioConnection.LOG.log(e);
+        }
+    }
+
+    @Override
+    public boolean isClosed()
+    {
+        return !channel.isOpen();
+    }
+
+    @Override
+    public synchronized void bind(SocketAddress addr) throws SocketException
+    {
+        socket.bind(addr);
+    }
+
+    @Override
+    public void connect(InetAddress address, int port)
+    {
+        socket.connect(address, port);
+    }
+
+    @Override
+    public void connect(SocketAddress addr) throws SocketException
+    {
+        socket.connect(addr);
+    }
+
+    @Override
+    public void disconnect()
+    {
+        socket.disconnect();
+    }
+
+    @Override
+    public boolean isBound()
+    {
+        return socket.isBound();
+    }
+
+    @Override
+    public boolean isConnected()
+    {
+        return socket.isConnected();
+    }
+
+    @Override
+    public InetAddress getInetAddress()
+    {
+        return socket.getInetAddress();
+    }
+
+    @Override
+    public int getPort()
+    {
+        return socket.getPort();
+    }
+
+    @Override
+    public SocketAddress getRemoteSocketAddress()
+    {
+        return socket.getRemoteSocketAddress();
+    }
+
+    @Override
+    public SocketAddress getLocalSocketAddress()
+    {
+        return socket.getLocalSocketAddress();
+    }
+
+    @Override
+    public InetAddress getLocalAddress()
+    {
+        return socket.getLocalAddress();
+    }
+
+    @Override
+    public int getLocalPort()
+    {
+        return socket.getLocalPort();
+    }
+
+    @Override
+    public void setSoTimeout(int timeout) throws SocketException
+    {
+        //Has no effect on sending, the channel never blocks
+        socket.setSoTimeout(timeout);
+    }
+
+    @Override
+    public int getSoTimeout() throws SocketException
+    {
+        return socket.getSoTimeout();
+    }
+
+    @Override
+    public void setSendBufferSize(int size) throws SocketException
+    {
+        socket.setSendBufferSize(size);
+    }
+
+    @Override
+    public int getSendBufferSize() throws SocketException
+    {
+        return socket.getSendBufferSize();
+    }
+
+    @Override
+    public void setReceiveBufferSize(int size) throws SocketException
+    {
+        socket.setReceiveBufferSize(size);
+    }
+
+    @Override
+    public int getReceiveBufferSize() throws SocketException
+    {
+        return socket.getReceiveBufferSize();
+    }
+
+    @Override
+    public void setReuseAddress(boolean on) throws SocketException
+    {
+        socket.setReuseAddress(on);
+    }
+
+    @Override
+    public boolean getReuseAddress() throws SocketException
+    {
+        return socket.getReuseAddress();
+    }
+
+    @Override
+    public void setBroadcast(boolean on) throws SocketException
+    {
+        socket.setBroadcast(on);
+    }
+
+    @Override
+    public boolean getBroadcast() throws SocketException
+    {
+        return socket.getBroadcast();
+    }
+
+    @Override
+    public void setTrafficClass(int tc) throws SocketException
+    {
+        socket.setTrafficClass(tc);
+    }
+
+    @Override
+    public int getTrafficClass() throws SocketException
+    {
+        return socket.getTrafficClass();
+    }
+
+    //DatagramSocket requires an implementation, all operations are handled by the channel instead
+    private static class UnsupportedSocketImpl extends DatagramSocketImpl
+    {
+        @Override
+        protected void create() throws SocketException { throw unsupported(); }
+        @Override
+        protected void bind(int lport, InetAddress laddr) throws SocketException { throw unsupported(); }
+        @Override
+        protected void send(DatagramPacket p) throws IOException { throw unsupported(); }
+        @Override
+        protected int peek(InetAddress i) throws IOException { throw unsupported(); }
+        @Override
+        protected int peekData(DatagramPacket p) throws IOException { throw unsupported(); }
+        @Override
+        protected void receive(DatagramPacket p) throws IOException { throw unsupported(); }
+        @Override
+        @Deprecated
+        protected void setTTL(byte ttl) throws IOException { throw unsupported(); }
+        @Override
+        @Deprecated
+        protected byte getTTL() throws IOException { throw unsupported(); }
+        @Override
+        protected void setTimeToLive(int ttl) throws IOException { throw unsupported(); }
+        @Override
+        protected int getTimeToLive() throws IOException { throw unsupported(); }
+        @Override
+        protected void join(InetAddress inetaddr) throws IOException { throw unsupported(); }
+        @Override
+        protected void leave(InetAddress inetaddr) throws IOException { throw unsupported(); }
+        @Override
+        protected void joinGroup(SocketAddress mcastaddr, NetworkInterface netIf) throws IOException { throw unsupported(); }
+        @Override
+        protected void leaveGroup(SocketAddress mcastaddr, NetworkInterface netIf) throws IOException { throw unsupported(); }
+        @Override
+        protected void close() {}
+        @Override
+        public void setOption(int optID, Object value) throws SocketException { throw unsupported(); }
+        @Override
+        public Object getOption(int optID) throws SocketException { throw unsupported(); }
+
+        private static SocketException unsupported()
+        {
+            return new SocketException("Not supported by a channel backed socket");
+        }
+    }
+}
@@ -58,7 +58,7 @@ public class DefaultSendSystem implements IAudioSendSystem
                     try
                     {
                         boolean changeTalking = (System.currentTimeMillis() - lastFrameSent) > OPUS_FRAME_TIME_AMOUNT;
-                        DatagramPacket packet = packetProvider.getNextPacket(changeTalking);
+                        DatagramPacket packet = packetProvider.getNextPacketReused(changeTalking);
 
                         if (packet != null)
                             udpSocket.send(packet);
@@ -51,6 +51,10 @@ public interface IPacketProvider
      * system that JDA monitors for errors and closures. It should be noted however that using this is not required to
      * send audio packets if the developer wishes to open their own UDP socket to send from.
      *
+     * <p>The socket is backed by a non-blocking {@link java.net.DatagramSocket#getChannel() DatagramChannel} which is
+     * read by JDA's shared receive engine. Sending never blocks, {@link java.net.DatagramSocket#receive(java.net.DatagramPacket) receive}
+     * is not supported.
+     *
      * @return The UDP socket connection used for audio sending.
      */
     DatagramSocket getUdpSocket();
@@ -68,6 +72,8 @@ public interface IPacketProvider
      *
      * <p><b>Note:</b> When the AudioSendHandler cannot or does not provide a new packet to send, this method will return null.
      *
+     * <p>Every call returns a new DatagramPacket, so packets can be queued ahead of send time.
+     *
      * @param  changeTalking
      *         Whether or not to change the talking indicator if the AudioSendHandler cannot provide a new audio packet.
      *
@@ -76,6 +82,26 @@ public interface IPacketProvider
      */
     DatagramPacket getNextPacket(boolean changeTalking);
 
+    /**
+     * Same as {@link #getNextPacket(boolean)}, except that the provider may return the same DatagramPacket and data
+     * for every packet of the connection. The returned packet is only valid until the next packet is requested.
+     * <br>This avoids copying every packet for systems that send each packet before they request the next one,
+     * like the built-in {@link net.dv8tion.jda.core.audio.factory.DefaultSendSystem DefaultSendSystem}.
+     * Systems that queue packets ahead of send time have to use {@link #getNextPacket(boolean)} instead.
+     *
+     * <p>By default this returns the result of {@link #getNextPacket(boolean)}.
+     *
+     * @param  changeTalking
+     *         Whether or not to change the talking indicator if the AudioSendHandler cannot provide a new audio packet.
+     *
+     * @return Possibly-null {@link java.net.DatagramPacket DatagramPacket} containing an encoded and encrypted packet
+     *         of audio data ready to be sent to discord, only valid until the next packet is requested.
+     */
+    default DatagramPacket getNextPacketReused(boolean changeTalking)
+    {
+        return getNextPacket(changeTalking);
+    }
+
     /**
      * This method is used to indicate a connection error to JDA so that the connection can be properly shutdown.
      * <br>This is useful if, during setup or operation, an unrecoverable error is encountered.
@@ -0,0 +1,234 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.dv8tion.jda.core.audio.factory;
+
+import net.dv8tion.jda.core.audio.AudioConnection;
+import org.apache.http.util.Args;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * An {@link net.dv8tion.jda.core.audio.factory.IAudioSendFactory IAudioSendFactory} that sends the audio of
+ * all its connections from a small, fixed amount of threads instead of one thread per connection.
+ *
+ * <p>Every thread drives a timer wheel with {@value #TICKS_PER_FRAME} slots of one millisecond each,
+ * a full turn of the wheel is exactly one 20ms opus frame. Every connection is placed in the least used slot
+ * of the least used thread and is sent in a batch with the other connections of its slot once per turn.
+ * Deadlines are computed with {@link System#nanoTime()} and waited for with {@link LockSupport#parkNanos(Object, long)},
+ * so frames do not drift like with millisecond sleeps.
+ *
+ * <p>The jitter and late frames of each connection are tracked by its {@link SharedSendSystem SharedSendSystem},
+ * see {@link #getSendSystems()}.
+ *
+ * <p>A single instance can be shared between multiple JDA instances (e.g. all shards).
+ * The threads are started with the first connection and stopped by {@link #shutdown()}.
+ * A thread without connections parks until a connection is assigned to it.
+ */
+public class SharedSendFactory implements IAudioSendFactory
+{
+    public static final int TICKS_PER_FRAME = AudioConnection.OPUS_FRAME_TIME_AMOUNT;
+    public static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    public static final long FRAME_NANOS = TICK_NANOS * TICKS_PER_FRAME;
+
+    private static final AtomicInteger factoryCount = new AtomicInteger(1);
+
+    private final String identifier = "SharedSendFactory " + factoryCount.getAndIncrement();
+    private final SendThread[] threads;
+    private boolean started = false;
+    private boolean shutdown = false;
+
+    /**
+     * Creates a new SharedSendFactory with one sending thread per available processor.
+     */
+    public SharedSendFactory()
+    {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a new SharedSendFactory with the provided amount of sending threads.
+     * <br>Connections that provide opus audio are cheap to send, a single thread can handle hundreds of them.
+     * Connections that have to be encoded to opus take considerably more time per frame.
+     *
+     * @param  threadCount
+     *         The amount of sending threads
+     *
+     * @throws IllegalArgumentException
+     *         If the provided amount is less than 1
+     */
+    public SharedSendFactory(int threadCount)
+    {
+        Args.positive(threadCount, "Thread count");
+        this.threads = new SendThread[threadCount];
+        for (int i = 0; i < threadCount; i++)
+            threads[i] = new SendThread(identifier + " - Sending Thread " + (i + 1));
+    }
+
+    @Override
+    public IAudioSendSystem createSendSystem(IPacketProvider packetProvider)
+    {
+        return new SharedSendSystem(this, packetProvider);
+    }
+
+    /**
+     * All send systems that are currently registered to this factory.
+     *
+     * @return Immutable list of the active send systems
+     */
+    public List<SharedSendSystem> getSendSystems()
+    {
+        List<SharedSendSystem> systems = new ArrayList<>();
+        for (SendThread thread : threads)
+        {
+            for (List<SharedSendSystem> slot : thread.wheel)
+                systems.addAll(slot);
+        }
+        return Collections.unmodifiableList(systems);
+    }
+
+    /**
+     * Stops all sending threads. Connections that still use this factory will no longer send audio.
+     */
+    public synchronized void shutdown()
+    {
+        shutdown = true;
+        for (SendThread thread : threads)
+            thread.interrupt();
+    }
+
+    synchronized void register(SharedSendSystem system)
+    {
+        if (shutdown)
+            throw new IllegalStateException("This SharedSendFactory has been shut down");
+        if (!started)
+        {
+            for (SendThread thread : threads)
+                thread.start();
+            started = true;
+        }
+
+        SendThread thread = threads[0];
+        for (SendThread t : threads)
+        {
+            if (t.size < thread.size)
+                thread = t;
+        }
+        thread.add(system);
+    }
+
+    synchronized void unregister(SharedSendSystem system)
+    {
+        for (SendThread thread : threads)
+        {
+            if (thread.remove(system))
+                return;
+        }
+    }
+
+    //Non-generic so the wheel can be a plain array
+    private static class Slot extends CopyOnWriteArrayList<SharedSendSystem>
+    {
+        private static final long serialVersionUID = 1L;
+    }
+
+    private static class SendThread extends Thread
+    {
+        private final Slot[] wheel = new Slot[TICKS_PER_FRAME];
+        //Only modified while holding the lock of the factory, read by the thread to decide whether to park
+        private volatile int size = 0;
+
+        private SendThread(String name)
+        {
+            super(name);
+            for (int i = 0; i < wheel.length; i++)
+                wheel[i] = new Slot();
+            setPriority((Thread.NORM_PRIORITY + Thread.MAX_PRIORITY) / 2);
+            setDaemon(true);
+        }
+
+        private void add(SharedSendSystem system)
+        {
+            //Spread the connections over the frame so that every tick only has a small batch to send
+            List<SharedSendSystem> slot = wheel[0];
+            for (List<SharedSendSystem> s : wheel)
+            {
+                if (s.size() < slot.size())
+                    slot = s;
+            }
+            slot.add(system);
+            size++;
+            LockSupport.unpark(this);
+        }
+
+        private boolean remove(SharedSendSystem system)
+        {
+            for (List<SharedSendSystem> slot : wheel)
+            {
+                if (slot.remove(system))
+                {
+                    size--;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void run()
+        {
+            int index = 0;
+            long deadline = System.nanoTime();
+            while (!isInterrupted())
+            {
+                if (size == 0)
+                {
+                    //Nothing to send, wait for add(SharedSendSystem) instead of waking up every tick
+                    LockSupport.park(this);
+                    deadline = System.nanoTime();
+                    continue;
+                }
+
+                long now = System.nanoTime();
+                if (now < deadline)
+                {
+                    LockSupport.parkNanos(this, deadline - now);
+                    continue;
+                }
+
+                for (SharedSendSystem system : wheel[index])
+                    system.send(deadline);
+
+                index = (index + 1) % TICKS_PER_FRAME;
+                deadline += TICK_NANOS;
+                //If we are more than a whole frame behind (e.g. after a long GC pause) we skip the missed ticks
+                // instead of sending several frames at once.
+                long behind = System.nanoTime() - deadline;
+                if (behind > FRAME_NANOS)
+                {
+                    long missed = behind / TICK_NANOS;
+                    index = (int) ((index + missed) % TICKS_PER_FRAME);
+                    deadline += missed * TICK_NANOS;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.dv8tion.jda.core.audio.factory;
+
+import net.dv8tion.jda.core.audio.AudioConnection;
+
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.NoRouteToHostException;
+import java.net.SocketException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@link net.dv8tion.jda.core.audio.factory.IAudioSendSystem IAudioSendSystem} of a
+ * {@link net.dv8tion.jda.core.audio.factory.SharedSendFactory SharedSendFactory}.
+ * <br>Does not have its own thread, one of the threads of the factory sends a packet every 20 milliseconds.
+ *
+ * <p>Keeps statistics about the timing of the sent frames. The jitter is the delay between the
+ * scheduled and the actual time a frame was requested, frames with a delay above {@link #LATE_THRESHOLD_NANOS}
+ * are counted as late.
+ */
+public class SharedSendSystem implements IAudioSendSystem
+{
+    public static final long LATE_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final SharedSendFactory factory;
+    private final IPacketProvider packetProvider;
+    private DatagramSocket udpSocket;
+    private volatile boolean started = false;
+
+    //Only written by the sending thread
+    private volatile long sentFrames = 0;
+    private volatile long lateFrames = 0;
+    private volatile long averageJitter = 0;
+    private volatile long maxJitter = 0;
+
+    SharedSendSystem(SharedSendFactory factory, IPacketProvider packetProvider)
+    {
+        this.factory = factory;
+        this.packetProvider = packetProvider;
+    }
+
+    @Override
+    public synchronized void start()
+    {
+        if (started)
+            return;
+        udpSocket = packetProvider.getUdpSocket();
+        started = true;
+        factory.register(this);
+    }
+
+    @Override
+    public synchronized void shutdown()
+    {
+        if (!started)
+            return;
+        started = false;
+        factory.unregister(this);
+    }
+
+    /**
+     * The {@link IPacketProvider#getIdentifier() identifier} of the audio connection.
+     *
+     * @return The connection identifier
+     */
+    public String getIdentifier()
+    {
+        return packetProvider.getIdentifier();
+    }
+
+    /**
+     * The amount of packets that were sent by this system.
+     *
+     * @return The amount of sent packets
+     */
+    public long getSentFrames()
+    {
+        return sentFrames;
+    }
+
+    /**
+     * The amount of frames that were requested more than {@link #LATE_THRESHOLD_NANOS} after their scheduled time.
+     *
+     * @return The amount of late frames
+     */
+    public long getLateFrames()
+    {
+        return lateFrames;
+    }
+
+    /**
+     * The smoothed average delay between the scheduled and the actual send time of the frames.
+     *
+     * @param  unit
+     *         The TimeUnit of the returned value
+     *
+     * @return The average jitter
+     */
+    public long getAverageJitter(TimeUnit unit)
+    {
+        return unit.convert(averageJitter, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * The highest delay between the scheduled and the actual send time of a frame.
+     *
+     * @param  unit
+     *         The TimeUnit of the returned value
+     *
+     * @return The maximum jitter
+     */
+    public long getMaxJitter(TimeUnit unit)
+    {
+        return unit.convert(maxJitter, TimeUnit.NANOSECONDS);
+    }
+
+    void send(long deadline)
+    {
+        if (udpSocket.isClosed())
+        {
+            shutdown();
+            return;
+        }
+
+        long jitter = System.nanoTime() - deadline;
+        //Same smoothing as the interarrival jitter of RTP (RFC 3550)
+        averageJitter += (jitter - averageJitter) / 16;
+        if (jitter > maxJitter)
+            maxJitter = jitter;
+        if (jitter > LATE_THRESHOLD_NANOS)
+            lateFrames++;
+
+        try
+        {
+            //We never queue packets ahead of time, so if there is no packet we are no longer talking
+            DatagramPacket packet = packetProvider.getNextPacketReused(true);
+            if (packet != null)
+            {
+                udpSocket.send(packet);
+                sentFrames++;
+            }
+        }
+        catch (NoRouteToHostException e)
+        {
+            packetProvider.onConnectionLost();
+        }
+        catch (SocketException e)
+        {
+            //Most likely the socket has been closed due to the audio connection be closed. Next tick will remove us.
+        }
+        catch (Exception e)
+        {
+            AudioConnection.LOG.log(e);
+        }
+    }
+}
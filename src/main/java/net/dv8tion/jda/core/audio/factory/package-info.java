@@ -17,6 +17,8 @@
 /**
  * Audio send factories that can be implemented to generate
  * custom audio send packages to be provided to Discord.
- * <br>A default factory is provided.
+ * <br>A default factory is provided, which uses one sending thread per connection.
+ * <br>The {@link net.dv8tion.jda.core.audio.factory.SharedSendFactory SharedSendFactory} sends the audio of
+ * all connections from a small, fixed amount of threads.
  */
 package net.dv8tion.jda.core.audio.factory;
@@ -16,6 +16,7 @@
 
 package net.dv8tion.jda.core.entities;
 
+import gnu.trove.map.TLongObjectMap;
 import net.dv8tion.jda.bot.entities.ApplicationInfo;
 import net.dv8tion.jda.bot.entities.impl.ApplicationInfoImpl;
 import net.dv8tion.jda.client.entities.*;
@@ -31,7 +32,12 @@ import net.dv8tion.jda.core.handle.GuildMembersChunkHandler;
 import net.dv8tion.jda.core.handle.ReadyHandler;
 import net.dv8tion.jda.core.requests.GuildLock;
 import net.dv8tion.jda.core.requests.WebSocketClient;
+import net.dv8tion.jda.core.utils.MiscUtil;
+import net.dv8tion.jda.core.utils.cache.MemberCachePolicy;
 
+import gnu.trove.iterator.TLongIterator;
+import gnu.trove.set.TLongSet;
+import gnu.trove.set.hash.TLongHashSet;
 import org.apache.commons.lang3.StringUtils;
 import org.json.JSONArray;
 import org.json.JSONException;
@@ -54,8 +60,8 @@ public class EntityBuilder
     private static final Pattern channelMentionPattern = Pattern.compile("<#(\\d+)>");
 
     protected final JDAImpl api;
-    protected final HashMap<String, JSONObject> cachedGuildJsons = new HashMap<>();
-    protected final HashMap<String, Consumer<Guild>> cachedGuildCallbacks = new HashMap<>();
+    protected final TLongObjectMap<JSONObject> cachedGuildJsons = MiscUtil.newLongMap();
+    protected final TLongObjectMap<Consumer<Guild>> cachedGuildCallbacks = MiscUtil.newLongMap();
 
     public static EntityBuilder get(JDA api)
     {
@@ -78,12 +84,12 @@ public class EntityBuilder
         SelfUserImpl selfUser = ((SelfUserImpl) api.getSelfUser());
         if (selfUser == null)
         {
-            selfUser = new SelfUserImpl(self.getString("id"), api);
+            selfUser = new SelfUserImpl(self.getLong("id"), api);
             api.setSelfUser(selfUser);
         }
-        if (!api.getUserMap().containsKey(selfUser.getId()))
+        if (!api.getUserMap().containsKey(selfUser.getIdLong()))
         {
-            api.getUserMap().put(selfUser.getId(), selfUser);
+            api.getUserMap().put(selfUser.getIdLong(), selfUser);
         }
         return (SelfUser) selfUser
                 .setVerified(self.getBoolean("verified"))
@@ -97,7 +103,7 @@ public class EntityBuilder
 
     public void createGuildFirstPass(JSONObject guild, Consumer<Guild> secondPassCallback)
     {
-        String id = guild.getString("id");
+        final long id = guild.getLong("id");
         GuildImpl guildObj = ((GuildImpl) api.getGuildMap().get(id));
         if (guildObj == null)
         {
@@ -148,27 +154,27 @@ public class EntityBuilder
         JSONArray roles = guild.getJSONArray("roles");
         for (int i = 0; i < roles.length(); i++)
         {
-            Role role = createRole(roles.getJSONObject(i), guildObj.getId());
-            guildObj.getRolesMap().put(role.getId(), role);
-            if (role.getId().equals(guildObj.getId()))
+            Role role = createRole(roles.getJSONObject(i), guildObj.getIdLong());
+            guildObj.getRolesMap().put(role.getIdLong(), role);
+            if (role.getIdLong() == guildObj.getIdLong())
                 guildObj.setPublicRole(role);
         }
 
         if (!guild.isNull("emojis"))
         {
             JSONArray array = guild.getJSONArray("emojis");
-            Map<String, Emote> emoteMap = guildObj.getEmoteMap();
+            TLongObjectMap<Emote> emoteMap = guildObj.getEmoteMap();
             for (int i = 0; i < array.length(); i++)
             {
                 JSONObject object = array.getJSONObject(i);
                 JSONArray emoteRoles = object.getJSONArray("roles");
-                String emoteId = object.getString("id");
+                final long emoteId = object.getLong("id");
 
                 EmoteImpl emoteObj = new EmoteImpl(emoteId, guildObj);
                 Set<Role> roleSet = emoteObj.getRoleSet();
 
                 for (int j = 0; j < emoteRoles.length(); j++)
-                    roleSet.add(guildObj.getRoleById(emoteRoles.getString(j)));
+                    roleSet.add(guildObj.getRoleById(emoteRoles.getLong(j)));
                 emoteMap.put(emoteId, emoteObj
                         .setName(object.getString("name"))
                         .setManaged(object.getBoolean("managed")));
@@ -182,7 +188,7 @@ public class EntityBuilder
         }
 
         //This could be null for Client accounts. Will be fixed by GUILD_SYNC
-        Member owner = guildObj.getMemberById(guild.getString("owner_id"));
+        Member owner = guildObj.getMemberById(guild.getLong("owner_id"));
         if (owner != null)
             guildObj.setOwner(owner);
 
@@ -192,7 +198,7 @@ public class EntityBuilder
             for (int i = 0; i < presences.length(); i++)
             {
                 JSONObject presence = presences.getJSONObject(i);
-                String userId = presence.getJSONObject("user").getString("id");
+                final long userId = presence.getJSONObject("user").getLong("id");
                 MemberImpl member = (MemberImpl) guildObj.getMembersMap().get(userId);
 
                 if (member == null)
@@ -212,15 +218,15 @@ public class EntityBuilder
                 ChannelType type = ChannelType.fromId(channel.getInt("type"));
                 if (type == ChannelType.TEXT)
                 {
-                    TextChannel newChannel = createTextChannel(channel, guildObj.getId(), false);
-                    if (newChannel.getId().equals(guildObj.getId()))
+                    TextChannel newChannel = createTextChannel(channel, guildObj.getIdLong(), false);
+                    if (newChannel.getIdLong() == guildObj.getIdLong())
                         guildObj.setPublicChannel(newChannel);
                 }
                 else if (type == ChannelType.VOICE)
                 {
-                    VoiceChannel newChannel = createVoiceChannel(channel, guildObj.getId(), false);
+                    VoiceChannel newChannel = createVoiceChannel(channel, guildObj.getIdLong(), false);
                     if (!guild.isNull("afk_channel_id")
-                            && newChannel.getId().equals(guild.getString("afk_channel_id")))
+                            && newChannel.getIdLong() == guild.getLong("afk_channel_id"))
                         guildObj.setAfkChannel(newChannel);
                 }
                 else
@@ -246,8 +252,14 @@ public class EntityBuilder
         //If we actually -did- get all of the users needed, then we don't need to Chunk. Furthermore,
         // we don't need to use GUILD_SYNC because we always get presences with users thus we have all information
         // needed to guild the Guild. We will skip
-        if (guild.getJSONArray("members").length() != guild.getInt("member_count"))
+        //Chunking is also skipped if the MemberCachePolicy does not cache all members, in that case the Guild is
+        // completed with the members we already have.
+        if (guild.getJSONArray("members").length() != guild.getInt("member_count")
+                && api.getMemberCachePolicy() == MemberCachePolicy.ALL)
         {
+            //Members and presences were already built above, only keep what is needed for the second pass
+            guild.remove("members");
+            guild.remove("presences");
             cachedGuildJsons.put(id, guild);
             cachedGuildCallbacks.put(id, secondPassCallback);
 
@@ -294,13 +306,36 @@ public class EntityBuilder
 
         JSONArray voiceStates = guild.getJSONArray("voice_states");
         createGuildVoiceStatePass(guildObj, voiceStates);
+        applyMemberCachePolicy(guildObj);
 
-        GuildLock.get(api).unlock(guildObj.getId());
+        GuildLock.get(api).unlock(guildObj.getIdLong());
+        guildObj.setLoaded();
         if (secondPassCallback != null)
             secondPassCallback.accept(guildObj);
     }
 
-    public void createGuildSecondPass(String guildId, List<JSONArray> memberChunks)
+    /**
+     * Builds the members of a GUILD_MEMBERS_CHUNK for a Guild that is currently chunking.
+     * <br>The members are built as soon as a chunk arrives so the raw chunks never have to be kept
+     * until the Guild is complete.
+     *
+     * @param  guildId
+     *         The id of the chunking Guild
+     * @param  members
+     *         The members of the chunk
+     *
+     * @throws IllegalStateException
+     *         If the Guild is unknown
+     */
+    public void createGuildMemberChunk(long guildId, JSONArray members)
+    {
+        GuildImpl guildObj = (GuildImpl) api.getGuildMap().get(guildId);
+        if (guildObj == null)
+            throw new IllegalStateException("Received a member chunk for an unknown Guild. GuildId: " + guildId);
+        createGuildMemberPass(guildObj, members);
+    }
+
+    public void createGuildSecondPass(long guildId)
     {
         JSONObject guildJson = cachedGuildJsons.remove(guildId);
         Consumer<Guild> secondPassCallback = cachedGuildCallbacks.remove(guildId);
@@ -315,12 +350,7 @@ public class EntityBuilder
         if (secondPassCallback == null)
             throw new IllegalArgumentException("No callback provided for the second pass on the Guild!");
 
-        for (JSONArray chunk : memberChunks)
-        {
-            createGuildMemberPass(guildObj, chunk);
-        }
-
-        Member owner = guildObj.getMemberById(guildJson.getString("owner_id"));
+        Member owner = guildObj.getMemberById(guildJson.getLong("owner_id"));
         if (owner != null)
             guildObj.setOwner(owner);
 
@@ -332,9 +362,11 @@ public class EntityBuilder
 
         JSONArray voiceStates = guildJson.getJSONArray("voice_states");
         createGuildVoiceStatePass(guildObj, voiceStates);
+        applyMemberCachePolicy(guildObj);
 
-        secondPassCallback.accept(guildObj);
         GuildLock.get(api).unlock(guildId);
+        guildObj.setLoaded();
+        secondPassCallback.accept(guildObj);
     }
 
     public void handleGuildSync(GuildImpl guild, JSONArray members, JSONArray presences)
@@ -348,7 +380,7 @@ public class EntityBuilder
         for (int i = 0; i < presences.length(); i++)
         {
             JSONObject presenceJson = presences.getJSONObject(i);
-            String userId = presenceJson.getJSONObject("user").getString("id");
+            final long userId = presenceJson.getJSONObject("user").getLong("id");
 
             MemberImpl member = (MemberImpl) guild.getMembersMap().get(userId);
             if (member == null)
@@ -358,6 +390,128 @@ public class EntityBuilder
         }
     }
 
+    /**
+     * Checks the {@link net.dv8tion.jda.core.utils.cache.MemberCachePolicy MemberCachePolicy} for a Member
+     * that was loaded or updated and unloads it if the policy does not want to keep it.
+     *
+     * @param  member
+     *         The Member to check
+     *
+     * @return True, if the Member is still cached
+     */
+    public boolean updateMemberCache(MemberImpl member)
+    {
+        if (member.getUser().getIdLong() == api.getSelfUser().getIdLong() || api.getMemberCachePolicy().cacheMember(member))
+            return true;
+        unloadMember((GuildImpl) member.getGuild(), member.getUser().getIdLong());
+        return false;
+    }
+
+    /**
+     * Removes a Member from the cache of the Guild without it leaving the Guild.
+     * <br>The User is also removed from the User cache if we do not share another cached Guild.
+     *
+     * @param  guild
+     *         The Guild of the Member
+     * @param  userId
+     *         The id of the Member's User
+     */
+    public void unloadMember(GuildImpl guild, long userId)
+    {
+        if (userId == api.getSelfUser().getIdLong())
+            return;
+        MemberImpl member = (MemberImpl) guild.getMembersMap().remove(userId);
+        api.getMemberCachePolicy().onMemberUnload(guild.getIdLong(), userId);
+        if (member == null)
+            return;
+        guild.getPermissionCache().invalidateMember(userId);
+
+        VoiceChannel channel = member.getVoiceState().getChannel();
+        if (channel != null)
+            ((VoiceChannelImpl) channel).getConnectedMembersMap().remove(userId);
+
+        if (((UserImpl) member.getUser()).removeMutualGuild())
+        {
+            TLongSet userIds = new TLongHashSet();
+            userIds.add(userId);
+            unloadUsers(userIds);
+        }
+    }
+
+    private void applyMemberCachePolicy(GuildImpl guild)
+    {
+        MemberCachePolicy policy = api.getMemberCachePolicy();
+        if (policy == MemberCachePolicy.ALL)
+            return;
+
+        //Iterate a copy, policies like the LRU policy might unload members themselves
+        final long selfId = api.getSelfUser().getIdLong();
+        TLongSet unloaded = new TLongHashSet();
+        for (Member member : guild.getMembersMap().values(new Member[0]))
+        {
+            final long userId = member.getUser().getIdLong();
+            if (userId != selfId && !policy.cacheMember(member))
+                unloaded.add(userId);
+        }
+        if (unloaded.isEmpty())
+            return;
+
+        TLongSet unusedUsers = new TLongHashSet();
+        for (TLongIterator it = unloaded.iterator(); it.hasNext();)
+        {
+            final long userId = it.next();
+            MemberImpl member = (MemberImpl) guild.getMembersMap().remove(userId);
+            policy.onMemberUnload(guild.getIdLong(), userId);
+            if (member == null)
+                continue;
+            VoiceChannel channel = member.getVoiceState().getChannel();
+            if (channel != null)
+                ((VoiceChannelImpl) channel).getConnectedMembersMap().remove(userId);
+            if (((UserImpl) member.getUser()).removeMutualGuild())
+                unusedUsers.add(userId);
+        }
+        guild.getPermissionCache().invalidate();
+        unloadUsers(unusedUsers);
+        WebSocketClient.LOG.debug("Unloaded " + unloaded.size() + " members of Guild " + guild.getId() + " due to the MemberCachePolicy");
+    }
+
+    //Removes the provided users, which are not a member of any cached guild anymore, like GuildDeleteHandler does
+    private void unloadUsers(TLongSet userIds)
+    {
+        for (TLongIterator it = userIds.iterator(); it.hasNext();)
+        {
+            final long userId = it.next();
+            //If we are a client account, be sure to not remove any users from the cache that are Friends.
+            if (api.getAccountType() == AccountType.CLIENT && api.asClient().getFriendById(Long.toUnsignedString(userId)) != null)
+                continue;
+
+            UserImpl user = (UserImpl) api.getUserMap().remove(userId);
+            if (user == null)
+                continue;
+            if (user.hasPrivateChannel())
+            {
+                PrivateChannelImpl priv = (PrivateChannelImpl) user.getPrivateChannel();
+                user.setFake(true);
+                priv.setFake(true);
+                api.getFakeUserMap().put(user.getIdLong(), user);
+                api.getFakePrivateChannelMap().put(priv.getIdLong(), priv);
+            }
+            else if (api.getAccountType() == AccountType.CLIENT)
+            {
+                //The user could be in a Group, and if so we need to change the User object to be fake
+                for (Group grp : api.asClient().getGroups())
+                {
+                    if (grp.getNonFriendUsers().contains(user))
+                    {
+                        user.setFake(true);
+                        api.getFakeUserMap().put(user.getIdLong(), user);
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
     private void createGuildMemberPass(GuildImpl guildObj, JSONArray members)
     {
         for (int i = 0; i < members.length(); i++)
@@ -376,11 +530,11 @@ public class EntityBuilder
             Channel channelObj = null;
             if (type == ChannelType.TEXT)
             {
-                channelObj = api.getTextChannelById(channel.getString("id"));
+                channelObj = api.getTextChannelById(channel.getLong("id"));
             }
             else if (type == ChannelType.VOICE)
             {
-                channelObj = api.getVoiceChannelById(channel.getString("id"));
+                channelObj = api.getVoiceChannelById(channel.getLong("id"));
             }
             else
                 WebSocketClient.LOG.fatal("Received a channel for a guild that isn't a text or voice channel (ChannelPass). JSON: " + channel);
@@ -413,17 +567,18 @@ public class EntityBuilder
         for (int i = 0; i < voiceStates.length(); i++)
         {
             JSONObject voiceStateJson = voiceStates.getJSONObject(i);
-            Member member = guildObj.getMembersMap().get(voiceStateJson.getString("user_id"));
+            final long userId = voiceStateJson.getLong("user_id");
+            Member member = guildObj.getMembersMap().get(userId);
             if (member == null)
             {
                 WebSocketClient.LOG.fatal("Received a VoiceState for a unknown Member! GuildId: "
-                        + guildObj.getId() + " MemberId: " + voiceStateJson.getString("user_id"));
+                        + guildObj.getId() + " MemberId: " + userId);
                 continue;
             }
 
             VoiceChannelImpl voiceChannel =
-                    (VoiceChannelImpl) guildObj.getVoiceChannelMap().get(voiceStateJson.getString("channel_id"));
-            voiceChannel.getConnectedMembersMap().put(member.getUser().getId(), member);
+                    (VoiceChannelImpl) guildObj.getVoiceChannelMap().get(voiceStateJson.getLong("channel_id"));
+            voiceChannel.getConnectedMembersMap().put(userId, member);
 
             GuildVoiceStateImpl voiceState = (GuildVoiceStateImpl) member.getVoiceState();
             voiceState.setSelfMuted(voiceStateJson.getBoolean("self_mute"))
@@ -440,7 +595,7 @@ public class EntityBuilder
     public User createUser(JSONObject user)     { return createUser(user, false, true); }
     private User createUser(JSONObject user, boolean fake, boolean modifyCache)
     {
-        String id = user.getString("id");
+        final long id = user.getLong("id");
         UserImpl userObj;
 
         userObj = (UserImpl) api.getUserMap().get(id);
@@ -453,13 +608,13 @@ public class EntityBuilder
                 {
                     api.getFakeUserMap().remove(id);
                     userObj.setFake(false);
-                    api.getUserMap().put(userObj.getId(), userObj);
+                    api.getUserMap().put(userObj.getIdLong(), userObj);
                     if (userObj.hasPrivateChannel())
                     {
                         PrivateChannelImpl priv = (PrivateChannelImpl) userObj.getPrivateChannel();
                         priv.setFake(false);
-                        api.getFakePrivateChannelMap().remove(priv.getId());
-                        api.getPrivateChannelMap().put(priv.getId(), priv);
+                        api.getFakePrivateChannelMap().remove(priv.getIdLong());
+                        api.getPrivateChannelMap().put(priv.getIdLong(), priv);
                     }
                 }
             }
@@ -485,12 +640,31 @@ public class EntityBuilder
 
     public Member createMember(GuildImpl guild, JSONObject memberJson)
     {
-        User user = createUser(memberJson.getJSONObject("user"));
-        MemberImpl member = (MemberImpl) guild.getMember(user);
-        if (member == null)
+        return createMember(guild, memberJson, true);
+    }
+
+    public Member createMember(GuildImpl guild, JSONObject memberJson, boolean modifyCache)
+    {
+        MemberImpl member;
+        if (modifyCache)
+        {
+            User user = createUser(memberJson.getJSONObject("user"));
+            member = (MemberImpl) guild.getMember(user);
+            if (member == null)
+            {
+                member = new MemberImpl(guild, user);
+                guild.getMembersMap().put(user.getIdLong(), member);
+                ((UserImpl) user).addMutualGuild();
+            }
+        }
+        else
         {
+            //Detached Member, neither the Member nor a new User touch the cache
+            JSONObject userJson = memberJson.getJSONObject("user");
+            User user = api.getUserById(userJson.getLong("id"));
+            if (user == null)
+                user = createUser(userJson, false, false);
             member = new MemberImpl(guild, user);
-            guild.getMembersMap().put(user.getId(), member);
         }
 
         ((GuildVoiceStateImpl) member.getVoiceState())
@@ -505,7 +679,7 @@ public class EntityBuilder
         JSONArray rolesJson = memberJson.getJSONArray("roles");
         for (int k = 0; k < rolesJson.length(); k++)
         {
-            String roleId = rolesJson.getString(k);
+            final long roleId = rolesJson.getLong(k);
             Role r = guild.getRolesMap().get(roleId);
             if (r == null)
             {
@@ -574,14 +748,14 @@ public class EntityBuilder
             throw new IllegalArgumentException("An object was provided to EntityBuilder#createPresence that wasn't a Member or Friend. JSON: " + presenceJson);
     }
 
-    public TextChannel createTextChannel(JSONObject json, String guildId)
+    public TextChannel createTextChannel(JSONObject json, long guildId)
     {
         return createTextChannel(json, guildId, true);
 
     }
-    public TextChannel createTextChannel(JSONObject json, String guildId, boolean guildIsLoaded)
+    public TextChannel createTextChannel(JSONObject json, long guildId, boolean guildIsLoaded)
     {
-        String id = json.getString("id");
+        final long id = json.getLong("id");
         TextChannelImpl channel = (TextChannelImpl) api.getTextChannelMap().get(id);
         if (channel == null)
         {
@@ -606,13 +780,13 @@ public class EntityBuilder
                 .setRawPosition(json.getInt("position"));
     }
 
-    public VoiceChannel createVoiceChannel(JSONObject json, String guildId)
+    public VoiceChannel createVoiceChannel(JSONObject json, long guildId)
     {
         return createVoiceChannel(json, guildId, true);
     }
-    public VoiceChannel createVoiceChannel(JSONObject json, String guildId, boolean guildIsLoaded)
+    public VoiceChannel createVoiceChannel(JSONObject json, long guildId, boolean guildIsLoaded)
     {
-        String id = json.getString("id");
+        final long id = json.getLong("id");
         VoiceChannelImpl channel = ((VoiceChannelImpl) api.getVoiceChannelMap().get(id));
         if (channel == null)
         {
@@ -643,29 +817,29 @@ public class EntityBuilder
         JSONObject recipient = privatechat.has("recipients") ? 
             privatechat.getJSONArray("recipients").getJSONObject(0) :
             privatechat.getJSONObject("recipient");
-        UserImpl user = ((UserImpl) api.getUserMap().get(recipient.getString("id")));
+        UserImpl user = ((UserImpl) api.getUserMap().get(recipient.getLong("id")));
         if (user == null)
         {   //The API can give us private channels connected to Users that we can no longer communicate with.
             // As such, make a fake user and fake private channel.
             user = (UserImpl) createFakeUser(recipient, true);
         }
 
-        PrivateChannelImpl priv = new PrivateChannelImpl(privatechat.getString("id"), user);
+        PrivateChannelImpl priv = new PrivateChannelImpl(privatechat.getLong("id"), user);
         user.setPrivateChannel(priv);
 
         if (user.isFake())
         {
             priv.setFake(true);
-            api.getFakePrivateChannelMap().put(priv.getId(), priv);
+            api.getFakePrivateChannelMap().put(priv.getIdLong(), priv);
         }
         else
-            api.getPrivateChannelMap().put(priv.getId(), priv);
+            api.getPrivateChannelMap().put(priv.getIdLong(), priv);
         return priv;
     }
 
-    public Role createRole(JSONObject roleJson, String guildId)
+    public Role createRole(JSONObject roleJson, long guildId)
     {
-        String id = roleJson.getString("id");
+        final long id = roleJson.getLong("id");
         GuildImpl guild = ((GuildImpl) api.getGuildMap().get(guildId));
         RoleImpl role = ((RoleImpl) guild.getRolesMap().get(id));
         if (role == null)
@@ -685,14 +859,14 @@ public class EntityBuilder
     public Message createMessage(JSONObject jsonObject) { return createMessage(jsonObject, false); }
     public Message createMessage(JSONObject jsonObject, boolean exceptionOnMissingUser)
     {
-        String channelId = jsonObject.getString("channel_id");
+        final long channelId = jsonObject.getLong("channel_id");
         MessageChannel chan = api.getTextChannelById(channelId);
         if (chan == null)
             chan = api.getPrivateChannelById(channelId);
         if (chan == null)
             chan = api.getFakePrivateChannelMap().get(channelId);
         if (chan == null && api.getAccountType() == AccountType.CLIENT)
-            chan = api.asClient().getGroupById(channelId);
+            chan = api.asClient().getGroupById(Long.toUnsignedString(channelId));
         if (chan == null)
             throw new IllegalArgumentException(MISSING_CHANNEL);
 
@@ -704,7 +878,7 @@ public class EntityBuilder
         String content = !jsonObject.isNull("content") ? jsonObject.getString("content") : "";
 
         JSONObject author = jsonObject.getJSONObject("author");
-        String authorId = author.getString("id");
+        final long authorId = author.getLong("id");
         boolean fromWebhook = jsonObject.has("webhook_id");
 
         MessageImpl message = new MessageImpl(id, chan, fromWebhook)
@@ -715,7 +889,7 @@ public class EntityBuilder
                 .setPinned(!jsonObject.isNull("pinned") && jsonObject.getBoolean("pinned"));
         if (chan instanceof PrivateChannel)
         {
-            if (StringUtils.equals(authorId, api.getSelfUser().getId()))
+            if (authorId == api.getSelfUser().getIdLong())
                 message.setAuthor(api.getSelfUser());
             else
                 message.setAuthor(((PrivateChannel) chan).getUser());
@@ -749,10 +923,23 @@ public class EntityBuilder
         {
             GuildImpl guild = (GuildImpl) ((TextChannel) chan).getGuild();
             Member member = guild.getMembersMap().get(authorId);
+            if (exceptionOnMissingUser && !fromWebhook)
+            {
+                //Specifically for MESSAGE_CREATE: Load the author if it is not cached due to the MemberCachePolicy
+                // and let the policy know that the member was seen
+                if (member == null && jsonObject.has("member"))
+                {
+                    JSONObject memberJson = jsonObject.getJSONObject("member");
+                    memberJson.put("user", author);
+                    member = createMember(guild, memberJson);
+                }
+                if (member != null)
+                    updateMemberCache((MemberImpl) member);
+            }
             User user = member != null ? member.getUser() : null;
             if (user != null)
                 message.setAuthor(user);
-            else if (fromWebhook || !exceptionOnMissingUser)
+            else if (fromWebhook || !exceptionOnMissingUser || api.getMemberCachePolicy() != MemberCachePolicy.ALL)
                 message.setAuthor(createFakeUser(author, false));
             else
                 throw new IllegalArgumentException(MISSING_USER);
@@ -807,9 +994,10 @@ public class EntityBuilder
                 Emote emote = null;
                 if (emojiId != null)
                 {
-                    emote = api.getEmoteById(emojiId);
+                    final long emoteId = Long.parseUnsignedLong(emojiId);
+                    emote = api.getEmoteById(emoteId);
                     if (emote == null)
-                        emote = new EmoteImpl(emojiId, api).setName(emojiName);
+                        emote = new EmoteImpl(emoteId, api).setName(emojiName);
                 }
                 MessageReaction.ReactionEmote reactionEmote;
                 if (emote == null)
@@ -831,12 +1019,12 @@ public class EntityBuilder
                 for (int i = 0; i < mentions.length(); i++)
                 {
                     JSONObject mention = mentions.getJSONObject(i);
-                    User u = api.getUserMap().get(mention.getString("id"));
+                    User u = api.getUserMap().get(mention.getLong("id"));
                     if (u != null)
                     {
                         //We do this to properly order the mentions. The array given by discord is out of order sometimes.
 
-                        String mentionId = mention.getString("id");
+                        String mentionId = u.getId();
                         int index = content.indexOf("<@" + mentionId + ">");
                         if (index < 0)
                             index = content.indexOf("<@!" + mentionId + ">");
@@ -864,11 +1052,19 @@ public class EntityBuilder
             message.setMentionedRoles(new LinkedList<Role>(mentionedRoles.values()));
 
             List<TextChannel> mentionedChannels = new LinkedList<>();
-            Map<String, TextChannel> chanMap = ((GuildImpl) textChannel.getGuild()).getTextChannelsMap();
+            TLongObjectMap<TextChannel> chanMap = ((GuildImpl) textChannel.getGuild()).getTextChannelsMap();
             Matcher matcher = channelMentionPattern.matcher(content);
             while (matcher.find())
             {
-                TextChannel channel = chanMap.get(matcher.group(1));
+                TextChannel channel;
+                try
+                {
+                    channel = chanMap.get(Long.parseUnsignedLong(matcher.group(1)));
+                }
+                catch (NumberFormatException e)
+                {
+                    continue;
+                }
                 if(channel != null && !mentionedChannels.contains(channel))
                 {
                     mentionedChannels.add(channel);
@@ -976,7 +1172,7 @@ public class EntityBuilder
     public PermissionOverride createPermissionOverride(JSONObject override, Channel chan)
     {
         PermissionOverrideImpl permOverride = null;
-        String id = override.getString("id");
+        final long id = override.getLong("id");
         long allow = override.getLong("allow");
         long deny = override.getLong("deny");
 
@@ -1026,7 +1222,7 @@ public class EntityBuilder
         String guildId = object.getString("guild_id");
         String channelId = object.getString("channel_id");
 
-        TextChannel channel = api.getTextChannelById(channelId);
+        TextChannel channel = api.getTextChannelById(MiscUtil.parseSnowflake(channelId));
         if (channel == null)
             throw new NullPointerException(String.format("Tried to create Webhook for an un-cached TextChannel! WebhookId: %s ChannelId: %s GuildId: %s",
                     id, channelId, guildId));
@@ -1042,7 +1238,7 @@ public class EntityBuilder
         User defaultUser = createFakeUser(fakeUser, false);
 
         JSONObject ownerJson = object.getJSONObject("user");
-        String userId = ownerJson.getString("id");
+        final long userId = ownerJson.getLong("id");
 
         User owner = api.getUserById(userId);
         if (owner == null)
@@ -1117,9 +1313,9 @@ public class EntityBuilder
             groupUsers.put(groupUser.getString("id"), createFakeUser(groupUser, true));
         }
 
-        User owner = api.getUserMap().get(ownerId);
+        User owner = api.getUserMap().get(MiscUtil.parseSnowflake(ownerId));
         if (owner == null)
-            owner = api.getFakeUserMap().get(ownerId);
+            owner = api.getFakeUserMap().get(MiscUtil.parseSnowflake(ownerId));
         if (owner == null)
             throw new IllegalArgumentException("Attempted to build a Group, but could not find user by provided owner id." +
                     "This should not be possible because the owner should be IN the group!");
@@ -0,0 +1,606 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.dv8tion.jda.core.entities;
+
+import gnu.trove.map.TLongObjectMap;
+import net.dv8tion.jda.core.AccountType;
+import net.dv8tion.jda.core.OnlineStatus;
+import net.dv8tion.jda.core.Region;
+import net.dv8tion.jda.core.entities.impl.*;
+import net.dv8tion.jda.core.requests.GuildLock;
+import net.dv8tion.jda.core.utils.SessionStore;
+
+import java.awt.Color;
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compact binary snapshot of the entity cache of a {@link net.dv8tion.jda.core.JDA JDA} instance.
+ *
+ * <p>A snapshot is written when a session is closed in a resumable way and read back on the next boot
+ * before the stored session is resumed. Rebuilding the cache from a snapshot skips the READY, GUILD_CREATE
+ * and chunking cycle and avoids building any json on startup. The snapshot is reconciled with the gateway by the RESUME
+ * itself: Discord replays every event since the sequence recorded in the snapshot,
+ * and if it refuses to do so the session is invalidated, which clears the restored cache.
+ *
+ * <p>The file starts with a magic number and a format {@link #VERSION version} followed by the session
+ * the snapshot belongs to. Snapshots of a different version or session are ignored.
+ * Strings are stored as their UTF-8 length followed by the bytes, {@code -1} representing {@code null}.
+ *
+ * <p>Only snapshots of {@link net.dv8tion.jda.core.AccountType#BOT BOT} accounts are supported,
+ * the relationships and groups of client accounts are not part of the format.
+ */
+public class EntitySnapshot
+{
+    public static final int MAGIC = 0x4A444153; //JDAS
+    public static final int VERSION = 1;
+
+    private static final byte OVERRIDE_MEMBER = 0;
+    private static final byte OVERRIDE_ROLE = 1;
+
+    private EntitySnapshot() {}
+
+    /**
+     * Writes the current entity cache to the provided file.
+     * <br>The file is replaced atomically where supported by the file system.
+     *
+     * <p>The cache must not be modified while the snapshot is written, this should only be called
+     * from the event thread or after the WebSocket connection was closed.
+     *
+     * @param  api
+     *         The JDA instance to snapshot
+     * @param  session
+     *         The session the current cache belongs to
+     * @param  file
+     *         The target file
+     *
+     * @throws IllegalStateException
+     *         If the account is not a bot account or a Guild has not finished loading
+     * @throws java.io.IOException
+     *         If the file could not be written
+     */
+    public static void write(JDAImpl api, SessionStore.Session session, File file) throws IOException
+    {
+        if (api.getAccountType() != AccountType.BOT)
+            throw new IllegalStateException("Entity snapshots are only supported for bot accounts");
+        if (api.getSelfUser() == null)
+            throw new IllegalStateException("Cannot snapshot a session that has not finished loading");
+
+        Path target = file.toPath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16)))
+        {
+            new Writer(api, out).write(session);
+        }
+        try
+        {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (AtomicMoveNotSupportedException e)
+        {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Restores the entity cache from the provided snapshot file.
+     * <br>The snapshot is only loaded if it belongs to the expected session. On failure the cache might be
+     * partially restored and has to be cleared by the caller.
+     *
+     * @param  api
+     *         The JDA instance to restore, the cache of this instance has to be empty
+     * @param  sessionId
+     *         The id of the session that is going to be resumed
+     * @param  file
+     *         The snapshot file
+     *
+     * @throws java.io.IOException
+     *         If the file could not be read or is corrupted
+     *
+     * @return The session recorded in the snapshot, which is the session to resume,
+     *         or {@code null} if the snapshot belongs to a different session or format version
+     */
+    public static SessionStore.Session read(JDAImpl api, String sessionId, File file) throws IOException
+    {
+        //Read into the heap instead of mapping the file, a mapping is only released once the buffer is garbage collected
+        // and keeps the file locked until then on some platforms
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        try
+        {
+            Reader reader = new Reader(api, buffer);
+            SessionStore.Session session = reader.readHeader();
+            if (session == null || !session.getSessionId().equals(sessionId))
+                return null;
+            reader.read();
+            return session;
+        }
+        catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e)
+        {
+            throw new IOException("Corrupted entity snapshot " + file, e);
+        }
+    }
+
+    private static class Writer
+    {
+        private final JDAImpl api;
+        private final DataOutputStream out;
+
+        private Writer(JDAImpl api, DataOutputStream out)
+        {
+            this.api = api;
+            this.out = out;
+        }
+
+        private void write(SessionStore.Session session) throws IOException
+        {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            writeString(session.getSessionId());
+            out.writeInt(session.getSequence());
+
+            SelfUser self = api.getSelfUser();
+            out.writeLong(self.getIdLong());
+            writeUser(self);
+            out.writeBoolean(self.isVerified());
+            out.writeBoolean(self.isMfaEnabled());
+
+            writeUsers(api.getUserMap(), self.getIdLong());
+            writeUsers(api.getFakeUserMap(), 0);
+            writePrivateChannels(api.getPrivateChannelMap());
+            writePrivateChannels(api.getFakePrivateChannelMap());
+
+            out.writeInt(api.getGuildMap().size());
+            for (Guild guild : api.getGuildMap().valueCollection())
+                writeGuild((GuildImpl) guild);
+        }
+
+        private void writeUsers(TLongObjectMap<User> users, long skipId) throws IOException
+        {
+            out.writeInt(users.containsKey(skipId) ? users.size() - 1 : users.size());
+            for (User user : users.valueCollection())
+            {
+                if (user.getIdLong() == skipId)
+                    continue;
+                out.writeLong(user.getIdLong());
+                writeUser(user);
+            }
+        }
+
+        private void writeUser(User user) throws IOException
+        {
+            writeString(user.getName());
+            writeString(user.getDiscriminator());
+            writeString(user.getAvatarId());
+            out.writeBoolean(user.isBot());
+        }
+
+        private void writePrivateChannels(TLongObjectMap<PrivateChannel> channels) throws IOException
+        {
+            out.writeInt(channels.size());
+            for (PrivateChannel channel : channels.valueCollection())
+            {
+                out.writeLong(channel.getIdLong());
+                out.writeLong(channel.getUser().getIdLong());
+            }
+        }
+
+        private void writeGuild(GuildImpl guild) throws IOException
+        {
+            out.writeLong(guild.getIdLong());
+            out.writeBoolean(guild.isAvailable());
+            if (!guild.isAvailable())
+                return;
+            if (!guild.isLoaded())
+                throw new IllegalStateException("Cannot snapshot Guild " + guild.getId() + ", it has not finished loading");
+
+            writeString(guild.getName());
+            writeString(guild.getIconId());
+            writeString(guild.getSplashId());
+            writeString(guild.getRegion().getKey());
+            out.writeInt(guild.getAfkTimeout().getSeconds());
+            out.writeInt(guild.getVerificationLevel().getKey());
+            out.writeInt(guild.getDefaultNotificationLevel().getKey());
+            out.writeInt(guild.getRequiredMFALevel().getKey());
+
+            out.writeInt(guild.getRolesMap().size());
+            for (Role role : guild.getRolesMap().valueCollection())
+            {
+                out.writeLong(role.getIdLong());
+                writeString(role.getName());
+                out.writeInt(role.getColor() == null ? -1 : role.getColor().getRGB() & 0xFFFFFF);
+                out.writeLong(role.getPermissionsRaw());
+                out.writeInt(role.getPositionRaw());
+                out.writeBoolean(role.isManaged());
+                out.writeBoolean(role.isHoisted());
+                out.writeBoolean(role.isMentionable());
+            }
+
+            out.writeInt(guild.getEmoteMap().size());
+            for (Emote emote : guild.getEmoteMap().valueCollection())
+            {
+                EmoteImpl emoteImpl = (EmoteImpl) emote;
+                out.writeLong(emote.getIdLong());
+                writeString(emote.getName());
+                out.writeBoolean(emote.isManaged());
+                writeIds(emoteImpl.getRoleSet());
+            }
+
+            out.writeInt(guild.getMembersMap().size());
+            for (Member member : guild.getMembersMap().valueCollection())
+            {
+                MemberImpl memberImpl = (MemberImpl) member;
+                OffsetDateTime joinDate = member.getJoinDate();
+                out.writeLong(member.getUser().getIdLong());
+                writeString(member.getNickname());
+                out.writeLong(joinDate.toEpochSecond());
+                out.writeInt(joinDate.getNano());
+                out.writeInt(joinDate.getOffset().getTotalSeconds());
+                writeString(member.getOnlineStatus().getKey());
+                Game game = member.getGame();
+                out.writeBoolean(game != null);
+                if (game != null)
+                {
+                    writeString(game.getName());
+                    writeString(game.getUrl());
+                    out.writeInt(game.getType().getKey());
+                }
+                writeIds(memberImpl.getRoleSet());
+                out.writeBoolean(member.getVoiceState().isGuildMuted());
+                out.writeBoolean(member.getVoiceState().isGuildDeafened());
+            }
+            out.writeLong(guild.getOwner() == null ? 0 : guild.getOwner().getUser().getIdLong());
+
+            out.writeInt(guild.getTextChannelsMap().size());
+            for (TextChannel channel : guild.getTextChannelsMap().valueCollection())
+            {
+                TextChannelImpl channelImpl = (TextChannelImpl) channel;
+                out.writeLong(channel.getIdLong());
+                writeString(channel.getName());
+                writeString(channel.getTopic());
+                out.writeInt(channel.getPositionRaw());
+                writeOverrides(channelImpl.getMemberOverrideMap(), channelImpl.getRoleOverrideMap());
+            }
+
+            out.writeInt(guild.getVoiceChannelMap().size());
+            for (VoiceChannel channel : guild.getVoiceChannelMap().valueCollection())
+            {
+                VoiceChannelImpl channelImpl = (VoiceChannelImpl) channel;
+                out.writeLong(channel.getIdLong());
+                writeString(channel.getName());
+                out.writeInt(channel.getPositionRaw());
+                out.writeInt(channel.getUserLimit());
+                out.writeInt(channel.getBitrate());
+                writeOverrides(channelImpl.getMemberOverrideMap(), channelImpl.getRoleOverrideMap());
+            }
+            out.writeLong(guild.getPublicChannel() == null ? 0 : guild.getPublicChannel().getIdLong());
+            out.writeLong(guild.getAfkChannel() == null ? 0 : guild.getAfkChannel().getIdLong());
+
+            int voiceStates = 0;
+            for (Member member : guild.getMembersMap().valueCollection())
+            {
+                if (member.getVoiceState().inVoiceChannel())
+                    voiceStates++;
+            }
+            out.writeInt(voiceStates);
+            for (Member member : guild.getMembersMap().valueCollection())
+            {
+                GuildVoiceState voiceState = member.getVoiceState();
+                if (!voiceState.inVoiceChannel())
+                    continue;
+                out.writeLong(member.getUser().getIdLong());
+                out.writeLong(voiceState.getChannel().getIdLong());
+                writeString(voiceState.getSessionId());
+                out.writeBoolean(voiceState.isSelfMuted());
+                out.writeBoolean(voiceState.isSelfDeafened());
+                out.writeBoolean(voiceState.isSuppressed());
+            }
+        }
+
+        private void writeOverrides(Map<Member, PermissionOverride> memberOverrides, Map<Role, PermissionOverride> roleOverrides) throws IOException
+        {
+            out.writeInt(memberOverrides.size() + roleOverrides.size());
+            for (PermissionOverride override : memberOverrides.values())
+            {
+                out.writeByte(OVERRIDE_MEMBER);
+                out.writeLong(override.getMember().getUser().getIdLong());
+                out.writeLong(override.getAllowedRaw());
+                out.writeLong(override.getDeniedRaw());
+            }
+            for (PermissionOverride override : roleOverrides.values())
+            {
+                out.writeByte(OVERRIDE_ROLE);
+                out.writeLong(override.getRole().getIdLong());
+                out.writeLong(override.getAllowedRaw());
+                out.writeLong(override.getDeniedRaw());
+            }
+        }
+
+        private void writeIds(Set<? extends ISnowflake> entities) throws IOException
+        {
+            out.writeInt(entities.size());
+            for (ISnowflake entity : entities)
+                out.writeLong(entity.getIdLong());
+        }
+
+        private void writeString(String string) throws IOException
+        {
+            if (string == null)
+            {
+                out.writeInt(-1);
+                return;
+            }
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static class Reader
+    {
+        private final JDAImpl api;
+        private final ByteBuffer buffer;
+        private byte[] stringBuffer = new byte[256];
+
+        private Reader(JDAImpl api, ByteBuffer buffer)
+        {
+            this.api = api;
+            this.buffer = buffer;
+        }
+
+        private SessionStore.Session readHeader()
+        {
+            if (buffer.remaining() < 8 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION)
+                return null;
+            String sessionId = readString();
+            return new SessionStore.Session(sessionId, buffer.getInt());
+        }
+
+        private void read()
+        {
+            SelfUserImpl self = new SelfUserImpl(buffer.getLong(), api);
+            readUser(self);
+            self.setVerified(buffer.get() != 0)
+                .setMfaEnabled(buffer.get() != 0);
+            api.setSelfUser(self);
+            api.getUserMap().put(self.getIdLong(), self);
+
+            readUsers(api.getUserMap(), false);
+            readUsers(api.getFakeUserMap(), true);
+            readPrivateChannels(api.getPrivateChannelMap(), api.getUserMap(), false);
+            readPrivateChannels(api.getFakePrivateChannelMap(), api.getFakeUserMap(), true);
+
+            int guilds = buffer.getInt();
+            for (int i = 0; i < guilds; i++)
+                readGuild();
+        }
+
+        private void readUsers(TLongObjectMap<User> users, boolean fake)
+        {
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++)
+            {
+                UserImpl user = new UserImpl(buffer.getLong(), api).setFake(fake);
+                readUser(user);
+                users.put(user.getIdLong(), user);
+            }
+        }
+
+        private void readUser(UserImpl user)
+        {
+            user.setName(readString())
+                .setDiscriminator(readString())
+                .setAvatarId(readString())
+                .setBot(buffer.get() != 0);
+        }
+
+        private void readPrivateChannels(TLongObjectMap<PrivateChannel> channels, TLongObjectMap<User> users, boolean fake)
+        {
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++)
+            {
+                long channelId = buffer.getLong();
+                UserImpl user = (UserImpl) users.get(buffer.getLong());
+                if (user == null)
+                    continue;
+                PrivateChannelImpl channel = new PrivateChannelImpl(channelId, user).setFake(fake);
+                user.setPrivateChannel(channel);
+                channels.put(channelId, channel);
+            }
+        }
+
+        private void readGuild()
+        {
+            GuildImpl guild = new GuildImpl(api, buffer.getLong());
+            api.getGuildMap().put(guild.getIdLong(), guild);
+            if (buffer.get() == 0)
+            {
+                //Same as EntityBuilder#createGuildFirstPass, events for unavailable guilds are queued until they become available
+                guild.setAvailable(false);
+                GuildLock.get(api).lock(guild.getIdLong());
+                return;
+            }
+
+            guild.setAvailable(true)
+                 .setName(readString())
+                 .setIconId(readString())
+                 .setSplashId(readString())
+                 .setRegion(Region.fromKey(readString()))
+                 .setAfkTimeout(Guild.Timeout.fromKey(buffer.getInt()))
+                 .setVerificationLevel(Guild.VerificationLevel.fromKey(buffer.getInt()))
+                 .setDefaultNotificationLevel(Guild.NotificationLevel.fromKey(buffer.getInt()))
+                 .setRequiredMFALevel(Guild.MFALevel.fromKey(buffer.getInt()));
+
+            int roles = buffer.getInt();
+            for (int i = 0; i < roles; i++)
+            {
+                RoleImpl role = new RoleImpl(buffer.getLong(), guild);
+                int color;
+                role.setName(readString())
+                    .setColor((color = buffer.getInt()) == -1 ? null : new Color(color))
+                    .setRawPermissions(buffer.getLong())
+                    .setRawPosition(buffer.getInt())
+                    .setManaged(buffer.get() != 0)
+                    .setHoisted(buffer.get() != 0)
+                    .setMentionable(buffer.get() != 0);
+                guild.getRolesMap().put(role.getIdLong(), role);
+                if (role.getIdLong() == guild.getIdLong())
+                    guild.setPublicRole(role);
+            }
+
+            int emotes = buffer.getInt();
+            for (int i = 0; i < emotes; i++)
+            {
+                EmoteImpl emote = new EmoteImpl(buffer.getLong(), guild);
+                emote.setName(readString())
+                     .setManaged(buffer.get() != 0);
+                readRoles(guild, emote.getRoleSet());
+                guild.getEmoteMap().put(emote.getIdLong(), emote);
+            }
+
+            int members = buffer.getInt();
+            for (int i = 0; i < members; i++)
+            {
+                User user = api.getUserMap().get(buffer.getLong());
+                if (user == null)
+                    throw new IllegalArgumentException("Snapshot contains a Member without a User");
+                MemberImpl member = new MemberImpl(guild, user);
+                member.setNickname(readString());
+                long epochSecond = buffer.getLong();
+                int nano = buffer.getInt();
+                ZoneOffset offset = ZoneOffset.ofTotalSeconds(buffer.getInt());
+                member.setJoinDate(OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSecond, nano), offset))
+                      .setOnlineStatus(OnlineStatus.fromKey(readString()));
+                if (buffer.get() != 0)
+                    member.setGame(new GameImpl(readString(), readString(), Game.GameType.fromKey(buffer.getInt())));
+                readRoles(guild, member.getRoleSet());
+                ((GuildVoiceStateImpl) member.getVoiceState())
+                        .setGuildMuted(buffer.get() != 0)
+                        .setGuildDeafened(buffer.get() != 0);
+                guild.getMembersMap().put(user.getIdLong(), member);
+                ((UserImpl) user).addMutualGuild();
+            }
+            Member owner = guild.getMembersMap().get(buffer.getLong());
+            if (owner != null)
+                guild.setOwner(owner);
+
+            int textChannels = buffer.getInt();
+            for (int i = 0; i < textChannels; i++)
+            {
+                TextChannelImpl channel = new TextChannelImpl(buffer.getLong(), guild);
+                channel.setName(readString())
+                       .setTopic(readString())
+                       .setRawPosition(buffer.getInt());
+                readOverrides(guild, channel, channel.getMemberOverrideMap(), channel.getRoleOverrideMap());
+                guild.getTextChannelsMap().put(channel.getIdLong(), channel);
+                api.getTextChannelMap().put(channel.getIdLong(), channel);
+            }
+
+            int voiceChannels = buffer.getInt();
+            for (int i = 0; i < voiceChannels; i++)
+            {
+                VoiceChannelImpl channel = new VoiceChannelImpl(buffer.getLong(), guild);
+                channel.setName(readString())
+                       .setRawPosition(buffer.getInt())
+                       .setUserLimit(buffer.getInt())
+                       .setBitrate(buffer.getInt());
+                readOverrides(guild, channel, channel.getMemberOverrideMap(), channel.getRoleOverrideMap());
+                guild.getVoiceChannelMap().put(channel.getIdLong(), channel);
+                api.getVoiceChannelMap().put(channel.getIdLong(), channel);
+            }
+            guild.setPublicChannel(guild.getTextChannelsMap().get(buffer.getLong()));
+            guild.setAfkChannel(guild.getVoiceChannelMap().get(buffer.getLong()));
+
+            int voiceStates = buffer.getInt();
+            for (int i = 0; i < voiceStates; i++)
+            {
+                Member member = guild.getMembersMap().get(buffer.getLong());
+                VoiceChannelImpl channel = (VoiceChannelImpl) guild.getVoiceChannelMap().get(buffer.getLong());
+                String sessionId = readString();
+                boolean selfMuted = buffer.get() != 0;
+                boolean selfDeafened = buffer.get() != 0;
+                boolean suppressed = buffer.get() != 0;
+                if (member == null || channel == null)
+                    continue;
+                channel.getConnectedMembersMap().put(member.getUser().getIdLong(), member);
+                ((GuildVoiceStateImpl) member.getVoiceState())
+                        .setSelfMuted(selfMuted)
+                        .setSelfDeafened(selfDeafened)
+                        .setSuppressed(suppressed)
+                        .setSessionId(sessionId)
+                        .setConnectedChannel(channel);
+            }
+
+            guild.setLoaded();
+        }
+
+        private void readOverrides(GuildImpl guild, Channel channel, Map<Member, PermissionOverride> memberOverrides, Map<Role, PermissionOverride> roleOverrides)
+        {
+            int overrides = buffer.getInt();
+            for (int i = 0; i < overrides; i++)
+            {
+                byte type = buffer.get();
+                long id = buffer.getLong();
+                long allow = buffer.getLong();
+                long deny = buffer.getLong();
+                if (type == OVERRIDE_MEMBER)
+                {
+                    Member member = guild.getMembersMap().get(id);
+                    if (member != null)
+                        memberOverrides.put(member, new PermissionOverrideImpl(channel, member, null).setAllow(allow).setDeny(deny));
+                }
+                else
+                {
+                    Role role = guild.getRolesMap().get(id);
+                    if (role != null)
+                        roleOverrides.put(role, new PermissionOverrideImpl(channel, null, role).setAllow(allow).setDeny(deny));
+                }
+            }
+        }
+
+        private void readRoles(GuildImpl guild, Set<Role> roles)
+        {
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++)
+            {
+                Role role = guild.getRolesMap().get(buffer.getLong());
+                if (role != null)
+                    roles.add(role);
+            }
+        }
+
+        private String readString()
+        {
+            int length = buffer.getInt();
+            if (length < 0)
+                return null;
+            if (length > stringBuffer.length)
+                stringBuffer = new byte[Math.max(length, stringBuffer.length * 2)];
+            buffer.get(stringBuffer, 0, length);
+            return new String(stringBuffer, 0, length, StandardCharsets.UTF_8);
+        }
+    }
+}
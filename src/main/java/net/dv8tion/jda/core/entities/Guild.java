@@ -22,9 +22,12 @@ import net.dv8tion.jda.core.managers.GuildController;
 import net.dv8tion.jda.core.managers.GuildManager;
 import net.dv8tion.jda.core.managers.GuildManagerUpdatable;
 import net.dv8tion.jda.core.requests.RestAction;
+import net.dv8tion.jda.core.utils.cache.MemberCacheView;
+import net.dv8tion.jda.core.utils.cache.SnowflakeCacheView;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Represents a Discord {@link net.dv8tion.jda.core.entities.Guild Guild}.
@@ -177,10 +180,95 @@ public interface Guild extends ISnowflake
      * @param  userId
      *         The Discord id of the User for which a Member object is requested.
      *
+     * @throws java.lang.NumberFormatException
+     *         If the provided {@code userId} is not a valid snowflake
+     *
      * @return Possibly-null {@link net.dv8tion.jda.core.entities.Member Member} with the related {@code userId}.
      */
     Member getMemberById(String userId);
 
+    /**
+     * Gets a {@link net.dv8tion.jda.core.entities.Member Member} object via the id of the user. The id relates to
+     * {@link net.dv8tion.jda.core.entities.User#getId()}, and this method is similar to {@link JDA#getUserById(String)}
+     * <br>This is more efficient that using {@link JDA#getUserById(String)} and {@link #getMember(User)}.
+     * <br>If no Member in this Guild has the {@code userId} provided, this returns {@code null}.
+     *
+     * @param  userId
+     *         The Discord id of the User for which a Member object is requested.
+     *
+     * @return Possibly-null {@link net.dv8tion.jda.core.entities.Member Member} with the related {@code userId}.
+     */
+    Member getMemberById(long userId);
+
+    /**
+     * Retrieves the {@link net.dv8tion.jda.core.entities.Member Member} of the provided {@link net.dv8tion.jda.core.entities.User User}.
+     * <br>If the Member is cached it is provided without a request, otherwise it is requested from Discord
+     * and cached if the {@link net.dv8tion.jda.core.utils.cache.MemberCachePolicy MemberCachePolicy} allows it.
+     * <br>The cache is updated on the WebSocket thread once the next event is handled, so {@link #getMemberById(long)}
+     * might provide a different instance. Members that left the Guild while the request was in flight are not cached.
+     *
+     * <p>Possible {@link net.dv8tion.jda.core.requests.ErrorResponse ErrorResponses} caused by
+     * the returned {@link net.dv8tion.jda.core.requests.RestAction RestAction} include the following:
+     * <ul>
+     *     <li>{@link net.dv8tion.jda.core.requests.ErrorResponse#UNKNOWN_MEMBER UNKNOWN_MEMBER}
+     *     <br>The User is not a Member of this Guild</li>
+     * </ul>
+     *
+     * @param  user
+     *         The User of the Member
+     *
+     * @throws java.lang.IllegalArgumentException
+     *         If the provided User is null
+     *
+     * @return {@link net.dv8tion.jda.core.requests.RestAction RestAction} - Type: {@link net.dv8tion.jda.core.entities.Member Member}
+     *
+     * @see    #retrieveMemberById(long)
+     */
+    RestAction<Member> retrieveMember(User user);
+
+    /**
+     * Retrieves the {@link net.dv8tion.jda.core.entities.Member Member} with the provided user id.
+     * <br>If the Member is cached it is provided without a request, otherwise it is requested from Discord
+     * and cached if the {@link net.dv8tion.jda.core.utils.cache.MemberCachePolicy MemberCachePolicy} allows it.
+     * <br>The cache is updated on the WebSocket thread once the next event is handled, so {@link #getMemberById(long)}
+     * might provide a different instance. Members that left the Guild while the request was in flight are not cached.
+     *
+     * @param  userId
+     *         The Discord id of the User of the Member
+     *
+     * @throws java.lang.IllegalArgumentException
+     *         If the provided id is null or empty
+     * @throws java.lang.NumberFormatException
+     *         If the provided id is not a valid snowflake
+     *
+     * @return {@link net.dv8tion.jda.core.requests.RestAction RestAction} - Type: {@link net.dv8tion.jda.core.entities.Member Member}
+     *
+     * @see    #retrieveMemberById(long)
+     */
+    RestAction<Member> retrieveMemberById(String userId);
+
+    /**
+     * Retrieves the {@link net.dv8tion.jda.core.entities.Member Member} with the provided user id.
+     * <br>If the Member is cached it is provided without a request, otherwise it is requested from Discord
+     * and cached if the {@link net.dv8tion.jda.core.utils.cache.MemberCachePolicy MemberCachePolicy} allows it.
+     * <br>The cache is updated on the WebSocket thread once the next event is handled, so {@link #getMemberById(long)}
+     * might provide a different instance. Members that left the Guild while the request was in flight are not cached.
+     * This is the way to access Members that are not cached due to the MemberCachePolicy.
+     *
+     * <p>Possible {@link net.dv8tion.jda.core.requests.ErrorResponse ErrorResponses} caused by
+     * the returned {@link net.dv8tion.jda.core.requests.RestAction RestAction} include the following:
+     * <ul>
+     *     <li>{@link net.dv8tion.jda.core.requests.ErrorResponse#UNKNOWN_MEMBER UNKNOWN_MEMBER}
+     *     <br>The User is not a Member of this Guild</li>
+     * </ul>
+     *
+     * @param  userId
+     *         The Discord id of the User of the Member
+     *
+     * @return {@link net.dv8tion.jda.core.requests.RestAction RestAction} - Type: {@link net.dv8tion.jda.core.entities.Member Member}
+     */
+    RestAction<Member> retrieveMemberById(long userId);
+
     /**
      * A list of all {@link net.dv8tion.jda.core.entities.Member Members} in this Guild.
      * <br>The Members are not provided in any particular order.
@@ -264,6 +352,16 @@ public interface Guild extends ISnowflake
      */
     List<Member> getMembersWithRoles(Collection<Role> roles);
 
+    /**
+     * Thread-safe {@link net.dv8tion.jda.core.utils.cache.MemberCacheView MemberCacheView} of all cached
+     * {@link net.dv8tion.jda.core.entities.Member Members} of this Guild.
+     * <br>Unlike {@link #getMembers()} this can be streamed or iterated with {@code forEach} without copying all Members
+     * on every call, the view only takes a new snapshot after the Members of this Guild have changed.
+     *
+     * @return The MemberCacheView of this Guild
+     */
+    MemberCacheView getMemberCache();
+
     /**
      * Gets a {@link net.dv8tion.jda.core.entities.TextChannel TextChannel} from this guild that has the same id as the
      * one provided. This method is similar to {@link net.dv8tion.jda.core.JDA#getTextChannelById(String)}, but it only
@@ -274,10 +372,27 @@ public interface Guild extends ISnowflake
      * @param  id
      *         The id of the {@link net.dv8tion.jda.core.entities.TextChannel TextChannel}.
      *
+     * @throws java.lang.NumberFormatException
+     *         If the provided {@code id} is not a valid snowflake
+     *
      * @return Possibly-null {@link net.dv8tion.jda.core.entities.TextChannel TextChannel} with matching id.
      */
     TextChannel getTextChannelById(String id);
 
+    /**
+     * Gets a {@link net.dv8tion.jda.core.entities.TextChannel TextChannel} from this guild that has the same id as the
+     * one provided. This method is similar to {@link net.dv8tion.jda.core.JDA#getTextChannelById(String)}, but it only
+     * checks this specific Guild for a TextChannel.
+     * <br>If there is no {@link net.dv8tion.jda.core.entities.TextChannel TextChannel} with an id that matches the provided
+     * one, then this returns {@code null}.
+     *
+     * @param  id
+     *         The id of the {@link net.dv8tion.jda.core.entities.TextChannel TextChannel}.
+     *
+     * @return Possibly-null {@link net.dv8tion.jda.core.entities.TextChannel TextChannel} with matching id.
+     */
+    TextChannel getTextChannelById(long id);
+
     /**
      * Gets all {@link net.dv8tion.jda.core.entities.TextChannel TextChannels} in this {@link net.dv8tion.jda.core.entities.Guild Guild}.
      * <br>The channels returned will be sorted according to their position.
@@ -286,6 +401,15 @@ public interface Guild extends ISnowflake
      */
     List<TextChannel> getTextChannels();
 
+    /**
+     * Thread-safe {@link net.dv8tion.jda.core.utils.cache.SnowflakeCacheView SnowflakeCacheView} of all cached
+     * {@link net.dv8tion.jda.core.entities.TextChannel TextChannels} of this Guild.
+     * <br>The view is not sorted, use {@link #getTextChannels()} to get the channels sorted by position.
+     *
+     * @return The SnowflakeCacheView of the TextChannels in this Guild
+     */
+    SnowflakeCacheView<TextChannel> getTextChannelCache();
+
     /**
      * Gets a list of all {@link net.dv8tion.jda.core.entities.TextChannel TextChannels} in this Guild that have the same
      * name as the one provided.
@@ -310,10 +434,27 @@ public interface Guild extends ISnowflake
      * @param  id
      *         The id of the {@link net.dv8tion.jda.core.entities.VoiceChannel VoiceChannel}.
      *
+     * @throws java.lang.NumberFormatException
+     *         If the provided {@code id} is not a valid snowflake
+     *
      * @return Possibly-null {@link net.dv8tion.jda.core.entities.VoiceChannel VoiceChannel} with matching id.
      */
     VoiceChannel getVoiceChannelById(String id);
 
+    /**
+     * Gets a {@link net.dv8tion.jda.core.entities.VoiceChannel VoiceChannel} from this guild that has the same id as the
+     * one provided. This method is similar to {@link net.dv8tion.jda.core.JDA#getVoiceChannelById(String)}, but it only
+     * checks this specific Guild for a VoiceChannel.
+     * <br>If there is no {@link net.dv8tion.jda.core.entities.VoiceChannel VoiceChannel} with an id that matches the provided
+     * one, then this returns {@code null}.
+     *
+     * @param  id
+     *         The id of the {@link net.dv8tion.jda.core.entities.VoiceChannel VoiceChannel}.
+     *
+     * @return Possibly-null {@link net.dv8tion.jda.core.entities.VoiceChannel VoiceChannel} with matching id.
+     */
+    VoiceChannel getVoiceChannelById(long id);
+
     /**
      * Gets all {@link net.dv8tion.jda.core.entities.VoiceChannel VoiceChannels} in this {@link net.dv8tion.jda.core.entities.Guild Guild}.
      * <br>The channels returned will be sorted according to their position.
@@ -322,6 +463,15 @@ public interface Guild extends ISnowflake
      */
     List<VoiceChannel> getVoiceChannels();
 
+    /**
+     * Thread-safe {@link net.dv8tion.jda.core.utils.cache.SnowflakeCacheView SnowflakeCacheView} of all cached
+     * {@link net.dv8tion.jda.core.entities.VoiceChannel VoiceChannels} of this Guild.
+     * <br>The view is not sorted, use {@link #getVoiceChannels()} to get the channels sorted by position.
+     *
+     * @return The SnowflakeCacheView of the VoiceChannels in this Guild
+     */
+    SnowflakeCacheView<VoiceChannel> getVoiceChannelCache();
+
     /**
      * Gets a list of all {@link net.dv8tion.jda.core.entities.VoiceChannel VoiceChannels} in this Guild that have the same
      * name as the one provided.
@@ -345,10 +495,26 @@ public interface Guild extends ISnowflake
      * @param  id
      *         The id of the {@link net.dv8tion.jda.core.entities.Role Role}.
      *
+     * @throws java.lang.NumberFormatException
+     *         If the provided {@code id} is not a valid snowflake
+     *
      * @return Possibly-null {@link net.dv8tion.jda.core.entities.Role Role} with matching id.
      */
     Role getRoleById(String id);
 
+    /**
+     * Gets a {@link net.dv8tion.jda.core.entities.Role Role} from this guild that has the same id as the
+     * one provided.
+     * <br>If there is no {@link net.dv8tion.jda.core.entities.Role Role} with an id that matches the provided
+     * one, then this returns {@code null}.
+     *
+     * @param  id
+     *         The id of the {@link net.dv8tion.jda.core.entities.Role Role}.
+     *
+     * @return Possibly-null {@link net.dv8tion.jda.core.entities.Role Role} with matching id.
+     */
+    Role getRoleById(long id);
+
     /**
      * Gets all {@link net.dv8tion.jda.core.entities.Role Roles} in this {@link net.dv8tion.jda.core.entities.Guild Guild}.
      * <br>The roles returned will be sorted according to their position.
@@ -357,6 +523,15 @@ public interface Guild extends ISnowflake
      */
     List<Role> getRoles();
 
+    /**
+     * Thread-safe {@link net.dv8tion.jda.core.utils.cache.SnowflakeCacheView SnowflakeCacheView} of all cached
+     * {@link net.dv8tion.jda.core.entities.Role Roles} of this Guild.
+     * <br>The view is not sorted, use {@link #getRoles()} to get the roles sorted by position.
+     *
+     * @return The SnowflakeCacheView of the Roles in this Guild
+     */
+    SnowflakeCacheView<Role> getRoleCache();
+
     /**
      * Gets a list of all {@link net.dv8tion.jda.core.entities.Role Roles} in this Guild that have the same
      * name as the one provided.
@@ -380,10 +555,26 @@ public interface Guild extends ISnowflake
      * @param  id
      *         the emote id
      *
+     * @throws java.lang.NumberFormatException
+     *         If the provided {@code id} is not a valid snowflake
+     *
      * @return An Emote matching the specified Id.
      */
     Emote getEmoteById(String id);
 
+    /**
+     * Gets an {@link net.dv8tion.jda.core.entities.Emote Emote} from this guild that has the same id as the
+     * one provided.
+     * <br>If there is no {@link net.dv8tion.jda.core.entities.Emote Emote} with an id that matches the provided
+     * one, then this returns {@code null}.
+     *
+     * @param  id
+     *         the emote id
+     *
+     * @return An Emote matching the specified Id.
+     */
+    Emote getEmoteById(long id);
+
     /**
      * Gets all custom {@link net.dv8tion.jda.core.entities.Emote Emotes} belonging to this {@link net.dv8tion.jda.core.entities.Guild Guild}.
      * <br>Emotes are not ordered in any specific way in the returned list.
@@ -392,6 +583,14 @@ public interface Guild extends ISnowflake
      */
     List<Emote> getEmotes();
 
+    /**
+     * Thread-safe {@link net.dv8tion.jda.core.utils.cache.SnowflakeCacheView SnowflakeCacheView} of all cached
+     * {@link net.dv8tion.jda.core.entities.Emote Emotes} of this Guild.
+     *
+     * @return The SnowflakeCacheView of the Emotes in this Guild
+     */
+    SnowflakeCacheView<Emote> getEmoteCache();
+
     /**
      * Gets a list of all {@link net.dv8tion.jda.core.entities.Emote Emotes} in this Guild that have the same
      * name as the one provided.
@@ -624,6 +823,26 @@ public interface Guild extends ISnowflake
      */
     boolean isAvailable();
 
+    /**
+     * Whether all members of this Guild have been received and the Guild was completely built.
+     * <br>The members of large guilds are received in chunks after the Guild itself was created,
+     * until the last chunk arrived this returns {@code false} and {@link #getMemberCache()} only contains the members
+     * received so far.
+     * <br>An {@link #isAvailable() unavailable} Guild is not loaded, it is loaded again once it becomes available.
+     *
+     * @return True, if this Guild was completely loaded
+     */
+    boolean isLoaded();
+
+    /**
+     * A future that completes with this Guild once it was completely {@link #isLoaded() loaded}.
+     * <br>If this Guild is already loaded the returned future is already completed.
+     * While the Guild is {@link #isAvailable() unavailable} the returned future completes once it was loaded again.
+     *
+     * @return {@link java.util.concurrent.CompletableFuture CompletableFuture} providing this Guild once it is loaded
+     */
+    CompletableFuture<Guild> getLoadFuture();
+
     /**
      * Represents the idle time allowed until a user is moved to the
      * AFK {@link net.dv8tion.jda.core.entities.VoiceChannel} if one is set
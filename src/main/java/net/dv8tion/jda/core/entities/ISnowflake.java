@@ -34,6 +34,18 @@ public interface ISnowflake
      */
     String getId();
 
+    /**
+     * The Snowflake id of this entity as a primitive {@code long}.
+     * <br>Entities that are cached by JDA store their id in this form and look-ups by it
+     * do not require any parsing.
+     *
+     * @return Long containing the Id.
+     */
+    default long getIdLong()
+    {
+        return MiscUtil.parseSnowflake(getId());
+    }
+
     /**
      * The time this entity was created. Calculated through the Snowflake in {@link #getId}.
      *
@@ -210,7 +210,7 @@ public class MessageReaction
                 for (int i = 0; i < array.length(); i++)
                 {
                     JSONObject json = array.getJSONObject(i);
-                    String userId = json.getString("id");
+                    final long userId = json.getLong("id");
                     User user = api.getUserById(userId);
                     if (user == null)
                         user = api.getFakeUserMap().get(userId);
@@ -404,7 +404,7 @@ public class MessageReaction
             if (!isEmote())
                 return null;
             Emote e = api.getEmoteById(id);
-            return e != null ? e : new EmoteImpl(id, api).setName(name);
+            return e != null ? e : new EmoteImpl(getIdLong(), api).setName(name);
         }
 
         /**
@@ -46,7 +46,7 @@ import java.util.List;
 public class EmoteImpl implements Emote
 {
 
-    private final String id;
+    private final long id;
     private final Guild guild;
     private final JDA api;
 
@@ -58,7 +58,7 @@ public class EmoteImpl implements Emote
     private HashSet<Role> roles = null;
     private String name;
 
-    public EmoteImpl(String id,  Guild guild)
+    public EmoteImpl(long id,  Guild guild)
     {
         this.id = id;
         this.guild = guild;
@@ -66,7 +66,7 @@ public class EmoteImpl implements Emote
         this.roles = new HashSet<>();
     }
 
-    public EmoteImpl(String id,  JDA api)
+    public EmoteImpl(long id,  JDA api)
     {
         this.id = id;
         this.api = api;
@@ -107,6 +107,12 @@ public class EmoteImpl implements Emote
 
     @Override
     public String getId()
+    {
+        return Long.toUnsignedString(id);
+    }
+
+    @Override
+    public long getIdLong()
     {
         return id;
     }
@@ -205,14 +211,14 @@ public class EmoteImpl implements Emote
             return false;
 
         Emote oEmote = (Emote) obj;
-        return getId().equals(oEmote.getId()) && getName().equals(oEmote.getName());
+        return getIdLong() == oEmote.getIdLong() && getName().equals(oEmote.getName());
     }
 
 
     @Override
     public int hashCode()
     {
-        return getId().hashCode();
+        return Long.hashCode(id);
     }
 
     @Override
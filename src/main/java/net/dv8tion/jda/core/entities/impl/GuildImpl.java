@@ -16,6 +16,7 @@
 
 package net.dv8tion.jda.core.entities.impl;
 
+import gnu.trove.map.TLongObjectMap;
 import net.dv8tion.jda.core.AccountType;
 import net.dv8tion.jda.core.JDA;
 import net.dv8tion.jda.core.Permission;
@@ -32,7 +33,10 @@ import net.dv8tion.jda.core.requests.Response;
 import net.dv8tion.jda.core.requests.RestAction;
 import net.dv8tion.jda.core.requests.Route;
 import net.dv8tion.jda.core.utils.MiscUtil;
-import org.apache.commons.lang3.StringUtils;
+import net.dv8tion.jda.core.utils.cache.MemberCacheView;
+import net.dv8tion.jda.core.utils.cache.SnowflakeCacheView;
+import net.dv8tion.jda.core.utils.cache.impl.MemberCacheViewImpl;
+import net.dv8tion.jda.core.utils.cache.impl.SnowflakeCacheViewImpl;
 import org.apache.http.util.Args;
 import org.json.JSONArray;
 import org.json.JSONException;
@@ -41,19 +45,22 @@ import org.json.JSONObject;
 import java.time.OffsetDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 public class GuildImpl implements Guild
 {
-    private final String id;
+    private final long id;
     private final JDAImpl api;
-    private final HashMap<String, TextChannel> textChannels = new HashMap<>();
-    private final HashMap<String, VoiceChannel> voiceChannels = new HashMap<>();
-    private final HashMap<String, Member> members = new HashMap<>();
-    private final HashMap<String, Role> roles = new HashMap<>();
-    private final HashMap<String, Emote> emotes = new HashMap<>();
+    private final SnowflakeCacheViewImpl<TextChannel> textChannelCache = new SnowflakeCacheViewImpl<>(Channel::getName);
+    private final SnowflakeCacheViewImpl<VoiceChannel> voiceChannelCache = new SnowflakeCacheViewImpl<>(Channel::getName);
+    private final MemberCacheViewImpl memberCache = new MemberCacheViewImpl();
+    private final SnowflakeCacheViewImpl<Role> roleCache = new SnowflakeCacheViewImpl<>(Role::getName);
+    private final SnowflakeCacheViewImpl<Emote> emoteCache = new SnowflakeCacheViewImpl<>(Emote::getName);
 
-    private final HashMap<String, JSONObject> cachedPresences = new HashMap<>();
+    private final TLongObjectMap<JSONObject> cachedPresences = MiscUtil.newLongMap();
+    private final PermissionCache permissionCache = new PermissionCache(this);
+    private volatile CompletableFuture<Guild> loadFuture = new CompletableFuture<>();
 
     private volatile GuildManager manager;
     private volatile GuildManagerUpdatable managerUpdatable;
@@ -74,8 +81,10 @@ public class GuildImpl implements Guild
     private Timeout afkTimeout;
     private boolean available;
     private boolean canSendVerification = false;
+    //Sequence of the last GUILD_MEMBER_REMOVE, only used on the event thread
+    private long lastMemberRemove = 0;
 
-    public GuildImpl(JDAImpl api, String id)
+    public GuildImpl(JDAImpl api, long id)
     {
         this.id = id;
         this.api = api;
@@ -96,7 +105,7 @@ public class GuildImpl implements Guild
     @Override
     public String getIconUrl()
     {
-        return iconId == null ? null : "https://cdn.discordapp.com/icons/" + id + "/" + iconId + ".jpg";
+        return iconId == null ? null : "https://cdn.discordapp.com/icons/" + getId() + "/" + iconId + ".jpg";
     }
 
     @Override
@@ -108,7 +117,7 @@ public class GuildImpl implements Guild
     @Override
     public String getSplashUrl()
     {
-        return splashId == null ? null : "https://cdn.discordapp.com/splashes/" + id + "/" + splashId + ".jpg";
+        return splashId == null ? null : "https://cdn.discordapp.com/splashes/" + getId() + "/" + splashId + ".jpg";
     }
 
     @Override
@@ -117,13 +126,77 @@ public class GuildImpl implements Guild
         return afkChannel;
     }
 
+    @Override
+    public RestAction<Member> retrieveMember(User user)
+    {
+        Args.notNull(user, "User");
+        return retrieveMemberById(user.getIdLong());
+    }
+
+    @Override
+    public RestAction<Member> retrieveMemberById(String userId)
+    {
+        return retrieveMemberById(MiscUtil.parseSnowflake(userId));
+    }
+
+    @Override
+    public RestAction<Member> retrieveMemberById(long userId)
+    {
+        Member member = getMemberById(userId);
+        if (member != null)
+            return new RestAction.EmptyRestAction<>(member);
+
+        Route.CompiledRoute route = Route.Guilds.GET_MEMBER.compile(getId(), Long.toUnsignedString(userId));
+        return new RestAction<Member>(api, route, null)
+        {
+            //The last sequence handled when the request was sent
+            private volatile long sentAt;
+
+            @Override
+            protected void finalizeData()
+            {
+                sentAt = api.getResponseTotal();
+            }
+
+            @Override
+            protected void handleResponse(Response response, Request<Member> request)
+            {
+                if (!response.isOk())
+                {
+                    request.onFailure(response);
+                    return;
+                }
+
+                Member member = getMemberById(userId);
+                if (member == null)
+                {
+                    //The cache is only modified on the event thread, so the Member is built detached here
+                    // and cached by the event thread unless it left the Guild since the request was sent
+                    JSONObject memberJson = response.getObject();
+                    EntityBuilder builder = EntityBuilder.get(api);
+                    member = builder.createMember(GuildImpl.this, memberJson, false);
+
+                    final long sentAt = this.sentAt;
+                    api.getClient().queueCacheUpdate(() ->
+                    {
+                        if (api.getGuildMap().get(id) != GuildImpl.this || lastMemberRemove > sentAt
+                                || getMembersMap().containsKey(userId))
+                            return;
+                        builder.updateMemberCache((MemberImpl) builder.createMember(GuildImpl.this, memberJson));
+                    });
+                }
+                request.onSuccess(member);
+            }
+        };
+    }
+
     @Override
     public RestAction<List<Webhook>> getWebhooks()
     {
         if (!getSelfMember().hasPermission(Permission.MANAGE_WEBHOOKS))
             throw new PermissionException(Permission.MANAGE_WEBHOOKS);
 
-        Route.CompiledRoute route = Route.Guilds.GET_WEBHOOKS.compile(id);
+        Route.CompiledRoute route = Route.Guilds.GET_WEBHOOKS.compile(getId());
 
         return new RestAction<List<Webhook>>(api, route, null)
         {
@@ -178,7 +251,7 @@ public class GuildImpl implements Guild
     @Override
     public boolean isMember(User user)
     {
-        return members.containsKey(user.getId());
+        return memberCache.getMap().containsKey(user.getIdLong());
     }
 
     @Override
@@ -190,55 +263,43 @@ public class GuildImpl implements Guild
     @Override
     public Member getMember(User user)
     {
-        return getMemberById(user.getId());
+        return getMemberById(user.getIdLong());
     }
 
     @Override
     public Member getMemberById(String userId)
     {
-        return members.get(userId);
+        return memberCache.getElementById(userId);
+    }
+
+    @Override
+    public Member getMemberById(long userId)
+    {
+        return memberCache.getElementById(userId);
     }
 
     @Override
     public List<Member> getMembers()
     {
-        return Collections.unmodifiableList(new ArrayList<>(members.values()));
+        return memberCache.asList();
     }
 
     @Override
     public List<Member> getMembersByName(String name, boolean ignoreCase)
     {
-        Args.notNull(name, "name");
-        return Collections.unmodifiableList(members.values().stream()
-                .filter(m ->
-                    ignoreCase
-                    ? name.equalsIgnoreCase(m.getUser().getName())
-                    : name.equals(m.getUser().getName()))
-                .collect(Collectors.toList()));
+        return memberCache.getElementsByUsername(name, ignoreCase);
     }
 
     @Override
     public List<Member> getMembersByNickname(String nickname, boolean ignoreCase)
     {
-        Args.notNull(nickname, "nickname");
-        return Collections.unmodifiableList(members.values().stream()
-                .filter(m ->
-                    ignoreCase
-                    ? nickname.equalsIgnoreCase(m.getNickname())
-                    : nickname.equals(m.getNickname()))
-                .collect(Collectors.toList()));
+        return memberCache.getElementsByNickname(nickname, ignoreCase);
     }
 
     @Override
     public List<Member> getMembersByEffectiveName(String name, boolean ignoreCase)
     {
-        Args.notNull(name, "name");
-        return Collections.unmodifiableList(members.values().stream()
-                .filter(m ->
-                    ignoreCase
-                    ? name.equalsIgnoreCase(m.getEffectiveName())
-                    : name.equals(m.getEffectiveName()))
-                .collect(Collectors.toList()));
+        return memberCache.getElementsByName(name, ignoreCase);
     }
 
     @Override
@@ -259,73 +320,95 @@ public class GuildImpl implements Guild
                 throw new IllegalArgumentException("Role provided was from a different Guild! Role: " + r);
         }
 
-        return Collections.unmodifiableList(members.values().stream()
-                        .filter(m -> m.getRoles().containsAll(roles))
-                        .collect(Collectors.toList()));
+        return memberCache.getElementsWithRoles(roles);
+    }
+
+    @Override
+    public MemberCacheView getMemberCache()
+    {
+        return memberCache;
     }
 
     @Override
     public TextChannel getTextChannelById(String id)
     {
-        return textChannels.get(id);
+        return textChannelCache.getElementById(id);
+    }
+
+    @Override
+    public TextChannel getTextChannelById(long id)
+    {
+        return textChannelCache.getElementById(id);
     }
 
     @Override
     public List<TextChannel> getTextChannelsByName(String name, boolean ignoreCase)
     {
-        Args.notNull(name, "name");
-        return Collections.unmodifiableList(textChannels.values().stream()
-                .filter(tc ->
-                    ignoreCase
-                    ? name.equalsIgnoreCase(tc.getName())
-                    : name.equals(tc.getName()))
-                .collect(Collectors.toList()));
+        return textChannelCache.getElementsByName(name, ignoreCase);
     }
 
     @Override
     public List<TextChannel> getTextChannels()
     {
-        ArrayList<TextChannel> channels = new ArrayList<>(textChannels.values());
+        ArrayList<TextChannel> channels = new ArrayList<>(textChannelCache.asList());
         Collections.sort(channels, (c1, c2) -> c2.compareTo(c1));
         return Collections.unmodifiableList(channels);
     }
 
+    @Override
+    public SnowflakeCacheView<TextChannel> getTextChannelCache()
+    {
+        return textChannelCache;
+    }
+
     @Override
     public VoiceChannel getVoiceChannelById(String id)
     {
-        return voiceChannels.get(id);
+        return voiceChannelCache.getElementById(id);
+    }
+
+    @Override
+    public VoiceChannel getVoiceChannelById(long id)
+    {
+        return voiceChannelCache.getElementById(id);
     }
 
     @Override
     public List<VoiceChannel> getVoiceChannelsByName(String name, boolean ignoreCase)
     {
-        Args.notNull(name, "name");
-        return Collections.unmodifiableList(voiceChannels.values().stream()
-            .filter(vc ->
-                    ignoreCase
-                    ? name.equalsIgnoreCase(vc.getName())
-                    : name.equals(vc.getName()))
-            .collect(Collectors.toList()));
+        return voiceChannelCache.getElementsByName(name, ignoreCase);
     }
 
     @Override
     public List<VoiceChannel> getVoiceChannels()
     {
-        List<VoiceChannel> channels = new ArrayList<>(voiceChannels.values());
+        List<VoiceChannel> channels = new ArrayList<>(voiceChannelCache.asList());
         Collections.sort(channels, (v1, v2) -> v2.compareTo(v1));
         return Collections.unmodifiableList(channels);
     }
 
+    @Override
+    public SnowflakeCacheView<VoiceChannel> getVoiceChannelCache()
+    {
+        return voiceChannelCache;
+    }
+
     @Override
     public Role getRoleById(String id)
     {
-        return roles.get(id);
+        return roleCache.getElementById(id);
+    }
+
+    @Override
+    public Role getRoleById(long id)
+    {
+        return roleCache.getElementById(id);
     }
 
     @Override
     public List<Role> getRoles()
     {
-        List<Role> list = new ArrayList<>(roles.values());
+        List<Role> list = new ArrayList<>(roleCache.asList());
         Collections.sort(list, (r1, r2) -> r2.compareTo(r1));
         return Collections.unmodifiableList(list);
     }
@@ -333,37 +416,43 @@ public class GuildImpl implements Guild
     @Override
     public List<Role> getRolesByName(String name, boolean ignoreCase)
     {
-        Args.notNull(name, "name");
-        return Collections.unmodifiableList(roles.values().stream()
-                .filter(r ->
-                        ignoreCase
-                        ? name.equalsIgnoreCase(r.getName())
-                        : name.equals(r.getName()))
-                .collect(Collectors.toList()));
+        return roleCache.getElementsByName(name, ignoreCase);
+    }
+
+    @Override
+    public SnowflakeCacheView<Role> getRoleCache()
+    {
+        return roleCache;
     }
 
     @Override
     public Emote getEmoteById(String id)
     {
-        return emotes.get(id);
+        return emoteCache.getElementById(id);
+    }
+
+    @Override
+    public Emote getEmoteById(long id)
+    {
+        return emoteCache.getElementById(id);
     }
 
     @Override
     public List<Emote> getEmotes()
     {
-        return Collections.unmodifiableList(new LinkedList<>(emotes.values()));
+        return emoteCache.asList();
     }
 
     @Override
     public List<Emote> getEmotesByName(String name, boolean ignoreCase)
     {
-        Args.notNull(name, "name");
-        return Collections.unmodifiableList(emotes.values().parallelStream()
-                .filter(e ->
-                        ignoreCase
-                        ? StringUtils.equalsIgnoreCase(e.getName(), name)
-                        : StringUtils.equals(e.getName(), name))
-                .collect(Collectors.toList()));
+        return emoteCache.getElementsByName(name, ignoreCase);
+    }
+
+    @Override
+    public SnowflakeCacheView<Emote> getEmoteCache()
+    {
+        return emoteCache;
     }
 
     @Override
@@ -432,7 +521,7 @@ public class GuildImpl implements Guild
         if (owner.equals(getSelfMember()))
             throw new IllegalStateException("Cannot leave a guild that you are the owner of! Transfer guild ownership first!");
 
-        Route.CompiledRoute route = Route.Self.LEAVE_GUILD.compile(id);
+        Route.CompiledRoute route = Route.Self.LEAVE_GUILD.compile(getId());
         return new RestAction<Void>(api, route, null)
         {
             @Override
@@ -468,7 +557,7 @@ public class GuildImpl implements Guild
             mfaBody = new JSONObject().put("code", mfaCode);
         }
 
-        Route.CompiledRoute route = Route.Guilds.DELETE_GUILD.compile(id);
+        Route.CompiledRoute route = Route.Guilds.DELETE_GUILD.compile(getId());
         return new RestAction<Void>(api, route, mfaBody)
         {
             @Override
@@ -488,7 +577,7 @@ public class GuildImpl implements Guild
         if (!api.isAudioEnabled())
             throw new IllegalStateException("Audio is disabled. Cannot retrieve an AudioManager while audio is disabled.");
 
-        HashMap<String, AudioManager> audioManagers = ((JDAImpl) api).getAudioManagerMap();
+        TLongObjectMap<AudioManager> audioManagers = ((JDAImpl) api).getAudioManagerMap();
         AudioManager mng = audioManagers.get(id);
         if (mng == null)
         {
@@ -515,7 +604,7 @@ public class GuildImpl implements Guild
     public List<GuildVoiceState> getVoiceStates()
     {
         return Collections.unmodifiableList(
-                members.values().stream().map(Member::getVoiceState).collect(Collectors.toList()));
+                memberCache.stream().map(Member::getVoiceState).collect(Collectors.toList()));
     }
 
     @Override
@@ -567,8 +656,27 @@ public class GuildImpl implements Guild
         return available;
     }
 
+    @Override
+    public boolean isLoaded()
+    {
+        return loadFuture.isDone();
+    }
+
+    @Override
+    public CompletableFuture<Guild> getLoadFuture()
+    {
+        //Dependent future, so the caller cannot complete ours
+        return loadFuture.thenApply(guild -> guild);
+    }
+
     @Override
     public String getId()
+    {
+        return Long.toUnsignedString(id);
+    }
+
+    @Override
+    public long getIdLong()
     {
         return id;
     }
@@ -578,6 +686,15 @@ public class GuildImpl implements Guild
     public GuildImpl setAvailable(boolean available)
     {
         this.available = available;
+        //A guild that comes back is loaded again, pending futures are kept so their callers are still completed
+        if (!available && loadFuture.isDone())
+            loadFuture = new CompletableFuture<>();
+        return this;
+    }
+
+    public GuildImpl setLoaded()
+    {
+        loadFuture.complete(this);
         return this;
     }
 
@@ -654,36 +771,47 @@ public class GuildImpl implements Guild
         return this;
     }
 
+    public GuildImpl setLastMemberRemove(long responseNumber)
+    {
+        this.lastMemberRemove = responseNumber;
+        return this;
+    }
+
     // -- Map getters --
 
-    public HashMap<String, TextChannel> getTextChannelsMap()
+    public TLongObjectMap<TextChannel> getTextChannelsMap()
     {
-        return textChannels;
+        return textChannelCache.getMap();
     }
 
-    public HashMap<String, VoiceChannel> getVoiceChannelMap()
+    public TLongObjectMap<VoiceChannel> getVoiceChannelMap()
     {
-        return voiceChannels;
+        return voiceChannelCache.getMap();
     }
 
-    public HashMap<String, Member> getMembersMap()
+    public TLongObjectMap<Member> getMembersMap()
     {
-        return members;
+        return memberCache.getMap();
     }
 
-    public HashMap<String, Role> getRolesMap()
+    public TLongObjectMap<Role> getRolesMap()
     {
-        return roles;
+        return roleCache.getMap();
     }
 
-    public HashMap<String, JSONObject> getCachedPresenceMap()
+    public TLongObjectMap<JSONObject> getCachedPresenceMap()
     {
         return cachedPresences;
     }
 
-    public HashMap<String, Emote> getEmoteMap()
+    public TLongObjectMap<Emote> getEmoteMap()
+    {
+        return emoteCache.getMap();
+    }
+
+    public PermissionCache getPermissionCache()
     {
-        return emotes;
+        return permissionCache;
     }
 
 
@@ -695,13 +823,13 @@ public class GuildImpl implements Guild
         if (!(o instanceof Guild))
             return false;
         Guild oGuild = (Guild) o;
-        return this == oGuild || this.getId().equals(oGuild.getId());
+        return this == oGuild || this.getIdLong() == oGuild.getIdLong();
     }
 
     @Override
     public int hashCode()
     {
-        return getId().hashCode();
+        return Long.hashCode(id);
     }
 
     @Override
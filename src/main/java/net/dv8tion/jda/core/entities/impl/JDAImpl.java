@@ -18,6 +18,7 @@ package net.dv8tion.jda.core.entities.impl;
 
 import com.mashape.unirest.http.Unirest;
 import com.neovisionaries.ws.client.WebSocketFactory;
+import gnu.trove.map.TLongObjectMap;
 import net.dv8tion.jda.bot.JDABot;
 import net.dv8tion.jda.bot.entities.impl.JDABotImpl;
 import net.dv8tion.jda.client.JDAClient;
@@ -37,7 +38,14 @@ import net.dv8tion.jda.core.managers.AudioManager;
 import net.dv8tion.jda.core.managers.Presence;
 import net.dv8tion.jda.core.managers.impl.PresenceImpl;
 import net.dv8tion.jda.core.requests.*;
+import net.dv8tion.jda.core.requests.http.DefaultHttpClient;
+import net.dv8tion.jda.core.requests.http.IHttpClient;
+import net.dv8tion.jda.core.utils.MiscUtil;
+import net.dv8tion.jda.core.utils.SessionStore;
 import net.dv8tion.jda.core.utils.SimpleLog;
+import net.dv8tion.jda.core.utils.cache.MemberCachePolicy;
+import net.dv8tion.jda.core.utils.cache.SnowflakeCacheView;
+import net.dv8tion.jda.core.utils.cache.impl.SnowflakeCacheViewImpl;
 import org.apache.http.HttpHost;
 import org.apache.http.util.Args;
 import org.json.JSONObject;
@@ -45,22 +53,24 @@ import org.json.JSONObject;
 import javax.security.auth.login.LoginException;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.stream.Collectors;
 
 public class JDAImpl implements JDA
 {
     public static final SimpleLog LOG = SimpleLog.getLog("JDA");
 
-    protected final HashMap<String, User> users = new HashMap<>(200);
-    protected final HashMap<String, Guild> guilds = new HashMap<>(10);
-    protected final HashMap<String, TextChannel> textChannels = new HashMap<>();
-    protected final HashMap<String, VoiceChannel> voiceChannels = new HashMap<>();
-    protected final HashMap<String, PrivateChannel> privateChannels = new HashMap<>();
+    protected final SnowflakeCacheViewImpl<User> userCache = new SnowflakeCacheViewImpl<>(User::getName);
+    protected final SnowflakeCacheViewImpl<Guild> guildCache = new SnowflakeCacheViewImpl<>(Guild::getName);
+    protected final SnowflakeCacheViewImpl<TextChannel> textChannelCache = new SnowflakeCacheViewImpl<>(TextChannel::getName);
+    protected final SnowflakeCacheViewImpl<VoiceChannel> voiceChannelCache = new SnowflakeCacheViewImpl<>(VoiceChannel::getName);
+    protected final SnowflakeCacheViewImpl<PrivateChannel> privateChannelCache = new SnowflakeCacheViewImpl<>(PrivateChannel::getName);
 
-    protected final HashMap<String, User> fakeUsers = new HashMap<>();
-    protected final HashMap<String, PrivateChannel> fakePrivateChannels = new HashMap<>();
+    protected final TLongObjectMap<User> fakeUsers = MiscUtil.newLongMap();
+    protected final TLongObjectMap<PrivateChannel> fakePrivateChannels = MiscUtil.newLongMap();
 
-    protected final HashMap<String, AudioManager> audioManagers = new HashMap<>();
+    protected final TLongObjectMap<AudioManager> audioManagers = MiscUtil.newLongMap();
 
     protected final HttpHost proxy;
     protected final WebSocketFactory wsFactory;
@@ -73,6 +83,7 @@ public class JDAImpl implements JDA
     protected Requester requester;
     protected IEventManager eventManager = new InterfacedEventManager();
     protected IAudioSendFactory audioSendFactory = new DefaultSendFactory();
+    protected IHttpClient httpClient = new DefaultHttpClient();
     protected Status status = Status.INITIALIZING;
     protected SelfUser selfUser;
     protected ShardInfo shardInfo;
@@ -81,7 +92,15 @@ public class JDAImpl implements JDA
     protected boolean useShutdownHook;
     protected boolean bulkDeleteSplittingEnabled;
     protected boolean autoReconnect;
-    protected long responseTotal;
+    protected boolean transportCompression = false;
+    protected String restEndpoint = Requester.DISCORD_API_PREFIX;
+    protected String gatewayEndpoint = null;
+    protected MemberCachePolicy memberCachePolicy = MemberCachePolicy.ALL;
+    protected IdentifyQueue identifyQueue = null;
+    protected SessionStore sessionStore = null;
+    protected ScheduledExecutorService heartbeatPool = null;
+    protected boolean ownsHeartbeatPool = false;
+    protected volatile long responseTotal;
 
     public JDAImpl(AccountType accountType, HttpHost proxy, WebSocketFactory wsFactory, boolean autoReconnect, boolean audioEnabled, boolean useShutdownHook, boolean bulkDeleteSplittingEnabled)
     {
@@ -290,13 +309,25 @@ public class JDAImpl implements JDA
     @Override
     public List<User> getUsers()
     {
-        return Collections.unmodifiableList(new ArrayList<>(users.values()));
+        return userCache.asList();
+    }
+
+    @Override
+    public SnowflakeCacheView<User> getUserCache()
+    {
+        return userCache;
     }
 
     @Override
     public User getUserById(String id)
     {
-        return users.get(id);
+        return userCache.getElementById(id);
+    }
+
+    @Override
+    public User getUserById(long id)
+    {
+        return userCache.getElementById(id);
     }
 
     @Override
@@ -314,7 +345,7 @@ public class JDAImpl implements JDA
         {
             Args.notNull(u, "All users");
         }
-        return Collections.unmodifiableList(getGuilds().stream()
+        return Collections.unmodifiableList(guildCache.stream()
                 .filter(guild -> users.stream().allMatch(guild::isMember))
                 .collect(Collectors.toList()));
     }
@@ -322,11 +353,7 @@ public class JDAImpl implements JDA
     @Override
     public List<User> getUsersByName(String name, boolean ignoreCase)
     {
-        return users.values().stream().filter(u ->
-            ignoreCase
-            ? name.equalsIgnoreCase(u.getName())
-            : name.equals(u.getName()))
-        .collect(Collectors.toList());
+        return userCache.getElementsByName(name, ignoreCase);
     }
 
     @Override
@@ -361,101 +388,143 @@ public class JDAImpl implements JDA
     @Override
     public List<Guild> getGuilds()
     {
-        return Collections.unmodifiableList(new ArrayList<>(guilds.values()));
+        return guildCache.asList();
+    }
+
+    @Override
+    public SnowflakeCacheView<Guild> getGuildCache()
+    {
+        return guildCache;
     }
 
     @Override
     public Guild getGuildById(String id)
     {
-        return guilds.get(id);
+        return guildCache.getElementById(id);
+    }
+
+    @Override
+    public Guild getGuildById(long id)
+    {
+        return guildCache.getElementById(id);
     }
 
     @Override
     public List<Guild> getGuildsByName(String name, boolean ignoreCase)
     {
-        return guilds.values().stream().filter(g ->
-                ignoreCase
-                        ? name.equalsIgnoreCase(g.getName())
-                        : name.equals(g.getName()))
-                .collect(Collectors.toList());
+        return guildCache.getElementsByName(name, ignoreCase);
     }
 
     @Override
     public List<TextChannel> getTextChannels()
     {
-        return Collections.unmodifiableList(new ArrayList<>(textChannels.values()));
+        return textChannelCache.asList();
+    }
+
+    @Override
+    public SnowflakeCacheView<TextChannel> getTextChannelCache()
+    {
+        return textChannelCache;
     }
 
     @Override
     public TextChannel getTextChannelById(String id)
     {
-        return textChannels.get(id);
+        return textChannelCache.getElementById(id);
+    }
+
+    @Override
+    public TextChannel getTextChannelById(long id)
+    {
+        return textChannelCache.getElementById(id);
     }
 
     @Override
     public List<TextChannel> getTextChannelsByName(String name, boolean ignoreCase)
     {
-        return textChannels.values().stream().filter(tc ->
-                ignoreCase
-                        ? name.equalsIgnoreCase(tc.getName())
-                        : name.equals(tc.getName()))
-                .collect(Collectors.toList());
+        return textChannelCache.getElementsByName(name, ignoreCase);
     }
 
     @Override
     public List<VoiceChannel> getVoiceChannels()
     {
-        return Collections.unmodifiableList(new ArrayList<>(voiceChannels.values()));
+        return voiceChannelCache.asList();
+    }
+
+    @Override
+    public SnowflakeCacheView<VoiceChannel> getVoiceChannelCache()
+    {
+        return voiceChannelCache;
     }
 
     @Override
     public VoiceChannel getVoiceChannelById(String id)
     {
-        return voiceChannels.get(id);
+        return voiceChannelCache.getElementById(id);
+    }
+
+    @Override
+    public VoiceChannel getVoiceChannelById(long id)
+    {
+        return voiceChannelCache.getElementById(id);
     }
 
     @Override
     public List<VoiceChannel> getVoiceChannelByName(String name, boolean ignoreCase)
     {
-        return voiceChannels.values().stream().filter(vc ->
-                ignoreCase
-                        ? name.equalsIgnoreCase(vc.getName())
-                        : name.equals(vc.getName()))
-                .collect(Collectors.toList());
+        return voiceChannelCache.getElementsByName(name, ignoreCase);
     }
 
     @Override
     public List<PrivateChannel> getPrivateChannels()
     {
-        return Collections.unmodifiableList(new ArrayList<>(privateChannels.values()));
+        return privateChannelCache.asList();
+    }
+
+    @Override
+    public SnowflakeCacheView<PrivateChannel> getPrivateChannelCache()
+    {
+        return privateChannelCache;
     }
 
     @Override
     public PrivateChannel getPrivateChannelById(String id)
     {
-        return privateChannels.get(id);
+        return privateChannelCache.getElementById(id);
+    }
+
+    @Override
+    public PrivateChannel getPrivateChannelById(long id)
+    {
+        return privateChannelCache.getElementById(id);
     }
 
     @Override
     public List<Emote> getEmotes()
     {
-        List<Emote> emotes = new ArrayList<>();
-        getGuilds().parallelStream().forEach(g -> emotes.addAll(g.getEmotes()));
-        return Collections.unmodifiableList(emotes);
+        return Collections.unmodifiableList(guildCache.stream()
+                .flatMap(g -> g.getEmoteCache().stream())
+                .collect(Collectors.toList()));
     }
 
     @Override
     public List<Emote> getEmotesByName(String name, boolean ignoreCase)
     {
-        List<Emote> emotes = new ArrayList<>();
-        getGuilds().parallelStream().forEach(g -> emotes.addAll(g.getEmotesByName(name, ignoreCase)));
-        return Collections.unmodifiableList(emotes);
+        return Collections.unmodifiableList(guildCache.stream()
+                .flatMap(g -> g.getEmotesByName(name, ignoreCase).stream())
+                .collect(Collectors.toList()));
     }
 
     @Override
     public Emote getEmoteById(String id)
     {
-        for (Guild guild : getGuilds())
+        return getEmoteById(MiscUtil.parseSnowflake(id));
+    }
+
+    @Override
+    public Emote getEmoteById(long id)
+    {
+        for (Guild guild : guildCache)
         {
             Emote emote = guild.getEmoteById(id);
             if (emote != null)
@@ -479,12 +548,21 @@ public class JDAImpl implements JDA
     public void shutdown(boolean free)
     {
         setStatus(Status.SHUTTING_DOWN);
-        audioManagers.forEach((guildId, mng) -> mng.closeAudioConnection());
+        audioManagers.forEachValue(mng ->
+        {
+            mng.closeAudioConnection();
+            return true;
+        });
         if (AudioWebSocket.KEEP_ALIVE_POOLS.containsKey(this))
             AudioWebSocket.KEEP_ALIVE_POOLS.get(this).shutdownNow();
         getClient().setAutoReconnect(false);
-        getClient().close();
+        getClient().shutdown();
         getRequester().shutdown();
+        synchronized (this)
+        {
+            if (ownsHeartbeatPool)
+                heartbeatPool.shutdownNow();
+        }
 
         if (free)
         {
@@ -582,11 +660,113 @@ public class JDAImpl implements JDA
         this.audioSendFactory = factory;
     }
 
+    public IHttpClient getHttpClient()
+    {
+        return httpClient;
+    }
+
+    public void setHttpClient(IHttpClient httpClient)
+    {
+        Args.notNull(httpClient, "Provided IHttpClient");
+        this.httpClient = httpClient;
+    }
+
+    public boolean isTransportCompressionEnabled()
+    {
+        return transportCompression;
+    }
+
+    public void setTransportCompressionEnabled(boolean enabled)
+    {
+        this.transportCompression = enabled;
+    }
+
+    public String getRestEndpoint()
+    {
+        return restEndpoint;
+    }
+
+    public void setRestEndpoint(String restEndpoint)
+    {
+        Args.notEmpty(restEndpoint, "Provided REST endpoint");
+        this.restEndpoint = restEndpoint.endsWith("/") ? restEndpoint : restEndpoint + "/";
+    }
+
+    public String getGatewayEndpoint()
+    {
+        return gatewayEndpoint;
+    }
+
+    public void setGatewayEndpoint(String gatewayEndpoint)
+    {
+        this.gatewayEndpoint = gatewayEndpoint;
+    }
+
+    public MemberCachePolicy getMemberCachePolicy()
+    {
+        return memberCachePolicy;
+    }
+
+    public void setMemberCachePolicy(MemberCachePolicy memberCachePolicy)
+    {
+        Args.notNull(memberCachePolicy, "Provided MemberCachePolicy");
+        this.memberCachePolicy = memberCachePolicy;
+    }
+
     public Requester getRequester()
     {
         return requester;
     }
 
+    public void setRequester(Requester requester)
+    {
+        Args.notNull(requester, "Provided Requester");
+        this.requester = requester;
+    }
+
+    public IdentifyQueue getIdentifyQueue()
+    {
+        return identifyQueue;
+    }
+
+    public void setIdentifyQueue(IdentifyQueue identifyQueue)
+    {
+        this.identifyQueue = identifyQueue;
+    }
+
+    public SessionStore getSessionStore()
+    {
+        return sessionStore;
+    }
+
+    public void setSessionStore(SessionStore sessionStore)
+    {
+        this.sessionStore = sessionStore;
+    }
+
+    public synchronized ScheduledExecutorService getHeartbeatPool()
+    {
+        if (heartbeatPool == null)
+        {
+            heartbeatPool = Executors.newSingleThreadScheduledExecutor(r ->
+            {
+                Thread t = new Thread(r, getIdentifierString() + " MainWS-KeepAlive Thread");
+                t.setPriority(Thread.MAX_PRIORITY);
+                t.setDaemon(true);
+                return t;
+            });
+            ownsHeartbeatPool = true;
+        }
+        return heartbeatPool;
+    }
+
+    public synchronized void setHeartbeatPool(ScheduledExecutorService pool)
+    {
+        Args.notNull(pool, "Provided heartbeat pool");
+        this.heartbeatPool = pool;
+        this.ownsHeartbeatPool = false;
+    }
+
     public IEventManager getEventManager()
     {
         return eventManager;
@@ -602,42 +782,42 @@ public class JDAImpl implements JDA
         return client;
     }
 
-    public HashMap<String, User> getUserMap()
+    public TLongObjectMap<User> getUserMap()
     {
-        return users;
+        return userCache.getMap();
     }
 
-    public HashMap<String, Guild> getGuildMap()
+    public TLongObjectMap<Guild> getGuildMap()
     {
-        return guilds;
+        return guildCache.getMap();
     }
 
-    public HashMap<String, TextChannel> getTextChannelMap()
+    public TLongObjectMap<TextChannel> getTextChannelMap()
     {
-        return textChannels;
+        return textChannelCache.getMap();
     }
 
-    public HashMap<String, VoiceChannel> getVoiceChannelMap()
+    public TLongObjectMap<VoiceChannel> getVoiceChannelMap()
     {
-        return voiceChannels;
+        return voiceChannelCache.getMap();
     }
 
-    public HashMap<String, PrivateChannel> getPrivateChannelMap()
+    public TLongObjectMap<PrivateChannel> getPrivateChannelMap()
     {
-        return privateChannels;
+        return privateChannelCache.getMap();
     }
 
-    public HashMap<String, User> getFakeUserMap()
+    public TLongObjectMap<User> getFakeUserMap()
     {
         return fakeUsers;
     }
 
-    public HashMap<String, PrivateChannel> getFakePrivateChannelMap()
+    public TLongObjectMap<PrivateChannel> getFakePrivateChannelMap()
     {
         return fakePrivateChannels;
     }
 
-    public HashMap<String, AudioManager> getAudioManagerMap()
+    public TLongObjectMap<AudioManager> getAudioManagerMap()
     {
         return audioManagers;
     }
@@ -403,7 +403,7 @@ public class MessageImpl implements Message
             Matcher matcher = EMOTE_PATTERN.matcher(getRawContent());
             while (matcher.find())
             {
-                String emoteId   = matcher.group(2);
+                long emoteId     = Long.parseUnsignedLong(matcher.group(2));
                 String emoteName = matcher.group(1);
                 Emote emote = api.getEmoteById(emoteId);
                 if (emote == null)
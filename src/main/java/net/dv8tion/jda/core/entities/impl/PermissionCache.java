@@ -0,0 +1,139 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.dv8tion.jda.core.entities.impl;
+
+import gnu.trove.map.TLongLongMap;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongLongHashMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import net.dv8tion.jda.core.entities.Member;
+import net.dv8tion.jda.core.entities.Role;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Caches the effective permissions of the {@link net.dv8tion.jda.core.entities.Member Members} of a single
+ * {@link net.dv8tion.jda.core.entities.Guild Guild}, both guild-wide and per channel.
+ *
+ * <p>Entries are invalidated by the handlers that change the state the permissions are computed from:
+ * role permissions, the roles of a member and the permission overrides of a channel.
+ * Every invalidation also increments a version, a value computed concurrently with an
+ * invalidation is therefore never stored.
+ *
+ * <p>Entries only exist for members that are in the member cache of the guild. Members are invalidated
+ * when they leave or are unloaded, so the cache never holds more than the cached members and channels.
+ * Permissions of members that are not cached, for example due to the
+ * {@link net.dv8tion.jda.core.utils.cache.MemberCachePolicy MemberCachePolicy}, are computed on every call.
+ */
+public class PermissionCache
+{
+    /** Key of the guild-wide permissions, 0 is never the id of a channel */
+    public static final long GUILD = 0;
+    private static final long NOT_CACHED = -1;
+
+    private final GuildImpl guild;
+    private final TLongObjectMap<TLongLongMap> permissions = new TLongObjectHashMap<>();
+    private long version = 0;
+
+    public PermissionCache(GuildImpl guild)
+    {
+        this.guild = guild;
+    }
+
+    /**
+     * Gets the cached permissions of the member in the channel or computes and caches them.
+     *
+     * @param  memberId
+     *         The user id of the member
+     * @param  channelId
+     *         The id of the channel, or {@link #GUILD} for the guild-wide permissions
+     * @param  compute
+     *         Computes the permissions if they are not cached
+     *
+     * @return The raw effective permissions
+     */
+    public long get(long memberId, long channelId, LongSupplier compute)
+    {
+        long currentVersion;
+        synchronized (this)
+        {
+            TLongLongMap channels = permissions.get(memberId);
+            if (channels != null && channels.containsKey(channelId))
+                return channels.get(channelId);
+            currentVersion = version;
+        }
+
+        //Computed outside of the lock as it walks the roles and overrides
+        long computed = compute.getAsLong();
+        synchronized (this)
+        {
+            //Members are removed from the member cache before they are invalidated, nothing is stored for them after that
+            if (currentVersion == version && guild.getMembersMap().containsKey(memberId))
+            {
+                TLongLongMap channels = permissions.get(memberId);
+                if (channels == null)
+                    permissions.put(memberId, channels = new TLongLongHashMap(4, 0.5f, 0, NOT_CACHED));
+                channels.put(channelId, computed);
+            }
+        }
+        return computed;
+    }
+
+    public synchronized void invalidateMember(long memberId)
+    {
+        version++;
+        permissions.remove(memberId);
+    }
+
+    public synchronized void invalidateChannel(long channelId)
+    {
+        version++;
+        for (TLongLongMap channels : permissions.valueCollection())
+            channels.remove(channelId);
+    }
+
+    /**
+     * Invalidates the permissions of all members that have the provided role.
+     * <br>For the public role this invalidates the whole cache.
+     *
+     * @param  role
+     *         The role whose permissions changed
+     */
+    public void invalidateRole(Role role)
+    {
+        if (role.equals(guild.getPublicRole()))
+        {
+            invalidate();
+            return;
+        }
+
+        synchronized (this)
+        {
+            version++;
+            for (Member member : guild.getMemberCache())
+            {
+                if (((MemberImpl) member).getRoleSet().contains(role))
+                    permissions.remove(member.getUser().getIdLong());
+            }
+        }
+    }
+
+    public synchronized void invalidate()
+    {
+        version++;
+        permissions.clear();
+    }
+}
@@ -28,13 +28,13 @@ import net.dv8tion.jda.core.requests.Route;
 
 public class PrivateChannelImpl implements PrivateChannel
 {
-    private final String id;
+    private final long id;
     private final User user;
 
     private Call currentCall = null;
     private boolean fake = false;
 
-    public PrivateChannelImpl(String id, User user)
+    public PrivateChannelImpl(long id, User user)
     {
         this.id = id;
         this.user = user;
@@ -67,7 +67,7 @@ public class PrivateChannelImpl implements PrivateChannel
     @Override
     public RestAction<Void> close()
     {
-        Route.CompiledRoute route = Route.Channels.DELETE_CHANNEL.compile(id);
+        Route.CompiledRoute route = Route.Channels.DELETE_CHANNEL.compile(getId());
         return new RestAction<Void>(getJDA(), route, null)
         {
             @Override
@@ -83,6 +83,12 @@ public class PrivateChannelImpl implements PrivateChannel
 
     @Override
     public String getId()
+    {
+        return Long.toUnsignedString(id);
+    }
+
+    @Override
+    public long getIdLong()
     {
         return id;
     }
@@ -39,7 +39,7 @@ import java.util.List;
 
 public class RoleImpl implements Role
 {
-    private final String id;
+    private final long id;
     private final Guild guild;
 
     private volatile RoleManager manager;
@@ -54,7 +54,7 @@ public class RoleImpl implements Role
     private long rawPermissions;
     private int rawPosition;
 
-    public RoleImpl(String id, Guild guild)
+    public RoleImpl(long id, Guild guild)
     {
         this.id = id;
         this.guild = guild;
@@ -220,7 +220,7 @@ public class RoleImpl implements Role
         if (managed)
             throw new UnsupportedOperationException("Cannot delete a Role that is managed. ");
 
-        Route.CompiledRoute route = Route.Roles.DELETE_ROLE.compile(guild.getId(), id);
+        Route.CompiledRoute route = Route.Roles.DELETE_ROLE.compile(guild.getId(), getId());
         return new RestAction<Void>(getJDA(), route, null)
         {
             @Override
@@ -248,6 +248,12 @@ public class RoleImpl implements Role
 
     @Override
     public String getId()
+    {
+        return Long.toUnsignedString(id);
+    }
+
+    @Override
+    public long getIdLong()
     {
         return id;
     }
@@ -258,13 +264,13 @@ public class RoleImpl implements Role
         if (!(o instanceof Role))
             return false;
         Role oRole = (Role) o;
-        return this == oRole || this.getId().equals(oRole.getId());
+        return this == oRole || this.getIdLong() == oRole.getIdLong();
     }
 
     @Override
     public int hashCode()
     {
-        return getId().hashCode();
+        return Long.hashCode(id);
     }
 
     @Override
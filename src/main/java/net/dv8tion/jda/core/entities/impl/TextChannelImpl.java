@@ -42,7 +42,7 @@ import java.util.stream.Collectors;
 
 public class TextChannelImpl implements TextChannel
 {
-    private final String id;
+    private final long id;
     private final GuildImpl guild;
     private final HashMap<Member, PermissionOverride> memberOverrides = new HashMap<>();
     private final HashMap<Role, PermissionOverride> roleOverrides = new HashMap<>();
@@ -55,7 +55,7 @@ public class TextChannelImpl implements TextChannel
     private String topic;
     private int rawPosition;
 
-    public TextChannelImpl(String id, Guild guild)
+    public TextChannelImpl(long id, Guild guild)
     {
         this.id = id;
         this.guild = (GuildImpl) guild;
@@ -69,6 +69,12 @@ public class TextChannelImpl implements TextChannel
 
     @Override
     public String getId()
+    {
+        return Long.toUnsignedString(id);
+    }
+
+    @Override
+    public long getIdLong()
     {
         return id;
     }
@@ -98,7 +104,7 @@ public class TextChannelImpl implements TextChannel
         }
 
         JSONObject body = new JSONObject().put("messages", messageIds);
-        Route.CompiledRoute route = Route.Messages.DELETE_MESSAGES.compile(id);
+        Route.CompiledRoute route = Route.Messages.DELETE_MESSAGES.compile(getId());
         return new RestAction<Void>(getJDA(), route, body)
         {
             @Override
@@ -117,7 +123,7 @@ public class TextChannelImpl implements TextChannel
     {
         checkPermission(Permission.MANAGE_WEBHOOKS);
 
-        Route.CompiledRoute route = Route.Channels.GET_WEBHOOKS.compile(id);
+        Route.CompiledRoute route = Route.Channels.GET_WEBHOOKS.compile(getId());
         return new RestAction<List<Webhook>>(getJDA(), route, null)
         {
             @Override
@@ -214,7 +220,7 @@ public class TextChannelImpl implements TextChannel
     @Override
     public List<Member> getMembers()
     {
-        return Collections.unmodifiableList(guild.getMembersMap().values().stream()
+        return Collections.unmodifiableList(guild.getMemberCache().stream()
                 .filter(m -> m.hasPermission(this, Permission.MESSAGE_READ))
                 .collect(Collectors.toList()));
     }
@@ -433,7 +439,7 @@ public class TextChannelImpl implements TextChannel
     {
         checkPermission(Permission.MANAGE_CHANNEL);
 
-        Route.CompiledRoute route = Route.Channels.DELETE_CHANNEL.compile(id);
+        Route.CompiledRoute route = Route.Channels.DELETE_CHANNEL.compile(getId());
         return new RestAction<Void>(getJDA(), route, null)
         {
             @Override
@@ -472,7 +478,7 @@ public class TextChannelImpl implements TextChannel
         if (getMemberOverrideMap().containsKey(member))
             throw new IllegalStateException("Provided member already has a PermissionOverride in this channel!");
 
-        Route.CompiledRoute route = Route.Channels.CREATE_PERM_OVERRIDE.compile(id, member.getUser().getId());
+        Route.CompiledRoute route = Route.Channels.CREATE_PERM_OVERRIDE.compile(getId(), member.getUser().getId());
         return new PermissionOverrideAction(getJDA(), route, this, member);
     }
 
@@ -486,7 +492,7 @@ public class TextChannelImpl implements TextChannel
         if (getRoleOverrideMap().containsKey(role))
             throw new IllegalStateException("Provided role already has a PermissionOverride in this channel!");
 
-        Route.CompiledRoute route = Route.Channels.CREATE_PERM_OVERRIDE.compile(id, role.getId());
+        Route.CompiledRoute route = Route.Channels.CREATE_PERM_OVERRIDE.compile(getId(), role.getId());
         return new PermissionOverrideAction(getJDA(), route, this, role);
     }
 
@@ -496,13 +502,13 @@ public class TextChannelImpl implements TextChannel
         if (!(o instanceof TextChannel))
             return false;
         TextChannel oTChannel = (TextChannel) o;
-        return this == oTChannel || this.getId().equals(oTChannel.getId());
+        return this == oTChannel || this.getIdLong() == oTChannel.getIdLong();
     }
 
     @Override
     public int hashCode()
     {
-        return getId().hashCode();
+        return Long.hashCode(id);
     }
 
     @Override
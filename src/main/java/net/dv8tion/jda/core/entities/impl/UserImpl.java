@@ -31,7 +31,7 @@ import java.util.List;
 
 public class UserImpl implements User
 {
-    protected final String id;
+    protected final long id;
     protected final JDAImpl api;
 
     protected String name;
@@ -40,8 +40,10 @@ public class UserImpl implements User
     protected PrivateChannel privateChannel;
     protected boolean bot;
     protected boolean fake = false;
+    //Amount of cached Guilds with a Member of this User, only modified by the event thread
+    protected int mutualGuildCount = 0;
 
-    public UserImpl(String id, JDAImpl api)
+    public UserImpl(long id, JDAImpl api)
     {
         this.id = id;
         this.api = api;
@@ -162,6 +164,12 @@ public class UserImpl implements User
 
     @Override
     public String getId()
+    {
+        return Long.toUnsignedString(id);
+    }
+
+    @Override
+    public long getIdLong()
     {
         return id;
     }
@@ -178,13 +186,13 @@ public class UserImpl implements User
         if (!(o instanceof User))
             return false;
         User oUser = (User) o;
-        return this == oUser || this.getId().equals(oUser.getId());
+        return this == oUser || this.getIdLong() == oUser.getIdLong();
     }
 
     @Override
     public int hashCode()
     {
-        return getId().hashCode();
+        return Long.hashCode(id);
     }
 
     @Override
@@ -231,6 +239,22 @@ public class UserImpl implements User
         return this;
     }
 
+    public UserImpl addMutualGuild()
+    {
+        mutualGuildCount++;
+        return this;
+    }
+
+    /**
+     * Called when a Member of this User was removed from the member cache of a Guild.
+     *
+     * @return True, if no cached Guild has a Member of this User anymore
+     */
+    public boolean removeMutualGuild()
+    {
+        return --mutualGuildCount <= 0;
+    }
+
     public enum DefaultAvatar
     {
         BLURPLE("6debd47ed13483642cf09e832ed0bc1b"),
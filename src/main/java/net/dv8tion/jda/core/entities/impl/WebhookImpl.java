@@ -94,7 +94,7 @@ public class WebhookImpl implements Webhook
     @Override
     public String getUrl()
     {
-        return Requester.DISCORD_API_PREFIX + "webhooks/" + getId() + "/" + getToken();
+        return ((JDAImpl) getJDA()).getRestEndpoint() + "webhooks/" + getId() + "/" + getToken();
     }
 
     @Override
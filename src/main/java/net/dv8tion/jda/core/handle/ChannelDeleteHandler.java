@@ -42,14 +42,14 @@ public class ChannelDeleteHandler extends SocketHandler
     }
 
     @Override
-    protected String handleInternally(JSONObject content)
+    protected Long handleInternally(JSONObject content)
     {
         ChannelType type = ChannelType.fromId(content.getInt("type"));
         if (type == ChannelType.TEXT || type == ChannelType.VOICE)
         {
-            if (GuildLock.get(api).isLocked(content.getString("guild_id")))
+            if (GuildLock.get(api).isLocked(content.getLong("guild_id")))
             {
-                return content.getString("guild_id");
+                return content.getLong("guild_id");
             }
         }
 
@@ -57,11 +57,11 @@ public class ChannelDeleteHandler extends SocketHandler
         {
             case TEXT:
             {
-                GuildImpl guild = (GuildImpl) api.getGuildMap().get(content.getString("guild_id"));
-                TextChannel channel = api.getTextChannelMap().remove(content.getString("id"));
+                GuildImpl guild = (GuildImpl) api.getGuildMap().get(content.getLong("guild_id"));
+                TextChannel channel = api.getTextChannelMap().remove(content.getLong("id"));
                 if (channel == null)
                 {
-                    EventCache.get(api).cache(EventCache.Type.CHANNEL, content.getString("id"), () ->
+                    EventCache.get(api).cache(EventCache.Type.CHANNEL, content.getLong("id"), () ->
                     {
                         handle(responseNumber, allContent);
                     });
@@ -69,7 +69,8 @@ public class ChannelDeleteHandler extends SocketHandler
                     return null;
                 }
 
-                guild.getTextChannelsMap().remove(channel.getId());
+                guild.getTextChannelsMap().remove(channel.getIdLong());
+                guild.getPermissionCache().invalidateChannel(channel.getIdLong());
                 api.getEventManager().handle(
                         new TextChannelDeleteEvent(
                                 api, responseNumber,
@@ -78,11 +79,11 @@ public class ChannelDeleteHandler extends SocketHandler
             }
             case VOICE:
             {
-                GuildImpl guild = (GuildImpl) api.getGuildMap().get(content.getString("guild_id"));
-                VoiceChannel channel = guild.getVoiceChannelMap().remove(content.getString("id"));
+                GuildImpl guild = (GuildImpl) api.getGuildMap().get(content.getLong("guild_id"));
+                VoiceChannel channel = guild.getVoiceChannelMap().remove(content.getLong("id"));
                 if (channel == null)
                 {
-                    EventCache.get(api).cache(EventCache.Type.CHANNEL, content.getString("id"), () ->
+                    EventCache.get(api).cache(EventCache.Type.CHANNEL, content.getLong("id"), () ->
                     {
                         handle(responseNumber, allContent);
                     });
@@ -91,13 +92,14 @@ public class ChannelDeleteHandler extends SocketHandler
                 }
 
                 //We use this instead of getAudioManager(Guild) so we don't create a new instance. Efficiency!
-                AudioManagerImpl manager = (AudioManagerImpl) api.getAudioManagerMap().get(guild.getId());
+                AudioManagerImpl manager = (AudioManagerImpl) api.getAudioManagerMap().get(guild.getIdLong());
                 if (manager != null && manager.isConnected()
                         && manager.getConnectedChannel().getId().equals(channel.getId()))
                 {
                     manager.closeAudioConnection(ConnectionStatus.DISCONNECTED_CHANNEL_DELETED);
                 }
-                guild.getVoiceChannelMap().remove(channel.getId());
+                guild.getVoiceChannelMap().remove(channel.getIdLong());
+                guild.getPermissionCache().invalidateChannel(channel.getIdLong());
                 api.getEventManager().handle(
                         new VoiceChannelDeleteEvent(
                                 api, responseNumber,
@@ -106,14 +108,14 @@ public class ChannelDeleteHandler extends SocketHandler
             }
             case PRIVATE:
             {
-                String channelId = content.getString("id");
+                final long channelId = content.getLong("id");
                 PrivateChannel channel = api.getPrivateChannelMap().remove(channelId);
 
                 if (channel == null)
                     channel = api.getFakePrivateChannelMap().remove(channelId);
                 if (channel == null)
                 {
-                    EventCache.get(api).cache(EventCache.Type.CHANNEL, content.getString("id"), () ->
+                    EventCache.get(api).cache(EventCache.Type.CHANNEL, content.getLong("id"), () ->
                     {
                         handle(responseNumber, allContent);
                     });
@@ -122,7 +124,7 @@ public class ChannelDeleteHandler extends SocketHandler
                 }
 
                 if (channel.getUser().isFake())
-                    api.getFakeUserMap().remove(channel.getUser().getId());
+                    api.getFakeUserMap().remove(channel.getUser().getIdLong());
 
                 ((UserImpl) channel.getUser()).setPrivateChannel(null);
 
@@ -139,7 +141,7 @@ public class ChannelDeleteHandler extends SocketHandler
                 GroupImpl group = (GroupImpl) ((JDAClientImpl) api.asClient()).getGroupMap().remove(groupId);
                 if (group == null)
                 {
-                    EventCache.get(api).cache(EventCache.Type.CHANNEL, content.getString("id"), () ->
+                    EventCache.get(api).cache(EventCache.Type.CHANNEL, content.getLong("id"), () ->
                     {
                         handle(responseNumber, allContent);
                     });
@@ -157,7 +159,7 @@ public class ChannelDeleteHandler extends SocketHandler
                             && api.asClient().getRelationshipById(userId) == null
                             && api.asClient().getGroups().stream().allMatch(g -> !g.getUsers().contains(user)))
                     {
-                        api.getFakeUserMap().remove(userId);
+                        api.getFakeUserMap().remove(user.getIdLong());
                     }
                 });
 
@@ -27,6 +27,8 @@ import net.dv8tion.jda.core.events.channel.text.update.TextChannelUpdatePermissi
 import net.dv8tion.jda.core.events.channel.text.update.TextChannelUpdatePositionEvent;
 import net.dv8tion.jda.core.events.channel.text.update.TextChannelUpdateTopicEvent;
 import net.dv8tion.jda.core.events.channel.voice.update.*;
+import net.dv8tion.jda.core.requests.WebSocketClient;
+import net.dv8tion.jda.core.utils.cache.MemberCachePolicy;
 import org.apache.commons.lang3.StringUtils;
 import org.json.JSONArray;
 import org.json.JSONObject;
@@ -44,7 +46,7 @@ public class ChannelUpdateHandler extends SocketHandler
     }
 
     @Override
-    protected String handleInternally(JSONObject content)
+    protected Long handleInternally(JSONObject content)
     {
         ChannelType type = ChannelType.fromId(content.getInt("type"));
         if (type == ChannelType.GROUP)
@@ -66,10 +68,10 @@ public class ChannelUpdateHandler extends SocketHandler
             case TEXT:
             {
                 String topic = content.isNull("topic") ? null : content.getString("topic");
-                TextChannelImpl channel = (TextChannelImpl) api.getTextChannelMap().get(content.getString("id"));
+                TextChannelImpl channel = (TextChannelImpl) api.getTextChannelMap().get(content.getLong("id"));
                 if (channel == null)
                 {
-                    EventCache.get(api).cache(EventCache.Type.CHANNEL, content.getString("id"), () ->
+                    EventCache.get(api).cache(EventCache.Type.CHANNEL, content.getLong("id"), () ->
                     {
                         handle(responseNumber, allContent);
                     });
@@ -132,6 +134,7 @@ public class ChannelUpdateHandler extends SocketHandler
                 if (!changedRoles.isEmpty()
                         || !changedMembers.isEmpty())
                 {
+                    ((GuildImpl) channel.getGuild()).getPermissionCache().invalidateChannel(channel.getIdLong());
                     api.getEventManager().handle(
                             new TextChannelUpdatePermissionsEvent(
                                     api, responseNumber,
@@ -142,12 +145,12 @@ public class ChannelUpdateHandler extends SocketHandler
             }
             case VOICE:
             {
-                VoiceChannelImpl channel = (VoiceChannelImpl) api.getVoiceChannelMap().get(content.getString("id"));
+                VoiceChannelImpl channel = (VoiceChannelImpl) api.getVoiceChannelMap().get(content.getLong("id"));
                 int userLimit = content.getInt("user_limit");
                 int bitrate = content.getInt("bitrate");
                 if (channel == null)
                 {
-                    EventCache.get(api).cache(EventCache.Type.CHANNEL, content.getString("id"), () ->
+                    EventCache.get(api).cache(EventCache.Type.CHANNEL, content.getLong("id"), () ->
                     {
                         handle(responseNumber, allContent);
                     });
@@ -218,6 +221,7 @@ public class ChannelUpdateHandler extends SocketHandler
                 if (!changedRoles.isEmpty()
                         || !changedMembers.isEmpty())
                 {
+                    ((GuildImpl) channel.getGuild()).getPermissionCache().invalidateChannel(channel.getIdLong());
                     api.getEventManager().handle(
                             new VoiceChannelUpdatePermissionsEvent(
                                     api, responseNumber,
@@ -235,7 +239,7 @@ public class ChannelUpdateHandler extends SocketHandler
     private void handlePermissionOverride(JSONObject override, Channel channel, JSONObject content,
                                           List<Role> changedRoles, List<Role> containedRoles,List<Member> changedMembers, List<Member> containedMembers)
     {
-        String id = override.getString("id");
+        final long id = override.getLong("id");
         int allow = override.getInt("allow");
         int deny = override.getInt("deny");
 
@@ -276,7 +280,13 @@ public class ChannelUpdateHandler extends SocketHandler
             }
             case "member":
             {
-                Member member = channel.getGuild().getMemberById(override.getString("id"));
+                Member member = channel.getGuild().getMemberById(id);
+                if (member == null && api.getMemberCachePolicy() != MemberCachePolicy.ALL)
+                {
+                    //Overrides are stored per cached Member, members that are not cached might never be loaded
+                    WebSocketClient.LOG.debug("Ignoring a PermissionOverride of a Member that is not cached. UserId: " + id);
+                    return;
+                }
                 if (member == null)
                 {
                     EventCache.get(api).cache(EventCache.Type.USER, id, () ->
@@ -322,7 +332,7 @@ public class ChannelUpdateHandler extends SocketHandler
         GroupImpl group = (GroupImpl) api.asClient().getGroupById(groupId);
         if (group == null)
         {
-            EventCache.get(api).cache(EventCache.Type.CHANNEL, groupId, () ->
+            EventCache.get(api).cache(EventCache.Type.CHANNEL, content.getLong("id"), () ->
             {
                 handle(responseNumber, allContent);
             });
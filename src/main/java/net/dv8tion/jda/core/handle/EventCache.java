@@ -15,7 +15,9 @@
  */
 package net.dv8tion.jda.core.handle;
 
+import gnu.trove.map.TLongObjectMap;
 import net.dv8tion.jda.core.JDA;
+import net.dv8tion.jda.core.utils.MiscUtil;
 import net.dv8tion.jda.core.utils.SimpleLog;
 
 import java.util.HashMap;
@@ -26,7 +28,7 @@ public class EventCache
 {
     public static final SimpleLog LOG = SimpleLog.getLog("EventCache");
     private static HashMap<JDA, EventCache> caches = new HashMap<>();
-    private HashMap<Type, HashMap<String, List<Runnable>>> eventCache = new HashMap<>();
+    private HashMap<Type, TLongObjectMap<List<Runnable>>> eventCache = new HashMap<>();
 
     public static EventCache get(JDA jda)
     {
@@ -39,12 +41,12 @@ public class EventCache
         return cache;
     }
 
-    public void cache(Type type, String triggerId, Runnable handler)
+    public void cache(Type type, long triggerId, Runnable handler)
     {
-        HashMap<String, List<Runnable>> triggerCache = eventCache.get(type);
+        TLongObjectMap<List<Runnable>> triggerCache = eventCache.get(type);
         if (triggerCache == null)
         {
-            triggerCache = new HashMap<>();
+            triggerCache = MiscUtil.newLongMap();
             eventCache.put(type, triggerCache);
         }
 
@@ -58,7 +60,7 @@ public class EventCache
         items.add(handler);
     }
 
-    public void playbackCache(Type type, String triggerId)
+    public void playbackCache(Type type, long triggerId)
     {
         List<Runnable> items;
         try
@@ -86,9 +88,9 @@ public class EventCache
     public int size()
     {
         int count = 0;
-        for (HashMap<String, List<Runnable>> typeMap : eventCache.values())
+        for (TLongObjectMap<List<Runnable>> typeMap : eventCache.values())
         {
-            for (List<Runnable> eventList : typeMap.values())
+            for (List<Runnable> eventList : typeMap.valueCollection())
             {
                 count += eventList.size();
             }
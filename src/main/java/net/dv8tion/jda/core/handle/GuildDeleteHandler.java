@@ -16,13 +16,15 @@
 
 package net.dv8tion.jda.core.handle;
 
+import gnu.trove.iterator.TLongIterator;
+import gnu.trove.set.TLongSet;
+import gnu.trove.set.hash.TLongHashSet;
 import net.dv8tion.jda.client.entities.Group;
 import net.dv8tion.jda.client.entities.Relationship;
 import net.dv8tion.jda.client.entities.RelationshipType;
 import net.dv8tion.jda.client.entities.impl.JDAClientImpl;
 import net.dv8tion.jda.core.AccountType;
 import net.dv8tion.jda.core.audio.hooks.ConnectionStatus;
-import net.dv8tion.jda.core.entities.Guild;
 import net.dv8tion.jda.core.entities.impl.GuildImpl;
 import net.dv8tion.jda.core.entities.impl.JDAImpl;
 import net.dv8tion.jda.core.entities.impl.PrivateChannelImpl;
@@ -34,9 +36,6 @@ import net.dv8tion.jda.core.requests.GuildLock;
 import org.json.JSONObject;
 
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Iterator;
-import java.util.Set;
 
 public class GuildDeleteHandler extends SocketHandler
 {
@@ -46,9 +45,9 @@ public class GuildDeleteHandler extends SocketHandler
     }
 
     @Override
-    protected String handleInternally(JSONObject content)
+    protected Long handleInternally(JSONObject content)
     {
-        String guildId = content.getString("id");
+        final long guildId = content.getLong("id");
         GuildImpl guild = (GuildImpl) api.getGuildMap().get(guildId);
 
         //If the event is attempting to mark the guild as unavailable, but it is already unavailable,
@@ -61,7 +60,7 @@ public class GuildDeleteHandler extends SocketHandler
             return guildId;
         }
 
-        AudioManagerImpl manager = (AudioManagerImpl) api.getAudioManagerMap().get(guild.getId());
+        AudioManagerImpl manager = (AudioManagerImpl) api.getAudioManagerMap().get(guild.getIdLong());
         if (manager != null)
             manager.closeAudioConnection(ConnectionStatus.DISCONNECTED_REMOVED_FROM_GUILD);
 
@@ -77,49 +76,43 @@ public class GuildDeleteHandler extends SocketHandler
         }
 
         if (manager != null)
-            api.getAudioManagerMap().remove(guild.getId());
+            api.getAudioManagerMap().remove(guild.getIdLong());
 
         //cleaning up all users that we do not share a guild with anymore
         // Anything left in memberIds will be removed from the main userMap
-        //Use a new HashSet so that we don't actually modify the Member map so it doesn't affect Guild#getMembers for the leave event.
-        Set<String> memberIds = new HashSet(guild.getMembersMap().keySet());
-        for (Guild guildI : api.getGuilds())
+        //The Member map itself is not modified so it doesn't affect Guild#getMembers for the leave event.
+        TLongSet memberIds = new TLongHashSet();
+        guild.getMembersMap().forEachValue(member ->
         {
-            GuildImpl g = (GuildImpl) guildI;
-            if (g.equals(guild))
-                continue;
-
-            for (Iterator<String> it = memberIds.iterator(); it.hasNext();)
-            {
-
-                if (g.getMembersMap().containsKey(it.next()))
-                    it.remove();
-            }
-        }
+            if (((UserImpl) member.getUser()).removeMutualGuild())
+                memberIds.add(member.getUser().getIdLong());
+            return true;
+        });
 
         //If we are a client account, be sure to not remove any users from the cache that are Friends.
         // Remember, everything left in memberIds is removed from the userMap
         if (api.getAccountType() == AccountType.CLIENT)
         {
             HashMap<String, Relationship> relationships = ((JDAClientImpl) api.asClient()).getRelationshipMap();
-            for (Iterator<String> it = memberIds.iterator(); it.hasNext();)
+            for (TLongIterator it = memberIds.iterator(); it.hasNext();)
             {
-                Relationship rel = relationships.get(it.next());
+                Relationship rel = relationships.get(Long.toUnsignedString(it.next()));
                 if (rel != null && rel.getType() == RelationshipType.FRIEND)
                     it.remove();
             }
         }
 
-        for (String memberId : memberIds)
+        for (TLongIterator it = memberIds.iterator(); it.hasNext();)
         {
+            final long memberId = it.next();
             UserImpl user = (UserImpl) api.getUserMap().remove(memberId);
             if (user.hasPrivateChannel())
             {
                 PrivateChannelImpl priv = (PrivateChannelImpl) user.getPrivateChannel();
                 user.setFake(true);
                 priv.setFake(true);
-                api.getFakeUserMap().put(user.getId(), user);
-                api.getFakePrivateChannelMap().put(priv.getId(), priv);
+                api.getFakeUserMap().put(user.getIdLong(), user);
+                api.getFakePrivateChannelMap().put(priv.getIdLong(), priv);
             }
             else if (api.getAccountType() == AccountType.CLIENT)
             {
@@ -131,16 +124,17 @@ public class GuildDeleteHandler extends SocketHandler
                     if (grp.getNonFriendUsers().contains(user))
                     {
                         user.setFake(true);
-                        api.getFakeUserMap().put(user.getId(), user);
+                        api.getFakeUserMap().put(user.getIdLong(), user);
                         break; //Breaks from groups loop, not memberIds loop
                     }
                 }
             }
         }
 
-        api.getGuildMap().remove(guild.getId());
-        guild.getTextChannels().forEach(chan -> api.getTextChannelMap().remove(chan.getId()));
-        guild.getVoiceChannels().forEach(chan -> api.getVoiceChannelMap().remove(chan.getId()));
+        api.getGuildMap().remove(guild.getIdLong());
+        api.getMemberCachePolicy().onGuildUnload(guild.getIdLong());
+        guild.getTextChannels().forEach(chan -> api.getTextChannelMap().remove(chan.getIdLong()));
+        guild.getVoiceChannels().forEach(chan -> api.getVoiceChannelMap().remove(chan.getIdLong()));
         api.getEventManager().handle(
                 new GuildLeaveEvent(
                         api, responseNumber,
@@ -32,17 +32,17 @@ public class GuildMemberAddHandler extends SocketHandler
     }
 
     @Override
-    protected String handleInternally(JSONObject content)
+    protected Long handleInternally(JSONObject content)
     {
-        if (GuildLock.get(api).isLocked(content.getString("guild_id")))
+        if (GuildLock.get(api).isLocked(content.getLong("guild_id")))
         {
-            return content.getString("guild_id");
+            return content.getLong("guild_id");
         }
 
-        GuildImpl guild = (GuildImpl) api.getGuildMap().get(content.getString("guild_id"));
+        GuildImpl guild = (GuildImpl) api.getGuildMap().get(content.getLong("guild_id"));
         if (guild == null)
         {
-            EventCache.get(api).cache(EventCache.Type.GUILD, content.getString("guild_id"), () ->
+            EventCache.get(api).cache(EventCache.Type.GUILD, content.getLong("guild_id"), () ->
             {
                 handle(responseNumber, allContent);
             });
@@ -54,7 +54,7 @@ public class GuildMemberAddHandler extends SocketHandler
                 new GuildMemberJoinEvent(
                         api, responseNumber,
                         guild, member));
-        EventCache.get(api).playbackCache(EventCache.Type.USER, member.getUser().getId());
+        EventCache.get(api).playbackCache(EventCache.Type.USER, member.getUser().getIdLong());
         return null;
     }
 }
@@ -34,22 +34,26 @@ public class GuildMemberRemoveHandler extends SocketHandler
     }
 
     @Override
-    protected String handleInternally(JSONObject content)
+    protected Long handleInternally(JSONObject content)
     {
-        if (GuildLock.get(api).isLocked(content.getString("guild_id")))
+        if (GuildLock.get(api).isLocked(content.getLong("guild_id")))
         {
-            return content.getString("guild_id");
+            return content.getLong("guild_id");
         }
 
-        GuildImpl guild = (GuildImpl) api.getGuildMap().get(content.getString("guild_id"));
+        GuildImpl guild = (GuildImpl) api.getGuildMap().get(content.getLong("guild_id"));
         if(guild == null)
         {
             //We probably just left the guild and this event is trying to remove us from the guild, therefore ignore
             return null;
         }
 
-        String userId = content.getJSONObject("user").getString("id");
+        //Stale responses of Guild#retrieveMemberById must not bring back this Member, even if it was not cached
+        guild.setLastMemberRemove(responseNumber);
+        final long userId = content.getJSONObject("user").getLong("id");
         MemberImpl member = (MemberImpl) guild.getMembersMap().remove(userId);
+        guild.getPermissionCache().invalidateMember(userId);
+        api.getMemberCachePolicy().onMemberUnload(guild.getIdLong(), userId);
 
         if (member == null)
         {
@@ -63,7 +67,7 @@ public class GuildMemberRemoveHandler extends SocketHandler
             GuildVoiceStateImpl vState = (GuildVoiceStateImpl) member.getVoiceState();
             VoiceChannel channel = vState.getChannel();
             vState.setConnectedChannel(null);
-            ((VoiceChannelImpl) channel).getConnectedMembersMap().remove(member.getUser().getId());
+            ((VoiceChannelImpl) channel).getConnectedMembersMap().remove(member.getUser().getIdLong());
             api.getEventManager().handle(
                     new GuildVoiceLeaveEvent(
                             api, responseNumber,
@@ -72,8 +76,8 @@ public class GuildMemberRemoveHandler extends SocketHandler
 
         //The user is not in a different guild that we share
         // The user also is not a friend of this account in the case that the logged in account is a client account.
-        if (!api.getGuildMap().values().stream().anyMatch(g -> ((GuildImpl) g).getMembersMap().containsKey(userId))
-                && !(api.getAccountType() == AccountType.CLIENT && api.asClient().getFriendById(userId) != null))
+        if (((UserImpl) member.getUser()).removeMutualGuild()
+                && !(api.getAccountType() == AccountType.CLIENT && api.asClient().getFriendById(member.getUser().getId()) != null))
         {
             UserImpl user = (UserImpl) api.getUserMap().remove(userId);
             if (user.hasPrivateChannel())
@@ -81,8 +85,8 @@ public class GuildMemberRemoveHandler extends SocketHandler
                 PrivateChannelImpl priv = (PrivateChannelImpl) user.getPrivateChannel();
                 user.setFake(true);
                 priv.setFake(true);
-                api.getFakeUserMap().put(user.getId(), user);
-                api.getFakePrivateChannelMap().put(priv.getId(), priv);
+                api.getFakeUserMap().put(user.getIdLong(), user);
+                api.getFakePrivateChannelMap().put(priv.getIdLong(), priv);
             }
             else if (api.getAccountType() == AccountType.CLIENT)
             {
@@ -94,7 +98,7 @@ public class GuildMemberRemoveHandler extends SocketHandler
                     if (grp.getNonFriendUsers().contains(user))
                     {
                         user.setFake(true);
-                        api.getFakeUserMap().put(user.getId(), user);
+                        api.getFakeUserMap().put(user.getIdLong(), user);
                         break; //Breaks from groups loop
                     }
                 }
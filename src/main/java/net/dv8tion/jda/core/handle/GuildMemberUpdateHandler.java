@@ -23,6 +23,8 @@ import net.dv8tion.jda.core.events.guild.member.GuildMemberNickChangeEvent;
 import net.dv8tion.jda.core.events.guild.member.GuildMemberRoleAddEvent;
 import net.dv8tion.jda.core.events.guild.member.GuildMemberRoleRemoveEvent;
 import net.dv8tion.jda.core.requests.GuildLock;
+import net.dv8tion.jda.core.requests.WebSocketClient;
+import net.dv8tion.jda.core.utils.cache.MemberCachePolicy;
 import org.apache.commons.lang3.StringUtils;
 import org.json.JSONArray;
 import org.json.JSONObject;
@@ -41,18 +43,18 @@ public class GuildMemberUpdateHandler extends SocketHandler
     }
 
     @Override
-    protected String handleInternally(JSONObject content)
+    protected Long handleInternally(JSONObject content)
     {
-        if (GuildLock.get(api).isLocked(content.getString("guild_id")))
+        if (GuildLock.get(api).isLocked(content.getLong("guild_id")))
         {
-            return content.getString("guild_id");
+            return content.getLong("guild_id");
         }
 
         JSONObject userJson = content.getJSONObject("user");
-        GuildImpl guild = (GuildImpl) api.getGuildMap().get(content.getString("guild_id"));
+        GuildImpl guild = (GuildImpl) api.getGuildMap().get(content.getLong("guild_id"));
         if (guild == null)
         {
-            EventCache.get(api).cache(EventCache.Type.GUILD, userJson.getString("id"), () ->
+            EventCache.get(api).cache(EventCache.Type.GUILD, userJson.getLong("id"), () ->
             {
                 handle(responseNumber, allContent);
             });
@@ -60,10 +62,16 @@ public class GuildMemberUpdateHandler extends SocketHandler
             return null;
         }
 
-        MemberImpl member = (MemberImpl) guild.getMembersMap().get(userJson.getString("id"));
+        MemberImpl member = (MemberImpl) guild.getMembersMap().get(userJson.getLong("id"));
+        if (member == null && api.getMemberCachePolicy() != MemberCachePolicy.ALL)
+        {
+            //Not all members are cached, this member might never be loaded and there is nothing to compare the update to
+            WebSocketClient.LOG.debug("Ignoring GUILD_MEMBER_UPDATE for a Member that is not cached. UserId: " + userJson.getLong("id"));
+            return null;
+        }
         if (member == null)
         {
-            EventCache.get(api).cache(EventCache.Type.USER, userJson.getString("id"), () ->
+            EventCache.get(api).cache(EventCache.Type.USER, userJson.getLong("id"), () ->
             {
                 handle(responseNumber, allContent);
             });
@@ -101,6 +109,8 @@ public class GuildMemberUpdateHandler extends SocketHandler
             currentRoles.removeAll(removedRoles);
         if (newRoles.size() > 0)
             currentRoles.addAll(newRoles);
+        if (removedRoles.size() > 0 || newRoles.size() > 0)
+            guild.getPermissionCache().invalidateMember(member.getUser().getIdLong());
 
         if (removedRoles.size() > 0)
         {
@@ -137,14 +147,15 @@ public class GuildMemberUpdateHandler extends SocketHandler
         LinkedList<Role> roles = new LinkedList<>();
         for(int i = 0; i < array.length(); i++)
         {
-            Role r = guild.getRolesMap().get(array.getString(i));
+            final long roleId = array.getLong(i);
+            Role r = guild.getRolesMap().get(roleId);
             if (r != null)
             {
                 roles.add(r);
             }
             else
             {
-                EventCache.get(api).cache(EventCache.Type.ROLE, array.getString(i), () ->
+                EventCache.get(api).cache(EventCache.Type.ROLE, roleId, () ->
                 {
                     handle(responseNumber, allContent);
                 });
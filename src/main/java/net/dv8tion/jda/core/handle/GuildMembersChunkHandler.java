@@ -16,20 +16,24 @@
 
 package net.dv8tion.jda.core.handle;
 
+import gnu.trove.map.TLongIntMap;
+import gnu.trove.map.hash.TLongIntHashMap;
 import net.dv8tion.jda.core.entities.EntityBuilder;
 import net.dv8tion.jda.core.entities.impl.JDAImpl;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.List;
-
+/**
+ * Builds the members of every GUILD_MEMBERS_CHUNK as soon as it arrives and finishes the Guild
+ * with {@link net.dv8tion.jda.core.entities.EntityBuilder#createGuildSecondPass(long) EntityBuilder#createGuildSecondPass}
+ * once all members that were announced by the GUILD_CREATE have been received.
+ *
+ * <p>The progress counters are guarded by this handler, so they can be read from any thread.
+ */
 public class GuildMembersChunkHandler extends SocketHandler
 {
-    HashMap<String, Integer> expectedGuildMembers = new HashMap<>();
-    HashMap<String, List<JSONArray>> memberChunksCache = new HashMap<>();
-
+    TLongIntMap expectedGuildMembers = new TLongIntHashMap();
+    TLongIntMap receivedGuildMembers = new TLongIntHashMap();
 
     public GuildMembersChunkHandler(JDAImpl api)
     {
@@ -37,60 +41,85 @@ public class GuildMembersChunkHandler extends SocketHandler
     }
 
     @Override
-    protected String handleInternally(JSONObject content)
+    protected Long handleInternally(JSONObject content)
     {
-        String guildId = content.getString("guild_id");
-        List<JSONArray> memberChunks = memberChunksCache.get(guildId);
-        Integer expectMemberCount = (Integer) expectedGuildMembers.get(guildId);
+        final long guildId = content.getLong("guild_id");
+        if (getExpectedMemberCount(guildId) < 0)
+        {
+            JDAImpl.LOG.debug("Received a GUILD_MEMBER_CHUNK for a guild that is not chunking. GuildId: " + guildId);
+            return null;
+        }
 
         JSONArray members = content.getJSONArray("members");
-        JDAImpl.LOG.debug("GUILD_MEMBER_CHUNK for: " + guildId + " \tMembers: " + members.length());
-        memberChunks.add(members);
+        EntityBuilder.get(api).createGuildMemberChunk(guildId, members);
 
-        int currentTotal = 0;
-        for (JSONArray arr : memberChunks)
+        int currentTotal;
+        int expectMemberCount;
+        synchronized (this)
         {
-            currentTotal += arr.length();
+            currentTotal = receivedGuildMembers.adjustOrPutValue(guildId, members.length(), members.length());
+            expectMemberCount = expectedGuildMembers.get(guildId);
+            if (currentTotal >= expectMemberCount)
+            {
+                expectedGuildMembers.remove(guildId);
+                receivedGuildMembers.remove(guildId);
+            }
         }
+        JDAImpl.LOG.debug("GUILD_MEMBER_CHUNK for: %d \tMembers: %d (%d/%d)", guildId, members.length(), currentTotal, expectMemberCount);
 
+        //The second pass fires events, so it is not done while holding the lock
         if (currentTotal >= expectMemberCount)
         {
             JDAImpl.LOG.debug("Finished chunking for: " + guildId);
-            EntityBuilder.get(api).createGuildSecondPass(guildId, memberChunks);
-            memberChunksCache.remove(guildId);
-            expectedGuildMembers.remove(guildId);
+            EntityBuilder.get(api).createGuildSecondPass(guildId);
         }
         return null;
     }
 
-    public void setExpectedGuildMembers(String guildId, int count)
+    public synchronized void setExpectedGuildMembers(long guildId, int count)
     {
-        if (expectedGuildMembers.get(guildId) != null)
+        if (expectedGuildMembers.containsKey(guildId))
             JDAImpl.LOG.warn("Set the count of expected users from GuildMembersChunk even though a value already exists! GuildId: " + guildId);
 
         expectedGuildMembers.put(guildId, count);
+        receivedGuildMembers.put(guildId, 0);
+    }
 
-        if (memberChunksCache.get(guildId) != null)
-            JDAImpl.LOG.warn("Set the memberChunks for MemberChunking for a guild that was already setup for chunking! GuildId: " + guildId);
+    public synchronized void modifyExpectedGuildMember(long guildId, int changeAmount)
+    {
+        //Ignore. If the guild isn't being chunked, then we don't need to worry.
+        expectedGuildMembers.adjustValue(guildId, changeAmount);
+    }
 
-        memberChunksCache.put(guildId, new LinkedList<>());
+    /**
+     * The amount of members that were received so far for a Guild that is currently chunking.
+     *
+     * @param  guildId
+     *         The id of the Guild
+     *
+     * @return The amount of received members, or {@code -1} if the Guild is not chunking
+     */
+    public synchronized int getReceivedMemberCount(long guildId)
+    {
+        return receivedGuildMembers.containsKey(guildId) ? receivedGuildMembers.get(guildId) : -1;
     }
 
-    public void modifyExpectedGuildMember(String guildId, int changeAmount)
+    /**
+     * The amount of members that are expected for a Guild that is currently chunking.
+     *
+     * @param  guildId
+     *         The id of the Guild
+     *
+     * @return The amount of expected members, or {@code -1} if the Guild is not chunking
+     */
+    public synchronized int getExpectedMemberCount(long guildId)
     {
-        try
-        {
-            Integer i = (Integer) expectedGuildMembers.get(guildId);
-            i += changeAmount;
-            expectedGuildMembers.put(guildId, i);
-        }
-        //Ignore. If one of the above things doesn't exist, causing an NPE, then we don't need to worry.
-        catch (NullPointerException ignored) {}
+        return expectedGuildMembers.containsKey(guildId) ? expectedGuildMembers.get(guildId) : -1;
     }
 
-    public void clearCache()
+    public synchronized void clearCache()
     {
         expectedGuildMembers.clear();
-        memberChunksCache.clear();
+        receivedGuildMembers.clear();
     }
 }
@@ -33,9 +33,9 @@ public class GuildRoleDeleteHandler extends SocketHandler
     }
 
     @Override
-    protected String handleInternally(JSONObject content)
+    protected Long handleInternally(JSONObject content)
     {
-        String guildId = content.getString("guild_id");
+        final long guildId = content.getLong("guild_id");
         if (GuildLock.get(api).isLocked(guildId))
         {
             return guildId;
@@ -52,10 +52,10 @@ public class GuildRoleDeleteHandler extends SocketHandler
             return null;
         }
 
-        Role removedRole = guild.getRolesMap().remove(content.getString("role_id"));
+        Role removedRole = guild.getRolesMap().remove(content.getLong("role_id"));
         if (removedRole == null)
         {
-            EventCache.get(api).cache(EventCache.Type.ROLE, content.getString("role_id"), () ->
+            EventCache.get(api).cache(EventCache.Type.ROLE, content.getLong("role_id"), () ->
             {
                 handle(responseNumber, allContent);
             });
@@ -64,10 +64,11 @@ public class GuildRoleDeleteHandler extends SocketHandler
         }
 
         //Now that the role is removed from the Guild, remove it from all users.
-        for (Member m : guild.getMembersMap().values())
+        for (Member m : guild.getMemberCache())
         {
             MemberImpl member = (MemberImpl) m;
-            member.getRoleSet().remove(removedRole);
+            if (member.getRoleSet().remove(removedRole))
+                guild.getPermissionCache().invalidateMember(member.getUser().getIdLong());
         }
         api.getEventManager().handle(
                 new RoleDeleteEvent(
@@ -33,9 +33,9 @@ public class GuildRoleUpdateHandler extends SocketHandler
     }
 
     @Override
-    protected String handleInternally(JSONObject content)
+    protected Long handleInternally(JSONObject content)
     {
-        String guildId = content.getString("guild_id");
+        final long guildId = content.getLong("guild_id");
         if (GuildLock.get(api).isLocked(guildId))
         {
             return guildId;
@@ -53,10 +53,10 @@ public class GuildRoleUpdateHandler extends SocketHandler
             return null;
         }
 
-        RoleImpl role = (RoleImpl) guild.getRolesMap().get(rolejson.getString("id"));
+        RoleImpl role = (RoleImpl) guild.getRolesMap().get(rolejson.getLong("id"));
         if (role == null)
         {
-            EventCache.get(api).cache(EventCache.Type.ROLE, rolejson.getString("id"), () ->
+            EventCache.get(api).cache(EventCache.Type.ROLE, rolejson.getLong("id"), () ->
             {
                 handle(responseNumber, allContent);
             });
@@ -103,6 +103,7 @@ public class GuildRoleUpdateHandler extends SocketHandler
         {
             long oldPermissionsRaw = role.getPermissionsRaw();
             role.setRawPermissions(permissions);
+            guild.getPermissionCache().invalidateRole(role);
             api.getEventManager().handle(
                     new RoleUpdatePermissionsEvent(
                             api, responseNumber,
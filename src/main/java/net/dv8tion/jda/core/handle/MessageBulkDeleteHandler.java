@@ -32,9 +32,9 @@ public class MessageBulkDeleteHandler extends SocketHandler
     }
 
     @Override
-    protected String handleInternally(JSONObject content)
+    protected Long handleInternally(JSONObject content)
     {
-        String channelId = content.getString("channel_id");
+        final long channelId = content.getLong("channel_id");
 
         if (api.isBulkDeleteSplittingEnabled())
         {
@@ -61,9 +61,9 @@ public class MessageBulkDeleteHandler extends SocketHandler
                 return null;
             }
 
-            if (GuildLock.get(api).isLocked(channel.getGuild().getId()))
+            if (GuildLock.get(api).isLocked(channel.getGuild().getIdLong()))
             {
-                return channel.getGuild().getId();
+                return channel.getGuild().getIdLong();
             }
 
             LinkedList<String> msgIds = new LinkedList<>();
@@ -40,7 +40,7 @@ public class MessageCreateHandler extends SocketHandler
     }
 
     @Override
-    protected String handleInternally(JSONObject content)
+    protected Long handleInternally(JSONObject content)
     {
         MessageType type = MessageType.fromId(content.getInt("type"));
 
@@ -54,7 +54,7 @@ public class MessageCreateHandler extends SocketHandler
         return null;
     }
 
-    private String handleDefaultMessage(JSONObject content)
+    private Long handleDefaultMessage(JSONObject content)
     {
         Message message;
         try
@@ -67,7 +67,7 @@ public class MessageCreateHandler extends SocketHandler
             {
                 case EntityBuilder.MISSING_CHANNEL:
                 {
-                    EventCache.get(api).cache(EventCache.Type.CHANNEL, content.getString("channel_id"), () ->
+                    EventCache.get(api).cache(EventCache.Type.CHANNEL, content.getLong("channel_id"), () ->
                     {
                         handle(responseNumber, allContent);
                     });
@@ -76,7 +76,7 @@ public class MessageCreateHandler extends SocketHandler
                 }
                 case EntityBuilder.MISSING_USER:
                 {
-                    EventCache.get(api).cache(EventCache.Type.USER, content.getJSONObject("author").getString("id"), () ->
+                    EventCache.get(api).cache(EventCache.Type.USER, content.getJSONObject("author").getLong("id"), () ->
                     {
                         handle(responseNumber, allContent);
                     });
@@ -93,9 +93,9 @@ public class MessageCreateHandler extends SocketHandler
             case TEXT:
             {
                 TextChannel channel = message.getTextChannel();
-                if (GuildLock.get(api).isLocked(channel.getGuild().getId()))
+                if (GuildLock.get(api).isLocked(channel.getGuild().getIdLong()))
                 {
-                    return channel.getGuild().getId();
+                    return channel.getGuild().getIdLong();
                 }
                 api.getEventManager().handle(
                         new GuildMessageReceivedEvent(
@@ -37,10 +37,10 @@ public class MessageDeleteHandler extends SocketHandler
     }
 
     @Override
-    protected String handleInternally(JSONObject content)
+    protected Long handleInternally(JSONObject content)
     {
         String messageId = content.getString("id");
-        String channelId = content.getString("channel_id");
+        final long channelId = content.getLong("channel_id");
 
         MessageChannel channel = api.getTextChannelById(channelId);
         if (channel == null)
@@ -48,7 +48,7 @@ public class MessageDeleteHandler extends SocketHandler
         if (channel == null)
             channel = api.getFakePrivateChannelMap().get(channelId);
         if (channel == null && api.getAccountType() == AccountType.CLIENT)
-            channel = api.asClient().getGroupById(channelId);
+            channel = api.asClient().getGroupById(content.getString("channel_id"));
         if (channel == null)
         {
             EventCache.get(api).cache(EventCache.Type.CHANNEL, channelId, () ->
@@ -62,9 +62,9 @@ public class MessageDeleteHandler extends SocketHandler
         if (channel instanceof TextChannel)
         {
             TextChannel tChan = (TextChannel) channel;
-            if (GuildLock.get(api).isLocked(tChan.getGuild().getId()))
+            if (GuildLock.get(api).isLocked(tChan.getGuild().getIdLong()))
             {
-                return tChan.getGuild().getId();
+                return tChan.getGuild().getIdLong();
             }
             api.getEventManager().handle(
                     new GuildMessageDeleteEvent(
@@ -30,15 +30,15 @@ public class MessageReactionBulkRemoveHandler extends SocketHandler
     }
 
     @Override
-    protected String handleInternally(JSONObject content)
+    protected Long handleInternally(JSONObject content)
     {
         String messageId = content.getString("message_id");
-        String channelId = content.getString("channel_id");
+        final long channelId = content.getLong("channel_id");
         MessageChannel channel = api.getTextChannelById(channelId);
         if (channel == null)
             channel = api.getPrivateChannelById(channelId);
         if (channel == null && api.getAccountType() == AccountType.CLIENT)
-            channel = api.asClient().getGroupById(channelId);
+            channel = api.asClient().getGroupById(content.getString("channel_id"));
         if (channel == null)
             channel = api.getFakePrivateChannelMap().get(channelId);
         if (channel == null)
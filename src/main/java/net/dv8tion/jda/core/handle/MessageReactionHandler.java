@@ -26,6 +26,7 @@ import net.dv8tion.jda.core.entities.impl.JDAImpl;
 import net.dv8tion.jda.core.events.message.react.MessageReactionAddEvent;
 import net.dv8tion.jda.core.events.message.react.MessageReactionRemoveEvent;
 import net.dv8tion.jda.core.requests.WebSocketClient;
+import net.dv8tion.jda.core.utils.cache.MemberCachePolicy;
 import org.json.JSONObject;
 
 public class MessageReactionHandler extends SocketHandler
@@ -40,13 +41,13 @@ public class MessageReactionHandler extends SocketHandler
     }
 
     @Override
-    protected String handleInternally(JSONObject content)
+    protected Long handleInternally(JSONObject content)
     {
         JSONObject emoji = content.getJSONObject("emoji");
 
-        String userId = content.getString("user_id");
+        final long userId = content.getLong("user_id");
         String messageId = content.getString("message_id");
-        String channelId = content.getString("channel_id");
+        final long channelId = content.getLong("channel_id");
 
         String emojiId = emoji.isNull("id") ? null : emoji.getString("id");
         String emojiName = emoji.isNull("name") ? null : emoji.getString("name");
@@ -60,6 +61,12 @@ public class MessageReactionHandler extends SocketHandler
         User user = api.getUserById(userId);
         if (user == null)
             user = api.getFakeUserMap().get(userId);
+        if (user == null && api.getMemberCachePolicy() != MemberCachePolicy.ALL)
+        {
+            //Not all members are cached and the payload does not contain the user, this user might never be loaded
+            WebSocketClient.LOG.debug("Ignoring a reaction " + (add ? "add" : "remove") + " of a user that is not cached. UserId: " + userId);
+            return null;
+        }
         if (user == null)
         {
             EventCache.get(api).cache(EventCache.Type.USER, userId, () ->
@@ -74,7 +81,7 @@ public class MessageReactionHandler extends SocketHandler
         if (channel == null)
             channel = api.getPrivateChannelById(channelId);
         if (channel == null && api.getAccountType() == AccountType.CLIENT)
-            channel = api.asClient().getGroupById(channelId);
+            channel = api.asClient().getGroupById(content.getString("channel_id"));
         if (channel == null)
             channel = api.getFakePrivateChannelMap().get(channelId);
         if (channel == null)
@@ -90,12 +97,13 @@ public class MessageReactionHandler extends SocketHandler
         MessageReaction.ReactionEmote rEmote;
         if (emojiId != null)
         {
-            Emote emote = api.getEmoteById(emojiId);
+            final long emoteId = Long.parseUnsignedLong(emojiId);
+            Emote emote = api.getEmoteById(emoteId);
             if (emote == null)
             {
                 if (emojiName != null)
                 {
-                    emote = new EmoteImpl(emojiId, api).setName(emojiName);
+                    emote = new EmoteImpl(emoteId, api).setName(emojiName);
                 }
                 else
                 {
@@ -43,7 +43,7 @@ public class MessageUpdateHandler extends SocketHandler
     }
 
     @Override
-    protected String handleInternally(JSONObject content)
+    protected Long handleInternally(JSONObject content)
     {
         if (content.has("author"))
         {
@@ -76,7 +76,7 @@ public class MessageUpdateHandler extends SocketHandler
             return handleMessageEmbed(content);
     }
 
-    private String handleDefaultMessage(JSONObject content)
+    private Long handleDefaultMessage(JSONObject content)
     {
         Message message;
         try
@@ -89,7 +89,7 @@ public class MessageUpdateHandler extends SocketHandler
             {
                 case EntityBuilder.MISSING_CHANNEL:
                 {
-                    EventCache.get(api).cache(EventCache.Type.CHANNEL, content.getString("channel_id"), () ->
+                    EventCache.get(api).cache(EventCache.Type.CHANNEL, content.getLong("channel_id"), () ->
                     {
                         handle(responseNumber, allContent);
                     });
@@ -98,7 +98,7 @@ public class MessageUpdateHandler extends SocketHandler
                 }
                 case EntityBuilder.MISSING_USER:
                 {
-                    EventCache.get(api).cache(EventCache.Type.USER, content.getJSONObject("author").getString("id"), () ->
+                    EventCache.get(api).cache(EventCache.Type.USER, content.getJSONObject("author").getLong("id"), () ->
                     {
                         handle(responseNumber, allContent);
                     });
@@ -115,9 +115,9 @@ public class MessageUpdateHandler extends SocketHandler
             case TEXT:
             {
                 TextChannel channel = message.getTextChannel();
-                if (GuildLock.get(api).isLocked(channel.getGuild().getId()))
+                if (GuildLock.get(api).isLocked(channel.getGuild().getIdLong()))
                 {
-                    return channel.getGuild().getId();
+                    return channel.getGuild().getIdLong();
                 }
                 api.getEventManager().handle(
                         new GuildMessageUpdateEvent(
@@ -154,11 +154,11 @@ public class MessageUpdateHandler extends SocketHandler
         return null;
     }
 
-    private String handleMessageEmbed(JSONObject content)
+    private Long handleMessageEmbed(JSONObject content)
     {
         EntityBuilder builder = EntityBuilder.get(api);
         String messageId = content.getString("id");
-        String channelId = content.getString("channel_id");
+        final long channelId = content.getLong("channel_id");
         LinkedList<MessageEmbed> embeds = new LinkedList<>();
         MessageChannel channel = api.getTextChannelMap().get(channelId);
         if (channel == null)
@@ -166,7 +166,7 @@ public class MessageUpdateHandler extends SocketHandler
         if (channel == null)
             channel = api.getFakePrivateChannelMap().get(channelId);
         if (channel == null && api.getAccountType() == AccountType.CLIENT)
-            channel = api.asClient().getGroupById(channelId);
+            channel = api.asClient().getGroupById(content.getString("channel_id"));
         if (channel == null)
         {
             EventCache.get(api).cache(EventCache.Type.CHANNEL, channelId, () ->
@@ -186,9 +186,9 @@ public class MessageUpdateHandler extends SocketHandler
         if (channel instanceof TextChannel)
         {
             TextChannel tChannel = (TextChannel) channel;
-            if (GuildLock.get(api).isLocked(tChannel.getGuild().getId()))
+            if (GuildLock.get(api).isLocked(tChannel.getGuild().getIdLong()))
             {
-                return tChannel.getGuild().getId();
+                return tChannel.getGuild().getIdLong();
             }
             api.getEventManager().handle(
                     new GuildMessageEmbedEvent(
@@ -16,6 +16,7 @@
 package net.dv8tion.jda.core.handle;
 
 import net.dv8tion.jda.core.OnlineStatus;
+import net.dv8tion.jda.core.entities.EntityBuilder;
 import net.dv8tion.jda.core.entities.Game;
 import net.dv8tion.jda.core.entities.impl.*;
 import net.dv8tion.jda.core.events.user.UserAvatarUpdateEvent;
@@ -23,6 +24,7 @@ import net.dv8tion.jda.core.events.user.UserGameUpdateEvent;
 import net.dv8tion.jda.core.events.user.UserNameUpdateEvent;
 import net.dv8tion.jda.core.events.user.UserOnlineStatusUpdateEvent;
 import net.dv8tion.jda.core.requests.GuildLock;
+import net.dv8tion.jda.core.utils.cache.MemberCachePolicy;
 import org.apache.commons.lang3.StringUtils;
 import org.json.JSONObject;
 
@@ -35,16 +37,16 @@ public class PresenceUpdateHandler extends SocketHandler
     }
 
     @Override
-    protected String handleInternally(JSONObject content)
+    protected Long handleInternally(JSONObject content)
     {
         //Do a pre-check to see if this is for a Guild, and if it is, if the guild is currently locked.
-        if (content.has("guild_id") && GuildLock.get(api).isLocked(content.getString("guild_id")))
+        if (content.has("guild_id") && GuildLock.get(api).isLocked(content.getLong("guild_id")))
         {
-            return content.getString("guild_id");
+            return content.getLong("guild_id");
         }
 
         JSONObject jsonUser = content.getJSONObject("user");
-        String userId = jsonUser.getString("id");
+        final long userId = jsonUser.getLong("id");
         UserImpl user = (UserImpl) api.getUserMap().get(userId);
 
         //If we do know about the user, lets update the user's specific info.
@@ -112,7 +114,7 @@ public class PresenceUpdateHandler extends SocketHandler
             // If we aren't we'll be dealing with the Relation system.
             if (content.has("guild_id"))
             {
-                GuildImpl guild = (GuildImpl) api.getGuildById(content.getString("guild_id"));
+                GuildImpl guild = (GuildImpl) api.getGuildById(content.getLong("guild_id"));
                 MemberImpl member = (MemberImpl) guild.getMember(user);
 
                 //If the Member is null, then User isn't in the Guild.
@@ -124,7 +126,9 @@ public class PresenceUpdateHandler extends SocketHandler
                 if (member == null)
                 {
                     //Cache the presence and return to finish up.
-                    if (status != OnlineStatus.OFFLINE)
+                    //If not all members are cached due to the MemberCachePolicy, this is most likely a member
+                    // that is not cached, so there is no reason to keep the presence around.
+                    if (status != OnlineStatus.OFFLINE && api.getMemberCachePolicy() == MemberCachePolicy.ALL)
                     {
                         guild.getCachedPresenceMap().put(userId, content);
                         return null;
@@ -151,6 +155,7 @@ public class PresenceUpdateHandler extends SocketHandler
                                         api, responseNumber,
                                         user, guild, oldGame));
                     }
+                    EntityBuilder.get(api).updateMemberCache(member);
                 }
             }
             else
@@ -177,7 +182,7 @@ public class PresenceUpdateHandler extends SocketHandler
             //If this was for a Guild, cache it in the Guild for later use in GUILD_MEMBER_ADD
             if (content.has("guild_id"))
             {
-                GuildImpl guild = (GuildImpl) api.getGuildById(content.getString("guild_id"));
+                GuildImpl guild = (GuildImpl) api.getGuildById(content.getLong("guild_id"));
                 guild.getCachedPresenceMap().put(userId, content);
             }
             else
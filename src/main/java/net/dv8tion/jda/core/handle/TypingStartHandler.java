@@ -40,16 +40,16 @@ public class TypingStartHandler extends SocketHandler
     }
 
     @Override
-    protected String handleInternally(JSONObject content)
+    protected Long handleInternally(JSONObject content)
     {
-        String channelId = content.getString("channel_id");
+        final long channelId = content.getLong("channel_id");
         MessageChannel channel = api.getTextChannelMap().get(channelId);
         if (channel == null)
             channel = api.getPrivateChannelMap().get(channelId);
         if (channel == null)
             channel = api.getFakePrivateChannelMap().get(channelId);
         if (channel == null && api.getAccountType() == AccountType.CLIENT)
-            channel = api.asClient().getGroupById(channelId);
+            channel = api.asClient().getGroupById(content.getString("channel_id"));
         if (channel == null)
             return null;    //We don't have the channel cached yet. We chose not to cache this event
                             // because that happen very often and could easily fill up the EventCache if
@@ -57,7 +57,7 @@ public class TypingStartHandler extends SocketHandler
 
         if (channel instanceof TextChannel)
         {
-            String guildId = ((TextChannel) channel).getGuild().getId();
+            final long guildId = ((TextChannel) channel).getGuild().getIdLong();
             if (GuildLock.get(api).isLocked(guildId))
             {
                 return guildId;
@@ -71,7 +71,7 @@ public class TypingStartHandler extends SocketHandler
         else if (channel instanceof Group)
             user = ((GroupImpl) channel).getUserMap().get(userId);
         else
-            user = api.getUserMap().get(userId);
+            user = api.getUserMap().get(content.getLong("user_id"));
 
         if (user == null)
             return null;    //Just like in the comment above, if for some reason we don't have the user for some reason
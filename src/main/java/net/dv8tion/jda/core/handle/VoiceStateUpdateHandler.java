@@ -26,7 +26,9 @@ import net.dv8tion.jda.client.events.call.voice.CallVoiceJoinEvent;
 import net.dv8tion.jda.client.events.call.voice.CallVoiceLeaveEvent;
 import net.dv8tion.jda.client.events.call.voice.CallVoiceSelfDeafenEvent;
 import net.dv8tion.jda.client.events.call.voice.CallVoiceSelfMuteEvent;
+import net.dv8tion.jda.core.entities.EntityBuilder;
 import net.dv8tion.jda.core.entities.Guild;
+import net.dv8tion.jda.core.entities.impl.GuildImpl;
 import net.dv8tion.jda.core.entities.impl.GuildVoiceStateImpl;
 import net.dv8tion.jda.core.entities.impl.JDAImpl;
 import net.dv8tion.jda.core.entities.impl.MemberImpl;
@@ -35,6 +37,7 @@ import net.dv8tion.jda.core.events.guild.voice.*;
 import net.dv8tion.jda.core.managers.impl.AudioManagerImpl;
 import net.dv8tion.jda.core.requests.GuildLock;
 import net.dv8tion.jda.core.requests.WebSocketClient;
+import net.dv8tion.jda.core.utils.cache.MemberCachePolicy;
 import org.json.JSONObject;
 
 import java.util.Objects;
@@ -47,9 +50,9 @@ public class VoiceStateUpdateHandler extends SocketHandler
     }
 
     @Override
-    protected String handleInternally(JSONObject content)
+    protected Long handleInternally(JSONObject content)
     {
-        String guildId = content.has("guild_id") ? content.getString("guild_id") : null;
+        final Long guildId = content.has("guild_id") ? content.getLong("guild_id") : null;
         if (guildId != null && GuildLock.get(api).isLocked(guildId))
         {
             return guildId;
@@ -68,9 +71,9 @@ public class VoiceStateUpdateHandler extends SocketHandler
 
     private void handleGuildVoiceState(JSONObject content)
     {
-        String userId = content.getString("user_id");
-        String guildId = content.getString("guild_id");
-        String channelId = !content.isNull("channel_id") ? content.getString("channel_id") : null;
+        final long userId = content.getLong("user_id");
+        final long guildId = content.getLong("guild_id");
+        final long channelId = !content.isNull("channel_id") ? content.getLong("channel_id") : 0L;
         String sessionId = !content.isNull("session_id") ? content.getString("session_id") : null;
         boolean selfMuted = content.getBoolean("self_mute");
         boolean selfDeafened = content.getBoolean("self_deaf");
@@ -81,7 +84,7 @@ public class VoiceStateUpdateHandler extends SocketHandler
         Guild guild = api.getGuildById(guildId);
         if (guild == null)
         {
-            EventCache.get(api).cache(EventCache.Type.GUILD, content.getString("guild_id"), () ->
+            EventCache.get(api).cache(EventCache.Type.GUILD, guildId, () ->
             {
                 handle(responseNumber, allContent);
             });
@@ -90,7 +93,7 @@ public class VoiceStateUpdateHandler extends SocketHandler
         }
 
         VoiceChannelImpl channel = (VoiceChannelImpl) guild.getVoiceChannelById(channelId);
-        if (channel == null && channelId != null)
+        if (channel == null && channelId != 0L)
         {
             EventCache.get(api).cache(EventCache.Type.CHANNEL, channelId, () ->
             {
@@ -101,6 +104,17 @@ public class VoiceStateUpdateHandler extends SocketHandler
         }
 
         MemberImpl member = (MemberImpl) guild.getMemberById(userId);
+        if (member == null && content.has("member"))
+        {
+            //Members might not be cached due to the MemberCachePolicy, load them from the provided member if possible
+            member = (MemberImpl) EntityBuilder.get(api).createMember((GuildImpl) guild, content.getJSONObject("member"));
+        }
+        if (member == null && api.getMemberCachePolicy() != MemberCachePolicy.ALL)
+        {
+            //Not all members are cached, so this is expected and we would wait forever for this member
+            WebSocketClient.LOG.debug("Ignoring VOICE_STATE_UPDATE for a Member that is not cached. UserId: " + userId);
+            return;
+        }
         if (member == null)
         {
             //Caching of this might not be valid. It is possible that we received this
@@ -197,6 +211,8 @@ public class VoiceStateUpdateHandler extends SocketHandler
             api.getEventManager().handle(new GuildVoiceMuteEvent(api, responseNumber, member));
         if (wasDeaf != vState.isDeafened())
             api.getEventManager().handle(new GuildVoiceDeafenEvent(api, responseNumber, member));
+
+        EntityBuilder.get(api).updateMemberCache(member);
     }
 
     private void handleCallVoiceState(JSONObject content)
@@ -212,13 +228,13 @@ public class VoiceStateUpdateHandler extends SocketHandler
         CallVoiceStateImpl vState;
         if (channelId != null)
         {
-            channel = api.asClient().getGroupById(channelId);
+            channel = api.asClient().getGroupById(content.getString("channel_id"));
             if (channel == null)
-                channel = api.getPrivateChannelMap().get(channelId);
+                channel = api.getPrivateChannelMap().get(content.getLong("channel_id"));
 
             if (channel == null)
             {
-                EventCache.get(api).cache(EventCache.Type.CHANNEL, channelId, () -> handle(responseNumber, allContent));
+                EventCache.get(api).cache(EventCache.Type.CHANNEL, content.getLong("channel_id"), () -> handle(responseNumber, allContent));
                 EventCache.LOG.debug("Received a VOICE_STATE_UPDATE for a Group/PrivateChannel that was not yet cached! JSON: " + content);
                 return;
             }
@@ -226,7 +242,7 @@ public class VoiceStateUpdateHandler extends SocketHandler
             CallImpl call = (CallImpl) channel.getCurrentCall();
             if (call == null)
             {
-                EventCache.get(api).cache(EventCache.Type.CALL, channelId, () -> handle(responseNumber, allContent));
+                EventCache.get(api).cache(EventCache.Type.CALL, content.getLong("channel_id"), () -> handle(responseNumber, allContent));
                 EventCache.LOG.debug("Received a VOICE_STATE_UPDATE for a Call that is not yet cached. JSON: " + content);
                 return;
             }
@@ -241,7 +257,7 @@ public class VoiceStateUpdateHandler extends SocketHandler
             cUser = call.getCallUserMap().get(userId);
             if (cUser == null)
             {
-                EventCache.get(api).cache(EventCache.Type.USER, userId, () -> handle(responseNumber, allContent));
+                EventCache.get(api).cache(EventCache.Type.USER, content.getLong("user_id"), () -> handle(responseNumber, allContent));
                 EventCache.LOG.debug("Received a VOICE_STATE_UPDATE for a user that is not yet a a cached CallUser for the call. (groups only). JSON: " + content);
                 return;
             }
@@ -261,7 +277,7 @@ public class VoiceStateUpdateHandler extends SocketHandler
             CallUser cUser = ((JDAClientImpl) api.asClient()).getCallUserMap().remove(userId);
             if (cUser == null)
             {
-                EventCache.get(api).cache(EventCache.Type.USER, userId, () -> handle(responseNumber, allContent));
+                EventCache.get(api).cache(EventCache.Type.USER, content.getLong("user_id"), () -> handle(responseNumber, allContent));
                 EventCache.LOG.debug("Received a VOICE_STATE_UPDATE for a User leaving a Call, but the Call was not yet cached! JSON: " + content);
                 return;
             }
@@ -18,10 +18,12 @@ package net.dv8tion.jda.core.hooks;
 import net.dv8tion.jda.core.entities.impl.JDAImpl;
 import net.dv8tion.jda.core.events.Event;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.*;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
  * Implementation for {@link net.dv8tion.jda.core.hooks.IEventManager IEventManager}
@@ -41,104 +43,229 @@ import java.util.*;
  *     }
  * </code></pre>
  *
+ * <p>Annotated methods are bound once when their listener is registered. Public methods of public classes
+ * are invoked through generated {@link java.util.function.Consumer Consumers} which perform as well as
+ * {@link net.dv8tion.jda.core.hooks.EventListener EventListener} implementations,
+ * all other methods are invoked through a {@link java.lang.invoke.MethodHandle MethodHandle}.
+ *
  * @see net.dv8tion.jda.core.hooks.InterfacedEventManager
  * @see net.dv8tion.jda.core.hooks.IEventManager
  * @see net.dv8tion.jda.core.hooks.SubscribeEvent
  */
 public class AnnotatedEventManager implements IEventManager
 {
-    private final Set<Object> listeners = new HashSet<>();
-    private final Map<Class<? extends Event>, Map<Object, List<Method>>> methods = new HashMap<>();
+    private static final Subscriber[] EMPTY = new Subscriber[0];
+
+    private final Map<Object, List<Subscriber>> listeners = new LinkedHashMap<>();
+    //Flattened subscribers of each concrete event class, ordered from the most specific to the most generic event type
+    private final Map<Class<?>, Subscriber[]> dispatchCache = new ConcurrentHashMap<>();
 
     @Override
     public void register(Object listener)
     {
-        if (listeners.add(listener))
+        synchronized (listeners)
         {
-            updateMethods();
+            if (listeners.containsKey(listener))
+                return;
+            List<Subscriber> subscribers = findSubscribers(listener);
+            listeners.put(listener, subscribers);
+            invalidate(subscribers);
         }
     }
 
     @Override
     public void unregister(Object listener)
     {
-        if (listeners.remove(listener))
+        synchronized (listeners)
         {
-            updateMethods();
+            List<Subscriber> subscribers = listeners.remove(listener);
+            if (subscribers != null)
+                invalidate(subscribers);
         }
     }
 
     @Override
     public List<Object> getRegisteredListeners()
     {
-        return Collections.unmodifiableList(new LinkedList<>(listeners));
+        synchronized (listeners)
+        {
+            return Collections.unmodifiableList(new LinkedList<>(listeners.keySet()));
+        }
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public void handle(Event event)
     {
-        Class<? extends Event> eventClass = event.getClass();
-        do
+        Class<?> eventClass = event.getClass();
+        Subscriber[] subscribers = dispatchCache.get(eventClass);
+        if (subscribers == null)
+            subscribers = resolve(eventClass);
+
+        for (Subscriber subscriber : subscribers)
         {
-            Map<Object, List<Method>> listeners = methods.get(eventClass);
-            if (listeners != null)
+            try
+            {
+                subscriber.invoker.accept(event);
+            }
+            catch (Throwable throwable)
             {
-                listeners.entrySet().forEach(e -> e.getValue().forEach(method ->
+                JDAImpl.LOG.fatal("One of the EventListeners had an uncaught exception");
+                JDAImpl.LOG.log(throwable);
+            }
+        }
+    }
+
+    private Subscriber[] resolve(Class<?> eventClass)
+    {
+        synchronized (listeners)
+        {
+            //Holding the lock guarantees that no registration invalidated the classes we are about to cache
+            Subscriber[] subscribers = dispatchCache.get(eventClass);
+            if (subscribers != null)
+                return subscribers;
+
+            List<Subscriber> flattened = new ArrayList<>();
+            Class<?> type = eventClass;
+            do
+            {
+                for (List<Subscriber> listenerSubscribers : listeners.values())
                 {
-                    try
-                    {
-                        method.setAccessible(true);
-                        method.invoke(e.getKey(), event);
-                    }
-                    catch (IllegalAccessException | InvocationTargetException e1)
-                    {
-                        JDAImpl.LOG.log(e1);
-                    }
-                    catch (Throwable throwable)
+                    for (Subscriber subscriber : listenerSubscribers)
                     {
-                        JDAImpl.LOG.fatal("One of the EventListeners had an uncaught exception");
-                        JDAImpl.LOG.log(throwable);
+                        if (subscriber.eventType == type)
+                            flattened.add(subscriber);
                     }
-                }));
+                }
+                type = type == Event.class ? null : type.getSuperclass();
             }
-            eventClass = eventClass == Event.class ? null : (Class<? extends Event>) eventClass.getSuperclass();
+            while (type != null);
+
+            subscribers = flattened.isEmpty() ? EMPTY : flattened.toArray(new Subscriber[flattened.size()]);
+            dispatchCache.put(eventClass, subscribers);
+            return subscribers;
         }
-        while (eventClass != null);
     }
 
-    private void updateMethods()
+    private void invalidate(List<Subscriber> subscribers)
     {
-        methods.clear();
-        for (Object listener : listeners)
+        //Only the event classes that can be handled by one of the changed subscribers have to be resolved again
+        for (Subscriber subscriber : subscribers)
+            dispatchCache.keySet().removeIf(subscriber.eventType::isAssignableFrom);
+    }
+
+    private static List<Subscriber> findSubscribers(Object listener)
+    {
+        boolean isClass = listener instanceof Class;
+        Class<?> c = isClass ? (Class) listener : listener.getClass();
+        List<Subscriber> subscribers = new ArrayList<>();
+        for (Method m : c.getDeclaredMethods())
         {
-            boolean isClass = listener instanceof Class;
-            Class<?> c = isClass ? (Class) listener : listener.getClass();
-            Method[] allMethods = c.getDeclaredMethods();
-            for (Method m : allMethods)
+            boolean isStatic = Modifier.isStatic(m.getModifiers());
+            if (!m.isAnnotationPresent(SubscribeEvent.class) || (isClass && !isStatic))
             {
-                if (!m.isAnnotationPresent(SubscribeEvent.class) || (isClass && !Modifier.isStatic(m.getModifiers())))
+                continue;
+            }
+            Class<?>[] pType  = m.getParameterTypes();
+            if (pType.length == 1 && Event.class.isAssignableFrom(pType[0]))
+            {
+                try
                 {
-                    continue;
+                    subscribers.add(new Subscriber(pType[0], createInvoker(m, isStatic ? null : listener)));
                 }
-                Class<?>[] pType  = m.getParameterTypes();
-                if (pType.length == 1 && Event.class.isAssignableFrom(pType[0]))
+                catch (Throwable t)
                 {
-                    @SuppressWarnings("unchecked")
-                    Class<? extends Event> eventClass = (Class<? extends Event>) pType[0];
-                    if (!methods.containsKey(eventClass))
-                    {
-                        methods.put(eventClass, new HashMap<>());
-                    }
+                    JDAImpl.LOG.fatal("Could not bind the method " + c.getName() + "#" + m.getName() + " of an annotated listener");
+                    JDAImpl.LOG.log(t);
+                }
+            }
+        }
+        return subscribers;
+    }
 
-                    if (!methods.get(eventClass).containsKey(listener))
-                    {
-                        methods.get(eventClass).put(listener, new ArrayList<>());
-                    }
+    @SuppressWarnings("unchecked")
+    private static Consumer<Event> createInvoker(Method method, Object target) throws Throwable
+    {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        boolean isStatic = target == null;
+        if (canGenerate(method))
+        {
+            //Spin a Consumer that calls the method directly, bound to the listener instance for member methods
+            MethodType invokedType = isStatic
+                    ? MethodType.methodType(Consumer.class)
+                    : MethodType.methodType(Consumer.class, method.getDeclaringClass());
+            CallSite site = LambdaMetafactory.metafactory(lookup, "accept", invokedType,
+                    MethodType.methodType(void.class, Object.class), lookup.unreflect(method),
+                    MethodType.methodType(void.class, method.getParameterTypes()[0]));
+            MethodHandle factory = site.getTarget();
+            return isStatic ? (Consumer<Event>) factory.invoke() : (Consumer<Event>) factory.invoke(target);
+        }
 
-                    methods.get(eventClass).get(listener).add(m);
-                }
+        method.setAccessible(true);
+        MethodHandle handle = lookup.unreflect(method);
+        if (!isStatic)
+            handle = handle.bindTo(target);
+        return new HandleInvoker(handle.asType(MethodType.methodType(void.class, Event.class)));
+    }
+
+    private static boolean canGenerate(Method method)
+    {
+        //The generated class is defined by our ClassLoader and only has the access rights of this class
+        if (!Modifier.isPublic(method.getModifiers()))
+            return false;
+        Class<?> declaring = method.getDeclaringClass();
+        for (Class<?> c = declaring; c != null; c = c.getDeclaringClass())
+        {
+            if (!Modifier.isPublic(c.getModifiers()))
+                return false;
+        }
+        try
+        {
+            ClassLoader loader = AnnotatedEventManager.class.getClassLoader();
+            return Class.forName(declaring.getName(), false, loader) == declaring
+                && Class.forName(method.getParameterTypes()[0].getName(), false, loader) == method.getParameterTypes()[0];
+        }
+        catch (ClassNotFoundException e)
+        {
+            return false;
+        }
+    }
+
+    private static final class Subscriber
+    {
+        private final Class<?> eventType;
+        private final Consumer<Event> invoker;
+
+        private Subscriber(Class<?> eventType, Consumer<Event> invoker)
+        {
+            this.eventType = eventType;
+            this.invoker = invoker;
+        }
+    }
+
+    private static final class HandleInvoker implements Consumer<Event>
+    {
+        private final MethodHandle handle;
+
+        private HandleInvoker(MethodHandle handle)
+        {
+            this.handle = handle;
+        }
+
+        @Override
+        public void accept(Event event)
+        {
+            try
+            {
+                handle.invokeExact(event);
+            }
+            catch (RuntimeException | Error e)
+            {
+                throw e;
+            }
+            catch (Throwable t)
+            {
+                throw new RuntimeException(t);
             }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,641 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.dv8tion.jda.core.hooks;
+
+import net.dv8tion.jda.core.entities.ISnowflake;
+import net.dv8tion.jda.core.entities.MessageChannel;
+import net.dv8tion.jda.core.entities.TextChannel;
+import net.dv8tion.jda.core.entities.impl.JDAImpl;
+import net.dv8tion.jda.core.events.Event;
+import net.dv8tion.jda.core.events.channel.priv.PrivateChannelCreateEvent;
+import net.dv8tion.jda.core.events.channel.priv.PrivateChannelDeleteEvent;
+import net.dv8tion.jda.core.events.channel.text.GenericTextChannelEvent;
+import net.dv8tion.jda.core.events.channel.voice.GenericVoiceChannelEvent;
+import net.dv8tion.jda.core.events.guild.GenericGuildEvent;
+import net.dv8tion.jda.core.events.message.*;
+import net.dv8tion.jda.core.events.message.guild.GenericGuildMessageEvent;
+import net.dv8tion.jda.core.events.message.priv.GenericPrivateMessageEvent;
+import net.dv8tion.jda.core.events.message.react.GenericMessageReactionEvent;
+import net.dv8tion.jda.core.events.message.react.MessageReactionRemoveAllEvent;
+import net.dv8tion.jda.core.events.role.GenericRoleEvent;
+import net.dv8tion.jda.core.events.user.GenericUserEvent;
+import net.dv8tion.jda.core.events.user.UserTypingEvent;
+import org.apache.http.util.Args;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+/**
+ * An {@link net.dv8tion.jda.core.hooks.IEventManager IEventManager} implementation that moves the
+ * handling of events off the WebSocket thread onto a pool of worker threads.
+ * <br>Listeners are registered to and invoked by a delegate manager, by default an
+ * {@link net.dv8tion.jda.core.hooks.InterfacedEventManager InterfacedEventManager}.
+ *
+ * <p>Every event is mapped to a key, by default the id of its {@link net.dv8tion.jda.core.entities.Guild Guild}
+ * or of its private channel (see {@link #getDefaultKey(Event)}). Events with the same key are handled
+ * one after another in the order in which they were fired, events with different keys may be handled in parallel.
+ * Keys are spread over a fixed amount of lanes, each with its own bounded queue.
+ * <br>When a queue is full the configured {@link net.dv8tion.jda.core.hooks.AsyncEventManager.OverflowPolicy OverflowPolicy}
+ * decides whether the WebSocket thread waits or events are dropped.
+ * Events fired by listeners never wait, as they could wait for their own worker. If they don't fit they are spilled into
+ * an unbounded queue of the lane, which is handled after the regular queue. Other threads wait until it is drained.
+ *
+ * <p><b>Listeners must be thread-safe when using this manager</b>, they may be called by multiple threads at once.
+ * There is no ordering guarantee between events of different keys, for example a
+ * {@link net.dv8tion.jda.core.events.ReadyEvent ReadyEvent} might be handled after the first events of a Guild.
+ *
+ * @see net.dv8tion.jda.core.hooks.InterfacedEventManager
+ * @see net.dv8tion.jda.core.hooks.IEventManager
+ */
+public class AsyncEventManager implements IEventManager
+{
+    public static final int DEFAULT_QUEUE_CAPACITY = 1000;
+    /** Amount of events a worker handles before it yields the thread to another lane */
+    public static final int BATCH_SIZE = 64;
+
+    protected final IEventManager delegate;
+    protected final ExecutorService pool;
+    protected final boolean ownsPool;
+    protected final Lane[] lanes;
+    protected final AtomicLong droppedEvents = new AtomicLong(0);
+    //Set while a worker of this manager handles events, used to never block a worker on a full queue
+    protected final ThreadLocal<Boolean> isWorker = new ThreadLocal<>();
+
+    protected volatile OverflowPolicy policy = OverflowPolicy.BLOCK;
+    protected volatile Set<Class<? extends Event>> droppableTypes = Collections.emptySet();
+    protected volatile ToLongFunction<Event> keyMapper = AsyncEventManager::getDefaultKey;
+
+    /**
+     * Creates a new AsyncEventManager that uses an {@link net.dv8tion.jda.core.hooks.InterfacedEventManager InterfacedEventManager}
+     * and one worker thread per available processor.
+     */
+    public AsyncEventManager()
+    {
+        this(new InterfacedEventManager(), Runtime.getRuntime().availableProcessors(), DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Creates a new AsyncEventManager with its own pool of daemon worker threads.
+     * <br>The pool is shut down by {@link #shutdown()}.
+     *
+     * @param  delegate
+     *         The {@link net.dv8tion.jda.core.hooks.IEventManager IEventManager} that manages and invokes the listeners
+     * @param  poolSize
+     *         The amount of worker threads
+     * @param  queueCapacity
+     *         The maximum amount of events each lane can hold before the {@link OverflowPolicy OverflowPolicy} applies
+     *
+     * @throws IllegalArgumentException
+     *         If the delegate is null or either of the provided numbers is less than 1
+     */
+    public AsyncEventManager(IEventManager delegate, int poolSize, int queueCapacity)
+    {
+        this(delegate, Executors.newFixedThreadPool(Args.positive(poolSize, "Pool size"), new EventThreadFactory()),
+            true, poolSize * 4, queueCapacity);
+    }
+
+    /**
+     * Creates a new AsyncEventManager that submits its work to the provided pool.
+     * <br>The pool is not shut down by this manager.
+     *
+     * @param  delegate
+     *         The {@link net.dv8tion.jda.core.hooks.IEventManager IEventManager} that manages and invokes the listeners
+     * @param  pool
+     *         The ExecutorService used to handle events
+     * @param  lanes
+     *         The amount of lanes the keys are spread over, this limits the parallelism of this manager
+     * @param  queueCapacity
+     *         The maximum amount of events each lane can hold before the {@link OverflowPolicy OverflowPolicy} applies
+     *
+     * @throws IllegalArgumentException
+     *         If the delegate or pool is null or either of the provided numbers is less than 1
+     */
+    public AsyncEventManager(IEventManager delegate, ExecutorService pool, int lanes, int queueCapacity)
+    {
+        this(delegate, pool, false, lanes, queueCapacity);
+    }
+
+    protected AsyncEventManager(IEventManager delegate, ExecutorService pool, boolean ownsPool, int lanes, int queueCapacity)
+    {
+        Args.notNull(delegate, "Delegate");
+        Args.notNull(pool, "Pool");
+        Args.positive(lanes, "Lanes");
+        Args.positive(queueCapacity, "Queue capacity");
+        if (delegate instanceof AsyncEventManager)
+            throw new IllegalArgumentException("Cannot delegate to another AsyncEventManager");
+        this.delegate = delegate;
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+        this.lanes = new Lane[lanes];
+        for (int i = 0; i < lanes; i++)
+            this.lanes[i] = new Lane(queueCapacity);
+    }
+
+    /**
+     * Sets the {@link OverflowPolicy OverflowPolicy} that applies when the queue of a lane is full.
+     *
+     * <p>Default: {@link OverflowPolicy#BLOCK BLOCK}
+     *
+     * @param  policy
+     *         The OverflowPolicy to use
+     *
+     * @throws IllegalArgumentException
+     *         If the provided policy is null
+     *
+     * @return Returns the {@link net.dv8tion.jda.core.hooks.AsyncEventManager AsyncEventManager} instance. Useful for chaining.
+     */
+    public AsyncEventManager setOverflowPolicy(OverflowPolicy policy)
+    {
+        Args.notNull(policy, "Policy");
+        this.policy = policy;
+        return this;
+    }
+
+    /**
+     * Sets the event types that may be dropped by the {@link OverflowPolicy#DROP_TYPE DROP_TYPE} policy.
+     * <br>Subclasses of the provided types are droppable as well, for example
+     * {@code GenericUserEvent.class} allows dropping typing and presence updates.
+     *
+     * @param  types
+     *         The droppable event types
+     *
+     * @throws IllegalArgumentException
+     *         If one of the provided types is null
+     *
+     * @return Returns the {@link net.dv8tion.jda.core.hooks.AsyncEventManager AsyncEventManager} instance. Useful for chaining.
+     */
+    @SafeVarargs
+    public final AsyncEventManager setDroppableTypes(Class<? extends Event>... types)
+    {
+        Args.notNull(types, "Types");
+        Set<Class<? extends Event>> set = new HashSet<>();
+        for (Class<? extends Event> type : types)
+        {
+            Args.notNull(type, "Type");
+            set.add(type);
+        }
+        this.droppableTypes = Collections.unmodifiableSet(set);
+        return this;
+    }
+
+    /**
+     * Sets the function that maps an event to its ordering key.
+     * <br>Events with the same key are always handled in the order in which they were fired.
+     *
+     * <p>Default: {@link #getDefaultKey(Event)}
+     *
+     * @param  keyMapper
+     *         The key function
+     *
+     * @throws IllegalArgumentException
+     *         If the provided function is null
+     *
+     * @return Returns the {@link net.dv8tion.jda.core.hooks.AsyncEventManager AsyncEventManager} instance. Useful for chaining.
+     */
+    public AsyncEventManager setKeyMapper(ToLongFunction<Event> keyMapper)
+    {
+        Args.notNull(keyMapper, "Key mapper");
+        this.keyMapper = keyMapper;
+        return this;
+    }
+
+    /**
+     * The amount of events that were dropped because of a full queue.
+     *
+     * @return The amount of dropped events
+     */
+    public long getDroppedEventCount()
+    {
+        return droppedEvents.get();
+    }
+
+    /**
+     * The amount of events that are currently waiting to be handled.
+     *
+     * @return The amount of queued events
+     */
+    public int getQueuedEventCount()
+    {
+        int count = 0;
+        for (Lane lane : lanes)
+            count += lane.queue.size() + lane.overflow.size();
+        return count;
+    }
+
+    /**
+     * Stops the worker pool if it was created by this manager.
+     * <br>Events that are still queued are handled before the workers stop.
+     */
+    public void shutdown()
+    {
+        if (ownsPool)
+            pool.shutdown();
+    }
+
+    @Override
+    public void register(Object listener)
+    {
+        delegate.register(listener);
+    }
+
+    @Override
+    public void unregister(Object listener)
+    {
+        delegate.unregister(listener);
+    }
+
+    @Override
+    public List<Object> getRegisteredListeners()
+    {
+        return delegate.getRegisteredListeners();
+    }
+
+    @Override
+    public void handle(Event event)
+    {
+        long key;
+        try
+        {
+            key = keyMapper.applyAsLong(event);
+        }
+        catch (Throwable t)
+        {
+            JDAImpl.LOG.fatal("The key mapper of the AsyncEventManager had an uncaught exception");
+            JDAImpl.LOG.log(t);
+            key = 0;
+        }
+        getLane(key).enqueue(event);
+    }
+
+    /**
+     * The default ordering key of an event.
+     * <ul>
+     *     <li>The id of the {@link net.dv8tion.jda.core.entities.Guild Guild} for all Guild, Role, Channel and Guild Message events</li>
+     *     <li>The id of the channel for private and group messages</li>
+     *     <li>The id of the {@link net.dv8tion.jda.core.entities.User User} for User and PrivateChannel events</li>
+     *     <li>{@code 0} for all other events, such as {@link net.dv8tion.jda.core.events.ReadyEvent ReadyEvent}</li>
+     * </ul>
+     * This means that all events of a Guild, including the events of its channels, are handled in order.
+     *
+     * @param  event
+     *         The event
+     *
+     * @return The ordering key
+     */
+    public static long getDefaultKey(Event event)
+    {
+        if (event instanceof GenericGuildEvent)
+            return ((GenericGuildEvent) event).getGuild().getIdLong();
+        if (event instanceof GenericGuildMessageEvent)
+            return ((GenericGuildMessageEvent) event).getGuild().getIdLong();
+        if (event instanceof GenericPrivateMessageEvent)
+            return ((GenericPrivateMessageEvent) event).getChannel().getIdLong();
+        if (event instanceof GenericTextChannelEvent)
+            return ((GenericTextChannelEvent) event).getGuild().getIdLong();
+        if (event instanceof GenericVoiceChannelEvent)
+            return ((GenericVoiceChannelEvent) event).getGuild().getIdLong();
+        if (event instanceof GenericRoleEvent)
+            return ((GenericRoleEvent) event).getGuild().getIdLong();
+        if (event instanceof MessageReceivedEvent)
+            return getKey(((MessageReceivedEvent) event).getChannel());
+        if (event instanceof MessageUpdateEvent)
+            return getKey(((MessageUpdateEvent) event).getChannel());
+        if (event instanceof MessageDeleteEvent)
+            return getKey(((MessageDeleteEvent) event).getChannel());
+        if (event instanceof MessageEmbedEvent)
+            return getKey(((MessageEmbedEvent) event).getChannel());
+        if (event instanceof MessageBulkDeleteEvent)
+            return getKey(((MessageBulkDeleteEvent) event).getChannel());
+        if (event instanceof GenericMessageReactionEvent)
+            return getKey(((GenericMessageReactionEvent) event).getChannel());
+        if (event instanceof MessageReactionRemoveAllEvent)
+            return getKey(((MessageReactionRemoveAllEvent) event).getChannel());
+        if (event instanceof UserTypingEvent)
+            return getKey(((UserTypingEvent) event).getChannel());
+        if (event instanceof GenericUserEvent)
+            return ((GenericUserEvent) event).getUser().getIdLong();
+        if (event instanceof PrivateChannelCreateEvent)
+            return ((PrivateChannelCreateEvent) event).getUser().getIdLong();
+        if (event instanceof PrivateChannelDeleteEvent)
+            return ((PrivateChannelDeleteEvent) event).getUser().getIdLong();
+        return 0;
+    }
+
+    private static long getKey(MessageChannel channel)
+    {
+        if (channel instanceof TextChannel)
+            return ((TextChannel) channel).getGuild().getIdLong();
+        return ((ISnowflake) channel).getIdLong();
+    }
+
+    protected Lane getLane(long key)
+    {
+        //Snowflakes share most of their bits, mix them before picking a lane
+        long hash = key * 0x9E3779B97F4A7C15L;
+        int index = (int) ((hash ^ (hash >>> 32)) & Integer.MAX_VALUE) % lanes.length;
+        return lanes[index];
+    }
+
+    protected boolean isDroppable(Event event)
+    {
+        for (Class<? extends Event> type : droppableTypes)
+        {
+            if (type.isInstance(event))
+                return true;
+        }
+        return false;
+    }
+
+    protected void drop(Event event)
+    {
+        droppedEvents.incrementAndGet();
+        JDAImpl.LOG.debug("AsyncEventManager queue is full, dropped " + event.getClass().getSimpleName());
+    }
+
+    protected void dispatch(Event event)
+    {
+        try
+        {
+            delegate.handle(event);
+        }
+        catch (Throwable t)
+        {
+            JDAImpl.LOG.fatal("The delegate of the AsyncEventManager had an uncaught exception");
+            JDAImpl.LOG.log(t);
+        }
+    }
+
+    /**
+     * Decides what happens to events that are fired while the queue of their lane is full.
+     */
+    public enum OverflowPolicy
+    {
+        /**
+         * The firing thread (usually the WebSocket thread) waits until the queue has space.
+         * <br>No events are lost, but a slow listener delays the processing of all further events.
+         */
+        BLOCK,
+        /**
+         * The oldest queued event of the lane is dropped to make room for the new one.
+         */
+        DROP_OLDEST,
+        /**
+         * Events of one of the {@link #setDroppableTypes(Class[]) droppable types} are dropped,
+         * a new droppable event is dropped directly and otherwise the oldest queued droppable event is removed.
+         * <br>If the queue only contains events that must not be dropped this behaves like {@link #BLOCK}.
+         */
+        DROP_TYPE
+    }
+
+    protected class Lane implements Runnable
+    {
+        protected final BlockingQueue<Event> queue;
+        //Events of workers that did not fit into the queue, handled after the queue to keep the order
+        protected final Queue<Event> overflow = new ConcurrentLinkedQueue<>();
+        protected final AtomicBoolean scheduled = new AtomicBoolean(false);
+        //Amount of threads waiting for space in this lane, only modified while holding the lock of the lane
+        protected volatile int waiters = 0;
+
+        protected Lane(int capacity)
+        {
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        protected void enqueue(Event event)
+        {
+            if (offer(event))
+                schedule();
+        }
+
+        protected boolean offer(Event event)
+        {
+            final boolean worker = isWorker.get() != null;
+            //The overflow check and the enqueue have to be atomic, otherwise an event could be queued ahead of spilled events
+            synchronized (this)
+            {
+                //While events are spilled nothing may be added to the queue, it would be handled before them
+                if (!overflow.isEmpty())
+                {
+                    if (worker)
+                    {
+                        overflow.add(event);
+                        return true;
+                    }
+                    if (!awaitOverflow())
+                    {
+                        drop(event);
+                        return false;
+                    }
+                }
+                if (queue.offer(event))
+                    return true;
+                switch (policy)
+                {
+                    case DROP_OLDEST:
+                        do
+                        {
+                            Event dropped = queue.poll();
+                            if (dropped != null)
+                                drop(dropped);
+                        }
+                        while (!queue.offer(event));
+                        return true;
+                    case DROP_TYPE:
+                        do
+                        {
+                            if (isDroppable(event))
+                            {
+                                drop(event);
+                                return false;
+                            }
+                            if (!removeDroppable())
+                                return put(event, worker);
+                        }
+                        while (!queue.offer(event));
+                        return true;
+                    case BLOCK:
+                    default:
+                        return put(event, worker);
+                }
+            }
+        }
+
+        //Must hold the lock of the lane
+        protected boolean put(Event event, boolean worker)
+        {
+            if (worker)
+            {
+                //A worker waiting for a full queue could wait for itself, spill the event instead
+                overflow.add(event);
+                return true;
+            }
+            waiters++;
+            try
+            {
+                //Waiting releases the lock, a worker may spill events in the meantime which then have to be handled first
+                while (!overflow.isEmpty() || !queue.offer(event))
+                    wait();
+                return true;
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                drop(event);
+                return false;
+            }
+            finally
+            {
+                waiters--;
+            }
+        }
+
+        //Must hold the lock of the lane
+        protected boolean awaitOverflow()
+        {
+            waiters++;
+            try
+            {
+                while (!overflow.isEmpty())
+                    wait();
+                return true;
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            finally
+            {
+                waiters--;
+            }
+        }
+
+        protected Event poll()
+        {
+            Event event = queue.poll();
+            if (event == null)
+                event = overflow.poll();
+            //Waiting threads check the queue and overflow again after increasing the count, no wakeup is missed
+            if (event != null && waiters > 0)
+            {
+                synchronized (this)
+                {
+                    notifyAll();
+                }
+            }
+            return event;
+        }
+
+        protected boolean removeDroppable()
+        {
+            for (Iterator<Event> it = queue.iterator(); it.hasNext();)
+            {
+                Event queued = it.next();
+                if (isDroppable(queued))
+                {
+                    it.remove();
+                    drop(queued);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        protected void schedule()
+        {
+            if (!scheduled.compareAndSet(false, true))
+                return;
+            try
+            {
+                pool.execute(this);
+            }
+            catch (RejectedExecutionException e)
+            {
+                scheduled.set(false);
+                JDAImpl.LOG.warn("AsyncEventManager pool rejected the handling of events, was it shut down?");
+            }
+        }
+
+        @Override
+        public void run()
+        {
+            isWorker.set(Boolean.TRUE);
+            try
+            {
+                for (int i = 0; i < BATCH_SIZE; i++)
+                {
+                    Event event = poll();
+                    if (event == null)
+                        break;
+                    dispatch(event);
+                }
+            }
+            finally
+            {
+                isWorker.remove();
+                scheduled.set(false);
+                //Events might have been added after our last poll, those would not have been scheduled
+                if (!queue.isEmpty() || !overflow.isEmpty())
+                    reschedule();
+            }
+        }
+
+        protected void reschedule()
+        {
+            if (!scheduled.compareAndSet(false, true))
+                return;
+            try
+            {
+                pool.execute(this);
+            }
+            catch (RejectedExecutionException e)
+            {
+                //The pool was shut down (or is saturated) while events were still queued, handle them before this worker stops
+                isWorker.set(Boolean.TRUE);
+                try
+                {
+                    Event event;
+                    while ((event = poll()) != null)
+                        dispatch(event);
+                }
+                finally
+                {
+                    isWorker.remove();
+                    scheduled.set(false);
+                }
+            }
+        }
+    }
+
+    private static class EventThreadFactory implements ThreadFactory
+    {
+        private static final AtomicInteger poolCount = new AtomicInteger(1);
+        private final String identifier = "AsyncEventManager " + poolCount.getAndIncrement();
+        private final AtomicInteger threadCount = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable r)
+        {
+            Thread t = new Thread(r, identifier + " - Thread " + threadCount.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        }
+    }
+}
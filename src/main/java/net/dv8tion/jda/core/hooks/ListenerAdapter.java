@@ -59,6 +59,10 @@ import net.dv8tion.jda.core.events.role.update.*;
 import net.dv8tion.jda.core.events.self.*;
 import net.dv8tion.jda.core.events.user.*;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
 /**
  * An abstract implementation of {@link net.dv8tion.jda.core.hooks.EventListener EventListener} which divides {@link net.dv8tion.jda.core.events.Event Events}
  * for the you.
@@ -286,342 +290,290 @@ public abstract class ListenerAdapter implements EventListener
     public final void onEvent(Event event)
     {
         onGenericEvent(event);
-        //JDA Events
-        if (event instanceof ReadyEvent)
-            onReady((ReadyEvent) event);
-        else if (event instanceof ResumedEvent)
-            onResume((ResumedEvent) event);
-        else if (event instanceof ReconnectedEvent)
-            onReconnect((ReconnectedEvent) event);
-        else if (event instanceof DisconnectEvent)
-            onDisconnect((DisconnectEvent) event);
-        else if (event instanceof ShutdownEvent)
-            onShutdown((ShutdownEvent) event);
-        else if (event instanceof StatusChangeEvent)
-            onStatusChange((StatusChangeEvent) event);
-
-        //Message Events
-        //Guild (TextChannel) Message Events
-        else if (event instanceof GuildMessageReceivedEvent)
-            onGuildMessageReceived((GuildMessageReceivedEvent) event);
-        else if (event instanceof GuildMessageUpdateEvent)
-            onGuildMessageUpdate((GuildMessageUpdateEvent) event);
-        else if (event instanceof GuildMessageDeleteEvent)
-            onGuildMessageDelete((GuildMessageDeleteEvent) event);
-        else if (event instanceof GuildMessageEmbedEvent)
-            onGuildMessageEmbed((GuildMessageEmbedEvent) event);
-
-        //Private Message Events
-        else if (event instanceof PrivateMessageReceivedEvent)
-            onPrivateMessageReceived((PrivateMessageReceivedEvent) event);
-        else if (event instanceof PrivateMessageUpdateEvent)
-            onPrivateMessageUpdate((PrivateMessageUpdateEvent) event);
-        else if (event instanceof PrivateMessageDeleteEvent)
-            onPrivateMessageDelete((PrivateMessageDeleteEvent) event);
-        else if (event instanceof PrivateMessageEmbedEvent)
-            onPrivateMessageEmbed((PrivateMessageEmbedEvent) event);
-
-        //Combined Message Events (Combines Guild and Private message into 1 event)
-        else if (event instanceof MessageReceivedEvent)
-            onMessageReceived((MessageReceivedEvent) event);
-        else if (event instanceof MessageUpdateEvent)
-            onMessageUpdate((MessageUpdateEvent) event);
-        else if (event instanceof MessageDeleteEvent)
-            onMessageDelete((MessageDeleteEvent) event);
-        else if (event instanceof MessageBulkDeleteEvent)
-            onMessageBulkDelete((MessageBulkDeleteEvent) event);
-        else if (event instanceof MessageEmbedEvent)
-            onMessageEmbed((MessageEmbedEvent) event);
-        else if (event instanceof MessageReactionAddEvent)
-            onMessageReactionAdd((MessageReactionAddEvent) event);
-        else if (event instanceof MessageReactionRemoveEvent)
-            onMessageReactionRemove((MessageReactionRemoveEvent) event);
-        else if (event instanceof MessageReactionRemoveAllEvent)
-            onMessageReactionRemoveAll((MessageReactionRemoveAllEvent) event);
-//        //Invite Messages
-//        else if (event instanceof InviteReceivedEvent)
-//            onInviteReceived(((InviteReceivedEvent) event));
-
-        //User Events
-        else if (event instanceof UserNameUpdateEvent)
-            onUserNameUpdate((UserNameUpdateEvent) event);
-        else if (event instanceof UserAvatarUpdateEvent)
-            onUserAvatarUpdate((UserAvatarUpdateEvent) event);
-        else if (event instanceof UserGameUpdateEvent)
-            onUserGameUpdate((UserGameUpdateEvent) event);
-        else if (event instanceof UserOnlineStatusUpdateEvent)
-            onUserOnlineStatusUpdate((UserOnlineStatusUpdateEvent) event);
-        else if (event instanceof UserTypingEvent)
-            onUserTyping((UserTypingEvent) event);
-
-        //Self Events
-        else if (event instanceof SelfUpdateAvatarEvent)
-            onSelfUpdateAvatar((SelfUpdateAvatarEvent) event);
-        else if (event instanceof SelfUpdateEmailEvent)
-            onSelfUpdateEmail((SelfUpdateEmailEvent) event);
-        else if (event instanceof SelfUpdateMFAEvent)
-            onSelfUpdateMFA((SelfUpdateMFAEvent) event);
-        else if (event instanceof SelfUpdateNameEvent)
-            onSelfUpdateName((SelfUpdateNameEvent) event);
-        else if (event instanceof SelfUpdateVerifiedEvent)
-            onSelfUpdateVerified((SelfUpdateVerifiedEvent) event);
-
-        //TextChannel Events
-        else if (event instanceof TextChannelCreateEvent)
-            onTextChannelCreate((TextChannelCreateEvent) event);
-        else if (event instanceof TextChannelUpdateNameEvent)
-            onTextChannelUpdateName((TextChannelUpdateNameEvent) event);
-        else if (event instanceof TextChannelUpdateTopicEvent)
-            onTextChannelUpdateTopic((TextChannelUpdateTopicEvent) event);
-        else if (event instanceof TextChannelUpdatePositionEvent)
-            onTextChannelUpdatePosition((TextChannelUpdatePositionEvent) event);
-        else if (event instanceof TextChannelDeleteEvent)
-            onTextChannelDelete((TextChannelDeleteEvent) event);
-        else if (event instanceof TextChannelUpdatePermissionsEvent)
-            onTextChannelUpdatePermissions((TextChannelUpdatePermissionsEvent) event);
-
-        //VoiceChannel Events
-        else if (event instanceof VoiceChannelCreateEvent)
-            onVoiceChannelCreate((VoiceChannelCreateEvent) event);
-        else if (event instanceof VoiceChannelUpdateNameEvent)
-            onVoiceChannelUpdateName((VoiceChannelUpdateNameEvent) event);
-        else if (event instanceof VoiceChannelUpdatePositionEvent)
-            onVoiceChannelUpdatePosition((VoiceChannelUpdatePositionEvent) event);
-        else if (event instanceof VoiceChannelUpdateUserLimitEvent)
-            onVoiceChannelUpdateUserLimit((VoiceChannelUpdateUserLimitEvent) event);
-        else if (event instanceof VoiceChannelUpdateBitrateEvent)
-            onVoiceChannelUpdateBitrate((VoiceChannelUpdateBitrateEvent) event);
-        else if (event instanceof VoiceChannelUpdatePermissionsEvent)
-            onVoiceChannelUpdatePermissions((VoiceChannelUpdatePermissionsEvent) event);
-        else if (event instanceof VoiceChannelDeleteEvent)
-            onVoiceChannelDelete((VoiceChannelDeleteEvent) event);
-
-        //PrivateChannel Events
-        else if (event instanceof PrivateChannelCreateEvent)
-            onPrivateChannelCreate((PrivateChannelCreateEvent) event);
-        else if (event instanceof PrivateChannelDeleteEvent)
-            onPrivateChannelDelete((PrivateChannelDeleteEvent) event);
-
-        //Guild Events
-        else if (event instanceof GuildJoinEvent)
-            onGuildJoin((GuildJoinEvent) event);
-        else if (event instanceof GuildLeaveEvent)
-            onGuildLeave((GuildLeaveEvent) event);
-        else if (event instanceof GuildAvailableEvent)
-            onGuildAvailable((GuildAvailableEvent) event);
-        else if (event instanceof GuildUnavailableEvent)
-            onGuildUnavailable((GuildUnavailableEvent) event);
-        else if (event instanceof UnavailableGuildJoinedEvent)
-            onUnavailableGuildJoined((UnavailableGuildJoinedEvent) event);
-        else if (event instanceof GuildBanEvent)
-            onGuildBan((GuildBanEvent) event);
-        else if (event instanceof GuildUnbanEvent)
-            onGuildUnban((GuildUnbanEvent) event);
-
-        //Guild Update Events
-        else if (event instanceof GuildUpdateAfkChannelEvent)
-            onGuildUpdateAfkChannel((GuildUpdateAfkChannelEvent) event);
-        else if (event instanceof GuildUpdateAfkTimeoutEvent)
-            onGuildUpdateAfkTimeout((GuildUpdateAfkTimeoutEvent) event);
-        else if (event instanceof GuildUpdateIconEvent)
-            onGuildUpdateIcon((GuildUpdateIconEvent) event);
-        else if (event instanceof GuildUpdateMFALevelEvent)
-            onGuildUpdateMFALevel((GuildUpdateMFALevelEvent) event);
-        else if (event instanceof GuildUpdateNameEvent)
-            onGuildUpdateName((GuildUpdateNameEvent) event);
-        else if (event instanceof GuildUpdateNotificationLevelEvent)
-            onGuildUpdateNotificationLevel((GuildUpdateNotificationLevelEvent) event);
-        else if (event instanceof GuildUpdateOwnerEvent)
-            onGuildUpdateOwner((GuildUpdateOwnerEvent) event);
-        else if (event instanceof GuildUpdateRegionEvent)
-            onGuildUpdateRegion((GuildUpdateRegionEvent) event);
-        else if (event instanceof GuildUpdateSplashEvent)
-            onGuildUpdateSplash((GuildUpdateSplashEvent) event);
-        else if (event instanceof GuildUpdateVerificationLevelEvent)
-            onGuildUpdateVerificationLevel((GuildUpdateVerificationLevelEvent) event);
-
-        //Guild Member Events
-        else if (event instanceof GuildMemberJoinEvent)
-            onGuildMemberJoin((GuildMemberJoinEvent) event);
-        else if (event instanceof GuildMemberLeaveEvent)
-            onGuildMemberLeave((GuildMemberLeaveEvent) event);
-        else if (event instanceof GuildMemberRoleAddEvent)
-            onGuildMemberRoleAdd((GuildMemberRoleAddEvent) event);
-        else if (event instanceof GuildMemberRoleRemoveEvent)
-            onGuildMemberRoleRemove((GuildMemberRoleRemoveEvent) event);
-        else if (event instanceof GuildMemberNickChangeEvent)
-            onGuildMemberNickChange((GuildMemberNickChangeEvent) event);
-
-        //Guild Voice Events
-        else if (event instanceof GuildVoiceJoinEvent)
-            onGuildVoiceJoin((GuildVoiceJoinEvent) event);
-        else if (event instanceof GuildVoiceMoveEvent)
-            onGuildVoiceMove((GuildVoiceMoveEvent) event);
-        else if (event instanceof GuildVoiceLeaveEvent)
-            onGuildVoiceLeave((GuildVoiceLeaveEvent) event);
-        else if (event instanceof GuildVoiceMuteEvent)
-            onGuildVoiceMute((GuildVoiceMuteEvent) event);
-        else if (event instanceof GuildVoiceDeafenEvent)
-            onGuildVoiceDeafen((GuildVoiceDeafenEvent) event);
-        else if (event instanceof GuildVoiceGuildMuteEvent)
-            onGuildVoiceGuildMute((GuildVoiceGuildMuteEvent) event);
-        else if (event instanceof GuildVoiceGuildDeafenEvent)
-            onGuildVoiceGuildDeafen((GuildVoiceGuildDeafenEvent) event);
-        else if (event instanceof GuildVoiceSelfMuteEvent)
-            onGuildVoiceSelfMute((GuildVoiceSelfMuteEvent) event);
-        else if (event instanceof GuildVoiceSelfDeafenEvent)
-            onGuildVoiceSelfDeafen((GuildVoiceSelfDeafenEvent) event);
-        else if (event instanceof GuildVoiceSuppressEvent)
-            onGuildVoiceSuppress((GuildVoiceSuppressEvent) event);
-
-        //Role Events
-        else if (event instanceof RoleCreateEvent)
-            onRoleCreate((RoleCreateEvent) event);
-        else if (event instanceof RoleDeleteEvent)
-            onRoleDelete((RoleDeleteEvent) event);
-
-        //Role Update Events
-        else if (event instanceof RoleUpdateColorEvent)
-            onRoleUpdateColor(((RoleUpdateColorEvent) event));
-        else if (event instanceof RoleUpdateHoistedEvent)
-            onRoleUpdateHoisted(((RoleUpdateHoistedEvent) event));
-        else if (event instanceof RoleUpdateMentionableEvent)
-            onRoleUpdateMentionable((RoleUpdateMentionableEvent) event);
-        else if (event instanceof RoleUpdateNameEvent)
-            onRoleUpdateName(((RoleUpdateNameEvent) event));
-        else if (event instanceof RoleUpdatePermissionsEvent)
-            onRoleUpdatePermissions(((RoleUpdatePermissionsEvent) event));
-        else if (event instanceof RoleUpdatePositionEvent)
-            onRoleUpdatePosition(((RoleUpdatePositionEvent) event));
-
-        //Generic Events
-        //Start a new if statement so that these are no overridden by the above events.
-        if (event instanceof GenericGuildMessageEvent)
-            onGenericGuildMessage((GenericGuildMessageEvent) event);
-        else if (event instanceof GenericMessageReactionEvent)
-            onGenericMessageReaction((GenericMessageReactionEvent) event);
-        else if (event instanceof GenericPrivateMessageEvent)
-            onGenericPrivateMessage((GenericPrivateMessageEvent) event);
-        else if (event instanceof GenericTextChannelUpdateEvent)
-            onGenericTextChannelUpdate((GenericTextChannelUpdateEvent) event);
-        else if (event instanceof GenericVoiceChannelUpdateEvent)
-            onGenericVoiceChannelUpdate((GenericVoiceChannelUpdateEvent) event);
-        else if (event instanceof GenericGuildUpdateEvent)
-            onGenericGuildUpdate((GenericGuildUpdateEvent) event);
-        else if (event instanceof GenericGuildMemberEvent)
-            onGenericGuildMember((GenericGuildMemberEvent) event);
-        else if (event instanceof GenericGuildVoiceEvent)
-            onGenericGuildVoice((GenericGuildVoiceEvent) event);
-        else if (event instanceof GenericRoleUpdateEvent)
-            onGenericRoleUpdate(((GenericRoleUpdateEvent) event));
-
-        //Generic events that have generic subclasses (the subclasses as above).
-        if (event instanceof GenericMessageEvent)
-            onGenericMessage((GenericMessageEvent) event);
-        else if (event instanceof GenericUserEvent)
-            onGenericUser((GenericUserEvent) event);
-        else if (event instanceof GenericSelfUpdateEvent)
-            onGenericSelfUpdate((GenericSelfUpdateEvent) event);
-        else if (event instanceof GenericTextChannelEvent)
-            onGenericTextChannel((GenericTextChannelEvent) event);
-        else if (event instanceof GenericVoiceChannelEvent)
-            onGenericVoiceChannel((GenericVoiceChannelEvent) event);
-        else if (event instanceof GenericGuildEvent)
-            onGenericGuild((GenericGuildEvent) event);
-        else if (event instanceof GenericRoleEvent)
-            onGenericRole((GenericRoleEvent) event);
-
-        if (event.getJDA().getAccountType() == AccountType.CLIENT)
+
+        Dispatcher dispatcher = DISPATCHERS.get(event.getClass());
+        for (Handler<?> handler : dispatcher.handlers)
+            handler.accept(this, event);
+
+        if (dispatcher.clientHandlers.length > 0 && event.getJDA().getAccountType() == AccountType.CLIENT)
+        {
+            for (Handler<?> handler : dispatcher.clientHandlers)
+                handler.accept(this, event);
+        }
+    }
+
+    // ==========================================================================================
+    // |                                     Dispatch Table                                     |
+    // ==========================================================================================
+
+    //Each group behaves like an if-else chain: only the first handler that accepts the event is invoked.
+    //The groups are evaluated once per event class and the matching handlers are cached by DISPATCHERS.
+    private static final Handler<?>[][] GROUPS =
+    {
+        {
+            //JDA Events
+            handler(ReadyEvent.class, ListenerAdapter::onReady),
+            handler(ResumedEvent.class, ListenerAdapter::onResume),
+            handler(ReconnectedEvent.class, ListenerAdapter::onReconnect),
+            handler(DisconnectEvent.class, ListenerAdapter::onDisconnect),
+            handler(ShutdownEvent.class, ListenerAdapter::onShutdown),
+            handler(StatusChangeEvent.class, ListenerAdapter::onStatusChange),
+
+            //Message Events
+            //Guild (TextChannel) Message Events
+            handler(GuildMessageReceivedEvent.class, ListenerAdapter::onGuildMessageReceived),
+            handler(GuildMessageUpdateEvent.class, ListenerAdapter::onGuildMessageUpdate),
+            handler(GuildMessageDeleteEvent.class, ListenerAdapter::onGuildMessageDelete),
+            handler(GuildMessageEmbedEvent.class, ListenerAdapter::onGuildMessageEmbed),
+
+            //Private Message Events
+            handler(PrivateMessageReceivedEvent.class, ListenerAdapter::onPrivateMessageReceived),
+            handler(PrivateMessageUpdateEvent.class, ListenerAdapter::onPrivateMessageUpdate),
+            handler(PrivateMessageDeleteEvent.class, ListenerAdapter::onPrivateMessageDelete),
+            handler(PrivateMessageEmbedEvent.class, ListenerAdapter::onPrivateMessageEmbed),
+
+            //Combined Message Events (Combines Guild and Private message into 1 event)
+            handler(MessageReceivedEvent.class, ListenerAdapter::onMessageReceived),
+            handler(MessageUpdateEvent.class, ListenerAdapter::onMessageUpdate),
+            handler(MessageDeleteEvent.class, ListenerAdapter::onMessageDelete),
+            handler(MessageBulkDeleteEvent.class, ListenerAdapter::onMessageBulkDelete),
+            handler(MessageEmbedEvent.class, ListenerAdapter::onMessageEmbed),
+            handler(MessageReactionAddEvent.class, ListenerAdapter::onMessageReactionAdd),
+            handler(MessageReactionRemoveEvent.class, ListenerAdapter::onMessageReactionRemove),
+            handler(MessageReactionRemoveAllEvent.class, ListenerAdapter::onMessageReactionRemoveAll),
+
+            //User Events
+            handler(UserNameUpdateEvent.class, ListenerAdapter::onUserNameUpdate),
+            handler(UserAvatarUpdateEvent.class, ListenerAdapter::onUserAvatarUpdate),
+            handler(UserGameUpdateEvent.class, ListenerAdapter::onUserGameUpdate),
+            handler(UserOnlineStatusUpdateEvent.class, ListenerAdapter::onUserOnlineStatusUpdate),
+            handler(UserTypingEvent.class, ListenerAdapter::onUserTyping),
+
+            //Self Events
+            handler(SelfUpdateAvatarEvent.class, ListenerAdapter::onSelfUpdateAvatar),
+            handler(SelfUpdateEmailEvent.class, ListenerAdapter::onSelfUpdateEmail),
+            handler(SelfUpdateMFAEvent.class, ListenerAdapter::onSelfUpdateMFA),
+            handler(SelfUpdateNameEvent.class, ListenerAdapter::onSelfUpdateName),
+            handler(SelfUpdateVerifiedEvent.class, ListenerAdapter::onSelfUpdateVerified),
+
+            //TextChannel Events
+            handler(TextChannelCreateEvent.class, ListenerAdapter::onTextChannelCreate),
+            handler(TextChannelUpdateNameEvent.class, ListenerAdapter::onTextChannelUpdateName),
+            handler(TextChannelUpdateTopicEvent.class, ListenerAdapter::onTextChannelUpdateTopic),
+            handler(TextChannelUpdatePositionEvent.class, ListenerAdapter::onTextChannelUpdatePosition),
+            handler(TextChannelDeleteEvent.class, ListenerAdapter::onTextChannelDelete),
+            handler(TextChannelUpdatePermissionsEvent.class, ListenerAdapter::onTextChannelUpdatePermissions),
+
+            //VoiceChannel Events
+            handler(VoiceChannelCreateEvent.class, ListenerAdapter::onVoiceChannelCreate),
+            handler(VoiceChannelUpdateNameEvent.class, ListenerAdapter::onVoiceChannelUpdateName),
+            handler(VoiceChannelUpdatePositionEvent.class, ListenerAdapter::onVoiceChannelUpdatePosition),
+            handler(VoiceChannelUpdateUserLimitEvent.class, ListenerAdapter::onVoiceChannelUpdateUserLimit),
+            handler(VoiceChannelUpdateBitrateEvent.class, ListenerAdapter::onVoiceChannelUpdateBitrate),
+            handler(VoiceChannelUpdatePermissionsEvent.class, ListenerAdapter::onVoiceChannelUpdatePermissions),
+            handler(VoiceChannelDeleteEvent.class, ListenerAdapter::onVoiceChannelDelete),
+
+            //PrivateChannel Events
+            handler(PrivateChannelCreateEvent.class, ListenerAdapter::onPrivateChannelCreate),
+            handler(PrivateChannelDeleteEvent.class, ListenerAdapter::onPrivateChannelDelete),
+
+            //Guild Events
+            handler(GuildJoinEvent.class, ListenerAdapter::onGuildJoin),
+            handler(GuildLeaveEvent.class, ListenerAdapter::onGuildLeave),
+            handler(GuildAvailableEvent.class, ListenerAdapter::onGuildAvailable),
+            handler(GuildUnavailableEvent.class, ListenerAdapter::onGuildUnavailable),
+            handler(UnavailableGuildJoinedEvent.class, ListenerAdapter::onUnavailableGuildJoined),
+            handler(GuildBanEvent.class, ListenerAdapter::onGuildBan),
+            handler(GuildUnbanEvent.class, ListenerAdapter::onGuildUnban),
+
+            //Guild Update Events
+            handler(GuildUpdateAfkChannelEvent.class, ListenerAdapter::onGuildUpdateAfkChannel),
+            handler(GuildUpdateAfkTimeoutEvent.class, ListenerAdapter::onGuildUpdateAfkTimeout),
+            handler(GuildUpdateIconEvent.class, ListenerAdapter::onGuildUpdateIcon),
+            handler(GuildUpdateMFALevelEvent.class, ListenerAdapter::onGuildUpdateMFALevel),
+            handler(GuildUpdateNameEvent.class, ListenerAdapter::onGuildUpdateName),
+            handler(GuildUpdateNotificationLevelEvent.class, ListenerAdapter::onGuildUpdateNotificationLevel),
+            handler(GuildUpdateOwnerEvent.class, ListenerAdapter::onGuildUpdateOwner),
+            handler(GuildUpdateRegionEvent.class, ListenerAdapter::onGuildUpdateRegion),
+            handler(GuildUpdateSplashEvent.class, ListenerAdapter::onGuildUpdateSplash),
+            handler(GuildUpdateVerificationLevelEvent.class, ListenerAdapter::onGuildUpdateVerificationLevel),
+
+            //Guild Member Events
+            handler(GuildMemberJoinEvent.class, ListenerAdapter::onGuildMemberJoin),
+            handler(GuildMemberLeaveEvent.class, ListenerAdapter::onGuildMemberLeave),
+            handler(GuildMemberRoleAddEvent.class, ListenerAdapter::onGuildMemberRoleAdd),
+            handler(GuildMemberRoleRemoveEvent.class, ListenerAdapter::onGuildMemberRoleRemove),
+            handler(GuildMemberNickChangeEvent.class, ListenerAdapter::onGuildMemberNickChange),
+
+            //Guild Voice Events
+            handler(GuildVoiceJoinEvent.class, ListenerAdapter::onGuildVoiceJoin),
+            handler(GuildVoiceMoveEvent.class, ListenerAdapter::onGuildVoiceMove),
+            handler(GuildVoiceLeaveEvent.class, ListenerAdapter::onGuildVoiceLeave),
+            handler(GuildVoiceMuteEvent.class, ListenerAdapter::onGuildVoiceMute),
+            handler(GuildVoiceDeafenEvent.class, ListenerAdapter::onGuildVoiceDeafen),
+            handler(GuildVoiceGuildMuteEvent.class, ListenerAdapter::onGuildVoiceGuildMute),
+            handler(GuildVoiceGuildDeafenEvent.class, ListenerAdapter::onGuildVoiceGuildDeafen),
+            handler(GuildVoiceSelfMuteEvent.class, ListenerAdapter::onGuildVoiceSelfMute),
+            handler(GuildVoiceSelfDeafenEvent.class, ListenerAdapter::onGuildVoiceSelfDeafen),
+            handler(GuildVoiceSuppressEvent.class, ListenerAdapter::onGuildVoiceSuppress),
+
+            //Role Events
+            handler(RoleCreateEvent.class, ListenerAdapter::onRoleCreate),
+            handler(RoleDeleteEvent.class, ListenerAdapter::onRoleDelete),
+
+            //Role Update Events
+            handler(RoleUpdateColorEvent.class, ListenerAdapter::onRoleUpdateColor),
+            handler(RoleUpdateHoistedEvent.class, ListenerAdapter::onRoleUpdateHoisted),
+            handler(RoleUpdateMentionableEvent.class, ListenerAdapter::onRoleUpdateMentionable),
+            handler(RoleUpdateNameEvent.class, ListenerAdapter::onRoleUpdateName),
+            handler(RoleUpdatePermissionsEvent.class, ListenerAdapter::onRoleUpdatePermissions),
+            handler(RoleUpdatePositionEvent.class, ListenerAdapter::onRoleUpdatePosition)
+        },
+        {
+            //Child-Generic Events
+            handler(GenericGuildMessageEvent.class, ListenerAdapter::onGenericGuildMessage),
+            handler(GenericMessageReactionEvent.class, ListenerAdapter::onGenericMessageReaction),
+            handler(GenericPrivateMessageEvent.class, ListenerAdapter::onGenericPrivateMessage),
+            handler(GenericTextChannelUpdateEvent.class, ListenerAdapter::onGenericTextChannelUpdate),
+            handler(GenericVoiceChannelUpdateEvent.class, ListenerAdapter::onGenericVoiceChannelUpdate),
+            handler(GenericGuildUpdateEvent.class, ListenerAdapter::onGenericGuildUpdate),
+            handler(GenericGuildMemberEvent.class, ListenerAdapter::onGenericGuildMember),
+            handler(GenericGuildVoiceEvent.class, ListenerAdapter::onGenericGuildVoice),
+            handler(GenericRoleUpdateEvent.class, ListenerAdapter::onGenericRoleUpdate)
+        },
+        {
+            //Generic Events
+            handler(GenericMessageEvent.class, ListenerAdapter::onGenericMessage),
+            handler(GenericUserEvent.class, ListenerAdapter::onGenericUser),
+            handler(GenericSelfUpdateEvent.class, ListenerAdapter::onGenericSelfUpdate),
+            handler(GenericTextChannelEvent.class, ListenerAdapter::onGenericTextChannel),
+            handler(GenericVoiceChannelEvent.class, ListenerAdapter::onGenericVoiceChannel),
+            handler(GenericGuildEvent.class, ListenerAdapter::onGenericGuild),
+            handler(GenericRoleEvent.class, ListenerAdapter::onGenericRole)
+        }
+    };
+
+    //Client only groups, these are only invoked for events of CLIENT accounts.
+    private static final Handler<?>[][] CLIENT_GROUPS =
+    {
         {
             //Relationship Events
-            if (event instanceof FriendAddedEvent)
-                onFriendAdded((FriendAddedEvent) event);
-            else if (event instanceof FriendRemovedEvent)
-                onFriendRemoved((FriendRemovedEvent) event);
-            else if (event instanceof UserBlockedEvent)
-                onUserBlocked((UserBlockedEvent) event);
-            else if (event instanceof UserUnblockedEvent)
-                onUserUnblocked((UserUnblockedEvent) event);
-            else if (event instanceof FriendRequestSentEvent)
-                onFriendRequestSent((FriendRequestSentEvent) event);
-            else if (event instanceof FriendRequestCanceledEvent)
-                onFriendRequestCanceled((FriendRequestCanceledEvent) event);
-            else if (event instanceof FriendRequestReceivedEvent)
-                onFriendRequestReceived((FriendRequestReceivedEvent) event);
-            else if (event instanceof FriendRequestIgnoredEvent)
-                onFriendRequestIgnored((FriendRequestIgnoredEvent) event);
+            handler(FriendAddedEvent.class, ListenerAdapter::onFriendAdded),
+            handler(FriendRemovedEvent.class, ListenerAdapter::onFriendRemoved),
+            handler(UserBlockedEvent.class, ListenerAdapter::onUserBlocked),
+            handler(UserUnblockedEvent.class, ListenerAdapter::onUserUnblocked),
+            handler(FriendRequestSentEvent.class, ListenerAdapter::onFriendRequestSent),
+            handler(FriendRequestCanceledEvent.class, ListenerAdapter::onFriendRequestCanceled),
+            handler(FriendRequestReceivedEvent.class, ListenerAdapter::onFriendRequestReceived),
+            handler(FriendRequestIgnoredEvent.class, ListenerAdapter::onFriendRequestIgnored),
 
             //Group Events
-            else if (event instanceof GroupJoinEvent)
-                onGroupJoin((GroupJoinEvent) event);
-            else if (event instanceof GroupLeaveEvent)
-                onGroupLeave((GroupLeaveEvent) event);
-            else if (event instanceof GroupUserJoinEvent)
-                onGroupUserJoin((GroupUserJoinEvent) event);
-            else if (event instanceof GroupUserLeaveEvent)
-                onGroupUserLeave((GroupUserLeaveEvent) event);
-
+            handler(GroupJoinEvent.class, ListenerAdapter::onGroupJoin),
+            handler(GroupLeaveEvent.class, ListenerAdapter::onGroupLeave),
+            handler(GroupUserJoinEvent.class, ListenerAdapter::onGroupUserJoin),
+            handler(GroupUserLeaveEvent.class, ListenerAdapter::onGroupUserLeave)
+        },
+        {
             //Group Message Events
-            if (event instanceof GroupMessageReceivedEvent)
-                onGroupMessageReceived((GroupMessageReceivedEvent) event);
-            else if (event instanceof GroupMessageUpdateEvent)
-                onGroupMessageUpdate((GroupMessageUpdateEvent) event);
-            else if (event instanceof GroupMessageDeleteEvent)
-                onGroupMessageDelete((GroupMessageDeleteEvent) event);
-            else if (event instanceof GroupMessageEmbedEvent)
-                onGroupMessageEmbed((GroupMessageEmbedEvent) event);
+            handler(GroupMessageReceivedEvent.class, ListenerAdapter::onGroupMessageReceived),
+            handler(GroupMessageUpdateEvent.class, ListenerAdapter::onGroupMessageUpdate),
+            handler(GroupMessageDeleteEvent.class, ListenerAdapter::onGroupMessageDelete),
+            handler(GroupMessageEmbedEvent.class, ListenerAdapter::onGroupMessageEmbed),
 
             //Group Update Events
-            else if (event instanceof GroupUpdateIconEvent)
-                onGroupUpdateIcon((GroupUpdateIconEvent) event);
-            else if (event instanceof GroupUpdateNameEvent)
-                onGroupUpdateName((GroupUpdateNameEvent) event);
-            else if (event instanceof GroupUpdateOwnerEvent)
-                onGroupUpdateOwner((GroupUpdateOwnerEvent) event);
+            handler(GroupUpdateIconEvent.class, ListenerAdapter::onGroupUpdateIcon),
+            handler(GroupUpdateNameEvent.class, ListenerAdapter::onGroupUpdateName),
+            handler(GroupUpdateOwnerEvent.class, ListenerAdapter::onGroupUpdateOwner),
 
             //Call Events
-            else if (event instanceof CallCreateEvent)
-                onCallCreate((CallCreateEvent) event);
-            else if (event instanceof CallDeleteEvent)
-                onCallDelete((CallDeleteEvent) event);
+            handler(CallCreateEvent.class, ListenerAdapter::onCallCreate),
+            handler(CallDeleteEvent.class, ListenerAdapter::onCallDelete),
 
             //Call Update Events
-            else if (event instanceof CallUpdateRegionEvent)
-                onCallUpdateRegion((CallUpdateRegionEvent) event);
-            else if (event instanceof CallUpdateRingingUsersEvent)
-                onCallUpdateRingingUsers((CallUpdateRingingUsersEvent) event);
+            handler(CallUpdateRegionEvent.class, ListenerAdapter::onCallUpdateRegion),
+            handler(CallUpdateRingingUsersEvent.class, ListenerAdapter::onCallUpdateRingingUsers),
 
             //Call Voice Events
-            else if (event instanceof CallVoiceJoinEvent)
-                onCallVoiceJoin((CallVoiceJoinEvent) event);
-            else if (event instanceof CallVoiceLeaveEvent)
-                onCallVoiceLeave((CallVoiceLeaveEvent) event);
-            else if (event instanceof CallVoiceSelfMuteEvent)
-                onCallVoiceSelfMute((CallVoiceSelfMuteEvent) event);
-            else if (event instanceof CallVoiceSelfDeafenEvent)
-                onCallVoiceSelfDeafen((CallVoiceSelfDeafenEvent) event);
-
+            handler(CallVoiceJoinEvent.class, ListenerAdapter::onCallVoiceJoin),
+            handler(CallVoiceLeaveEvent.class, ListenerAdapter::onCallVoiceLeave),
+            handler(CallVoiceSelfMuteEvent.class, ListenerAdapter::onCallVoiceSelfMute),
+            handler(CallVoiceSelfDeafenEvent.class, ListenerAdapter::onCallVoiceSelfDeafen)
+        },
+        {
             //Client Only Child-Generic Events
-            if (event instanceof GenericRelationshipAddEvent)
-                onGenericRelationshipAdd((GenericRelationshipAddEvent) event);
-            else if (event instanceof GenericRelationshipRemoveEvent)
-                onGenericRelationshipRemove((GenericRelationshipRemoveEvent) event);
-            else if (event instanceof GenericGroupMessageEvent)
-                onGenericGroupMessage((GenericGroupMessageEvent) event);
-            else if (event instanceof GenericGroupUpdateEvent)
-                onGenericGroupUpdate((GenericGroupUpdateEvent) event);
-            else if (event instanceof GenericCallUpdateEvent)
-                onGenericCallUpdate((GenericCallUpdateEvent) event);
-            else if (event instanceof GenericCallVoiceEvent)
-                onGenericCallVoice((GenericCallVoiceEvent) event);
-
+            handler(GenericRelationshipAddEvent.class, ListenerAdapter::onGenericRelationshipAdd),
+            handler(GenericRelationshipRemoveEvent.class, ListenerAdapter::onGenericRelationshipRemove),
+            handler(GenericGroupMessageEvent.class, ListenerAdapter::onGenericGroupMessage),
+            handler(GenericGroupUpdateEvent.class, ListenerAdapter::onGenericGroupUpdate),
+            handler(GenericCallUpdateEvent.class, ListenerAdapter::onGenericCallUpdate),
+            handler(GenericCallVoiceEvent.class, ListenerAdapter::onGenericCallVoice)
+        },
+        {
             //Client Only Generic Events
-            if (event instanceof GenericRelationshipEvent)
-                onGenericRelationship((GenericRelationshipEvent) event);
-            else if (event instanceof GenericGroupEvent)
-                onGenericGroup((GenericGroupEvent) event);
-            else if (event instanceof GenericCallEvent)
-                onGenericCall((GenericCallEvent) event);
+            handler(GenericRelationshipEvent.class, ListenerAdapter::onGenericRelationship),
+            handler(GenericGroupEvent.class, ListenerAdapter::onGenericGroup),
+            handler(GenericCallEvent.class, ListenerAdapter::onGenericCall)
+        }
+    };
+
+    private static final ClassValue<Dispatcher> DISPATCHERS = new ClassValue<Dispatcher>()
+    {
+        @Override
+        protected Dispatcher computeValue(Class<?> type)
+        {
+            return new Dispatcher(type);
+        }
+    };
+
+    private static <T extends Event> Handler<T> handler(Class<T> type, BiConsumer<ListenerAdapter, T> consumer)
+    {
+        return new Handler<>(type, consumer);
+    }
+
+    private static final class Handler<T extends Event>
+    {
+        private final Class<T> type;
+        private final BiConsumer<ListenerAdapter, T> consumer;
+
+        private Handler(Class<T> type, BiConsumer<ListenerAdapter, T> consumer)
+        {
+            this.type = type;
+            this.consumer = consumer;
+        }
+
+        private void accept(ListenerAdapter listener, Event event)
+        {
+            //Only called for events this handler was resolved for, the cast never fails
+            consumer.accept(listener, type.cast(event));
+        }
+    }
+
+    private static final class Dispatcher
+    {
+        private final Handler<?>[] handlers;
+        private final Handler<?>[] clientHandlers;
+
+        private Dispatcher(Class<?> type)
+        {
+            this.handlers = resolve(type, GROUPS);
+            this.clientHandlers = resolve(type, CLIENT_GROUPS);
+        }
+
+        private static Handler<?>[] resolve(Class<?> type, Handler<?>[][] groups)
+        {
+            List<Handler<?>> resolved = new ArrayList<>(groups.length);
+            for (Handler<?>[] group : groups)
+            {
+                for (Handler<?> handler : group)
+                {
+                    if (handler.type.isAssignableFrom(type))
+                    {
+                        resolved.add(handler);
+                        break;
+                    }
+                }
+            }
+            return resolved.toArray(new Handler<?>[resolved.size()]);
         }
     }
 }
@@ -28,6 +28,9 @@
  * <p>The {@link net.dv8tion.jda.core.hooks.AnnotatedEventManager AnnotatedEventManager}
  * can forward events directly to methods that have the {@link net.dv8tion.jda.core.hooks.SubscribeEvent SubscribeEvent} annotation.
  *
- * <p><b>Note: All of the standard EventManager implementations are synchronized</b>
+ * <p>The {@link net.dv8tion.jda.core.hooks.AsyncEventManager AsyncEventManager} wraps either of them and handles
+ * the events on a pool of worker threads instead of the WebSocket thread.
+ *
+ * <p><b>Note: All of the standard EventManager implementations except the AsyncEventManager are synchronized</b>
  */
 package net.dv8tion.jda.core.hooks;
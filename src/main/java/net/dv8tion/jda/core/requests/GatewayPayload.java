@@ -0,0 +1,342 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.dv8tion.jda.core.requests;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+/**
+ * Lightweight view of a raw gateway payload.
+ *
+ * <p>Only the header fields ({@code op}, {@code s} and {@code t}) are read when the payload is scanned.
+ * The {@code d} field is merely located inside of the raw message and is only parsed into a
+ * {@link org.json.JSONObject JSONObject} once it is requested through {@link #getData()} or {@link #toJson()}.
+ * This allows events that are not handled by JDA to be dropped without ever building a json tree for them.
+ */
+final class GatewayPayload
+{
+    private final String message;
+    private final int opCode;
+    private final Integer sequence;
+    private final String type;
+    private final int dataStart;
+
+    private JSONObject data;
+
+    private GatewayPayload(String message, int opCode, Integer sequence, String type, int dataStart)
+    {
+        this.message = message;
+        this.opCode = opCode;
+        this.sequence = sequence;
+        this.type = type;
+        this.dataStart = dataStart;
+    }
+
+    /**
+     * Scans the top-level fields of the provided gateway message.
+     * <br>The {@code d} field is skipped over and will not be parsed.
+     *
+     * @param  message
+     *         The raw json message received from the gateway
+     *
+     * @throws org.json.JSONException
+     *         If the message is not a json object or is missing the {@code op} field
+     *
+     * @return The scanned GatewayPayload
+     */
+    static GatewayPayload scan(String message)
+    {
+        Scanner scanner = new Scanner(message);
+        Integer opCode = null;
+        Integer sequence = null;
+        String type = null;
+        int dataStart = -1;
+
+        scanner.expect('{');
+        if (scanner.peekClean() != '}')
+        {
+            do
+            {
+                scanner.skipWhitespace();
+                String key = scanner.readString();
+                scanner.expect(':');
+                scanner.skipWhitespace();
+                switch (key)
+                {
+                    case "op":
+                        opCode = scanner.readInteger();
+                        break;
+                    case "s":
+                        sequence = scanner.readInteger();
+                        break;
+                    case "t":
+                        type = scanner.peek() == '"' ? scanner.readString() : scanner.readNull();
+                        break;
+                    case "d":
+                        dataStart = scanner.position;
+                        scanner.skipValue();
+                        break;
+                    default:
+                        scanner.skipValue();
+                }
+            }
+            while (scanner.nextClean() == ',');
+            scanner.back();
+        }
+        scanner.expect('}');
+
+        if (opCode == null)
+            throw new JSONException("Gateway payload is missing the op field: " + message);
+        return new GatewayPayload(message, opCode, sequence, type, dataStart);
+    }
+
+    int getOpCode()
+    {
+        return opCode;
+    }
+
+    boolean hasSequence()
+    {
+        return sequence != null;
+    }
+
+    int getSequence()
+    {
+        return sequence;
+    }
+
+    String getType()
+    {
+        return type;
+    }
+
+    boolean hasData()
+    {
+        return dataStart >= 0 && message.charAt(dataStart) == '{';
+    }
+
+    /**
+     * Parses the {@code d} field of this payload.
+     * <br>The result is cached, repeated calls will not parse the field again.
+     *
+     * @throws org.json.JSONException
+     *         If the {@code d} field is missing or is not a json object
+     *
+     * @return The JSONObject representation of the {@code d} field
+     */
+    JSONObject getData()
+    {
+        if (data == null)
+        {
+            if (!hasData())
+                throw new JSONException("Gateway payload has no data object: " + message);
+            data = (JSONObject) parseData();
+        }
+        return data;
+    }
+
+    /**
+     * Builds the full json representation of this payload, parsing the {@code d} field if necessary.
+     * <br>This is the form that is expected by the {@link net.dv8tion.jda.core.handle.SocketHandler SocketHandlers}.
+     *
+     * @return The JSONObject representation of this payload
+     */
+    JSONObject toJson()
+    {
+        JSONObject json = new JSONObject()
+                .put("op", opCode)
+                .put("s", sequence == null ? JSONObject.NULL : sequence)
+                .put("t", type == null ? JSONObject.NULL : type);
+        if (hasData())
+            json.put("d", getData());
+        else if (dataStart >= 0)
+            json.put("d", parseData());
+        return json;
+    }
+
+    private Object parseData()
+    {
+        //Parse directly from the original message to avoid copying the d field into a new String.
+        StringReader reader = new StringReader(message);
+        try
+        {
+            reader.skip(dataStart);
+        }
+        catch (IOException e)
+        {
+            throw new JSONException(e);
+        }
+        return new JSONTokener(reader).nextValue();
+    }
+
+    @Override
+    public String toString()
+    {
+        return message;
+    }
+
+    private static class Scanner
+    {
+        private final String input;
+        private int position = 0;
+
+        private Scanner(String input)
+        {
+            this.input = input;
+        }
+
+        private char peek()
+        {
+            if (position >= input.length())
+                throw syntaxError("Unexpected end of payload");
+            return input.charAt(position);
+        }
+
+        private char peekClean()
+        {
+            skipWhitespace();
+            return peek();
+        }
+
+        private char nextClean()
+        {
+            char c = peekClean();
+            position++;
+            return c;
+        }
+
+        private void back()
+        {
+            position--;
+        }
+
+        private void skipWhitespace()
+        {
+            while (position < input.length() && Character.isWhitespace(input.charAt(position)))
+                position++;
+        }
+
+        private void expect(char expected)
+        {
+            char c = nextClean();
+            if (c != expected)
+                throw syntaxError("Expected '" + expected + "' but found '" + c + "'");
+        }
+
+        private String readString()
+        {
+            if (peek() != '"')
+                throw syntaxError("Expected a string");
+            int start = ++position;
+            while (true)
+            {
+                char c = peek();
+                if (c == '\\')
+                {
+                    //Escapes are rare in the header fields, let org.json deal with them.
+                    position = start - 1;
+                    String value = new JSONTokener(input.substring(start - 1)).nextValue().toString();
+                    skipString();
+                    return value;
+                }
+                if (c == '"')
+                    return input.substring(start, position++);
+                position++;
+            }
+        }
+
+        private <T> T readNull()
+        {
+            if (!input.startsWith("null", position))
+                throw syntaxError("Expected a string or null");
+            position += 4;
+            return null;
+        }
+
+        private Integer readInteger()
+        {
+            if (peek() == 'n')
+                return readNull();
+            int start = position;
+            if (peek() == '-')
+                position++;
+            while (position < input.length() && Character.isDigit(input.charAt(position)))
+                position++;
+            if (start == position)
+                throw syntaxError("Expected a number");
+            return Integer.parseInt(input.substring(start, position));
+        }
+
+        private void skipString()
+        {
+            position++; //opening quote
+            while (true)
+            {
+                char c = peek();
+                position++;
+                if (c == '\\')
+                    position++;
+                else if (c == '"')
+                    return;
+            }
+        }
+
+        private void skipValue()
+        {
+            char c = peekClean();
+            if (c == '"')
+            {
+                skipString();
+                return;
+            }
+            if (c == '{' || c == '[')
+            {
+                int depth = 0;
+                while (true)
+                {
+                    c = peek();
+                    if (c == '"')
+                    {
+                        skipString();
+                        continue;
+                    }
+                    position++;
+                    if (c == '{' || c == '[')
+                        depth++;
+                    else if ((c == '}' || c == ']') && --depth == 0)
+                        return;
+                }
+            }
+            //Literal value (number, boolean or null)
+            while (position < input.length())
+            {
+                c = input.charAt(position);
+                if (c == ',' || c == '}' || c == ']' || Character.isWhitespace(c))
+                    return;
+                position++;
+            }
+        }
+
+        private JSONException syntaxError(String reason)
+        {
+            return new JSONException(reason + " at character " + position + " of gateway payload");
+        }
+    }
+}
@@ -15,8 +15,10 @@
  */
 package net.dv8tion.jda.core.requests;
 
+import gnu.trove.map.TLongObjectMap;
 import net.dv8tion.jda.core.JDA;
 import net.dv8tion.jda.core.entities.impl.JDAImpl;
+import net.dv8tion.jda.core.utils.MiscUtil;
 import net.dv8tion.jda.core.utils.SimpleLog;
 import org.json.JSONObject;
 
@@ -37,28 +39,23 @@ public class GuildLock
     }
 
     private final JDA api;
-    private final Map<String, List<JSONObject>> cache = new HashMap<>();
-    private final Set<String> cached = new HashSet<>();
+    private final TLongObjectMap<List<JSONObject>> cache = MiscUtil.newLongMap();
 
-    public boolean isLocked(String guildId)
+    public boolean isLocked(long guildId)
     {
-        return cached.contains(guildId);
+        return cache.containsKey(guildId);
     }
 
-    public void lock(String guildId)
+    public void lock(long guildId)
     {
         if (!isLocked(guildId))
-        {
-            cached.add(guildId);
             cache.put(guildId, new LinkedList<>());
-        }
     }
 
-    public void unlock(String guildId)
+    public void unlock(long guildId)
     {
         if (isLocked(guildId))
         {
-            cached.remove(guildId);
             List<JSONObject> events = cache.remove(guildId);
             if(events.size() > 0)
             {
@@ -69,7 +66,7 @@ public class GuildLock
         }
     }
 
-    public void queue(String guildId, JSONObject event)
+    public void queue(long guildId, JSONObject event)
     {
         if (isLocked(guildId))
         {
@@ -81,7 +78,6 @@ public class GuildLock
     public void clear()
     {
         cache.clear();
-        cached.clear();
     }
 
     private GuildLock(JDA api)
@@ -0,0 +1,60 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.dv8tion.jda.core.requests;
+
+/**
+ * Spaces out the IDENTIFY payloads of multiple shards that use the same token.
+ * <br>Discord only allows one IDENTIFY every {@value #IDENTIFY_DELAY} milliseconds,
+ * additional attempts would cause the connection to be closed.
+ *
+ * <p>A single instance is shared between all shards of a
+ * {@link net.dv8tion.jda.bot.sharding.ShardManager ShardManager}.
+ */
+public class IdentifyQueue
+{
+    public static final long IDENTIFY_DELAY = 5000;
+
+    private long lastIdentify = 0;
+
+    /**
+     * Reserves the next free IDENTIFY slot for this shard without blocking.
+     *
+     * @return The amount of milliseconds to wait before the IDENTIFY may be sent, {@code 0} if it can be sent right away
+     */
+    public synchronized long reserve()
+    {
+        long now = System.currentTimeMillis();
+        long next = Math.max(now, lastIdentify + IDENTIFY_DELAY);
+        lastIdentify = next;
+        //A shard waiting in awaitSlot has to wait for this reservation as well
+        notifyAll();
+        return next - now;
+    }
+
+    /**
+     * Blocks until an IDENTIFY could be sent right away, without reserving the slot.
+     * <br>Used to open the connection of a shard only once it is allowed to identify.
+     *
+     * @throws java.lang.InterruptedException
+     *         If the current thread is interrupted while waiting
+     */
+    public synchronized void awaitSlot() throws InterruptedException
+    {
+        long delay;
+        while ((delay = lastIdentify + IDENTIFY_DELAY - System.currentTimeMillis()) > 0)
+            wait(delay);
+    }
+}
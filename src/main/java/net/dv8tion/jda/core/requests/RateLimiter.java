@@ -35,15 +35,24 @@ public abstract class RateLimiter
 
     protected final Requester requester;
     protected final ScheduledExecutorService pool;
+    protected final boolean ownsPool;
     protected volatile boolean isShutdown;
     protected volatile ConcurrentHashMap<String, IBucket> buckets = new ConcurrentHashMap<>();
-    protected volatile ConcurrentLinkedQueue<IBucket> submittedBuckets = new ConcurrentLinkedQueue<>();
 
     protected RateLimiter(Requester requester, int poolSize)
     {
         this.requester = requester;
         this.isShutdown = false;
         this.pool = Executors.newScheduledThreadPool(poolSize, new RateLimitThreadFactory(requester.getJDA()));
+        this.ownsPool = true;
+    }
+
+    protected RateLimiter(Requester requester, ScheduledExecutorService pool)
+    {
+        this.requester = requester;
+        this.isShutdown = false;
+        this.pool = pool;
+        this.ownsPool = false;
     }
 
 
@@ -70,17 +79,18 @@ public abstract class RateLimiter
 
     public List<IBucket> getQueuedRouteBuckets()
     {
-        synchronized (submittedBuckets)
-        {
-            return Collections.unmodifiableList(new ArrayList<>(submittedBuckets));
-        }
+        return Collections.unmodifiableList(buckets.values().stream()
+                .filter(IBucket::isScheduled)
+                .collect(Collectors.toList()));
     }
 
     protected void shutdown()
     {
         isShutdown = true;
 
-        pool.shutdownNow();
+        //A shared pool is shutdown by its owner
+        if (ownsPool)
+            pool.shutdownNow();
     }
 
     private class RateLimitThreadFactory implements ThreadFactory
@@ -79,6 +79,11 @@ public class Request<T>
         }
     }
 
+    public void handleResponse(Response response)
+    {
+        restAction.handleResponse(response, this);
+    }
+
     public RestAction<T> getRestAction()
     {
         return restAction;
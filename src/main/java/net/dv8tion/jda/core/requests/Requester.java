@@ -18,7 +18,6 @@ package net.dv8tion.jda.core.requests;
 
 import com.mashape.unirest.http.HttpResponse;
 import com.mashape.unirest.http.Unirest;
-import com.mashape.unirest.http.exceptions.UnirestException;
 import com.mashape.unirest.request.BaseRequest;
 import com.mashape.unirest.request.GetRequest;
 import com.mashape.unirest.request.HttpRequest;
@@ -34,6 +33,11 @@ import net.dv8tion.jda.core.requests.ratelimit.IBucket;
 import net.dv8tion.jda.core.utils.SimpleLog;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class Requester
 {
@@ -61,12 +65,29 @@ public class Requester
             rateLimiter = new ClientRateLimiter(this, 5);
     }
 
+    /**
+     * Creates a Requester for a {@link net.dv8tion.jda.core.AccountType#BOT BOT} shard that shares its
+     * ratelimit thread pool and global cooldown with the other shards of the same bot.
+     *
+     * @param api
+     *        The shard using this Requester
+     * @param ratelimitPool
+     *        The shared pool used to process ratelimited requests
+     * @param globalCooldown
+     *        The shared global cooldown
+     */
+    public Requester(JDA api, ScheduledExecutorService ratelimitPool, AtomicLong globalCooldown)
+    {
+        this.api = (JDAImpl) api;
+        this.rateLimiter = new BotRateLimiter(this, ratelimitPool, globalCooldown);
+    }
+
     public JDAImpl getJDA()
     {
         return api;
     }
 
-    public void request(Request apiRequest)
+    public void request(Request<?> apiRequest)
     {
         if (rateLimiter.isShutdown)
             throw new IllegalStateException("The Requester has been shutdown! No new requests can be requested!");
@@ -76,26 +97,42 @@ public class Requester
         }
         else
         {
-            Long retryAfter = execute(apiRequest);
-            if (retryAfter != null)
-                apiRequest.getRestAction().handleResponse(new Response(429, null, retryAfter), apiRequest);
+            execute(apiRequest).whenComplete((retryAfter, error) ->
+            {
+                if (error != null)
+                {
+                    LOG.fatal("Requester system encountered an internal error");
+                    LOG.log(error);
+                    apiRequest.onFailure(error);
+                }
+                else if (retryAfter != null)
+                {
+                    apiRequest.handleResponse(new Response(429, null, retryAfter));
+                }
+            });
         }
     }
 
     /**
      * Used to execute an Request. Processes request related to provided bucket.
+     * <br>This does not block, the request is sent by the {@link net.dv8tion.jda.core.requests.http.IHttpClient IHttpClient}
+     * of the JDA instance and the response is handled on the ratelimit pool.
      *
      * @param apiRequest The API request that needs to be sent
-     * @return Returns non-null if the request was ratelimited. Returns a Long containing retry_after milliseconds until
-     * the request can be made again. This could either be for the Per-Route ratelimit or the Global ratelimit.
-     * Check if globalCooldown is null to determine if it was Per-Route or Global.
+     * @return A future that is completed once the request was handled. Its value is non-null if the request was ratelimited,
+     * it then contains retry_after milliseconds until the request can be made again. This could either be for the
+     * Per-Route ratelimit or the Global ratelimit. Check if globalCooldown is null to determine if it was Per-Route or Global.
      */
-    public Long execute(Request apiRequest)
+    public CompletableFuture<Long> execute(Request<?> apiRequest)
     {
         CompiledRoute route = apiRequest.getRoute();
         Long retryAfter = rateLimiter.getRateLimit(route);
         if (retryAfter != null)
-            return retryAfter;
+            return CompletableFuture.completedFuture(retryAfter);
+
+        //If the request has been canceled via the Future, don't execute.
+        if (apiRequest.isCanceled())
+            return CompletableFuture.completedFuture(null);
 
         BaseRequest request;
         Object body = apiRequest.getData();
@@ -113,50 +150,86 @@ public class Requester
             request = createRequest(route, bodyData);
         }
 
+        CompletableFuture<Long> result = new CompletableFuture<>();
+        execute(apiRequest, request, 1, result);
+        return result;
+    }
+
+    private void execute(Request<?> apiRequest, BaseRequest request, int attempt, CompletableFuture<Long> result)
+    {
+        CompletableFuture<HttpResponse<String>> response;
         try
         {
-            //If the request has been canceled via the Future, don't execute.
-            if (apiRequest.isCanceled())
-                return null;
+            response = api.getHttpClient().execute(request);
+        }
+        catch (Throwable t)
+        {
+            result.completeExceptionally(t);
+            return;
+        }
 
-            HttpResponse<String> response = request.asString();
-            int attempt = 1;
-            while (attempt < 4 && response.getStatus() != 429 && response.getBody() != null && response.getBody().startsWith("<"))
+        //The HTTP client completes on its I/O threads, callbacks of the RestAction must never run on those.
+        response.whenCompleteAsync((r, error) ->
+        {
+            try
             {
-                LOG.debug(String.format("Requesting %s -> %s returned HTML... retrying (attempt %d)",
-                        request.getHttpRequest().getHttpMethod().name(),
-                        request.getHttpRequest().getUrl(),
-                        attempt));
-                try
-                {
-                    Thread.sleep(50 * attempt);
-                }
-                catch (InterruptedException ignored) {}
-
-                //If the request has been canceled via the Future, don't execute.
-                if (apiRequest.isCanceled())
-                    return null;
-                response = request.asString();
-                attempt++;
+                handleResponse(apiRequest, request, attempt, r, error, result);
             }
-            if (response.getBody() != null && response.getBody().startsWith("<"))
+            catch (Throwable t)
             {
-                //Epic failure due to cloudflare. Attempted 4 times.
-                return null;
+                result.completeExceptionally(t);
             }
+        }, rateLimiter.pool);
+    }
 
-            retryAfter = rateLimiter.handleResponse(route, response);
-            if (retryAfter == null)
-                apiRequest.getRestAction().handleResponse(new Response(response.getStatus(), response.getBody(), -1), apiRequest);
-
-            return retryAfter;
+    private void handleResponse(Request<?> apiRequest, BaseRequest request, int attempt,
+                                HttpResponse<String> response, Throwable error, CompletableFuture<Long> result)
+    {
+        if (error != null)
+        {
+            if (error instanceof CompletionException && error.getCause() != null)
+                error = error.getCause();
+            if (!(error instanceof Exception))
+            {
+                result.completeExceptionally(error);
+                return;
+            }
+            LOG.log(error); //This originally only printed on DEBUG in 2.x
+            apiRequest.handleResponse(new Response((Exception) error));
+            result.complete(null);
+            return;
         }
-        catch (UnirestException e)
+
+        if (response.getStatus() != 429 && response.getBody() != null && response.getBody().startsWith("<"))
         {
-            LOG.log(e); //This originally only printed on DEBUG in 2.x
-            apiRequest.getRestAction().handleResponse(new Response(e), apiRequest);
-            return null;
+            if (attempt >= 4)
+            {
+                //Epic failure due to cloudflare. Attempted 4 times.
+                result.complete(null);
+                return;
+            }
+
+            LOG.debug(String.format("Requesting %s -> %s returned HTML... retrying (attempt %d)",
+                    request.getHttpRequest().getHttpMethod().name(),
+                    request.getHttpRequest().getUrl(),
+                    attempt));
+            //Retry later without occupying a thread of the pool while waiting
+            rateLimiter.pool.schedule(() ->
+            {
+                //If the request has been canceled via the Future, don't execute.
+                if (apiRequest.isCanceled())
+                    result.complete(null);
+                else
+                    execute(apiRequest, request, attempt + 1, result);
+            }, 50 * attempt, TimeUnit.MILLISECONDS);
+            return;
         }
+
+        Long retryAfter = rateLimiter.handleResponse(apiRequest.getRoute(), response);
+        if (retryAfter == null)
+            apiRequest.handleResponse(new Response(response.getStatus(), response.getBody(), -1));
+
+        result.complete(retryAfter);
     }
 
     public RateLimiter getRateLimiter()
@@ -171,7 +244,7 @@ public class Requester
 
     private BaseRequest createRequest(Route.CompiledRoute route, String body)
     {
-        String url = DISCORD_API_PREFIX + route.getCompiledRoute();
+        String url = api.getRestEndpoint() + route.getCompiledRoute();
         BaseRequest request = null;
         switch (route.getMethod())
         {
@@ -199,8 +272,8 @@ public class Requester
         HttpRequest request = baseRequest.getHttpRequest();
 
         //adding token to all requests to the discord api or cdn pages
-        //can't check for startsWith(DISCORD_API_PREFIX) due to cdn endpoints
-        if (api.getToken() != null && request.getUrl().contains("discordapp.com"))
+        //can't only check for startsWith(restEndpoint) due to cdn endpoints
+        if (api.getToken() != null && (request.getUrl().startsWith(api.getRestEndpoint()) || request.getUrl().contains("discordapp.com")))
         {
             request.header("authorization", api.getToken());
         }
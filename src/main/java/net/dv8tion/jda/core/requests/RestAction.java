@@ -24,10 +24,20 @@ import net.dv8tion.jda.core.exceptions.RateLimitedException;
 import net.dv8tion.jda.core.requests.restaction.CompletedFuture;
 import net.dv8tion.jda.core.requests.restaction.RequestFuture;
 import net.dv8tion.jda.core.utils.SimpleLog;
+import org.apache.http.util.Args;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * A class representing a terminal between the user and the discord API.
@@ -46,6 +56,11 @@ import java.util.function.Consumer;
  *     <br>Provides a Future representing the pending request.
  *     <br>An optional parameter of type boolean can be passed to disable automated rate limit handling. (not recommended)</li>
  *
+ *     <li>{@link #submitStage()}, {@link #submitStage(boolean)}
+ *     <br>Provides a CompletionStage representing the pending request.
+ *     <br>RestActions can be composed without blocking using {@link #map(Function)}, {@link #flatMap(Function)},
+ *     {@link #zip(RestAction, BiFunction)} and {@link #allOf(Collection)}.</li>
+ *
  *     <li>{@link #complete()}, {@link #complete(boolean)}
  *     <br>Blocking execution building up on {@link #submit()}.
  *     <br>This will simply block the thread and return the Request result, or throw an exception.
@@ -191,6 +206,177 @@ public abstract class RestAction<T>
         return new RequestFuture<T>(this, shouldQueue);
     }
 
+    /**
+     * Submits a Request for execution and provides
+     * a {@link java.util.concurrent.CompletionStage CompletionStage} representing
+     * its completion task.
+     * <br>The stage is completed directly by the thread that handles the response, no thread
+     * is blocked while the Request is pending. This allows to compose multiple requests without blocking.
+     *
+     * @return Never-null {@link java.util.concurrent.CompletionStage CompletionStage} representing the completion promise
+     */
+    public CompletionStage<T> submitStage()
+    {
+        return submitStage(true);
+    }
+
+    /**
+     * Submits a Request for execution and provides
+     * a {@link java.util.concurrent.CompletionStage CompletionStage} representing
+     * its completion task.
+     * <br>The stage is completed directly by the thread that handles the response, no thread
+     * is blocked while the Request is pending. This allows to compose multiple requests without blocking.
+     * <br>Cancelling the {@link java.util.concurrent.CompletionStage#toCompletableFuture() CompletableFuture}
+     * of the returned stage will result in the cancellation of the Request!
+     *
+     * @param  shouldQueue
+     *         Whether the Request should automatically handle rate limitations. (default true)
+     *
+     * @return Never-null {@link java.util.concurrent.CompletionStage CompletionStage} representing the completion promise
+     */
+    public CompletionStage<T> submitStage(boolean shouldQueue)
+    {
+        finalizeData();
+        return new RequestFuture<T>(this, shouldQueue);
+    }
+
+    /**
+     * Creates a new RestAction which transforms the result of this RestAction with the provided function.
+     * <br>This RestAction is only executed once the returned RestAction is executed.
+     *
+     * @param  mapper
+     *         The function applied to the result of this RestAction
+     * @param  <O>
+     *         The result type of the new RestAction
+     *
+     * @throws IllegalArgumentException
+     *         If the provided mapper is null
+     *
+     * @return A new RestAction providing the transformed result
+     */
+    public <O> RestAction<O> map(Function<? super T, ? extends O> mapper)
+    {
+        Args.notNull(mapper, "Mapper");
+        return new CompositeRestAction<>(api, execution ->
+                execution.submit(this).thenApply(mapper));
+    }
+
+    /**
+     * Creates a new RestAction which executes the RestAction returned by the provided function
+     * once this RestAction completed successfully.
+     * <br>Useful to chain dependent requests, for example opening a private channel and sending a message to it,
+     * without blocking a thread in between.
+     *
+     * @param  mapper
+     *         The function providing the follow-up RestAction for the result of this RestAction
+     * @param  <O>
+     *         The result type of the follow-up RestAction
+     *
+     * @throws IllegalArgumentException
+     *         If the provided mapper is null
+     *
+     * @return A new RestAction providing the result of the follow-up RestAction
+     */
+    public <O> RestAction<O> flatMap(Function<? super T, ? extends RestAction<O>> mapper)
+    {
+        Args.notNull(mapper, "Mapper");
+        return new CompositeRestAction<>(api, execution ->
+                execution.submit(this).thenCompose(result -> execution.submit(mapper.apply(result))));
+    }
+
+    /**
+     * Creates a new RestAction which executes this and the provided RestAction concurrently
+     * and combines both results with the provided function.
+     *
+     * @param  other
+     *         The RestAction to execute alongside this RestAction
+     * @param  combiner
+     *         The function combining both results
+     * @param  <O>
+     *         The result type of the other RestAction
+     * @param  <R>
+     *         The result type of the new RestAction
+     *
+     * @throws IllegalArgumentException
+     *         If any of the provided arguments is null
+     *
+     * @return A new RestAction providing the combined result
+     */
+    public <O, R> RestAction<R> zip(RestAction<O> other, BiFunction<? super T, ? super O, ? extends R> combiner)
+    {
+        Args.notNull(other, "Other RestAction");
+        Args.notNull(combiner, "Combiner");
+        return new CompositeRestAction<>(api, execution ->
+                execution.submit(this).thenCombine(execution.submit(other), combiner));
+    }
+
+    /**
+     * Creates a new RestAction which executes all provided RestActions concurrently
+     * and provides their results in the same order.
+     * <br>If any of the RestActions fails, the returned RestAction fails with the same exception.
+     *
+     * @param  actions
+     *         The RestActions to execute
+     * @param  <T>
+     *         The common result type of the RestActions
+     *
+     * @throws IllegalArgumentException
+     *         If the provided array is null or contains null
+     *
+     * @return A new RestAction providing an immutable list of all results
+     */
+    @SafeVarargs
+    public static <T> RestAction<List<T>> allOf(RestAction<? extends T>... actions)
+    {
+        Args.notNull(actions, "RestActions");
+        List<RestAction<? extends T>> list = new ArrayList<>(actions.length);
+        for (RestAction<? extends T> action : actions)
+            list.add(action);
+        return allOf(list);
+    }
+
+    /**
+     * Creates a new RestAction which executes all provided RestActions concurrently
+     * and provides their results in the same order.
+     * <br>If any of the RestActions fails, the returned RestAction fails with the same exception.
+     *
+     * @param  actions
+     *         The RestActions to execute
+     * @param  <T>
+     *         The common result type of the RestActions
+     *
+     * @throws IllegalArgumentException
+     *         If the provided collection is null or contains null
+     *
+     * @return A new RestAction providing an immutable list of all results,
+     *         an {@link EmptyRestAction EmptyRestAction} providing an empty list if no RestActions were provided
+     */
+    public static <T> RestAction<List<T>> allOf(Collection<? extends RestAction<? extends T>> actions)
+    {
+        Args.notNull(actions, "RestActions");
+        List<RestAction<? extends T>> copy = new ArrayList<>(actions);
+        for (RestAction<? extends T> action : copy)
+            Args.notNull(action, "RestAction");
+        //Without any action there is no JDA instance to bind to, the result is known already
+        if (copy.isEmpty())
+            return new EmptyRestAction<>(Collections.emptyList());
+
+        return new CompositeRestAction<>(copy.get(0).getJDA(), execution ->
+        {
+            List<CompletableFuture<? extends T>> futures = new ArrayList<>(copy.size());
+            for (RestAction<? extends T> action : copy)
+                futures.add(execution.submit(action).toCompletableFuture());
+
+            return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()])).thenApply(v ->
+            {
+                List<T> results = new ArrayList<>(futures.size());
+                for (CompletableFuture<? extends T> future : futures)
+                    results.add(future.join());
+                return Collections.unmodifiableList(results);
+            });
+        });
+    }
+
     /**
      * Blocks the current Thread and awaits the completion
      * of an {@link #submit()} request.
@@ -253,7 +439,7 @@ public abstract class RestAction<T>
 
     protected void finalizeData() { }
 
-    protected abstract void handleResponse(Response response, Request request);
+    protected abstract void handleResponse(Response response, Request<T> request);
 
     /**
      * Specialized form of {@link net.dv8tion.jda.core.requests.RestAction} that is used to provide information that
@@ -286,6 +472,12 @@ public abstract class RestAction<T>
             return new CompletedFuture<>(returnObj);
         }
 
+        @Override
+        public CompletionStage<T> submitStage(boolean shouldQueue)
+        {
+            return CompletableFuture.completedFuture(returnObj);
+        }
+
         @Override
         public T complete(boolean shouldQueue)
         {
@@ -293,6 +485,145 @@ public abstract class RestAction<T>
         }
 
         @Override
-        protected void handleResponse(Response response, Request request) { }
+        protected void handleResponse(Response response, Request<T> request) { }
+    }
+
+    /**
+     * Specialized form of {@link net.dv8tion.jda.core.requests.RestAction} that is composed of other RestActions.
+     * <br>Created by {@link #map(Function)}, {@link #flatMap(Function)}, {@link #zip(RestAction, BiFunction)}
+     * and {@link #allOf(Collection)}. The underlying RestActions are only executed once this RestAction is executed
+     * and cancelling the returned future cancels all of them.
+     *
+     * @param <T>
+     *        The generic response type for this RestAction
+     */
+    public static class CompositeRestAction<T> extends RestAction<T>
+    {
+        private final Function<Execution, CompletionStage<T>> executor;
+
+        public CompositeRestAction(JDA api, Function<Execution, CompletionStage<T>> executor)
+        {
+            super(api, null, null);
+            this.executor = executor;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked") //DEFAULT_SUCCESS is a raw Consumer
+        public void queue(Consumer<T> success, Consumer<Throwable> failure)
+        {
+            Consumer<T> onSuccess = success != null ? success : DEFAULT_SUCCESS;
+            Consumer<Throwable> onFailure = failure != null ? failure : DEFAULT_FAILURE;
+            submitStage(true).whenComplete((result, error) ->
+            {
+                if (error == null)
+                    onSuccess.accept(result);
+                else
+                    onFailure.accept(error);
+            });
+        }
+
+        @Override
+        public Future<T> submit(boolean shouldQueue)
+        {
+            return submitStage(shouldQueue).toCompletableFuture();
+        }
+
+        @Override
+        public CompletionStage<T> submitStage(boolean shouldQueue)
+        {
+            Execution execution = new Execution(shouldQueue);
+            CompletableFuture<T> future = new CompletableFuture<T>()
+            {
+                @Override
+                public boolean cancel(boolean mayInterrupt)
+                {
+                    execution.cancel(mayInterrupt);
+                    return super.cancel(mayInterrupt);
+                }
+            };
+            executor.apply(execution).whenComplete((result, error) ->
+            {
+                if (error == null)
+                    future.complete(result);
+                else if (error instanceof CompletionException && error.getCause() != null)
+                    future.completeExceptionally(error.getCause());
+                else
+                    future.completeExceptionally(error);
+            });
+            return future;
+        }
+
+        @Override
+        protected void handleResponse(Response response, Request<T> request) { }
+    }
+
+    /**
+     * A single execution of a {@link net.dv8tion.jda.core.requests.RestAction.CompositeRestAction CompositeRestAction}.
+     * <br>Keeps track of the RestActions submitted on behalf of the composite so they can be cancelled with it.
+     */
+    public static class Execution
+    {
+        private final boolean shouldQueue;
+        private final List<Future<?>> children = new ArrayList<>();
+        private boolean cancelled = false;
+        private boolean mayInterrupt = false;
+
+        protected Execution(boolean shouldQueue)
+        {
+            this.shouldQueue = shouldQueue;
+        }
+
+        /**
+         * Whether the underlying RestActions should automatically handle rate limitations.
+         *
+         * @return True, if rate limits should be handled
+         */
+        public boolean shouldQueue()
+        {
+            return shouldQueue;
+        }
+
+        /**
+         * Submits the provided RestAction as part of this execution.
+         * <br>If this execution was cancelled already, the RestAction is cancelled right away.
+         *
+         * @param  action
+         *         The RestAction to submit
+         * @param  <O>
+         *         The result type of the RestAction
+         *
+         * @return The CompletionStage representing the submitted RestAction
+         */
+        public <O> CompletionStage<O> submit(RestAction<O> action)
+        {
+            CompletionStage<O> stage = action.submitStage(shouldQueue);
+            Future<O> future = stage.toCompletableFuture();
+            boolean cancel;
+            synchronized (children)
+            {
+                cancel = cancelled;
+                if (!cancel)
+                    children.add(future);
+            }
+            if (cancel)
+                future.cancel(mayInterrupt);
+            return stage;
+        }
+
+        protected void cancel(boolean mayInterrupt)
+        {
+            List<Future<?>> pending;
+            synchronized (children)
+            {
+                if (cancelled)
+                    return;
+                cancelled = true;
+                this.mayInterrupt = mayInterrupt;
+                pending = new ArrayList<>(children);
+                children.clear();
+            }
+            for (Future<?> future : pending)
+                future.cancel(mayInterrupt);
+        }
     }
 }
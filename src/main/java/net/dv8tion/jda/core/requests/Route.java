@@ -20,9 +20,8 @@ import com.mashape.unirest.http.HttpMethod;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static com.mashape.unirest.http.HttpMethod.*;
 
@@ -102,6 +101,7 @@ public class Route
         public static final Route BAN =                new Route(PUT,    "guilds/{guild_id}/bans/{user_id}",    "guild_id");
         public static final Route BAN_WITH_DELETE =    new Route(PUT,    "guilds/{guild_id}/bans/{user_id}?delete-message-days={}",    "guild_id");
         public static final Route UNBAN =              new Route(DELETE, "guilds/{guild_id}/bans/{user_id}",    "guild_id");
+        public static final Route GET_MEMBER =         new Route(GET,    "guilds/{guild_id}/members/{user_id}", "guild_id");
         public static final Route KICK_MEMBER =        new Route(DELETE, "guilds/{guild_id}/members/{user_id}", "guild_id");
         public static final Route MODIFY_MEMBER =      new Route(PATCH,  "guilds/{guild_id}/members/{user_id}", "guild_id");
         public static final Route MODIFY_SELF_NICK =   new Route(PATCH,  "guilds/{guild_id}/members/@me/nick",  "guild_id");
@@ -231,8 +231,15 @@ public class Route
     private final String compilableRoute;
     private final int paramCount;
     private final HttpMethod method;
-    private final List<Integer> majorParamIndexes = new ArrayList<>();
     private final RateLimit ratelimit;
+    private final int hashCode;
+
+    //Pre-compiled templates: the literal parts between the parameters, compile(String...) only has to fill the gaps.
+    private final String[] segments;
+    private final int segmentsLength;
+    private final String[] ratelimitSegments;
+    private final int ratelimitSegmentsLength;
+    private final int[] majorParamIndexes;
 
     private Route(HttpMethod method, String route, String... majorParameters)
     {
@@ -245,44 +252,53 @@ public class Route
         this.ratelimit = rateLimit;
         this.route = route;
         this.paramCount = StringUtils.countMatches(route, '{'); //All parameters start with {
+        this.hashCode = (route + method.toString()).hashCode();
 
         if (paramCount != StringUtils.countMatches(route, '}'))
             throw new IllegalArgumentException("An argument does not have both {}'s for route: " + method + "  " + route);
 
-        //Create a String.format compilable route for parameter compiling.
-        compilableRoute = route.replaceAll("\\{.*?\\}","%s");
-
-        //If this route has major parameters that are unique markers for the ratelimit route, then we need to
-        // create a ratelimit compilable route. This goes through and replaces the parameters specified by majorParameters
-        // and records the parameter index so that when we compile it later we can select the proper parameters
-        // from the ones provided to make sure we inject in the proper indexes.
-        if (majorParameters.length != 0)
+        //Split the route into the literal parts surrounding the parameters.
+        //If this route has major parameters that are unique markers for the ratelimit route, then we also
+        // split the ratelimit route at those parameters only and record their parameter index so that when we
+        // compile it later we can select the proper parameters from the ones provided.
+        List<String> majorParams = Arrays.asList(majorParameters);
+        List<String> ratelimitParts = new ArrayList<>();
+        List<Integer> majorIndexes = new ArrayList<>();
+        StringBuilder ratelimitPart = new StringBuilder();
+        this.segments = new String[paramCount + 1];
+        int end = 0;
+        for (int paramIndex = 0; paramIndex < paramCount; paramIndex++)
         {
-            int paramIndex = 0;
-            String replaceRoute = route;
-            Pattern keyP = Pattern.compile("\\{(.*?)\\}");
-            Matcher keyM = keyP.matcher(route);
-            //Search the route for all parameters
-            while(keyM.find())
+            int open = route.indexOf('{', end);
+            int close = route.indexOf('}', open);
+            if (close < 0)
+                throw new IllegalArgumentException("An argument does not have both {}'s for route: " + method + "  " + route);
+
+            String literal = route.substring(end, open);
+            segments[paramIndex] = literal;
+            ratelimitPart.append(literal);
+            if (majorParams.contains(route.substring(open + 1, close)))
+            {
+                ratelimitParts.add(ratelimitPart.toString());
+                ratelimitPart.setLength(0);
+                majorIndexes.add(paramIndex);
+            }
+            else
             {
-                String param = keyM.group(1);
-                //Attempt to match the found parameter with any of our majorParameters
-                for (String majorParam : majorParameters)
-                {
-                    //If the parameter is a major parameter, replace it with a string token and record its
-                    // parameter index for later ratelimitRoute compiling.
-                    if (param.equals(majorParam))
-                    {
-                        replaceRoute = replaceRoute.replace(keyM.group(0), "%s");
-                        majorParamIndexes.add(paramIndex);
-                    }
-                }
-                paramIndex++;
+                //Minor parameters stay in the ratelimit route as they are
+                ratelimitPart.append(route, open, close + 1);
             }
-            ratelimitRoute = replaceRoute;
+            end = close + 1;
         }
-        else
-            ratelimitRoute = route;
+        segments[paramCount] = route.substring(end);
+        ratelimitParts.add(ratelimitPart.append(route.substring(end)).toString());
+
+        this.ratelimitSegments = ratelimitParts.toArray(new String[ratelimitParts.size()]);
+        this.majorParamIndexes = majorIndexes.stream().mapToInt(Integer::intValue).toArray();
+        this.segmentsLength = Arrays.stream(segments).mapToInt(String::length).sum();
+        this.ratelimitSegmentsLength = Arrays.stream(ratelimitSegments).mapToInt(String::length).sum();
+        this.compilableRoute = String.join("%s", (CharSequence[]) segments);
+        this.ratelimitRoute = majorIndexes.isEmpty() ? route : String.join("%s", (CharSequence[]) ratelimitSegments);
     }
 
     public HttpMethod getMethod()
@@ -324,29 +340,40 @@ public class Route
         }
 
         //Compile the route for interfacing with discord.
-        String compiledRoute = String.format(compilableRoute, (Object[]) params);
+        String compiledRoute = fill(segments, segmentsLength, params, null);
         String compiledRatelimitRoute = ratelimitRoute;
 
         //If this route has major parameters which help to uniquely distinguish it from others of this route type then
         // compile it using the major parameter indexes we discovered in the constructor.
-        if (!majorParamIndexes.isEmpty())
-        {
+        if (majorParamIndexes.length != 0)
+            compiledRatelimitRoute = fill(ratelimitSegments, ratelimitSegmentsLength, params, majorParamIndexes);
 
-            String[] majorParams = new String[majorParamIndexes.size()];
-            for (int i = 0; i < majorParams.length; i++)
-            {
-                majorParams[i] = params[majorParamIndexes.get(i)];
-            }
-            compiledRatelimitRoute = String.format(compiledRatelimitRoute, (Object[]) majorParams);
+        return new CompiledRoute(this, compiledRatelimitRoute, compiledRoute);
+    }
+
+    private static String fill(String[] segments, int segmentsLength, String[] params, int[] paramIndexes)
+    {
+        int gaps = segments.length - 1;
+        int length = segmentsLength;
+        for (int i = 0; i < gaps; i++)
+        {
+            String param = params[paramIndexes == null ? i : paramIndexes[i]];
+            length += param == null ? 4 : param.length();
         }
 
-        return new CompiledRoute(this, compiledRatelimitRoute, compiledRoute);
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < gaps; i++)
+        {
+            builder.append(segments[i]);
+            builder.append(params[paramIndexes == null ? i : paramIndexes[i]]);
+        }
+        return builder.append(segments[gaps]).toString();
     }
 
     @Override
     public int hashCode()
     {
-        return (route + method.toString()).hashCode();
+        return hashCode;
     }
 
     @Override
@@ -370,12 +397,14 @@ public class Route
         private final Route baseRoute;
         private final String ratelimitRoute;
         private final String compiledRoute;
+        private final int hashCode;
 
         private CompiledRoute(Route baseRoute, String ratelimitRoute, String compiledRoute)
         {
             this.baseRoute = baseRoute;
             this.ratelimitRoute = ratelimitRoute;
             this.compiledRoute = compiledRoute;
+            this.hashCode = 31 * compiledRoute.hashCode() + baseRoute.hashCode;
         }
 
         public String getRatelimitRoute()
@@ -401,7 +430,7 @@ public class Route
         @Override
         public int hashCode()
         {
-            return (compiledRoute + method.toString()).hashCode();
+            return hashCode;
         }
 
         @Override
@@ -17,6 +17,7 @@
 package net.dv8tion.jda.core.requests;
 
 import com.neovisionaries.ws.client.*;
+import gnu.trove.iterator.TLongObjectIterator;
 import net.dv8tion.jda.client.entities.impl.JDAClientImpl;
 import net.dv8tion.jda.client.handle.*;
 import net.dv8tion.jda.core.AccountType;
@@ -25,25 +26,38 @@ import net.dv8tion.jda.core.Permission;
 import net.dv8tion.jda.core.audio.hooks.ConnectionListener;
 import net.dv8tion.jda.core.audio.hooks.ConnectionStatus;
 import net.dv8tion.jda.core.entities.EntityBuilder;
+import net.dv8tion.jda.core.entities.EntitySnapshot;
 import net.dv8tion.jda.core.entities.Guild;
 import net.dv8tion.jda.core.entities.VoiceChannel;
 import net.dv8tion.jda.core.entities.impl.JDAImpl;
 import net.dv8tion.jda.core.events.*;
+import net.dv8tion.jda.core.exceptions.RateLimitedException;
 import net.dv8tion.jda.core.handle.*;
 import net.dv8tion.jda.core.managers.AudioManager;
 import net.dv8tion.jda.core.managers.impl.AudioManagerImpl;
 import net.dv8tion.jda.core.managers.impl.PresenceImpl;
+import net.dv8tion.jda.core.utils.SessionStore;
 import net.dv8tion.jda.core.utils.SimpleLog;
+import net.dv8tion.jda.core.utils.cache.MemberCachePolicy;
 import org.apache.commons.lang3.tuple.MutablePair;
 import org.apache.http.HttpHost;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.time.OffsetDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 import java.util.zip.DataFormatException;
 import java.util.zip.Inflater;
 
@@ -51,6 +65,10 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
 {
     public static final SimpleLog LOG = SimpleLog.getLog("JDASocket");
     public static final int DISCORD_GATEWAY_VERSION = 6;
+    protected static final long AUDIO_CONNECT_RETRY = TimeUnit.SECONDS.toNanos(1);
+    //Closing with 1000 ends the session on Discord's side, any other code keeps it resumable
+    protected static final int RESUMABLE_CLOSE_CODE = 4000;
+    protected static final long SNAPSHOT_TIMEOUT = 10;
 
     protected final JDAImpl api;
     protected final JDA.ShardInfo shardInfo;
@@ -60,9 +78,10 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
     protected WebSocket socket;
     protected String gatewayUrl = null;
 
-    protected String sessionId = null;
+    protected volatile String sessionId = null;
 
-    protected volatile Thread keepAliveThread;
+    protected volatile ScheduledFuture<?> keepAliveFuture;
+    protected volatile ScheduledFuture<?> identifyFuture;
     protected boolean connected;
 
     protected volatile boolean chunkingAndSyncing = false;
@@ -75,22 +94,37 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
     //GuildId, <TimeOfNextAttempt, AudioConnection>
     protected final HashMap<String, MutablePair<Long, VoiceChannel>> queuedAudioConnections = new HashMap<>();
 
-    protected final LinkedList<String> ratelimitQueue = new LinkedList<>();
+    protected final Queue<QueuedMessage> ratelimitQueue = new ConcurrentLinkedQueue<>();
+    protected final AtomicInteger ratelimitQueueSize = new AtomicInteger(0);
+    protected final WebSocketTokenBucket ratelimitBucket = new WebSocketTokenBucket();
     protected volatile Thread ratelimitThread = null;
-    protected volatile long ratelimitResetTime;
-    protected volatile int messagesSent;
     protected volatile boolean printedRateLimitMessage = false;
 
+    //Metrics about the time messages spent in the ratelimitQueue
+    protected final AtomicLong queuedMessagesSent = new AtomicLong(0);
+    protected final AtomicLong totalQueueTime = new AtomicLong(0);
+    protected volatile long maxQueueTime = 0;
+
     protected boolean firstInit = true;
 
+    //The thread events are handled on and a latch released once it has stopped, used to snapshot the cache on shutdown
+    protected volatile Thread eventThread;
+    protected volatile CountDownLatch disconnectLatch;
+    //Cache updates requested by other threads, applied on the event thread before the next payload is handled
+    protected final Queue<Runnable> cacheUpdates = new ConcurrentLinkedQueue<>();
+
+    protected final ZlibStreamDecompressor decompressor;
+
     public WebSocketClient(JDAImpl api)
     {
         this.api = api;
         this.shardInfo = api.getShardInfo();
         this.proxy = api.getGlobalProxy();
         this.shouldReconnect = api.isAutoReconnect();
+        this.decompressor = api.isTransportCompressionEnabled() ? new ZlibStreamDecompressor() : null;
         setupHandlers();
         setupSendingThread();
+        restoreSession();
         connect();
     }
 
@@ -109,6 +143,7 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
         if (initiating)
         {
             initiating = false;
+            wakeSendingThread(); //Queued audio connections can be handled now
             if (firstInit)
             {
                 firstInit = false;
@@ -156,42 +191,104 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
         events.forEach(this::handleEvent);
     }
 
+    /**
+     * Queues an update of the entity cache that was requested outside of the event thread, for example by a
+     * {@link net.dv8tion.jda.core.requests.RestAction RestAction} callback.
+     * <br>The cache is not thread-safe and only modified while events are handled, so the update is applied
+     * on the event thread right before the next payload (at the latest the next heartbeat ack) is handled.
+     *
+     * @param  update
+     *         The update to apply
+     */
+    public void queueCacheUpdate(Runnable update)
+    {
+        cacheUpdates.add(update);
+    }
+
     public void send(String message)
     {
-        ratelimitQueue.addLast(message);
+        ratelimitQueue.add(new QueuedMessage(message));
+        ratelimitQueueSize.incrementAndGet();
+        wakeSendingThread();
     }
 
-    private boolean send(String message, boolean skipQueue)
+    /**
+     * The amount of messages that are currently waiting in the send queue.
+     *
+     * @return The amount of queued messages
+     */
+    public int getSendQueueSize()
     {
-        if (!connected)
-            return false;
+        return ratelimitQueueSize.get();
+    }
 
-        long now = System.currentTimeMillis();
+    /**
+     * The average time in milliseconds that messages spent in the send queue before being sent.
+     *
+     * @return The average queue time in milliseconds
+     */
+    public long getAverageSendQueueTime()
+    {
+        long sent = queuedMessagesSent.get();
+        return sent == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalQueueTime.get() / sent);
+    }
 
-        if (this.ratelimitResetTime <= now)
-        {
-            this.messagesSent = 0;
-            this.ratelimitResetTime = now + 60000;//60 seconds
-            this.printedRateLimitMessage = false;
-        }
+    /**
+     * The longest time in milliseconds that a message spent in the send queue before being sent.
+     *
+     * @return The maximum queue time in milliseconds
+     */
+    public long getMaxSendQueueTime()
+    {
+        return TimeUnit.NANOSECONDS.toMillis(maxQueueTime);
+    }
+
+    /**
+     * The amount of messages that can currently be sent before the WebSocket ratelimit is hit.
+     *
+     * @return The amount of available send tokens
+     */
+    public int getAvailableSendTokens()
+    {
+        return ratelimitBucket.getAvailableTokens();
+    }
 
-        //Allows 115 messages to be sent before limiting.
-        if (this.messagesSent <= 115 || (skipQueue && this.messagesSent <= 119))   //technically we could go to 120, but we aren't going to chance it
+    private boolean send(String message, boolean skipQueue)
+    {
+        return trySend(message, skipQueue) == 0;
+    }
+
+    /**
+     * Sends the message if a token is available.
+     *
+     * @return {@code 0} if the message was sent, otherwise the nanoseconds to wait before trying again
+     *         or {@link Long#MAX_VALUE} if we are not connected.
+     */
+    private long trySend(String message, boolean skipQueue)
+    {
+        if (!connected)
+            return Long.MAX_VALUE;
+
+        long wait = ratelimitBucket.tryAcquire(skipQueue);
+        if (wait == 0)
         {
-            LOG.trace("<- " + message);
+            LOG.trace("<- %s", message);
             socket.sendText(message);
-            this.messagesSent++;
-            return true;
+            printedRateLimitMessage = false;
         }
-        else
+        else if (!printedRateLimitMessage)
         {
-            if (!printedRateLimitMessage)
-            {
-                LOG.warn("Hit the WebSocket RateLimit! If you see this message a lot then you might need to talk to DV8FromTheWorld.");
-                printedRateLimitMessage = true;
-            }
-            return false;
+            LOG.warn("Hit the WebSocket RateLimit! If you see this message a lot then you might need to talk to DV8FromTheWorld.");
+            printedRateLimitMessage = true;
         }
+        return wait;
+    }
+
+    protected void wakeSendingThread()
+    {
+        Thread thread = ratelimitThread;
+        if (thread != null)
+            LockSupport.unpark(thread);
     }
 
     private void setupSendingThread()
@@ -202,81 +299,136 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
             @Override
             public void run()
             {
-                boolean needRatelimit;
-                boolean attemptedToSend;
                 while (!this.isInterrupted())
                 {
-                    try
-                    {
-                        attemptedToSend = false;
-                        needRatelimit = false;
-
-                        MutablePair<Long, VoiceChannel> audioRequest = getNextAudioConnectRequest();
+                    //Time to park until there might be something to send. Park until woken up by default.
+                    long waitNanos = Long.MAX_VALUE;
 
-                        if (audioRequest != null)
+                    MutablePair<Long, VoiceChannel> audioRequest = getNextAudioConnectRequest();
+                    if (audioRequest != null)
+                    {
+                        VoiceChannel channel = audioRequest.getRight();
+                        AudioManager audioManager = channel.getGuild().getAudioManager();
+                        JSONObject audioConnectPacket = new JSONObject()
+                                .put("op", 4)
+                                .put("d", new JSONObject()
+                                        .put("guild_id", channel.getGuild().getId())
+                                        .put("channel_id", channel.getId())
+                                        .put("self_mute", audioManager.isSelfMuted())
+                                        .put("self_deaf", audioManager.isSelfDeafened())
+                                );
+                        waitNanos = trySend(audioConnectPacket.toString(), false);
+                        if (waitNanos == 0)
                         {
-                            VoiceChannel channel = audioRequest.getRight();
-                            AudioManager audioManager = channel.getGuild().getAudioManager();
-                            JSONObject audioConnectPacket = new JSONObject()
-                                    .put("op", 4)
-                                    .put("d", new JSONObject()
-                                            .put("guild_id", channel.getGuild().getId())
-                                            .put("channel_id", channel.getId())
-                                            .put("self_mute", audioManager.isSelfMuted())
-                                            .put("self_deaf", audioManager.isSelfDeafened())
-                                    );
-                            needRatelimit = !send(audioConnectPacket.toString(), false);
-                            if (!needRatelimit)
+                            //If we didn't get RateLimited, Next allowed connect request will be 2 seconds from now
+                            audioRequest.setLeft(System.currentTimeMillis() + 2000);
+
+                            //If the connection is already established, then the packet just sent
+                            // was a move channel packet, thus, it won't trigger the removal from
+                            // queuedAudioConnections in VoiceServerUpdateHandler because we won't receive
+                            // that event just for a move, so we remove it here after successfully sending.
+                            if (audioManager.isConnected())
                             {
-                                //If we didn't get RateLimited, Next allowed connect request will be 2 seconds from now
-                                audioRequest.setLeft(System.currentTimeMillis() + 2000);
-
-                                //If the connection is already established, then the packet just sent
-                                // was a move channel packet, thus, it won't trigger the removal from
-                                // queuedAudioConnections in VoiceServerUpdateHandler because we won't receive
-                                // that event just for a move, so we remove it here after successfully sending.
-                                if (audioManager.isConnected())
-                                {
-                                    queuedAudioConnections.remove(channel.getGuild().getId());
-                                }
+                                queuedAudioConnections.remove(channel.getGuild().getId());
                             }
-                            attemptedToSend = true;
+                            continue;
                         }
-                        else
+                    }
+                    else
+                    {
+                        QueuedMessage message = ratelimitQueue.peek();
+                        if (message != null)
                         {
-                            String message = ratelimitQueue.peekFirst();
-                            if (message != null)
+                            waitNanos = trySend(message.message, false);
+                            if (waitNanos == 0)
                             {
-                                needRatelimit = !send(message, false);
-                                if (!needRatelimit)
-                                {
-                                    ratelimitQueue.removeFirst();
-                                }
-                                attemptedToSend = true;
+                                ratelimitQueue.poll();
+                                ratelimitQueueSize.decrementAndGet();
+                                recordQueueTime(System.nanoTime() - message.queuedAt);
+                                continue;
                             }
                         }
-
-                        if (needRatelimit || !attemptedToSend)
+                        else if (!queuedAudioConnections.isEmpty())
                         {
-                            Thread.sleep(1000);
+                            //Queued audio connections become ready over time without waking us up
+                            waitNanos = AUDIO_CONNECT_RETRY;
                         }
                     }
-                    catch (InterruptedException ignored)
-                    {
-                        LOG.debug("Main WS send thread interrupted. Most likely JDA is disconnecting the websocket.");
-                        break;
-                    }
+
+                    if (waitNanos == Long.MAX_VALUE)
+                        LockSupport.park(this);
+                    else
+                        LockSupport.parkNanos(this, Math.min(waitNanos, AUDIO_CONNECT_RETRY));
                 }
+                LOG.debug("Main WS send thread interrupted. Most likely JDA is disconnecting the websocket.");
             }
         };
         ratelimitThread.start();
     }
 
+    private void recordQueueTime(long nanos)
+    {
+        queuedMessagesSent.incrementAndGet();
+        totalQueueTime.addAndGet(nanos);
+        if (nanos > maxQueueTime)
+            maxQueueTime = nanos;
+    }
+
     public void close()
     {
         socket.sendClose(1000);
     }
 
+    /**
+     * Closes the connection for good.
+     * <br>If a {@link net.dv8tion.jda.core.utils.SessionStore SessionStore} is set the session is checkpointed
+     * and the connection is closed in a way that allows the next process to resume it.
+     * If the store keeps entity snapshots this blocks until the connection is closed (at most {@value #SNAPSHOT_TIMEOUT} seconds)
+     * and writes an {@link net.dv8tion.jda.core.entities.EntitySnapshot EntitySnapshot} of the cache.
+     */
+    public void shutdown()
+    {
+        SessionStore store = api.getSessionStore();
+        String session = sessionId;
+        if (store == null || session == null)
+        {
+            socket.sendClose(1000);
+            return;
+        }
+
+        File snapshot = store.getSnapshotFile(getShardId());
+        if (snapshot == null || api.getAccountType() != AccountType.BOT)
+        {
+            checkpointSession();
+            socket.sendClose(RESUMABLE_CLOSE_CODE);
+        }
+        else if (Thread.currentThread() == eventThread)
+        {
+            //Called from an event listener, no other event can modify the cache until we return
+            writeSnapshot(store, snapshot);
+            socket.sendClose(RESUMABLE_CLOSE_CODE);
+        }
+        else
+        {
+            //Wait until the reading thread has stopped so the cache no longer changes while it is written
+            CountDownLatch latch = new CountDownLatch(1);
+            disconnectLatch = latch;
+            socket.sendClose(RESUMABLE_CLOSE_CODE);
+            try
+            {
+                if (latch.await(SNAPSHOT_TIMEOUT, TimeUnit.SECONDS))
+                    writeSnapshot(store, snapshot);
+                else
+                    LOG.warn("Connection did not close in time, skipping entity snapshot");
+            }
+            catch (InterruptedException e)
+            {
+                LOG.debug("Interrupted while waiting for the connection to close, skipping entity snapshot");
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
     /*
         ### Start Internal methods ###
      */
@@ -286,6 +438,9 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
         if (api.getStatus() != JDA.Status.ATTEMPTING_TO_RECONNECT)
             api.setStatus(JDA.Status.CONNECTING_TO_WEBSOCKET);
         initiating = true;
+        //Every connection starts a new zlib context
+        if (decompressor != null)
+            decompressor.reset();
 
         try
         {
@@ -310,30 +465,132 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
         }
     }
 
-    protected String getGateway()
+    /**
+     * Loads the session stored by a previous process so that the first connection attempts to RESUME it.
+     */
+    protected void restoreSession()
     {
-        try
+        SessionStore store = api.getSessionStore();
+        if (store == null)
+            return;
+        SessionStore.Session session = store.load(getShardId());
+        if (session == null)
+            return;
+
+        //RESUME only replays the events we missed. Without the cached entities of the previous process
+        // we would end up with an empty cache, so a new session has to be identified instead.
+        // The snapshot records the sequence it is consistent with, Discord replays everything after it.
+        File snapshot = store.getSnapshotFile(getShardId());
+        if (snapshot != null && snapshot.exists())
         {
-            RestAction<String> gateway = new RestAction<String>(api, Route.Misc.GATEWAY.compile(),null)
+            try
             {
-                @Override
-                protected void handleResponse(Response response, Request request)
+                long start = System.nanoTime();
+                SessionStore.Session restored = EntitySnapshot.read(api, session.getSessionId(), snapshot);
+                if (restored != null)
                 {
-                    try
-                    {
-                        if (response.isOk())
-                            request.onSuccess(response.getObject().getString("url"));
-                        else
-                            request.onFailure(new Exception("Failed to get gateway url"));
-                    }
-                    catch (Exception e)
-                    {
-                        request.onFailure(e);
-                    }
+                    session = restored;
+                    LOG.debug("Restored %d guilds from entity snapshot in %d ms",
+                            api.getGuildMap().size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
                 }
-            };
+            }
+            catch (IOException | RuntimeException e)
+            {
+                LOG.warn("Could not restore entity snapshot, identifying a new session: " + e);
+                invalidate();
+                return;
+            }
+        }
+        if (api.getSelfUser() == null)
+        {
+            LOG.debug("Discarding stored session, the entity cache was not restored");
+            store.remove(getShardId());
+            return;
+        }
+        LOG.info("Attempting to resume stored session...");
+        sessionId = session.getSessionId();
+        api.setResponseTotal(session.getSequence());
+    }
 
-            return gateway.complete(false) + "?encoding=json&v=" + DISCORD_GATEWAY_VERSION;
+    protected void writeSnapshot(SessionStore store, File snapshot)
+    {
+        if (initiating)
+        {
+            //Guilds that are still loading can't be restored, the next start has to identify
+            LOG.debug("Skipping entity snapshot, the session has not finished loading");
+            store.remove(getShardId());
+            return;
+        }
+        SessionStore.Session session = new SessionStore.Session(sessionId, (int) api.getResponseTotal());
+        try
+        {
+            long start = System.nanoTime();
+            store.store(getShardId(), session);
+            EntitySnapshot.write(api, session, snapshot);
+            LOG.debug("Wrote entity snapshot of %d guilds in %d ms",
+                    api.getGuildMap().size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        catch (IOException | RuntimeException e)
+        {
+            LOG.warn("Could not write entity snapshot, the next start will identify a new session: " + e);
+            store.remove(getShardId());
+        }
+    }
+
+    protected void checkpointSession()
+    {
+        SessionStore store = api.getSessionStore();
+        String session = sessionId;
+        if (store != null && session != null)
+            store.store(getShardId(), new SessionStore.Session(session, (int) api.getResponseTotal()));
+    }
+
+    protected int getShardId()
+    {
+        return shardInfo == null ? 0 : shardInfo.getShardId();
+    }
+
+    protected long reserveIdentify()
+    {
+        IdentifyQueue queue = api.getIdentifyQueue();
+        return queue == null ? 0 : queue.reserve();
+    }
+
+    protected void scheduleIdentify()
+    {
+        scheduleIdentify(reserveIdentify());
+    }
+
+    protected void scheduleIdentify(long delay)
+    {
+        //IDENTIFY payloads have to be spaced out with the other shards, the reading thread must not wait for the slot
+        if (delay == 0)
+        {
+            sendIdentify();
+            return;
+        }
+        LOG.debug("Delaying Identify-packet by " + delay + "ms to respect the identify ratelimit");
+        WebSocket current = socket;
+        identifyFuture = api.getHeartbeatPool().schedule(() ->
+        {
+            //The connection we reserved the slot for might already be gone
+            if (connected && socket == current)
+                sendIdentify();
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    protected String getGateway()
+    {
+        try
+        {
+            //An explicitly configured gateway does not have to be fetched from the REST api
+            String url = api.getGatewayEndpoint();
+            if (url == null)
+                url = fetchGateway();
+            url += "?encoding=json&v=" + DISCORD_GATEWAY_VERSION;
+            if (decompressor != null)
+                url += "&compress=zlib-stream";
+            return url;
         }
         catch (Exception ex)
         {
@@ -341,18 +598,43 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
         }
     }
 
+    protected String fetchGateway() throws RateLimitedException
+    {
+        RestAction<String> gateway = new RestAction<String>(api, Route.Misc.GATEWAY.compile(),null)
+        {
+            @Override
+            protected void handleResponse(Response response, Request request)
+            {
+                try
+                {
+                    if (response.isOk())
+                        request.onSuccess(response.getObject().getString("url"));
+                    else
+                        request.onFailure(new Exception("Failed to get gateway url"));
+                }
+                catch (Exception e)
+                {
+                    request.onFailure(e);
+                }
+            }
+        };
+        return gateway.complete(false);
+    }
+
     @Override
     public void onConnected(WebSocket websocket, Map<String, List<String>> headers)
     {
+        //The slot is reserved before the status changes, the ShardManager connects the next shard once this one is no longer connecting
+        final long identifyDelay = sessionId == null ? reserveIdentify() : 0;
         api.setStatus(JDA.Status.LOADING_SUBSYSTEMS);
         LOG.info("Connected to WebSocket");
         connected = true;
         reconnectTimeoutS = 2;
-        messagesSent = 0;
-        ratelimitResetTime = System.currentTimeMillis() + 60000;
+        ratelimitBucket.reset();
+        wakeSendingThread();
         if (sessionId == null)
         {
-            sendIdentify();
+            scheduleIdentify(identifyDelay);
         }
         else
         {
@@ -364,15 +646,22 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
     public void onDisconnected(WebSocket websocket, WebSocketFrame serverCloseFrame, WebSocketFrame clientCloseFrame, boolean closedByServer)
     {
         connected = false;
+        if (disconnectLatch != null)
+            disconnectLatch.countDown();
         api.setStatus(JDA.Status.DISCONNECTED);
 
         CloseCode closeCode = null;
         int rawCloseCode = 1000;
 
-        if (keepAliveThread != null)
+        if (keepAliveFuture != null)
+        {
+            keepAliveFuture.cancel(false);
+            keepAliveFuture = null;
+        }
+        if (identifyFuture != null)
         {
-            keepAliveThread.interrupt();
-            keepAliveThread = null;
+            identifyFuture.cancel(false);
+            identifyFuture = null;
         }
         if (serverCloseFrame != null)
         {
@@ -392,6 +681,8 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
         {
             if (ratelimitThread != null)
                 ratelimitThread.interrupt();
+            if (decompressor != null)
+                decompressor.shutdown();
 
             if (!closeCodeIsReconnect)
             {
@@ -400,6 +691,8 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
                 //if that is the case we have to drop our connection and inform the user with a fatal error message
                 LOG.fatal("WebSocket connection was closed and cannot be recovered due to identification issues");
                 LOG.fatal(closeCode);
+                if (api.getSessionStore() != null)
+                    api.getSessionStore().remove(getShardId());
             }
 
             api.setStatus(JDA.Status.SHUTDOWN);
@@ -441,18 +734,25 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
     @Override
     public void onTextMessage(WebSocket websocket, String message)
     {
-        JSONObject content = new JSONObject(message);
-        int opCode = content.getInt("op");
-
-        if (content.has("s") && !content.isNull("s"))
+        eventThread = Thread.currentThread();
+        applyCacheUpdates();
+        //Only the header of the payload is read here. The d field is parsed on demand
+        // so that events we don't have a handler for never build a json tree.
+        GatewayPayload payload = GatewayPayload.scan(message);
+        int opCode = payload.getOpCode();
+
+        if (payload.hasSequence())
         {
-            api.setResponseTotal(content.getInt("s"));
+            api.setResponseTotal(payload.getSequence());
         }
 
         switch (opCode)
         {
             case 0:
-                handleEvent(content);
+                if (isHandled(payload.getType()))
+                    handleEvent(payload.toJson());
+                else
+                    LOG.debug("Ignoring unhandled event: %s", payload.getType());
                 break;
             case 1:
                 LOG.debug("Got Keep-Alive request (OP 1). Sending response...");
@@ -465,11 +765,11 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
             case 9:
                 LOG.debug("Got Invalidate request (OP 9). Invalidating...");
                 invalidate();
-                sendIdentify();
+                scheduleIdentify();
                 break;
             case 10:
                 LOG.debug("Got HELLO packet (OP 10). Initializing keep-alive.");
-                setupKeepAlive(content.getJSONObject("d").getLong("heartbeat_interval"));
+                setupKeepAlive(payload.getData().getLong("heartbeat_interval"));
                 break;
             case 11:
                 LOG.trace("Got Heartbeat Ack (OP 11).");
@@ -479,30 +779,34 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
         }
     }
 
-    protected void setupKeepAlive(long timeout)
+    protected void applyCacheUpdates()
     {
-        keepAliveThread = new Thread(() ->
+        Runnable update;
+        while ((update = cacheUpdates.poll()) != null)
         {
-            while (connected)
+            try
             {
-                try
-                {
-                    sendKeepAlive();
+                update.run();
+            }
+            catch (Exception ex)
+            {
+                LOG.log(ex);
+            }
+        }
+    }
 
-                    //Sleep for heartbeat interval
-                    Thread.sleep(timeout);
-                }
-                catch (InterruptedException ex)
-                {
-                    //connection got cut... terminating keepAliveThread
-                    break;
-                }
+    protected void setupKeepAlive(long timeout)
+    {
+        if (keepAliveFuture != null)
+            keepAliveFuture.cancel(false);
+        keepAliveFuture = api.getHeartbeatPool().scheduleAtFixedRate(() ->
+        {
+            if (connected)
+            {
+                sendKeepAlive();
+                checkpointSession();
             }
-        });
-        keepAliveThread.setName(api.getIdentifierString() + " MainWS-KeepAlive Thread");
-        keepAliveThread.setPriority(Thread.MAX_PRIORITY);
-        keepAliveThread.setDaemon(true);
-        keepAliveThread.start();
+        }, 0, timeout, TimeUnit.MILLISECONDS);
     }
 
     protected void sendKeepAlive()
@@ -514,7 +818,7 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
                 ).toString();
 
         if (!send(keepAlivePacket, true))
-            ratelimitQueue.addLast(keepAlivePacket);
+            send(keepAlivePacket);
 
     }
 
@@ -536,7 +840,9 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
                         )
                         .put("v", DISCORD_GATEWAY_VERSION)
                         .put("large_threshold", 250)
-                        .put("compress", true));    //Used to make the READY event be given as compressed binary data when over a certain size. TY @ShadowLordAlpha
+                        //Used to make the READY event be given as compressed binary data when over a certain size. TY @ShadowLordAlpha
+                        //Not needed (and not allowed) when the whole transport is already compressed.
+                        .put("compress", decompressor == null));
         if (shardInfo != null)
         {
             identify.getJSONObject("d")
@@ -564,9 +870,17 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
     {
         sessionId = null;
         chunkingAndSyncing = false;
+        if (api.getSessionStore() != null)
+            api.getSessionStore().remove(getShardId());
 
         api.getTextChannelMap().clear();
         api.getVoiceChannelMap().clear();
+        MemberCachePolicy memberCachePolicy = api.getMemberCachePolicy();
+        api.getGuildMap().forEachKey(guildId ->
+        {
+            memberCachePolicy.onGuildUnload(guildId);
+            return true;
+        });
         api.getGuildMap().clear();
         api.getUserMap().clear();
         api.getPrivateChannelMap().clear();
@@ -593,18 +907,19 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
         if (api.getAudioManagerMap().size() > 0)
             LOG.trace("Updating AudioManager references");
 
-        api.getAudioManagerMap().entrySet().forEach(entry ->
+        for (TLongObjectIterator<AudioManager> it = api.getAudioManagerMap().iterator(); it.hasNext(); )
         {
-            String guildId = entry.getKey();
-            AudioManager mng = entry.getValue();
+            it.advance();
+            final long guildId = it.key();
+            AudioManager mng = it.value();
             ConnectionListener listener = mng.getConnectionListener();
 
             Guild guild = api.getGuildById(guildId);
             if (guild == null)
             {
-                //We no longer have access to the guild that this audio manager was for. Set the value to null.
-                entry.setValue(null);
-                queuedAudioConnections.remove(guildId);
+                //We no longer have access to the guild that this audio manager was for. Remove it.
+                it.remove();
+                queuedAudioConnections.remove(Long.toUnsignedString(guildId));
                 if (listener != null)
                     listener.onStatusChange(ConnectionStatus.DISCONNECTED_REMOVED_FROM_GUILD);
             }
@@ -633,16 +948,18 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
                     else
                     {
                         //The voice channel is not cached. It was probably deleted.
-                        queuedAudioConnections.remove(guildId);
+                        queuedAudioConnections.remove(Long.toUnsignedString(guildId));
                         if (listener != null)
                             listener.onStatusChange(ConnectionStatus.DISCONNECTED_CHANNEL_DELETED);
                     }
                 }
             }
-        });
+        }
+    }
 
-        //Removes all null AudioManagers set null by the above guild-missing check.
-        api.getAudioManagerMap().values().removeIf(Objects::isNull);
+    protected boolean isHandled(String type)
+    {
+        return type != null && (handlers.containsKey(type) || type.equals("RESUMED"));
     }
 
     protected void handleEvent(JSONObject raw)
@@ -651,9 +968,9 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
         long responseTotal = api.getResponseTotal();
 
         if (type.equals("GUILD_MEMBER_ADD"))
-            ((GuildMembersChunkHandler) getHandler("GUILD_MEMBERS_CHUNK")).modifyExpectedGuildMember(raw.getJSONObject("d").getString("guild_id"), 1);
+            ((GuildMembersChunkHandler) getHandler("GUILD_MEMBERS_CHUNK")).modifyExpectedGuildMember(raw.getJSONObject("d").getLong("guild_id"), 1);
         if (type.equals("GUILD_MEMBER_REMOVE"))
-            ((GuildMembersChunkHandler) getHandler("GUILD_MEMBERS_CHUNK")).modifyExpectedGuildMember(raw.getJSONObject("d").getString("guild_id"), -1);
+            ((GuildMembersChunkHandler) getHandler("GUILD_MEMBERS_CHUNK")).modifyExpectedGuildMember(raw.getJSONObject("d").getLong("guild_id"), -1);
 
         //If initiating, only allows READY, RESUMED, GUILD_MEMBERS_CHUNK, GUILD_SYNC, and GUILD_CREATE through.
         // If we are currently chunking, we don't allow GUILD_CREATE through anymore.
@@ -695,7 +1012,7 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
 //        }
 
         JSONObject content = raw.getJSONObject("d");
-        LOG.trace(String.format("%s -> %s", type, content.toString()));
+        LOG.trace("%s -> %s", type, content);
 
         try
         {
@@ -703,12 +1020,16 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
             {
                 //INIT types
                 case "READY":
-                    LOG.debug(String.format("%s -> %s", type, content.toString()));
+                    LOG.debug("%s -> %s", type, content);
                     sessionId = content.getString("session_id");
+                    checkpointSession();
                     handlers.get("READY").handle(responseTotal, raw);
                     break;
                 case "RESUMED":
-                    initiating = false;
+                    //A session stored by a previous process was resumed, this is our first ready
+                    if (!firstInit)
+                        initiating = false;
+                    checkpointSession();
                     ready();
                     break;
                 default:
@@ -733,21 +1054,33 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
     @Override
     public void onBinaryMessage(WebSocket websocket, byte[] binary) throws UnsupportedEncodingException, DataFormatException
     {
+        if (decompressor != null)
+        {
+            //zlib-stream: messages share one zlib context and may be split over multiple frames
+            String message = decompressor.decompress(binary);
+            if (message != null)
+                onTextMessage(websocket, message);
+            return;
+        }
+
         //Thanks to ShadowLordAlpha for code and debugging.
         //Get the compressed message and inflate it
-        StringBuilder builder = new StringBuilder();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(binary.length * 4);
         Inflater decompresser = new Inflater();
         decompresser.setInput(binary, 0, binary.length);
-        byte[] result = new byte[128];
+        byte[] result = new byte[8192];
         while(!decompresser.finished())
         {
             int resultLength = decompresser.inflate(result);
-            builder.append(new String(result, 0, resultLength, "UTF-8"));
+            if (resultLength == 0 && decompresser.needsInput())
+                break;
+            out.write(result, 0, resultLength);
         }
         decompresser.end();
 
-        // send the inflated message to the TextMessage method
-        onTextMessage(websocket, builder.toString());
+        // Decode once so multi-byte characters can't be split over buffer boundaries,
+        // then send the inflated message to the TextMessage method
+        onTextMessage(websocket, out.toString("UTF-8"));
     }
 
     @Override
@@ -770,6 +1103,7 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
     public void queueAudioConnect(VoiceChannel channel)
     {
         queuedAudioConnections.put(channel.getGuild().getId(), new MutablePair<>(System.currentTimeMillis(), channel));
+        wakeSendingThread();
     }
 
     public HashMap<String, MutablePair<Long, VoiceChannel>> getQueuedAudioConnectionMap()
@@ -886,7 +1220,7 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
             handlers.put("MESSAGE_ACK", new SocketHandler(api)
             {
                 @Override
-                protected String handleInternally(JSONObject content)
+                protected Long handleInternally(JSONObject content)
                 {
                     return null;
                 }
@@ -894,5 +1228,14 @@ public class WebSocketClient extends WebSocketAdapter implements WebSocketListen
         }
     }
 
-}
+    protected static class QueuedMessage
+    {
+        protected final String message;
+        protected final long queuedAt = System.nanoTime();
 
+        protected QueuedMessage(String message)
+        {
+            this.message = message;
+        }
+    }
+}
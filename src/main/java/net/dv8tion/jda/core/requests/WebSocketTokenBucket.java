@@ -0,0 +1,93 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.dv8tion.jda.core.requests;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket used to pace the messages sent over the main WebSocket.
+ *
+ * <p>Discord allows {@value #CAPACITY} messages per 60 seconds. Every sent message takes a token which is
+ * only given back exactly 60 seconds later, so no 60 second window can ever contain more than {@value #CAPACITY}
+ * messages. The last {@value #RESERVED} tokens are reserved for priority messages (heartbeats, identify and resume)
+ * so that a flood of presence updates or chunk requests can never cause us to miss a heartbeat.
+ */
+class WebSocketTokenBucket
+{
+    static final int CAPACITY = 120;
+    static final int RESERVED = 5;
+    static final long REFILL_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    //Ring buffer of the times at which the tokens were taken, the oldest token is at index 'head'
+    private final long[] takenAt = new long[CAPACITY];
+    private int head = 0;
+    private int taken = 0;
+
+    /**
+     * Tries to take a token from this bucket.
+     *
+     * @param  priority
+     *         Whether the message is allowed to use the reserved tokens
+     *
+     * @return {@code 0} if a token was taken, otherwise the amount of nanoseconds until a token becomes available
+     */
+    synchronized long tryAcquire(boolean priority)
+    {
+        long now = System.nanoTime();
+        refill(now);
+
+        int limit = priority ? CAPACITY : CAPACITY - RESERVED;
+        if (taken < limit)
+        {
+            takenAt[(head + taken) % CAPACITY] = now;
+            taken++;
+            return 0;
+        }
+
+        //The token that has to be returned before we are allowed to send again
+        long freedAt = takenAt[(head + taken - limit) % CAPACITY] + REFILL_NANOS;
+        return Math.max(1, freedAt - now);
+    }
+
+    /**
+     * The amount of tokens that are currently available for normal (non-priority) messages.
+     *
+     * @return The amount of available tokens
+     */
+    synchronized int getAvailableTokens()
+    {
+        refill(System.nanoTime());
+        return Math.max(0, CAPACITY - RESERVED - taken);
+    }
+
+    /**
+     * Gives back all tokens. Used when a new connection is established as Discord resets the limit per connection.
+     */
+    synchronized void reset()
+    {
+        head = 0;
+        taken = 0;
+    }
+
+    private void refill(long now)
+    {
+        while (taken > 0 && now - takenAt[head] >= REFILL_NANOS)
+        {
+            head = (head + 1) % CAPACITY;
+            taken--;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.dv8tion.jda.core.requests;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Decompresses the {@code zlib-stream} transport compression of the gateway.
+ *
+ * <p>With transport compression the whole connection shares a single zlib context.
+ * Every message is terminated by a {@code Z_SYNC_FLUSH} suffix ({@code 00 00 FF FF}) and a message
+ * might be split over multiple binary frames. This keeps one {@link java.util.zip.Inflater Inflater}
+ * and reusable buffers for the lifetime of the connection and has to be {@link #reset() reset}
+ * whenever a new connection is opened.
+ *
+ * <p>This class is not thread-safe, it is only used by the reading thread of the WebSocket.
+ */
+class ZlibStreamDecompressor
+{
+    private static final int Z_SYNC_FLUSH = 0x0000FFFF;
+
+    private final byte[] inflateBuffer = new byte[8192];
+    private final ByteArrayOutputStream decompressed = new ByteArrayOutputStream(8192);
+    private Inflater inflater = new Inflater();
+    private byte[] readBuffer = null;
+    private int readBufferLength = 0;
+
+    /**
+     * Decompresses the provided binary frame.
+     *
+     * @param  data
+     *         The binary frame received from the gateway
+     *
+     * @throws java.util.zip.DataFormatException
+     *         If the compressed data is corrupted
+     * @throws java.io.UnsupportedEncodingException
+     *         Should never happen, UTF-8 is always supported
+     *
+     * @return The decompressed message, or {@code null} if the frame did not complete a message yet
+     */
+    String decompress(byte[] data) throws DataFormatException, UnsupportedEncodingException
+    {
+        byte[] input = data;
+        int length = data.length;
+        if (readBufferLength > 0 || !isFlushed(data, data.length))
+        {
+            //Message was split over multiple frames, buffer until we receive the Z_SYNC_FLUSH suffix
+            buffer(data);
+            if (!isFlushed(readBuffer, readBufferLength))
+                return null;
+            input = readBuffer;
+            length = readBufferLength;
+        }
+
+        try
+        {
+            decompressed.reset();
+            inflater.setInput(input, 0, length);
+            int inflated;
+            do
+            {
+                inflated = inflater.inflate(inflateBuffer);
+                decompressed.write(inflateBuffer, 0, inflated);
+            }
+            //A full buffer means there might still be pending output even though all input was consumed
+            while (inflated == inflateBuffer.length || (inflated > 0 && !inflater.needsInput()));
+            return decompressed.toString("UTF-8");
+        }
+        finally
+        {
+            readBufferLength = 0;
+        }
+    }
+
+    /**
+     * Discards the current zlib context. Has to be called whenever a new connection is established.
+     */
+    void reset()
+    {
+        inflater.end();
+        inflater = new Inflater();
+        readBufferLength = 0;
+    }
+
+    /**
+     * Releases the native resources of the underlying Inflater.
+     */
+    void shutdown()
+    {
+        inflater.end();
+        readBuffer = null;
+        readBufferLength = 0;
+    }
+
+    private void buffer(byte[] data)
+    {
+        if (readBuffer == null)
+            readBuffer = new byte[Math.max(data.length * 2, 1024)];
+        else if (readBuffer.length - readBufferLength < data.length)
+            readBuffer = Arrays.copyOf(readBuffer, Math.max(readBuffer.length * 2, readBufferLength + data.length));
+        System.arraycopy(data, 0, readBuffer, readBufferLength, data.length);
+        readBufferLength += data.length;
+    }
+
+    private static boolean isFlushed(byte[] data, int length)
+    {
+        if (length < 4)
+            return false;
+        int suffix = (data[length - 4] & 0xFF) << 24
+                   | (data[length - 3] & 0xFF) << 16
+                   | (data[length - 2] & 0xFF) << 8
+                   | (data[length - 1] & 0xFF);
+        return suffix == Z_SYNC_FLUSH;
+    }
+}
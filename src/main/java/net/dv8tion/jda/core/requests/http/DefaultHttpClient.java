@@ -0,0 +1,61 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.dv8tion.jda.core.requests.http;
+
+import com.mashape.unirest.http.HttpResponse;
+import com.mashape.unirest.http.async.Callback;
+import com.mashape.unirest.http.exceptions.UnirestException;
+import com.mashape.unirest.request.BaseRequest;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The default implementation of the {@link net.dv8tion.jda.core.requests.http.IHttpClient IHttpClient}.
+ *
+ * <p>Uses the asynchronous client of Unirest, which is backed by a non-blocking Apache HttpAsyncClient
+ * with a pool of keep-alive connections. The connection limits can be configured via
+ * {@link com.mashape.unirest.http.Unirest#setConcurrency(int, int) Unirest.setConcurrency(int, int)}.
+ */
+public class DefaultHttpClient implements IHttpClient
+{
+    @Override
+    public CompletableFuture<HttpResponse<String>> execute(BaseRequest request)
+    {
+        CompletableFuture<HttpResponse<String>> future = new CompletableFuture<>();
+        request.asStringAsync(new Callback<String>()
+        {
+            @Override
+            public void completed(HttpResponse<String> response)
+            {
+                future.complete(response);
+            }
+
+            @Override
+            public void failed(UnirestException e)
+            {
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void cancelled()
+            {
+                future.completeExceptionally(new CancellationException("The request was cancelled by the HTTP client"));
+            }
+        });
+        return future;
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.dv8tion.jda.core.requests.http;
+
+import com.mashape.unirest.http.HttpResponse;
+import com.mashape.unirest.request.BaseRequest;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Interface for the HTTP backend used by the {@link net.dv8tion.jda.core.requests.Requester Requester}
+ * to send requests to the Discord REST api.
+ * <br>JDA, by default, uses {@link net.dv8tion.jda.core.requests.http.DefaultHttpClient DefaultHttpClient}.
+ *
+ * <p>Implementations must not block the calling thread while the request is in flight. The Requester only
+ * keeps one request per ratelimit bucket in flight and continues with the next request of that bucket
+ * once the returned future completes, so the amount of concurrent requests is not limited by any thread pool.
+ * <p>
+ * Implementations of this interface are provided to
+ * {@link net.dv8tion.jda.core.JDABuilder#setHttpClient(IHttpClient) JDABuilder.setHttpClient(IHttpClient)}.
+ */
+public interface IHttpClient
+{
+    /**
+     * Called by the {@link net.dv8tion.jda.core.requests.Requester Requester} to send the provided request.
+     * <br>The request already contains all headers required by Discord.
+     *
+     * @param  request
+     *         The request to send
+     *
+     * @return A future which is completed with the response, or completed exceptionally if the request could not be executed.
+     *         <br>The future may be completed on any thread, the Requester will hand the response off to its own pool.
+     */
+    CompletableFuture<HttpResponse<String>> execute(BaseRequest request);
+}
@@ -28,21 +28,41 @@ import org.json.JSONObject;
 
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Iterator;
 import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
 public class BotRateLimiter extends RateLimiter
 {
     volatile Long timeOffset = null;
-    volatile AtomicLong globalCooldown = new AtomicLong(Long.MIN_VALUE);
+    final AtomicLong globalCooldown;
+    final TimerWheel timer = new TimerWheel(pool);
 
     public BotRateLimiter(Requester requester, int poolSize)
     {
         super(requester, poolSize);
+        this.globalCooldown = new AtomicLong(Long.MIN_VALUE);
+    }
+
+    /**
+     * Creates a BotRateLimiter that shares its thread pool and global cooldown with other instances.
+     * <br>Used by shards of the same bot as the global ratelimit applies to all of them.
+     *
+     * @param  requester
+     *         The Requester using this RateLimiter
+     * @param  pool
+     *         The shared pool, it will not be shutdown by this RateLimiter
+     * @param  globalCooldown
+     *         The shared global cooldown, initialized with {@link Long#MIN_VALUE}
+     */
+    public BotRateLimiter(Requester requester, ScheduledExecutorService pool, AtomicLong globalCooldown)
+    {
+        super(requester, pool);
+        this.globalCooldown = globalCooldown;
     }
 
     @Override
@@ -206,6 +226,7 @@ public class BotRateLimiter extends RateLimiter
         volatile int routeUsageRemaining = 1;    //These are default values to only allow 1 request until we have properly
         volatile int routeUsageLimit = 1;        // ratelimit information.
         volatile ConcurrentLinkedQueue<Request> requests = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean scheduled = new AtomicBoolean(false);
 
         public Bucket(String route, RateLimit rateLimit)
         {
@@ -226,16 +247,18 @@ public class BotRateLimiter extends RateLimiter
 
         void submitForProcessing()
         {
-            synchronized (submittedBuckets)
+            //Only the thread that flips the flag schedules the bucket, everyone else sees it already queued
+            if (scheduled.compareAndSet(false, true))
             {
-                if (!submittedBuckets.contains(this))
+                try
                 {
                     Long delay = getRateLimit();
-                    if (delay == null)
-                        delay = 0L;
-
-                    pool.schedule(this, delay, TimeUnit.MILLISECONDS);
-                    submittedBuckets.add(this);
+                    timer.schedule(this, delay == null ? 0 : delay);
+                }
+                catch (RejectedExecutionException e)
+                {
+                    scheduled.set(false);
+                    throw e;
                 }
             }
         }
@@ -288,60 +311,74 @@ public class BotRateLimiter extends RateLimiter
         @Override
         public void run()
         {
+            Request request = requests.peek();
+            if (request == null)
+            {
+                finishProcessing();
+                return;
+            }
+
+            CompletableFuture<Long> execution;
             try
             {
-                synchronized (requests)
+                execution = requester.execute(request);
+            }
+            catch (Throwable t)
+            {
+                execution = new CompletableFuture<>();
+                execution.completeExceptionally(t);
+            }
+
+            //Only one request of a bucket is in flight at any time, the next one is sent once this one completed.
+            // No thread is blocked while waiting for the response.
+            execution.whenComplete((retryAfter, error) ->
+            {
+                try
                 {
-                    for (Iterator<Request> it = requests.iterator(); it.hasNext(); )
+                    if (error != null)
                     {
-                        Request request = null;
-                        try
-                        {
-                            request = it.next();
-                            Long retryAfter = requester.execute(request);
-                            if (retryAfter != null)
-                            {
-                                break;
-                            }
-                            else
-                            {
-                                it.remove();
-                            }
-                        }
-                        catch (Throwable t)
-                        {
-                            Requester.LOG.fatal("Requester system encountered an internal error");
-                            Requester.LOG.log(t);
-                            it.remove();
-                            if (request != null)
-                                request.onFailure(t);
-                        }
+                        Requester.LOG.fatal("Requester system encountered an internal error");
+                        Requester.LOG.log(error);
+                        requests.remove(request);
+                        request.onFailure(error);
                     }
-
-                    synchronized (submittedBuckets)
+                    else if (retryAfter == null)
                     {
-                        submittedBuckets.remove(this);
-                        if (!requests.isEmpty())
-                        {
-                            try
-                            {
-                                this.submitForProcessing();
-                            }
-                            catch (RejectedExecutionException e)
-                            {
-                                Requester.LOG.debug("Caught RejectedExecutionException when re-queuing a ratelimited request. The requester is probably shutdown, thus, this can be ignored.");
-                            }
-                        }
+                        requests.remove(request);
                     }
+                    finishProcessing();
                 }
-            }
-            catch (Throwable err)
+                catch (Throwable err)
+                {
+                    Requester.LOG.fatal("Requester system encountered an internal error while completing a request. NOT GOOD!");
+                    Requester.LOG.log(err);
+                }
+            });
+        }
+
+        private void finishProcessing()
+        {
+            //Clear the flag before checking the queue, a request added in between schedules the bucket itself
+            scheduled.set(false);
+            if (!requests.isEmpty())
             {
-                Requester.LOG.fatal("Requester system encountered an internal error from beyond the synchronized execution blocks. NOT GOOD!");
-                Requester.LOG.log(err);
+                try
+                {
+                    this.submitForProcessing();
+                }
+                catch (RejectedExecutionException e)
+                {
+                    Requester.LOG.debug("Caught RejectedExecutionException when re-queuing a ratelimited request. The requester is probably shutdown, thus, this can be ignored.");
+                }
             }
         }
 
+        @Override
+        public boolean isScheduled()
+        {
+            return scheduled.get();
+        }
+
         @Override
         public RateLimit getRatelimit()
         {
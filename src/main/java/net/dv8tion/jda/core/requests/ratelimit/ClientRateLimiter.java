@@ -25,15 +25,16 @@ import net.dv8tion.jda.core.requests.Route.CompiledRoute;
 import net.dv8tion.jda.core.requests.Route.RateLimit;
 import org.json.JSONObject;
 
-import java.util.Iterator;
 import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class ClientRateLimiter extends RateLimiter
 {
     volatile Long globalCooldown = null;
+    final TimerWheel timer = new TimerWheel(pool);
 
     public ClientRateLimiter(Requester requester, int poolSize)
     {
@@ -116,6 +117,7 @@ public class ClientRateLimiter extends RateLimiter
         final RateLimit rateLimit;
         volatile long retryAfter = 0;
         volatile ConcurrentLinkedQueue<Request> requests = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean scheduled = new AtomicBoolean(false);
 
         public Bucket(String route, RateLimit rateLimit)
         {
@@ -131,16 +133,18 @@ public class ClientRateLimiter extends RateLimiter
 
         void submitForProcessing()
         {
-            synchronized (submittedBuckets)
+            //Only the thread that flips the flag schedules the bucket, everyone else sees it already queued
+            if (scheduled.compareAndSet(false, true))
             {
-                if (!submittedBuckets.contains(this))
+                try
                 {
                     Long delay = getRateLimit();
-                    if (delay == null)
-                        delay = 0L;
-
-                    pool.schedule(this, delay, TimeUnit.MILLISECONDS);
-                    submittedBuckets.add(this);
+                    timer.schedule(this, delay == null ? 0 : delay);
+                }
+                catch (RejectedExecutionException e)
+                {
+                    scheduled.set(false);
+                    throw e;
                 }
             }
         }
@@ -187,60 +191,74 @@ public class ClientRateLimiter extends RateLimiter
         @Override
         public void run()
         {
+            Request request = requests.peek();
+            if (request == null)
+            {
+                finishProcessing();
+                return;
+            }
+
+            CompletableFuture<Long> execution;
             try
             {
-                synchronized (requests)
+                execution = requester.execute(request);
+            }
+            catch (Throwable t)
+            {
+                execution = new CompletableFuture<>();
+                execution.completeExceptionally(t);
+            }
+
+            //Only one request of a bucket is in flight at any time, the next one is sent once this one completed.
+            // No thread is blocked while waiting for the response.
+            execution.whenComplete((retryAfter, error) ->
+            {
+                try
                 {
-                    for (Iterator<Request> it = requests.iterator(); it.hasNext(); )
+                    if (error != null)
                     {
-                        Request request = null;
-                        try
-                        {
-                            request = it.next();
-                            Long retryAfter = requester.execute(request);
-                            if (retryAfter != null)
-                            {
-                                break;
-                            }
-                            else
-                            {
-                                it.remove();
-                            }
-                        }
-                        catch (Throwable t)
-                        {
-                            Requester.LOG.fatal("Requester system encountered an internal error");
-                            Requester.LOG.log(t);
-                            it.remove();
-                            if (request != null)
-                                request.onFailure(t);
-                        }
+                        Requester.LOG.fatal("Requester system encountered an internal error");
+                        Requester.LOG.log(error);
+                        requests.remove(request);
+                        request.onFailure(error);
                     }
-
-                    synchronized (submittedBuckets)
+                    else if (retryAfter == null)
                     {
-                        submittedBuckets.remove(this);
-                        if (!requests.isEmpty())
-                        {
-                            try
-                            {
-                                this.submitForProcessing();
-                            }
-                            catch (RejectedExecutionException e)
-                            {
-                                Requester.LOG.debug("Caught RejectedExecutionException when re-queuing a ratelimited request. The requester is probably shutdown, thus, this can be ignored.");
-                            }
-                        }
+                        requests.remove(request);
                     }
+                    finishProcessing();
                 }
-            }
-            catch (Throwable err)
+                catch (Throwable err)
+                {
+                    Requester.LOG.fatal("Requester system encountered an internal error while completing a request. NOT GOOD!");
+                    Requester.LOG.log(err);
+                }
+            });
+        }
+
+        private void finishProcessing()
+        {
+            //Clear the flag before checking the queue, a request added in between schedules the bucket itself
+            scheduled.set(false);
+            if (!requests.isEmpty())
             {
-                Requester.LOG.fatal("Requester system encountered an internal error from beyond the synchronized execution blocks. NOT GOOD!");
-                Requester.LOG.log(err);
+                try
+                {
+                    this.submitForProcessing();
+                }
+                catch (RejectedExecutionException e)
+                {
+                    Requester.LOG.debug("Caught RejectedExecutionException when re-queuing a ratelimited request. The requester is probably shutdown, thus, this can be ignored.");
+                }
             }
         }
 
+        @Override
+        public boolean isScheduled()
+        {
+            return scheduled.get();
+        }
+
         @Override
         public RateLimit getRatelimit()
         {
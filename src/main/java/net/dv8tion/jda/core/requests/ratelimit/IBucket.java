@@ -25,6 +25,7 @@ public interface IBucket
     Route.RateLimit getRatelimit();
     String getRoute();
     Queue<Request> getRequests();
+    boolean isScheduled();
     
     default boolean hasRatelimit()
     {
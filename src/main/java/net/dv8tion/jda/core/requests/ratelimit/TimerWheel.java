@@ -0,0 +1,174 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.dv8tion.jda.core.requests.ratelimit;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hashed timer wheel used to delay ratelimited buckets until their reset time.
+ *
+ * <p>Adding a task is lock-free. This keeps thousands of buckets from all contending on the
+ * delay queue of the ratelimit pool. Tasks are sorted into {@value #WHEEL_SIZE} slots of
+ * {@value #TICK_MILLIS}ms each. A single tick task, which only runs while tasks are pending,
+ * hands due tasks to the pool. Delays are rounded up to the next tick, so a task never runs early.
+ */
+class TimerWheel
+{
+    static final long TICK_MILLIS = 10;
+    static final int WHEEL_SIZE = 512; //Has to be a power of 2
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(TICK_MILLIS);
+
+    private final ScheduledExecutorService pool;
+    private final Slot[] wheel = new Slot[WHEEL_SIZE];
+    private final AtomicInteger pending = new AtomicInteger(0);
+    private final AtomicBoolean ticking = new AtomicBoolean(false);
+    private final long startTime = System.nanoTime();
+    private volatile long processedTick = 0;
+
+    TimerWheel(ScheduledExecutorService pool)
+    {
+        this.pool = pool;
+        for (int i = 0; i < WHEEL_SIZE; i++)
+            wheel[i] = new Slot();
+    }
+
+    /**
+     * Runs the provided task on the pool once the delay has passed.
+     *
+     * @param  task
+     *         The task to run
+     * @param  delay
+     *         The delay in milliseconds, the task is executed immediately if this is not positive
+     *
+     * @throws java.util.concurrent.RejectedExecutionException
+     *         If the pool has been shutdown
+     */
+    void schedule(Runnable task, long delay)
+    {
+        if (delay <= 0)
+        {
+            pool.execute(task);
+            return;
+        }
+
+        //First tick that starts after the delay has passed
+        long dueTime = System.nanoTime() - startTime + TimeUnit.MILLISECONDS.toNanos(delay);
+        long deadline = (dueTime + TICK_NANOS - 1) / TICK_NANOS;
+        Timeout timeout = new Timeout(task, deadline);
+        pending.incrementAndGet();
+        wheel[(int) (deadline & (WHEEL_SIZE - 1))].add(timeout);
+
+        //The tick task might have passed this slot while we were adding to it
+        if (deadline <= processedTick)
+            fire(timeout);
+        startTicking();
+    }
+
+    private void startTicking()
+    {
+        if (pending.get() > 0 && ticking.compareAndSet(false, true))
+        {
+            try
+            {
+                pool.schedule(this::tick, TICK_MILLIS, TimeUnit.MILLISECONDS);
+            }
+            catch (RejectedExecutionException e)
+            {
+                ticking.set(false);
+                throw e;
+            }
+        }
+    }
+
+    private void tick()
+    {
+        try
+        {
+            long now = currentTick();
+            //Only this task advances the wheel, there is never more than one tick task scheduled.
+            // After an idle period a single rotation is enough to visit every slot.
+            for (long tick = Math.max(processedTick + 1, now - WHEEL_SIZE + 1); tick <= now; tick++)
+            {
+                //Published before the slot is visited, see schedule(Runnable, long)
+                processedTick = tick;
+                for (Iterator<Timeout> it = wheel[(int) (tick & (WHEEL_SIZE - 1))].iterator(); it.hasNext(); )
+                {
+                    Timeout timeout = it.next();
+                    if (timeout.fired.get())
+                    {
+                        it.remove();
+                    }
+                    else if (timeout.deadline <= tick)
+                    {
+                        it.remove();
+                        fire(timeout);
+                    }
+                }
+            }
+        }
+        catch (RejectedExecutionException ignored)
+        {
+            //The pool has been shutdown, pending tasks can be dropped
+            return;
+        }
+
+        ticking.set(false);
+        try
+        {
+            startTicking();
+        }
+        catch (RejectedExecutionException ignored) {}
+    }
+
+    private void fire(Timeout timeout)
+    {
+        if (timeout.fired.compareAndSet(false, true))
+        {
+            pending.decrementAndGet();
+            pool.execute(timeout.task);
+        }
+    }
+
+    private long currentTick()
+    {
+        return (System.nanoTime() - startTime) / TICK_NANOS;
+    }
+
+    //Non-generic so the wheel can be a plain array
+    private static class Slot extends ConcurrentLinkedQueue<Timeout>
+    {
+        private static final long serialVersionUID = 1L;
+    }
+
+    private static class Timeout
+    {
+        final Runnable task;
+        final long deadline;
+        final AtomicBoolean fired = new AtomicBoolean(false);
+
+        Timeout(Runnable task, long deadline)
+        {
+            this.task = task;
+            this.deadline = deadline;
+        }
+    }
+}
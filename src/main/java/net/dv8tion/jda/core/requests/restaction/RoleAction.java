@@ -249,7 +249,7 @@ public class RoleAction extends RestAction<Role>
     protected void handleResponse(Response response, Request request)
     {
         if (response.isOk())
-            request.onSuccess(EntityBuilder.get(api).createRole(response.getObject(), guild.getId()));
+            request.onSuccess(EntityBuilder.get(api).createRole(response.getObject(), guild.getIdLong()));
         else
             request.onFailure(response);
     }
@@ -0,0 +1,170 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.dv8tion.jda.core.utils;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Writes the file logs of {@link SimpleLog} on a background thread.
+ *
+ * <p>Logged lines are put into a bounded queue and written by a single daemon thread that keeps every log file open
+ * and only flushes once the queue was drained. If the queue is full the logging thread waits for the writer, no lines are lost.
+ * Remaining lines are written by a shutdown hook when the JVM exits.
+ */
+class AsyncFileAppender
+{
+    static final int CAPACITY = 8192;
+
+    private final ArrayBlockingQueue<Line> queue = new ArrayBlockingQueue<>(CAPACITY);
+    private final Map<File, Writer> writers = new HashMap<>();
+
+    AsyncFileAppender()
+    {
+        Thread writer = new Thread(this::run, "SimpleLog File-Appender");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::drain, "SimpleLog File-Appender Shutdown Hook"));
+    }
+
+    /**
+     * Queues a line to be appended to the provided file.
+     *
+     * @param  file
+     *         The log file
+     * @param  text
+     *         The line to append, without line separator
+     */
+    void append(File file, String text)
+    {
+        try
+        {
+            queue.put(new Line(file, text));
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Closes the writers of all files that are not contained in the provided set.
+     *
+     * @param  files
+     *         All files that are still used by file logs
+     */
+    synchronized void retain(Set<File> files)
+    {
+        Iterator<Map.Entry<File, Writer>> iterator = writers.entrySet().iterator();
+        while (iterator.hasNext())
+        {
+            Map.Entry<File, Writer> entry = iterator.next();
+            if (!files.contains(entry.getKey()))
+            {
+                close(entry.getValue());
+                iterator.remove();
+            }
+        }
+    }
+
+    private void run()
+    {
+        while (true)
+        {
+            Line first;
+            try
+            {
+                first = queue.take();
+            }
+            catch (InterruptedException e)
+            {
+                return;
+            }
+            synchronized (this)
+            {
+                write(first);
+                drain();
+            }
+        }
+    }
+
+    private synchronized void drain()
+    {
+        Line line;
+        while ((line = queue.poll()) != null)
+            write(line);
+
+        for (Writer writer : writers.values())
+        {
+            try
+            {
+                writer.flush();
+            }
+            catch (IOException e)
+            {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private void write(Line line)
+    {
+        try
+        {
+            Writer writer = writers.get(line.file);
+            if (writer == null)
+            {
+                writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(line.file, true), StandardCharsets.UTF_8));
+                writers.put(line.file, writer);
+            }
+            writer.write(line.text);
+            writer.write('\n');
+        }
+        catch (IOException e)
+        {
+            e.printStackTrace();
+        }
+    }
+
+    private static void close(Writer writer)
+    {
+        try
+        {
+            writer.close();
+        }
+        catch (IOException e)
+        {
+            e.printStackTrace();
+        }
+    }
+
+    private static class Line
+    {
+        private final File file;
+        private final String text;
+
+        private Line(File file, String text)
+        {
+            this.file = file;
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.dv8tion.jda.core.utils;
+
+import org.apache.http.util.Args;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * {@link net.dv8tion.jda.core.utils.SessionStore SessionStore} implementation that keeps the session
+ * and the {@link net.dv8tion.jda.core.entities.EntitySnapshot EntitySnapshot} of each shard in a local directory.
+ * <br>Files are replaced atomically (where supported by the file system) so that a crash while writing
+ * never leaves a corrupted checkpoint behind.
+ */
+public class FileSessionStore implements SessionStore
+{
+    public static final SimpleLog LOG = SimpleLog.getLog("SessionStore");
+
+    protected final Path directory;
+
+    /**
+     * Creates a new FileSessionStore that stores its files in the provided directory.
+     * <br>The directory is created if it does not exist yet.
+     *
+     * @param  directory
+     *         The directory to store the sessions in
+     *
+     * @throws IllegalArgumentException
+     *         If the provided directory is null or exists but is not a directory
+     */
+    public FileSessionStore(File directory)
+    {
+        Args.notNull(directory, "Directory");
+        Args.check(!directory.exists() || directory.isDirectory(), "Provided file is not a directory!");
+        this.directory = directory.toPath();
+    }
+
+    @Override
+    public synchronized Session load(int shardId)
+    {
+        Path file = getFile(shardId);
+        if (!Files.exists(file))
+            return null;
+        try
+        {
+            JSONObject json = new JSONObject(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+            return new Session(json.getString("session_id"), json.getInt("seq"));
+        }
+        catch (IOException | JSONException e)
+        {
+            LOG.warn("Could not load the stored session of shard " + shardId + ": " + e);
+            return null;
+        }
+    }
+
+    @Override
+    public synchronized void store(int shardId, Session session)
+    {
+        Args.notNull(session, "Session");
+        Path file = getFile(shardId);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        byte[] data = new JSONObject()
+                .put("session_id", session.getSessionId())
+                .put("seq", session.getSequence())
+                .toString().getBytes(StandardCharsets.UTF_8);
+        try
+        {
+            Files.createDirectories(directory);
+            Files.write(temp, data);
+            try
+            {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (AtomicMoveNotSupportedException e)
+            {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        catch (IOException e)
+        {
+            LOG.warn("Could not store the session of shard " + shardId + ": " + e);
+        }
+    }
+
+    @Override
+    public synchronized void remove(int shardId)
+    {
+        try
+        {
+            Files.deleteIfExists(getFile(shardId));
+            Files.deleteIfExists(getSnapshotFile(shardId).toPath());
+        }
+        catch (IOException e)
+        {
+            LOG.warn("Could not remove the stored session of shard " + shardId + ": " + e);
+        }
+    }
+
+    @Override
+    public File getSnapshotFile(int shardId)
+    {
+        return directory.resolve("cache-" + shardId + ".snapshot").toFile();
+    }
+
+    protected Path getFile(int shardId)
+    {
+        return directory.resolve("session-" + shardId + ".json");
+    }
+}
@@ -15,7 +15,10 @@
  */
 package net.dv8tion.jda.core.utils;
 
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
 import net.dv8tion.jda.core.entities.impl.JDAImpl;
+import org.apache.http.util.Args;
 
 import java.lang.reflect.Method;
 import java.time.OffsetDateTime;
@@ -41,10 +44,7 @@ public class MiscUtil
     public static OffsetDateTime getCreationTime(String entityId) {
         try
         {
-            long timestamp = ((Long.parseLong(entityId) >> TIMESTAMP_OFFSET) + DISCORD_EPOCH);
-            Calendar gmt = Calendar.getInstance(TimeZone.getTimeZone("GMT"));
-            gmt.setTimeInMillis(timestamp);
-            return OffsetDateTime.ofInstant(gmt.toInstant(), gmt.getTimeZone().toZoneId());
+            return getCreationTime(Long.parseLong(entityId));
         }
         catch (NumberFormatException ex)
         {
@@ -52,6 +52,23 @@ public class MiscUtil
         }
     }
 
+    /**
+     * Gets the creation-time of a JDA-entity by doing the reverse snowflake algorithm on its id.
+     * This returns the creation-time of the actual entity on Discords side, not inside JDA.
+     *
+     * @param  entityId
+     *         The id of the JDA entity where the creation-time should be determined for
+     *
+     * @return The creation time of the JDA entity as OffsetDateTime
+     */
+    public static OffsetDateTime getCreationTime(long entityId)
+    {
+        long timestamp = ((entityId >>> TIMESTAMP_OFFSET) + DISCORD_EPOCH);
+        Calendar gmt = Calendar.getInstance(TimeZone.getTimeZone("GMT"));
+        gmt.setTimeInMillis(timestamp);
+        return OffsetDateTime.ofInstant(gmt.toInstant(), gmt.getTimeZone().toZoneId());
+    }
+
     /**
      * Gets the creation-time of a JDA-entity by doing the reverse snowflake algorithm on its id.
      * This returns the creation-time of the actual entity on Discords side, not inside JDA.
@@ -80,6 +97,48 @@ public class MiscUtil
         }
     }
 
+    /**
+     * Parses the provided snowflake id into its {@code long} representation.
+     * <br>Snowflakes are unsigned 64-bit integers, as such this uses {@link Long#parseUnsignedLong(String)}.
+     *
+     * @param  input
+     *         The snowflake id, as received from Discord
+     *
+     * @throws java.lang.IllegalArgumentException
+     *         If the provided input is null or empty
+     * @throws java.lang.NumberFormatException
+     *         If the provided input is not a valid snowflake
+     *
+     * @return The snowflake id as a {@code long}
+     */
+    public static long parseSnowflake(String input)
+    {
+        Args.notEmpty(input, "Snowflake id");
+        try
+        {
+            return Long.parseUnsignedLong(input);
+        }
+        catch (NumberFormatException ex)
+        {
+            throw new NumberFormatException("The provided id is not a valid snowflake: " + input);
+        }
+    }
+
+    /**
+     * Creates a new primitive {@code long}-keyed open-addressing map.
+     * <br>This is used for all of JDA's snowflake-keyed entity caches, as it neither boxes the keys
+     * nor requires a String representation of the id to be kept around.
+     *
+     * @param  <T>
+     *         The value type
+     *
+     * @return A new, empty TLongObjectMap
+     */
+    public static <T> TLongObjectMap<T> newLongMap()
+    {
+        return new TLongObjectHashMap<>();
+    }
+
     /**
      * Returns a prettier String-representation of a OffsetDateTime object
      *
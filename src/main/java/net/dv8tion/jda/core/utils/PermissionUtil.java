@@ -18,6 +18,7 @@ package net.dv8tion.jda.core.utils;
 import net.dv8tion.jda.core.Permission;
 import net.dv8tion.jda.core.entities.*;
 import net.dv8tion.jda.core.entities.impl.GuildImpl;
+import net.dv8tion.jda.core.entities.impl.PermissionCache;
 import net.dv8tion.jda.core.entities.impl.PermissionOverrideImpl;
 import net.dv8tion.jda.core.entities.impl.TextChannelImpl;
 import net.dv8tion.jda.core.entities.impl.VoiceChannelImpl;
@@ -228,18 +229,13 @@ public class PermissionUtil
         if (!guild.equals(member.getGuild()))
             throw new IllegalArgumentException("Provided member is not in the provided guild");
 
-        List<Role> roles = member.getRoles();
-        if (guild.getOwner().equals(member) // Admin or owner? If yes: no need to iterate
-                || guild.getPublicRole().hasPermission(Permission.ADMINISTRATOR)
-                || roles.stream().anyMatch(role -> role.hasPermission(Permission.ADMINISTRATOR)))
+        if (guild.getOwner().equals(member)) // Owner? If yes: no need to check the permissions
             return true;
-        for (Permission perm : permissions)
-        {
-            if (!guild.getPublicRole().hasPermission(perm)
-                    && !roles.parallelStream().anyMatch(role -> role.hasPermission(perm)))
-                return false;
-        }
-        return true;
+
+        //Cached bitset of the public role and all roles of the member
+        long effectivePerms = getEffectivePermission(guild, member);
+        return isApplied(effectivePerms, Permission.ADMINISTRATOR.getRawValue())
+                || isApplied(effectivePerms, Permission.getRaw(permissions));
     }
 
     /**
@@ -275,30 +271,12 @@ public class PermissionUtil
         if (!guild.equals(member.getGuild()))
             throw new IllegalArgumentException("Provided channel and member are not from the same guild!");
 
-        if (guild.getOwner().equals(member) // Admin or owner? If yes: no need to iterate
-                || guild.getPublicRole().hasPermission(Permission.ADMINISTRATOR)
-                || member.getRoles().stream().anyMatch(role -> role.hasPermission(Permission.ADMINISTRATOR)))
+        if (guild.getOwner().equals(member) // Admin or owner? If yes: no need to check the overrides
+                || isApplied(getEffectivePermission(guild, member), Permission.ADMINISTRATOR.getRawValue()))
             return true;
 
-        if (channel instanceof TextChannel)
-        {
-            for (Permission perm : permissions)
-            {
-                if (!checkPermission(member, perm, ((GuildImpl) channel.getGuild()),
-                        ((TextChannelImpl) channel).getRoleOverrideMap(), ((TextChannelImpl) channel).getMemberOverrideMap()))
-                    return false;
-            }
-        }
-        else
-        {
-            for (Permission perm : permissions)
-            {
-                if (!checkPermission(member, perm, ((GuildImpl) channel.getGuild()),
-                        ((VoiceChannelImpl) channel).getRoleOverrideMap(), ((VoiceChannelImpl) channel).getMemberOverrideMap()))
-                    return false;
-            }
-        }
-        return true;
+        //Channels can not override ADMINISTRATOR, so it does not need to be checked again
+        return isApplied(getEffectivePermission(channel, member), Permission.getRaw(permissions));
     }
 
     /**
@@ -327,13 +305,16 @@ public class PermissionUtil
 
         if (!member.getGuild().equals(guild))
             throw new IllegalArgumentException("Provided member is not in the provided guild!");
-        //Default to binary OR of all global permissions in this guild
-        long permission = guild.getPublicRole().getPermissionsRaw();
-        for (Role role : member.getRoles())
+        return ((GuildImpl) guild).getPermissionCache().get(member.getUser().getIdLong(), PermissionCache.GUILD, () ->
         {
-            permission = permission | role.getPermissionsRaw();
-        }
-        return permission;
+            //Default to binary OR of all global permissions in this guild
+            long permission = guild.getPublicRole().getPermissionsRaw();
+            for (Role role : member.getRoles())
+            {
+                permission = permission | role.getPermissionsRaw();
+            }
+            return permission;
+        });
     }
 
     /**
@@ -362,16 +343,20 @@ public class PermissionUtil
         if (!channel.getGuild().equals(member.getGuild()))
             throw new IllegalArgumentException("Provided channel and provided member are not of the same guild!");
 
-        if (channel instanceof TextChannel)
-        {
-            return getEffectivePermission(member, ((GuildImpl) channel.getGuild()),
-                    ((TextChannelImpl) channel).getRoleOverrideMap(), ((TextChannelImpl) channel).getMemberOverrideMap());
-        }
-        else
+        GuildImpl guild = (GuildImpl) channel.getGuild();
+        return guild.getPermissionCache().get(member.getUser().getIdLong(), channel.getIdLong(), () ->
         {
-            return getEffectivePermission(member, ((GuildImpl) channel.getGuild()),
-                    ((VoiceChannelImpl) channel).getRoleOverrideMap(), ((VoiceChannelImpl) channel).getMemberOverrideMap());
-        }
+            if (channel instanceof TextChannel)
+            {
+                return getEffectivePermission(member, guild,
+                        ((TextChannelImpl) channel).getRoleOverrideMap(), ((TextChannelImpl) channel).getMemberOverrideMap());
+            }
+            else
+            {
+                return getEffectivePermission(member, guild,
+                        ((VoiceChannelImpl) channel).getRoleOverrideMap(), ((VoiceChannelImpl) channel).getMemberOverrideMap());
+            }
+        });
     }
 
     /**
@@ -420,22 +405,6 @@ public class PermissionUtil
         return permissions;
     }
 
-    private static boolean checkPermission(Member member, Permission perm, GuildImpl guild, Map<Role, PermissionOverride> roleOverrides, Map<Member, PermissionOverride> memberOverrides)
-    {
-        //--Do we have all permissions possible? (Owner or member has ADMINISTRATOR permission)
-        //--If we have all permissions possible, then we will be able to see this room.
-        //WE DO NOT WANT TO CHECK THIS FOR CHANNELS, AS CHANNELS CAN OVERRIDE MANAGE_PERMISSIONS
-//        if (checkPermission(member, Permission.ADMINISTRATOR, guild))
-//            return true;
-
-        //BUT: WE DO WANT TO CHECK IF HE IS OWNER
-        if (guild.getOwner().equals(member))
-            return true;
-
-        long effectivePerms = getEffectivePermission(member, guild, roleOverrides, memberOverrides);
-        return ((effectivePerms & (1 << Permission.ADMINISTRATOR.getOffset())) | (effectivePerms & (1 << perm.getOffset()))) > 0;
-    }
-
     private static long getEffectivePermission(Member member, GuildImpl guild, Map<Role, PermissionOverride> roleOverrides, Map<Member, PermissionOverride> memberOverrides)
     {
         long permission = getEffectivePermission(guild, member);
@@ -483,6 +452,11 @@ public class PermissionUtil
         return permission;
     }
 
+    private static boolean isApplied(long permissions, long perms)
+    {
+        return (permissions & perms) == perms;
+    }
+
     private static long apply(long permission, long allow, long deny)
     {
         permission = permission | allow;    //Allow all the things that the cascade of roles allowed
@@ -0,0 +1,125 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.dv8tion.jda.core.utils;
+
+import java.io.File;
+
+/**
+ * Persists the gateway session of a {@link net.dv8tion.jda.core.JDA JDA} instance
+ * so that a restarted process can RESUME the previous session instead of starting a new one.
+ *
+ * <p>JDA checkpoints the session id and the last received sequence number whenever a session is started or resumed,
+ * on every heartbeat and on shutdown. When a session was stored for a shard, the next login attempts to RESUME it
+ * and falls back to IDENTIFY if Discord no longer accepts it.
+ *
+ * <p>A RESUME only replays the events that were missed while disconnected. A stored session is therefore only resumed
+ * if the entity cache of the previous process can be restored from an {@link net.dv8tion.jda.core.entities.EntitySnapshot EntitySnapshot},
+ * otherwise it is discarded and a new session is identified. Stores that do not provide a {@link #getSnapshotFile(int) snapshot file}
+ * only keep the session checkpoint.
+ *
+ * <p>Implementations have to be thread-safe, a single instance might be shared by all shards of a
+ * {@link net.dv8tion.jda.bot.sharding.ShardManager ShardManager}.
+ *
+ * @see net.dv8tion.jda.core.utils.FileSessionStore
+ */
+public interface SessionStore
+{
+    /**
+     * Loads the session that was last stored for the specified shard.
+     *
+     * @param  shardId
+     *         The id of the shard, {@code 0} if the connection is not sharded
+     *
+     * @return The stored {@link net.dv8tion.jda.core.utils.SessionStore.Session Session}, or {@code null} if none was stored
+     */
+    Session load(int shardId);
+
+    /**
+     * Stores the current session of the specified shard, replacing the previously stored session.
+     *
+     * @param  shardId
+     *         The id of the shard, {@code 0} if the connection is not sharded
+     * @param  session
+     *         The session to store
+     */
+    void store(int shardId, Session session);
+
+    /**
+     * Removes the stored session of the specified shard.
+     * <br>Called when the session was invalidated by Discord or closed for good.
+     *
+     * @param  shardId
+     *         The id of the shard, {@code 0} if the connection is not sharded
+     */
+    void remove(int shardId);
+
+    /**
+     * The file the {@link net.dv8tion.jda.core.entities.EntitySnapshot EntitySnapshot} of the specified shard is written to
+     * when its session is closed. The snapshot belongs to the stored session and should be removed together with it.
+     *
+     * <p>Default: {@code null} (no snapshots)
+     *
+     * @param  shardId
+     *         The id of the shard, {@code 0} if the connection is not sharded
+     *
+     * @return The snapshot file, or {@code null} if this store does not keep entity snapshots
+     */
+    default File getSnapshotFile(int shardId)
+    {
+        return null;
+    }
+
+    /**
+     * A checkpoint of a gateway session.
+     */
+    class Session
+    {
+        protected final String sessionId;
+        protected final int sequence;
+
+        public Session(String sessionId, int sequence)
+        {
+            this.sessionId = sessionId;
+            this.sequence = sequence;
+        }
+
+        /**
+         * The id of the session, as received in the READY event.
+         *
+         * @return The session id
+         */
+        public String getSessionId()
+        {
+            return sessionId;
+        }
+
+        /**
+         * The sequence number of the last event that was received in this session.
+         *
+         * @return The last sequence number
+         */
+        public int getSequence()
+        {
+            return sequence;
+        }
+
+        @Override
+        public String toString()
+        {
+            return "Session(" + sessionId + " / " + sequence + ")";
+        }
+    }
+}
@@ -19,11 +19,9 @@ import org.apache.commons.lang3.exception.ExceptionUtils;
 
 import javax.swing.JOptionPane;
 import java.io.*;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.StandardOpenOption;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.function.Supplier;
 
 public class SimpleLog
 {
@@ -43,6 +41,7 @@ public class SimpleLog
 
     private static final Map<String, SimpleLog> LOGS = new HashMap<>();
     private static final Set<LogListener> listeners = new HashSet<>();
+    private static volatile boolean hasListeners = false;
 
     /**
      * Will get the LOG with the given LOG-name or create one if it didn't exist
@@ -64,6 +63,8 @@ public class SimpleLog
     private static FileOutputStream stdOut = null;
     private static FileOutputStream errOut = null;
     private static Map<Level, Set<File>> fileLogs = new HashMap<>();
+    private static volatile AsyncFileAppender fileAppender = null;
+    private static volatile int fileLogPriority = Integer.MAX_VALUE; //Lowest priority that is written to a file log
 
     /**
      * Will duplicate the output-streams to the specified Files.
@@ -155,6 +156,7 @@ public class SimpleLog
             fileLogs.put(logLevel, new HashSet<>());
         }
         fileLogs.get(logLevel).add(canonicalFile);
+        updateFileLogs();
     }
 
     /**
@@ -167,6 +169,7 @@ public class SimpleLog
     public static void removeFileLog(Level logLevel)
     {
         fileLogs.remove(logLevel);
+        updateFileLogs();
     }
 
     /**
@@ -200,6 +203,22 @@ public class SimpleLog
                 setIter.remove();
             }
         }
+        updateFileLogs();
+    }
+
+    private static void updateFileLogs()
+    {
+        int priority = Integer.MAX_VALUE;
+        Set<File> files = new HashSet<>();
+        for (Map.Entry<Level, Set<File>> mapEntry : fileLogs.entrySet())
+        {
+            priority = Math.min(priority, mapEntry.getKey().getPriority());
+            files.addAll(mapEntry.getValue());
+        }
+        fileLogPriority = priority;
+        AsyncFileAppender appender = fileAppender;
+        if (appender != null)
+            appender.retain(files);
     }
 
     private static Set<File> collectFiles(Level level)
@@ -215,20 +234,28 @@ public class SimpleLog
 
     private static void logToFiles(String msg, Level level)
     {
+        if (level.getPriority() < fileLogPriority)
+            return;
         Set<File> files = collectFiles(level);
+        AsyncFileAppender appender = getFileAppender();
         for (File file : files)
+            appender.append(file, msg);
+    }
+
+    //Only starts the writer thread once the first line is written to a file log
+    private static AsyncFileAppender getFileAppender()
+    {
+        AsyncFileAppender appender = fileAppender;
+        if (appender == null)
         {
-            try
-            {
-                Files.write(file.toPath(), (msg + '\n').getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
-            }
-            catch (IOException e)
+            synchronized (SimpleLog.class)
             {
-                e.printStackTrace();
-//                JDAImpl.LOG.fatal("Could not write log to logFile...");
-//                JDAImpl.LOG.log(e);
+                appender = fileAppender;
+                if (appender == null)
+                    fileAppender = appender = new AsyncFileAppender();
             }
         }
+        return appender;
     }
 
     /**
@@ -240,6 +267,7 @@ public class SimpleLog
         synchronized (listeners)
         {
             listeners.add(listener);
+            hasListeners = true;
         }
     }
 
@@ -252,6 +280,7 @@ public class SimpleLog
         synchronized (listeners)
         {
             listeners.remove(listener);
+            hasListeners = !listeners.isEmpty();
         }
     }
 
@@ -295,6 +324,45 @@ public class SimpleLog
         return level == null ? SimpleLog.LEVEL : level;
     }
 
+    /**
+     * Checks whether a message with the given LOG-level would be used at all.
+     * <br>This is the case if it is printed to the console, written to a file log
+     * or if any {@link net.dv8tion.jda.core.utils.SimpleLog.LogListener LogListener} is registered.
+     * Use this to avoid building expensive messages that would be discarded anyway.
+     *
+     * @param level the LOG-level to check
+     * @return true, if a message with this level would be logged
+     */
+    public boolean isEnabled(Level level)
+    {
+        if (hasListeners)
+            return true;
+        int priority = level.getPriority();
+        return (level != Level.OFF && priority >= getEffectiveLevel().getPriority()) || priority >= fileLogPriority;
+    }
+
+    /**
+     * Whether messages with trace level would be logged.
+     *
+     * @return true, if trace messages are logged
+     * @see    #isEnabled(net.dv8tion.jda.core.utils.SimpleLog.Level)
+     */
+    public boolean isTraceEnabled()
+    {
+        return isEnabled(Level.TRACE);
+    }
+
+    /**
+     * Whether messages with debug level would be logged.
+     *
+     * @return true, if debug messages are logged
+     * @see    #isEnabled(net.dv8tion.jda.core.utils.SimpleLog.Level)
+     */
+    public boolean isDebugEnabled()
+    {
+        return isEnabled(Level.DEBUG);
+    }
+
     /**
      * Will LOG a message with given LOG-level
      *
@@ -302,6 +370,8 @@ public class SimpleLog
      * @param msg   The message to LOG
      */
     public void log(Level level, Object msg) {
+        if (!isEnabled(level))
+            return;
         synchronized (listeners)
         {
             for (LogListener listener : listeners)
@@ -333,6 +403,31 @@ public class SimpleLog
         log(Level.FATAL, ExceptionUtils.getStackTrace(ex));
     }
 
+    /**
+     * Will LOG the message provided by the Supplier with given LOG-level.
+     * The Supplier is only called if the message would be logged.
+     *
+     * @param level The level of the Log
+     * @param msg   The Supplier of the message to LOG
+     */
+    public void log(Level level, Supplier<?> msg) {
+        if (isEnabled(level))
+            log(level, msg.get());
+    }
+
+    /**
+     * Will LOG a message with given LOG-level.
+     * The message is only formatted using {@link String#format(String, Object...)} if it would be logged.
+     *
+     * @param level  The level of the Log
+     * @param format The format of the message
+     * @param args   The arguments referenced by the format
+     */
+    public void log(Level level, String format, Object... args) {
+        if (isEnabled(level))
+            log(level, String.format(format, args));
+    }
+
     /**
      * Will LOG a message with trace level.
      *
@@ -342,6 +437,27 @@ public class SimpleLog
         log(Level.TRACE, msg);
     }
 
+    /**
+     * Will LOG the message provided by the Supplier with trace level.
+     * The Supplier is only called if trace messages are logged.
+     *
+     * @param msg the Supplier of the message, which should be logged
+     */
+    public void trace(Supplier<?> msg) {
+        log(Level.TRACE, msg);
+    }
+
+    /**
+     * Will LOG a message with trace level.
+     * The message is only formatted if trace messages are logged.
+     *
+     * @param format the format of the message, see {@link String#format(String, Object...)}
+     * @param args   the arguments referenced by the format
+     */
+    public void trace(String format, Object... args) {
+        log(Level.TRACE, format, args);
+    }
+
     /**
      * Will LOG a message with debug level
      *
@@ -351,6 +467,27 @@ public class SimpleLog
         log(Level.DEBUG, msg);
     }
 
+    /**
+     * Will LOG the message provided by the Supplier with debug level.
+     * The Supplier is only called if debug messages are logged.
+     *
+     * @param msg the Supplier of the message, which should be logged
+     */
+    public void debug(Supplier<?> msg) {
+        log(Level.DEBUG, msg);
+    }
+
+    /**
+     * Will LOG a message with debug level.
+     * The message is only formatted if debug messages are logged.
+     *
+     * @param format the format of the message, see {@link String#format(String, Object...)}
+     * @param args   the arguments referenced by the format
+     */
+    public void debug(String format, Object... args) {
+        log(Level.DEBUG, format, args);
+    }
+
     /**
      * Will LOG a message with info level
      *
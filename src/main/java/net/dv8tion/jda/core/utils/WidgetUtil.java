@@ -19,11 +19,13 @@ import com.mashape.unirest.http.HttpResponse;
 import com.mashape.unirest.http.JsonNode;
 import com.mashape.unirest.http.Unirest;
 import com.mashape.unirest.http.exceptions.UnirestException;
+import net.dv8tion.jda.core.JDA;
 import net.dv8tion.jda.core.OnlineStatus;
 import net.dv8tion.jda.core.entities.Game;
 import net.dv8tion.jda.core.entities.Guild;
 import net.dv8tion.jda.core.entities.IMentionable;
 import net.dv8tion.jda.core.entities.ISnowflake;
+import net.dv8tion.jda.core.entities.impl.JDAImpl;
 import net.dv8tion.jda.core.entities.impl.UserImpl;
 import net.dv8tion.jda.core.exceptions.RateLimitedException;
 import net.dv8tion.jda.core.requests.Requester;
@@ -44,14 +46,16 @@ import java.util.List;
  */
 public class WidgetUtil 
 {
-    public static final String WIDGET_PNG = Requester.DISCORD_API_PREFIX + "guilds/%s/widget.png?style=%s";
-    public static final String WIDGET_URL = Requester.DISCORD_API_PREFIX + "guilds/%s/widget.json";
+    private static final String WIDGET_PNG_PATH = "guilds/%s/widget.png?style=%s";
+    private static final String WIDGET_URL_PATH = "guilds/%s/widget.json";
+    public static final String WIDGET_PNG = Requester.DISCORD_API_PREFIX + WIDGET_PNG_PATH;
+    public static final String WIDGET_URL = Requester.DISCORD_API_PREFIX + WIDGET_URL_PATH;
     public static final String WIDGET_HTML = "<iframe src=\"https://discordapp.com/widget?id=%s&theme=%s\" width=\"%d\" height=\"%d\" allowtransparency=\"true\" frameborder=\"0\"></iframe>";
     
     /**
      * Gets the banner image for the specified guild of the specified type.
      * <br>This banner will only be available if the guild in question has the
-     * Widget enabled.
+     * Widget enabled. The URL uses the REST endpoint of the guild's JDA instance.
      * 
      * @param  guild
      *         The guild
@@ -63,7 +67,8 @@ public class WidgetUtil
     public static String getWidgetBanner(Guild guild, BannerType type)
     {
         Args.notNull(guild, "Guild");
-        return getWidgetBanner(guild.getId(), type);
+        Args.notNull(type, "BannerType");
+        return String.format(((JDAImpl) guild.getJDA()).getRestEndpoint() + WIDGET_PNG_PATH, guild.getId(), type.name().toLowerCase());
     }
     
     /**
@@ -158,11 +163,37 @@ public class WidgetUtil
      *         in question has the widget enabled.
      */
     public static Widget getWidget(String guildId) throws RateLimitedException
+    {
+        return getWidget(Requester.DISCORD_API_PREFIX, guildId);
+    }
+
+    /**
+     * Makes a GET request to get the information for a Guild's widget
+     * using the REST endpoint of the provided JDA instance.
+     *
+     * @param  api
+     *         The JDA instance whose REST endpoint is used
+     * @param  guildId
+     *         The id of the Guild
+     *
+     * @throws net.dv8tion.jda.core.exceptions.RateLimitedException
+     *         If the request was rate limited, <b>respect the timeout</b>!
+     *
+     * @return The Widget, see {@link #getWidget(String)}
+     */
+    public static Widget getWidget(JDA api, String guildId) throws RateLimitedException
+    {
+        Args.notNull(api, "JDA");
+        return getWidget(((JDAImpl) api).getRestEndpoint(), guildId);
+    }
+
+    private static Widget getWidget(String restEndpoint, String guildId) throws RateLimitedException
     {
         Args.notNull(guildId, "GuildId");
+        final String url = restEndpoint + WIDGET_URL_PATH;
         try
         {
-            HttpResponse<JsonNode> result = Unirest.get(String.format(WIDGET_URL, guildId)).asJson();
+            HttpResponse<JsonNode> result = Unirest.get(String.format(url, guildId)).asJson();
             switch(result.getStatus())
             {
                 case 200: return new Widget(result.getBody().getObject()); // ok
@@ -180,7 +211,7 @@ public class WidgetUtil
                     {
                         retryAfter = 0;
                     }
-                    throw new RateLimitedException(WIDGET_URL, retryAfter);
+                    throw new RateLimitedException(url, retryAfter);
                 }
                 default: throw new RuntimeException("An unknown status was returned: " + result.getStatus() + " " + result.getStatusText());
             }
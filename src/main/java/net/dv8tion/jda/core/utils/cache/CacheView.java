@@ -0,0 +1,100 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.dv8tion.jda.core.utils.cache;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Read-only, thread-safe view of a JDA entity cache.
+ *
+ * <p>All methods operate on an immutable snapshot of the cache. The snapshot is only rebuilt
+ * after the cache has been modified, so repeated reads of an unchanged cache do not copy anything.
+ * This makes it safe to use {@link #stream()}, {@link #forEach(java.util.function.Consumer) forEach(Consumer)}
+ * or the {@link #iterator() iterator} from any thread while JDA updates the cache, the snapshot
+ * simply does not reflect changes made after it was taken.
+ *
+ * @param <T>
+ *        The cached entity type
+ */
+public interface CacheView<T> extends Iterable<T>
+{
+    /**
+     * Immutable snapshot of all currently cached entities.
+     * <br>The entities are not provided in any particular order.
+     *
+     * @return Immutable list of all cached entities
+     */
+    List<T> asList();
+
+    /**
+     * Immutable set of all currently cached entities.
+     * <br>Unlike {@link #asList()} this copies the snapshot into a new Set.
+     *
+     * @return Immutable set of all cached entities
+     */
+    Set<T> asSet();
+
+    /**
+     * The amount of currently cached entities.
+     *
+     * @return The amount of cached entities
+     */
+    int size();
+
+    /**
+     * Whether the cache is empty.
+     *
+     * @return True, if no entities are cached
+     */
+    boolean isEmpty();
+
+    /**
+     * Gets all cached entities with the provided name.
+     *
+     * @param  name
+     *         The name to look for
+     * @param  ignoreCase
+     *         Whether to ignore case when comparing the names
+     *
+     * @throws java.lang.IllegalArgumentException
+     *         If the provided name is null
+     *
+     * @return Possibly-empty immutable list of all entities with the provided name
+     */
+    List<T> getElementsByName(String name, boolean ignoreCase);
+
+    /**
+     * Sequential {@link java.util.stream.Stream Stream} over a snapshot of the cached entities.
+     *
+     * @return Stream of the cached entities
+     */
+    default Stream<T> stream()
+    {
+        return asList().stream();
+    }
+
+    /**
+     * Parallel {@link java.util.stream.Stream Stream} over a snapshot of the cached entities.
+     *
+     * @return Parallel Stream of the cached entities
+     */
+    default Stream<T> parallelStream()
+    {
+        return asList().parallelStream();
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.dv8tion.jda.core.utils.cache;
+
+import net.dv8tion.jda.core.OnlineStatus;
+import net.dv8tion.jda.core.entities.Member;
+import net.dv8tion.jda.core.utils.cache.impl.CombinedMemberCachePolicy;
+import net.dv8tion.jda.core.utils.cache.impl.LRUMemberCachePolicy;
+import org.apache.http.util.Args;
+
+/**
+ * Decides which {@link net.dv8tion.jda.core.entities.Member Members} are kept in the
+ * {@link net.dv8tion.jda.core.entities.Guild#getMemberCache() member cache} of a Guild.
+ * <br>Set with {@link net.dv8tion.jda.core.JDABuilder#setMemberCachePolicy(MemberCachePolicy) JDABuilder.setMemberCachePolicy(MemberCachePolicy)}.
+ *
+ * <p>The policy is checked once a Guild was loaded and whenever the presence or voice state of a Member is updated.
+ * Members that were not cached can be loaded on demand with {@link net.dv8tion.jda.core.entities.Guild#retrieveMemberById(long)}.
+ * The Member of the currently logged in account is always cached.
+ *
+ * <p>Only {@link #ALL} requests the complete member list of every Guild on startup. With any other policy a Guild
+ * only starts out with the Members that Discord sends when the Guild is created (online and voice Members
+ * for large Guilds) and new Members are cached when they join until their next update.
+ */
+@FunctionalInterface
+public interface MemberCachePolicy
+{
+    /** Caches every Member and requests the complete member list of every Guild on startup. This is the default. */
+    MemberCachePolicy ALL = member -> true;
+    /** Only caches the Member of the currently logged in account. */
+    MemberCachePolicy NONE = member -> false;
+    /** Caches Members that are not {@link net.dv8tion.jda.core.OnlineStatus#OFFLINE OFFLINE}. */
+    MemberCachePolicy ONLINE = member -> member.getOnlineStatus() != OnlineStatus.OFFLINE;
+    /** Caches Members that are connected to a {@link net.dv8tion.jda.core.entities.VoiceChannel VoiceChannel}. */
+    MemberCachePolicy VOICE = member -> member.getVoiceState().inVoiceChannel();
+
+    /**
+     * Whether the provided Member should be kept in the cache.
+     * <br>This is called on the main WebSocket thread.
+     *
+     * @param  member
+     *         The Member that was loaded or updated
+     *
+     * @return True, if the Member should be cached
+     */
+    boolean cacheMember(Member member);
+
+    /**
+     * Called when a Member was removed from the cache, either because it left the Guild or because
+     * a policy no longer wants to cache it.
+     * <br>Policies that keep state about the Members they cache should drop it here. This is called on the main WebSocket thread.
+     *
+     * @param  guildId
+     *         The id of the Guild of the Member
+     * @param  userId
+     *         The id of the Member's User
+     */
+    default void onMemberUnload(long guildId, long userId) { }
+
+    /**
+     * Called when all Members of a Guild were removed from the cache, because the Guild was left, deleted
+     * or the session was invalidated.
+     * <br>Policies that keep state about the Members they cache should drop it here. This is called on the main WebSocket thread.
+     *
+     * @param  guildId
+     *         The id of the Guild
+     */
+    default void onGuildUnload(long guildId) { }
+
+    /**
+     * Combines this policy with another one, Members are cached if either of them want to cache them.
+     * <br>The other policy is only asked if this policy does not cache the Member.
+     *
+     * @param  other
+     *         The other policy
+     *
+     * @throws IllegalArgumentException
+     *         If the provided policy is null
+     *
+     * @return The combined policy
+     */
+    default MemberCachePolicy or(MemberCachePolicy other)
+    {
+        Args.notNull(other, "MemberCachePolicy");
+        return new CombinedMemberCachePolicy(this, other, false);
+    }
+
+    /**
+     * Combines this policy with another one, Members are only cached if both of them want to cache them.
+     * <br>The other policy is only asked if this policy caches the Member.
+     *
+     * @param  other
+     *         The other policy
+     *
+     * @throws IllegalArgumentException
+     *         If the provided policy is null
+     *
+     * @return The combined policy
+     */
+    default MemberCachePolicy and(MemberCachePolicy other)
+    {
+        Args.notNull(other, "MemberCachePolicy");
+        return new CombinedMemberCachePolicy(this, other, true);
+    }
+
+    /**
+     * Caches the Members of each Guild that were seen most recently.
+     * <br>A Member is seen when it is loaded, sends a message or its presence or voice state is updated.
+     * Once more than {@code maxMembers} Members of a Guild are cached, the Member that was seen least recently is removed.
+     *
+     * @param  maxMembers
+     *         The maximum amount of Members that are cached per Guild
+     *
+     * @throws IllegalArgumentException
+     *         If the provided amount is less than 1
+     *
+     * @return The new policy
+     */
+    static MemberCachePolicy lru(int maxMembers)
+    {
+        Args.positive(maxMembers, "Max members");
+        return new LRUMemberCachePolicy(maxMembers);
+    }
+}
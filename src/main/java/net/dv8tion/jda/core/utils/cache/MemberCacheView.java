@@ -0,0 +1,115 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.dv8tion.jda.core.utils.cache;
+
+import net.dv8tion.jda.core.entities.Member;
+import net.dv8tion.jda.core.entities.Role;
+import net.dv8tion.jda.core.utils.MiscUtil;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * {@link net.dv8tion.jda.core.utils.cache.CacheView CacheView} of the {@link net.dv8tion.jda.core.entities.Member Members}
+ * of a {@link net.dv8tion.jda.core.entities.Guild Guild}.
+ * <br>Members are identified by the id of their {@link net.dv8tion.jda.core.entities.User User}.
+ *
+ * <p>{@link #getElementsByName(String, boolean)} compares the {@link net.dv8tion.jda.core.entities.Member#getEffectiveName() effective names}.
+ */
+public interface MemberCacheView extends CacheView<Member>
+{
+    /**
+     * Gets the cached Member for the provided user id.
+     *
+     * @param  id
+     *         The id of the {@link net.dv8tion.jda.core.entities.User User}
+     *
+     * @return Possibly-null Member with the provided user id
+     */
+    Member getElementById(long id);
+
+    /**
+     * Gets the cached Member for the provided user id.
+     *
+     * @param  id
+     *         The id of the {@link net.dv8tion.jda.core.entities.User User}
+     *
+     * @throws java.lang.NumberFormatException
+     *         If the provided id is not a valid snowflake
+     *
+     * @return Possibly-null Member with the provided user id
+     */
+    default Member getElementById(String id)
+    {
+        return getElementById(MiscUtil.parseSnowflake(id));
+    }
+
+    /**
+     * Gets all cached Members whose {@link net.dv8tion.jda.core.entities.User#getName() username} matches the provided name.
+     *
+     * @param  name
+     *         The username to look for
+     * @param  ignoreCase
+     *         Whether to ignore case when comparing the names
+     *
+     * @throws java.lang.IllegalArgumentException
+     *         If the provided name is null
+     *
+     * @return Possibly-empty immutable list of Members with the provided username
+     */
+    List<Member> getElementsByUsername(String name, boolean ignoreCase);
+
+    /**
+     * Gets all cached Members whose {@link net.dv8tion.jda.core.entities.Member#getNickname() nickname} matches the provided name.
+     *
+     * @param  nickname
+     *         The nickname to look for
+     * @param  ignoreCase
+     *         Whether to ignore case when comparing the names
+     *
+     * @throws java.lang.IllegalArgumentException
+     *         If the provided nickname is null
+     *
+     * @return Possibly-empty immutable list of Members with the provided nickname
+     */
+    List<Member> getElementsByNickname(String nickname, boolean ignoreCase);
+
+    /**
+     * Gets all cached Members that have all provided {@link net.dv8tion.jda.core.entities.Role Roles}.
+     *
+     * @param  roles
+     *         The Roles a Member must have
+     *
+     * @throws java.lang.IllegalArgumentException
+     *         If a provided Role is null
+     *
+     * @return Possibly-empty immutable list of Members with all provided Roles
+     */
+    List<Member> getElementsWithRoles(Role... roles);
+
+    /**
+     * Gets all cached Members that have all provided {@link net.dv8tion.jda.core.entities.Role Roles}.
+     *
+     * @param  roles
+     *         The Roles a Member must have
+     *
+     * @throws java.lang.IllegalArgumentException
+     *         If a provided Role is null
+     *
+     * @return Possibly-empty immutable list of Members with all provided Roles
+     */
+    List<Member> getElementsWithRoles(Collection<Role> roles);
+}
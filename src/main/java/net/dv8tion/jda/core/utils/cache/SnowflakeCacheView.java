@@ -0,0 +1,54 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.dv8tion.jda.core.utils.cache;
+
+import net.dv8tion.jda.core.entities.ISnowflake;
+import net.dv8tion.jda.core.utils.MiscUtil;
+
+/**
+ * {@link net.dv8tion.jda.core.utils.cache.CacheView CacheView} of entities that are identified by their snowflake id.
+ *
+ * @param <T>
+ *        The cached entity type
+ */
+public interface SnowflakeCacheView<T extends ISnowflake> extends CacheView<T>
+{
+    /**
+     * Gets the cached entity with the provided id.
+     *
+     * @param  id
+     *         The id of the entity
+     *
+     * @return Possibly-null entity with the provided id
+     */
+    T getElementById(long id);
+
+    /**
+     * Gets the cached entity with the provided id.
+     *
+     * @param  id
+     *         The id of the entity
+     *
+     * @throws java.lang.NumberFormatException
+     *         If the provided id is not a valid snowflake
+     *
+     * @return Possibly-null entity with the provided id
+     */
+    default T getElementById(String id)
+    {
+        return getElementById(MiscUtil.parseSnowflake(id));
+    }
+}
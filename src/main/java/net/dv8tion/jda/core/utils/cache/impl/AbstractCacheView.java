@@ -0,0 +1,98 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.dv8tion.jda.core.utils.cache.impl;
+
+import gnu.trove.map.TLongObjectMap;
+import net.dv8tion.jda.core.utils.cache.CacheView;
+import org.apache.http.util.Args;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public abstract class AbstractCacheView<T> implements CacheView<T>
+{
+    protected final CacheMap<T> elements = new CacheMap<>();
+    protected final Function<T, String> nameMapper;
+
+    protected AbstractCacheView(Function<T, String> nameMapper)
+    {
+        this.nameMapper = nameMapper;
+    }
+
+    /**
+     * The underlying map of this view, used by JDA to update the cache.
+     *
+     * @return The modifiable map of this view
+     */
+    public TLongObjectMap<T> getMap()
+    {
+        return elements;
+    }
+
+    @Override
+    public List<T> asList()
+    {
+        return elements.getSnapshot();
+    }
+
+    @Override
+    public Set<T> asSet()
+    {
+        return Collections.unmodifiableSet(new HashSet<>(asList()));
+    }
+
+    @Override
+    public int size()
+    {
+        return elements.size();
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return elements.isEmpty();
+    }
+
+    @Override
+    public List<T> getElementsByName(String name, boolean ignoreCase)
+    {
+        Args.notNull(name, "name");
+        return filter(nameMapper, name, ignoreCase);
+    }
+
+    @Override
+    public Iterator<T> iterator()
+    {
+        return asList().iterator();
+    }
+
+    protected List<T> filter(Function<T, String> mapper, String name, boolean ignoreCase)
+    {
+        return Collections.unmodifiableList(asList().stream()
+                .filter(element ->
+                    ignoreCase
+                    ? name.equalsIgnoreCase(mapper.apply(element))
+                    : name.equals(mapper.apply(element)))
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public String toString()
+    {
+        return getClass().getSimpleName() + "(" + size() + ")";
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.dv8tion.jda.core.utils.cache.impl;
+
+import gnu.trove.function.TObjectFunction;
+import gnu.trove.impl.sync.TSynchronizedLongObjectMap;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import gnu.trove.procedure.TLongObjectProcedure;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Synchronized {@link gnu.trove.map.TLongObjectMap TLongObjectMap} that keeps an immutable snapshot of its values.
+ * <br>The snapshot is only discarded by modifications that actually change the map and is lazily rebuilt
+ * by the next read, so consecutive writes never rebuild it and readers of an unchanged map share the same snapshot.
+ *
+ * <p>Modifications have to go through the methods of this map, modifying it through
+ * {@link #keySet()}, {@link #valueCollection()} or {@link #iterator()} would not discard the snapshot.
+ *
+ * @param <T>
+ *        The type of the values
+ */
+public class CacheMap<T> extends TSynchronizedLongObjectMap<T>
+{
+    private static final long serialVersionUID = 1L;
+
+    //Rebuilt on demand, no need to serialize it
+    private transient volatile List<T> snapshot = Collections.emptyList();
+
+    public CacheMap()
+    {
+        //Synchronizes on this map, like the super class does by default
+        super(new TLongObjectHashMap<>());
+    }
+
+    /**
+     * Immutable snapshot of all values in this map.
+     *
+     * @return Immutable list of the values
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> getSnapshot()
+    {
+        List<T> values = snapshot;
+        if (values == null)
+        {
+            synchronized (this)
+            {
+                values = snapshot;
+                if (values == null)
+                    snapshot = values = Collections.unmodifiableList(Arrays.asList((T[]) values()));
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public T put(long key, T value)
+    {
+        synchronized (this)
+        {
+            T previous = super.put(key, value);
+            if (previous != value)
+                snapshot = null;
+            return previous;
+        }
+    }
+
+    @Override
+    public T putIfAbsent(long key, T value)
+    {
+        synchronized (this)
+        {
+            T previous = super.putIfAbsent(key, value);
+            if (previous == null)
+                snapshot = null;
+            return previous;
+        }
+    }
+
+    @Override
+    public T remove(long key)
+    {
+        synchronized (this)
+        {
+            T previous = super.remove(key);
+            if (previous != null)
+                snapshot = null;
+            return previous;
+        }
+    }
+
+    @Override
+    public void putAll(Map<? extends Long, ? extends T> map)
+    {
+        synchronized (this)
+        {
+            snapshot = null;
+            super.putAll(map);
+        }
+    }
+
+    @Override
+    public void putAll(TLongObjectMap<? extends T> map)
+    {
+        synchronized (this)
+        {
+            snapshot = null;
+            super.putAll(map);
+        }
+    }
+
+    @Override
+    public void clear()
+    {
+        synchronized (this)
+        {
+            if (!isEmpty())
+                snapshot = null;
+            super.clear();
+        }
+    }
+
+    @Override
+    public void transformValues(TObjectFunction<T, T> function)
+    {
+        synchronized (this)
+        {
+            snapshot = null;
+            super.transformValues(function);
+        }
+    }
+
+    @Override
+    public boolean retainEntries(TLongObjectProcedure<? super T> procedure)
+    {
+        synchronized (this)
+        {
+            boolean modified = super.retainEntries(procedure);
+            if (modified)
+                snapshot = null;
+            return modified;
+        }
+    }
+}
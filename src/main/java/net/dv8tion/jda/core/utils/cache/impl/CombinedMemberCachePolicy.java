@@ -0,0 +1,62 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.dv8tion.jda.core.utils.cache.impl;
+
+import net.dv8tion.jda.core.entities.Member;
+import net.dv8tion.jda.core.utils.cache.MemberCachePolicy;
+
+/**
+ * {@link net.dv8tion.jda.core.utils.cache.MemberCachePolicy MemberCachePolicy} that combines two policies
+ * and passes unload notifications on to both of them.
+ *
+ * @see net.dv8tion.jda.core.utils.cache.MemberCachePolicy#or(MemberCachePolicy)
+ * @see net.dv8tion.jda.core.utils.cache.MemberCachePolicy#and(MemberCachePolicy)
+ */
+public class CombinedMemberCachePolicy implements MemberCachePolicy
+{
+    private final MemberCachePolicy first;
+    private final MemberCachePolicy second;
+    private final boolean and;
+
+    public CombinedMemberCachePolicy(MemberCachePolicy first, MemberCachePolicy second, boolean and)
+    {
+        this.first = first;
+        this.second = second;
+        this.and = and;
+    }
+
+    @Override
+    public boolean cacheMember(Member member)
+    {
+        if (and)
+            return first.cacheMember(member) && second.cacheMember(member);
+        return first.cacheMember(member) || second.cacheMember(member);
+    }
+
+    @Override
+    public void onMemberUnload(long guildId, long userId)
+    {
+        first.onMemberUnload(guildId, userId);
+        second.onMemberUnload(guildId, userId);
+    }
+
+    @Override
+    public void onGuildUnload(long guildId)
+    {
+        first.onGuildUnload(guildId);
+        second.onGuildUnload(guildId);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.dv8tion.jda.core.utils.cache.impl;
+
+import gnu.trove.map.TLongObjectMap;
+import net.dv8tion.jda.core.entities.EntityBuilder;
+import net.dv8tion.jda.core.entities.Member;
+import net.dv8tion.jda.core.entities.impl.GuildImpl;
+import net.dv8tion.jda.core.utils.MiscUtil;
+import net.dv8tion.jda.core.utils.cache.MemberCachePolicy;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * {@link net.dv8tion.jda.core.utils.cache.MemberCachePolicy MemberCachePolicy} that keeps the most recently seen
+ * Members of every Guild and unloads the least recently seen Member once a Guild exceeds the limit.
+ *
+ * @see net.dv8tion.jda.core.utils.cache.MemberCachePolicy#lru(int)
+ */
+public class LRUMemberCachePolicy implements MemberCachePolicy
+{
+    private final int maxMembers;
+    //User ids per Guild, access ordered so the eldest entry is the Member that was seen least recently
+    private final TLongObjectMap<LinkedHashMap<Long, Boolean>> guilds = MiscUtil.newLongMap();
+
+    public LRUMemberCachePolicy(int maxMembers)
+    {
+        this.maxMembers = maxMembers;
+    }
+
+    @Override
+    public boolean cacheMember(Member member)
+    {
+        long evicted = 0;
+        synchronized (guilds)
+        {
+            final long guildId = member.getGuild().getIdLong();
+            LinkedHashMap<Long, Boolean> seen = guilds.get(guildId);
+            if (seen == null)
+            {
+                seen = new LinkedHashMap<>(16, 0.75f, true);
+                guilds.put(guildId, seen);
+            }
+            seen.put(member.getUser().getIdLong(), Boolean.TRUE);
+
+            if (seen.size() > maxMembers)
+            {
+                Iterator<Long> iterator = seen.keySet().iterator();
+                evicted = iterator.next();
+                iterator.remove();
+            }
+        }
+
+        if (evicted != 0)
+            EntityBuilder.get(member.getJDA()).unloadMember((GuildImpl) member.getGuild(), evicted);
+        return true;
+    }
+
+    @Override
+    public void onMemberUnload(long guildId, long userId)
+    {
+        synchronized (guilds)
+        {
+            LinkedHashMap<Long, Boolean> seen = guilds.get(guildId);
+            if (seen == null)
+                return;
+            seen.remove(userId);
+            if (seen.isEmpty())
+                guilds.remove(guildId);
+        }
+    }
+
+    @Override
+    public void onGuildUnload(long guildId)
+    {
+        synchronized (guilds)
+        {
+            guilds.remove(guildId);
+        }
+    }
+}
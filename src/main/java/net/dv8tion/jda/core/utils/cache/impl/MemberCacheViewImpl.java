@@ -0,0 +1,74 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.dv8tion.jda.core.utils.cache.impl;
+
+import net.dv8tion.jda.core.entities.Member;
+import net.dv8tion.jda.core.entities.Role;
+import net.dv8tion.jda.core.utils.cache.MemberCacheView;
+import org.apache.http.util.Args;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class MemberCacheViewImpl extends AbstractCacheView<Member> implements MemberCacheView
+{
+    public MemberCacheViewImpl()
+    {
+        super(Member::getEffectiveName);
+    }
+
+    @Override
+    public Member getElementById(long id)
+    {
+        return elements.get(id);
+    }
+
+    @Override
+    public List<Member> getElementsByUsername(String name, boolean ignoreCase)
+    {
+        Args.notNull(name, "name");
+        return filter(member -> member.getUser().getName(), name, ignoreCase);
+    }
+
+    @Override
+    public List<Member> getElementsByNickname(String nickname, boolean ignoreCase)
+    {
+        Args.notNull(nickname, "nickname");
+        return filter(Member::getNickname, nickname, ignoreCase);
+    }
+
+    @Override
+    public List<Member> getElementsWithRoles(Role... roles)
+    {
+        Args.notNull(roles, "roles");
+        return getElementsWithRoles(Arrays.asList(roles));
+    }
+
+    @Override
+    public List<Member> getElementsWithRoles(Collection<Role> roles)
+    {
+        Args.notNull(roles, "roles");
+        for (Role r : roles)
+            Args.notNull(r, "Role provided in collection");
+
+        return Collections.unmodifiableList(asList().stream()
+                .filter(m -> m.getRoles().containsAll(roles))
+                .collect(Collectors.toList()));
+    }
+}
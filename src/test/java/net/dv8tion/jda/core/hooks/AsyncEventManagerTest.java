@@ -0,0 +1,154 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.hooks;
+
+import net.dv8tion.jda.core.events.Event;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class AsyncEventManagerTest
+{
+    private final List<Integer> handled = Collections.synchronizedList(new ArrayList<>());
+    private ExecutorService pool;
+
+    @After
+    public void teardown()
+    {
+        if (pool != null)
+            pool.shutdownNow();
+    }
+
+    @Test
+    public void keepsOrderOfSpilledEvents() throws Exception
+    {
+        //One worker, one lane and room for a single event, so the listener has to spill the events it fires
+        pool = Executors.newSingleThreadExecutor();
+        AsyncEventManager manager = new AsyncEventManager(new InterfacedEventManager(), pool, 1, 1);
+        CountDownLatch firstHandled = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        Thread blocked = new Thread(() -> manager.handle(new TestEvent(100)));
+        manager.register((EventListener) event ->
+        {
+            int id = ((TestEvent) event).id;
+            handled.add(id);
+            if (id == 0)
+            {
+                firstHandled.countDown();
+                await(release);
+                for (int i = 2; i <= 4; i++)
+                    manager.handle(new TestEvent(i));
+            }
+            else if (id == 1)
+            {
+                //Gives the blocked thread the chance to queue its event before the spilled ones are polled
+                join(blocked);
+            }
+            else if (id == 100)
+            {
+                done.countDown();
+            }
+        });
+
+        manager.handle(new TestEvent(0));
+        assertTrue(firstHandled.await(5, TimeUnit.SECONDS));
+        //Fills the queue
+        manager.handle(new TestEvent(1));
+
+        //Waits for space while the worker spills its events
+        blocked.start();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (blocked.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline)
+            Thread.sleep(1);
+        assertEquals(Thread.State.WAITING, blocked.getState());
+        release.countDown();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        blocked.join(5000);
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 100), handled);
+        assertEquals(0, manager.getDroppedEventCount());
+    }
+
+    @Test
+    public void handlesQueuedEventsOnShutdown() throws Exception
+    {
+        final int events = AsyncEventManager.BATCH_SIZE * 5;
+        AsyncEventManager manager = new AsyncEventManager(new InterfacedEventManager(), 1, events);
+        CountDownLatch release = new CountDownLatch(1);
+        manager.register((EventListener) event ->
+        {
+            await(release);
+            handled.add(((TestEvent) event).id);
+        });
+
+        for (int i = 0; i < events; i++)
+            manager.handle(new TestEvent(i));
+        manager.shutdown();
+        release.countDown();
+
+        assertTrue(manager.pool.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(events, handled.size());
+        for (int i = 0; i < events; i++)
+            assertEquals(i, (int) handled.get(i));
+    }
+
+    private static void await(CountDownLatch latch)
+    {
+        try
+        {
+            latch.await(5, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void join(Thread thread)
+    {
+        try
+        {
+            thread.join(200);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class TestEvent extends Event
+    {
+        private final int id;
+
+        private TestEvent(int id)
+        {
+            super(null, id);
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.requests;
+
+import net.dv8tion.jda.core.AccountType;
+import net.dv8tion.jda.core.JDA;
+import net.dv8tion.jda.core.JDABuilder;
+import net.dv8tion.jda.core.entities.TextChannel;
+import net.dv8tion.jda.core.entities.Webhook;
+import net.dv8tion.jda.core.entities.impl.WebhookImpl;
+import net.dv8tion.jda.core.events.message.guild.GuildMessageReceivedEvent;
+import net.dv8tion.jda.core.hooks.ListenerAdapter;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs JDA against the {@link FakeGateway} and the {@link FakeRestServer}.
+ */
+public class FakeApiTest
+{
+    private static final int GUILDS = 3;
+    private static final int MEMBERS = 20;
+
+    private FakeRestServer rest;
+    private FakeGateway gateway;
+    private JDA jda;
+
+    @After
+    public void teardown() throws Exception
+    {
+        if (jda != null)
+            jda.shutdown(false);
+        if (gateway != null)
+            gateway.stop(1000);
+        if (rest != null)
+            rest.shutdown();
+    }
+
+    @Test
+    public void replaysEventStream() throws Exception
+    {
+        CountDownLatch messages = start(1000, 0, 1000, false);
+        assertTrue("Not all messages were received", messages.await(30, TimeUnit.SECONDS));
+        assertEquals(GUILDS, jda.getGuilds().size());
+        assertEquals(GUILDS * (MEMBERS + 1), jda.getGuilds().stream().mapToInt(g -> g.getMembers().size()).sum());
+        assertEquals(1, gateway.getIdentifyCount());
+    }
+
+    @Test
+    public void replaysCompressedEventStream() throws Exception
+    {
+        CountDownLatch messages = start(1000, 0, 1000, true);
+        assertTrue("Not all messages were received", messages.await(30, TimeUnit.SECONDS));
+        assertEquals(GUILDS, jda.getGuilds().size());
+    }
+
+    @Test
+    public void resumesAfterDisconnect() throws Exception
+    {
+        CountDownLatch messages = start(200, 50, 1000, false);
+        Thread.sleep(1000);
+        gateway.disconnectAll(4000);
+        assertTrue("Not all messages were received", messages.await(30, TimeUnit.SECONDS));
+        assertEquals(1, gateway.getIdentifyCount());
+        assertEquals(1, gateway.getResumeCount());
+    }
+
+    @Test
+    public void respectsRouteRateLimits() throws Exception
+    {
+        start(0, 0, 2, false);
+        TextChannel channel = jda.getTextChannels().get(0);
+        final int requests = 6;
+        final long start = System.currentTimeMillis();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < requests; i++)
+            futures.add(channel.sendTyping().submitStage().toCompletableFuture());
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(30, TimeUnit.SECONDS);
+
+        //2 requests per second, the last pair can not be sent before the third window
+        assertTrue(System.currentTimeMillis() - start >= 1500);
+        assertEquals(requests, rest.getRequestCount() - rest.getRateLimitedCount() - 1);
+    }
+
+    @Test
+    public void retriesGlobalRateLimits() throws Exception
+    {
+        rest = new FakeRestServer(100, 1000, 2);
+        start(0, 0, 0, false);
+        TextChannel channel = jda.getTextChannels().get(0);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 6; i++)
+            futures.add(channel.sendTyping().submitStage().toCompletableFuture());
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(30, TimeUnit.SECONDS);
+
+        assertTrue(rest.getGloballyRateLimitedCount() > 0);
+    }
+
+    @Test
+    public void usesConfiguredRestEndpoint() throws Exception
+    {
+        start(0, 0, 1000, false);
+        TextChannel channel = jda.getTextChannels().get(0);
+        Webhook webhook = new WebhookImpl(channel, "42").setToken("token");
+        assertEquals(rest.getEndpoint() + "webhooks/42/token", webhook.getUrl());
+    }
+
+    //Starts the servers (unless the rest server was already created) and logs in, the latch counts down once per message
+    private CountDownLatch start(int messages, int eventsPerSecond, int routeLimit, boolean compress) throws Exception
+    {
+        if (rest == null)
+            rest = new FakeRestServer(routeLimit, 1000, 0);
+
+        List<JSONObject> guilds = new ArrayList<>();
+        for (int i = 0; i < GUILDS; i++)
+            guilds.add(FakeGateway.createGuild(i, MEMBERS));
+        gateway = new FakeGateway(guilds, FakeGateway.syntheticMessages(messages, GUILDS, MEMBERS), eventsPerSecond);
+        gateway.start();
+        //The server binds in the background, wait until it accepts connections
+        long deadline = System.currentTimeMillis() + 5000;
+        while (gateway.getPort() <= 0 && System.currentTimeMillis() < deadline)
+            Thread.sleep(10);
+
+        CountDownLatch latch = new CountDownLatch(messages);
+        jda = new JDABuilder(AccountType.BOT)
+                .setToken("fake-token")
+                .setRestEndpoint(rest.getEndpoint())
+                .setGatewayEndpoint(gateway.getEndpoint())
+                .setTransportCompressionEnabled(compress)
+                .addListener(new ListenerAdapter()
+                {
+                    @Override
+                    public void onGuildMessageReceived(GuildMessageReceivedEvent event)
+                    {
+                        latch.countDown();
+                    }
+                })
+                .buildBlocking();
+        return latch;
+    }
+}
@@ -0,0 +1,507 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.requests;
+
+import org.java_websocket.WebSocket;
+import org.java_websocket.handshake.ClientHandshake;
+import org.java_websocket.server.WebSocketServer;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.Deflater;
+
+/**
+ * Local stand-in for the Discord gateway, point JDA at it with
+ * {@link net.dv8tion.jda.core.JDABuilder#setGatewayEndpoint(String) JDABuilder.setGatewayEndpoint(getEndpoint())}.
+ *
+ * <p>A connection is greeted with HELLO and heartbeats are acknowledged. IDENTIFY is answered with a READY
+ * followed by the GUILD_CREATE of every guild, RESUME of a known session with RESUMED. Once a session is ready
+ * the event stream is replayed at the configured rate. A resume first sends the dispatches the client missed
+ * (those after the {@code seq} of its RESUME), then continues the stream where its last connection stopped.
+ * Sequence numbers are assigned by the gateway, so recorded streams can be replayed as they are.
+ * Connections that request {@code compress=zlib-stream} receive the stream compressed with one zlib context per connection.
+ *
+ * <p>Event streams are either recorded, a file with one gateway payload per line (see {@link #readRecording(Path)}),
+ * or {@link #syntheticMessages(int, int, int) synthetic}.
+ */
+public class FakeGateway extends WebSocketServer
+{
+    public static final long SELF_ID = 1;
+    public static final int HEARTBEAT_INTERVAL = 41250;
+
+    private final List<JSONObject> guilds;
+    private final List<JSONObject> events;
+    private final int eventsPerSecond;
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final Map<WebSocket, Connection> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger sessionCount = new AtomicInteger();
+    private final AtomicInteger identifies = new AtomicInteger();
+    private final AtomicInteger resumes = new AtomicInteger();
+
+    /**
+     * Creates the gateway on a free local port, it has to be {@link #start() started} before JDA connects.
+     *
+     * @param  guilds
+     *         The GUILD_CREATE data of every guild, see {@link #createGuild(int, int)}
+     * @param  events
+     *         The gateway payloads that are replayed once a session is ready
+     * @param  eventsPerSecond
+     *         The rate of the replay, 0 replays the stream as fast as possible
+     */
+    public FakeGateway(List<JSONObject> guilds, List<JSONObject> events, int eventsPerSecond)
+    {
+        super(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        this.guilds = guilds;
+        this.events = events;
+        this.eventsPerSecond = eventsPerSecond;
+    }
+
+    /**
+     * The gateway endpoint, only valid once the server was started.
+     *
+     * @return The websocket url
+     */
+    public String getEndpoint()
+    {
+        return "ws://" + getAddress().getHostString() + ":" + getPort();
+    }
+
+    public int getIdentifyCount()
+    {
+        return identifies.get();
+    }
+
+    public int getResumeCount()
+    {
+        return resumes.get();
+    }
+
+    /**
+     * Closes all open connections with the provided close code, used to test reconnecting and resuming.
+     *
+     * @param  code
+     *         The close code
+     */
+    public void disconnectAll(int code)
+    {
+        for (WebSocket socket : connections.keySet())
+            socket.close(code, "Closed by FakeGateway");
+    }
+
+    @Override
+    public void onStart() { }
+
+    @Override
+    public void onOpen(WebSocket socket, ClientHandshake handshake)
+    {
+        Connection connection = new Connection(socket, handshake.getResourceDescriptor().contains("compress=zlib-stream"));
+        connections.put(socket, connection);
+        connection.send(new JSONObject()
+                .put("op", 10)
+                .put("d", new JSONObject()
+                        .put("heartbeat_interval", HEARTBEAT_INTERVAL)
+                        .put("_trace", new JSONArray())));
+    }
+
+    @Override
+    public void onClose(WebSocket socket, int code, String reason, boolean remote)
+    {
+        Connection connection = connections.remove(socket);
+        if (connection != null)
+            connection.stop();
+    }
+
+    @Override
+    public void onMessage(WebSocket socket, String message)
+    {
+        Connection connection = connections.get(socket);
+        if (connection == null)
+            return;
+        JSONObject payload = new JSONObject(message);
+        switch (payload.getInt("op"))
+        {
+            case 1:
+                connection.send(new JSONObject().put("op", 11));
+                break;
+            case 2:
+                identifies.incrementAndGet();
+                identify(connection);
+                break;
+            case 6:
+                resume(connection, payload.getJSONObject("d"));
+                break;
+            default:
+                //presence and voice state updates are accepted silently
+        }
+    }
+
+    @Override
+    public void onError(WebSocket socket, Exception ex)
+    {
+        if (socket == null)
+            throw new IllegalStateException("FakeGateway failed", ex);
+    }
+
+    private void identify(Connection connection)
+    {
+        Session session = new Session("fake-session-" + sessionCount.incrementAndGet());
+        sessions.put(session.id, session);
+        connection.session = session;
+
+        JSONArray unavailableGuilds = new JSONArray();
+        for (JSONObject guild : guilds)
+            unavailableGuilds.put(new JSONObject().put("id", guild.get("id")).put("unavailable", true));
+        connection.dispatch("READY", new JSONObject()
+                .put("v", WebSocketClient.DISCORD_GATEWAY_VERSION)
+                .put("user", createSelfUser())
+                .put("guilds", unavailableGuilds)
+                .put("private_channels", new JSONArray())
+                .put("session_id", session.id)
+                .put("_trace", new JSONArray()));
+        for (JSONObject guild : guilds)
+            connection.dispatch("GUILD_CREATE", guild);
+        connection.replay();
+    }
+
+    private void resume(Connection connection, JSONObject resume)
+    {
+        Session session = sessions.get(resume.getString("session_id"));
+        if (session == null)
+        {
+            //Invalid session, the client has to identify again
+            connection.send(new JSONObject().put("op", 9).put("d", false));
+            return;
+        }
+        resumes.incrementAndGet();
+        connection.session = session;
+        //Like Discord, dispatches the client did not receive before it disconnected are sent again before RESUMED
+        final int sequence = resume.getInt("seq");
+        List<JSONObject> missed;
+        synchronized (session)
+        {
+            missed = new ArrayList<>(session.dispatched.subList(Math.min(sequence, session.dispatched.size()), session.dispatched.size()));
+        }
+        missed.forEach(connection::send);
+        connection.dispatch("RESUMED", new JSONObject().put("_trace", new JSONArray()));
+        connection.replay();
+    }
+
+    /**
+     * Reads a recorded event stream, one gateway payload per line.
+     * <br>Only dispatches are kept, their sequence numbers are replaced when they are replayed.
+     *
+     * @param  recording
+     *         The file to read
+     *
+     * @throws IOException
+     *         If the file could not be read
+     *
+     * @return The dispatch payloads
+     */
+    public static List<JSONObject> readRecording(Path recording) throws IOException
+    {
+        List<JSONObject> events = new ArrayList<>();
+        for (String line : Files.readAllLines(recording, StandardCharsets.UTF_8))
+        {
+            if (line.isEmpty())
+                continue;
+            JSONObject payload = new JSONObject(line);
+            if (payload.getInt("op") == 0)
+                events.add(payload);
+        }
+        return events;
+    }
+
+    /**
+     * Generates MESSAGE_CREATE dispatches from random members into the text channels of guilds created with
+     * {@link #createGuild(int, int)}.
+     *
+     * @param  count
+     *         The amount of messages
+     * @param  guildCount
+     *         The amount of guilds
+     * @param  membersPerGuild
+     *         The amount of members per guild
+     *
+     * @return The dispatch payloads
+     */
+    public static List<JSONObject> syntheticMessages(int count, int guildCount, int membersPerGuild)
+    {
+        List<JSONObject> events = new ArrayList<>(count);
+        Random random = new Random(0);
+        for (int i = 0; i < count; i++)
+        {
+            int guild = random.nextInt(guildCount);
+            long author = getFirstMember(guild, membersPerGuild) + random.nextInt(membersPerGuild);
+            events.add(new JSONObject()
+                    .put("op", 0)
+                    .put("t", "MESSAGE_CREATE")
+                    .put("d", new JSONObject()
+                            .put("id", Long.toString(400000000000000000L + i))
+                            .put("type", 0)
+                            .put("channel_id", Long.toString(getGuildId(guild)))
+                            .put("author", createUser(author))
+                            .put("content", "Message number " + i)
+                            .put("timestamp", "2017-09-01T12:00:00.000000+00:00")
+                            .put("edited_timestamp", JSONObject.NULL)
+                            .put("tts", false)
+                            .put("mention_everyone", false)
+                            .put("mentions", new JSONArray())
+                            .put("mention_roles", new JSONArray())
+                            .put("attachments", new JSONArray())
+                            .put("embeds", new JSONArray())
+                            .put("pinned", false)));
+        }
+        return events;
+    }
+
+    /**
+     * Creates the GUILD_CREATE data of a guild with an @everyone role, a text channel that has the id of the guild
+     * and the provided amount of online members besides the bot.
+     *
+     * @param  index
+     *         The index of the guild, used to derive its ids
+     * @param  members
+     *         The amount of members
+     *
+     * @return The guild json
+     */
+    public static JSONObject createGuild(int index, int members)
+    {
+        final long guildId = getGuildId(index);
+        final long firstMember = getFirstMember(index, members);
+        JSONArray memberArray = new JSONArray();
+        JSONArray presences = new JSONArray();
+        for (int i = -1; i < members; i++)
+        {
+            long userId = i < 0 ? SELF_ID : firstMember + i;
+            memberArray.put(new JSONObject()
+                    .put("user", createUser(userId))
+                    .put("roles", new JSONArray())
+                    .put("joined_at", "2017-01-01T00:00:00.000000+00:00")
+                    .put("mute", false)
+                    .put("deaf", false));
+            presences.put(new JSONObject()
+                    .put("user", new JSONObject().put("id", Long.toString(userId)))
+                    .put("status", "online")
+                    .put("game", JSONObject.NULL));
+        }
+
+        return new JSONObject()
+                .put("id", Long.toString(guildId))
+                .put("name", "Guild " + index)
+                .put("icon", JSONObject.NULL)
+                .put("splash", JSONObject.NULL)
+                .put("region", "us-central")
+                .put("owner_id", Long.toString(SELF_ID))
+                .put("afk_timeout", 300)
+                .put("afk_channel_id", JSONObject.NULL)
+                .put("verification_level", 0)
+                .put("default_message_notifications", 0)
+                .put("mfa_level", 0)
+                .put("member_count", members + 1)
+                .put("roles", new JSONArray().put(new JSONObject()
+                        .put("id", Long.toString(guildId))
+                        .put("name", "@everyone")
+                        .put("position", 0)
+                        .put("permissions", 104324161)
+                        .put("managed", false)
+                        .put("hoist", false)
+                        .put("mentionable", false)
+                        .put("color", 0)))
+                .put("emojis", new JSONArray())
+                .put("members", memberArray)
+                .put("presences", presences)
+                .put("channels", new JSONArray().put(new JSONObject()
+                        .put("id", Long.toString(guildId))
+                        .put("type", 0)
+                        .put("name", "general")
+                        .put("topic", JSONObject.NULL)
+                        .put("position", 0)
+                        .put("permission_overwrites", new JSONArray())))
+                .put("voice_states", new JSONArray());
+    }
+
+    /**
+     * The bot user of the gateway, also returned by the {@link FakeRestServer} for {@code GET users/@me}.
+     *
+     * @return The user json
+     */
+    public static JSONObject createSelfUser()
+    {
+        return createUser(SELF_ID)
+                .put("bot", true)
+                .put("verified", true)
+                .put("mfa_enabled", false);
+    }
+
+    private static JSONObject createUser(long id)
+    {
+        return new JSONObject()
+                .put("id", Long.toString(id))
+                .put("username", "User " + id)
+                .put("discriminator", String.format("%04d", id % 10000))
+                .put("avatar", JSONObject.NULL);
+    }
+
+    private static long getGuildId(int index)
+    {
+        return 81384788765712384L + index * 16L;
+    }
+
+    private static long getFirstMember(int index, int members)
+    {
+        return 100000000000000000L + (long) index * members;
+    }
+
+    private static class Session
+    {
+        private final String id;
+        //Every dispatch of the session, the sequence of a dispatch is its index + 1
+        private final List<JSONObject> dispatched = new ArrayList<>();
+        //Position in the event stream, kept across resumes
+        private int position;
+
+        private Session(String id)
+        {
+            this.id = id;
+        }
+    }
+
+    private class Connection
+    {
+        private final WebSocket socket;
+        private final Deflater deflater;
+        private final byte[] buffer = new byte[8192];
+        private volatile Session session;
+        private volatile Thread replay;
+        private boolean closed;
+
+        private Connection(WebSocket socket, boolean compress)
+        {
+            this.socket = socket;
+            this.deflater = compress ? new Deflater() : null;
+        }
+
+        //Returns false if the connection was closed, the dispatch is then not part of the session
+        private synchronized boolean dispatch(String type, JSONObject data)
+        {
+            if (closed || !socket.isOpen())
+                return false;
+            final Session session = this.session;
+            JSONObject payload;
+            synchronized (session)
+            {
+                payload = new JSONObject()
+                        .put("op", 0)
+                        .put("t", type)
+                        .put("s", session.dispatched.size() + 1)
+                        .put("d", data);
+                session.dispatched.add(payload);
+            }
+            send(payload);
+            return true;
+        }
+
+        private synchronized void send(JSONObject payload)
+        {
+            if (closed || !socket.isOpen())
+                return;
+            if (deflater == null)
+            {
+                socket.send(payload.toString());
+                return;
+            }
+            deflater.setInput(payload.toString().getBytes(StandardCharsets.UTF_8));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            int deflated;
+            do
+            {
+                deflated = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                out.write(buffer, 0, deflated);
+            }
+            while (deflated == buffer.length);
+            socket.send(out.toByteArray());
+        }
+
+        private void replay()
+        {
+            final Session session = this.session;
+            Thread thread = new Thread(() ->
+            {
+                final long interval = eventsPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / eventsPerSecond : 0;
+                long next = System.nanoTime();
+                while (socket.isOpen() && !Thread.currentThread().isInterrupted())
+                {
+                    JSONObject event;
+                    synchronized (session)
+                    {
+                        if (session.position >= events.size())
+                            return;
+                        event = events.get(session.position);
+                    }
+                    //Events are only consumed once they were dispatched on an open connection
+                    if (!dispatch(event.getString("t"), event.getJSONObject("d")))
+                        return;
+                    synchronized (session)
+                    {
+                        session.position++;
+                    }
+                    if (interval > 0)
+                    {
+                        next += interval;
+                        long wait;
+                        while ((wait = next - System.nanoTime()) > 0 && !Thread.currentThread().isInterrupted())
+                            LockSupport.parkNanos(wait);
+                    }
+                }
+            }, "FakeGateway Replay " + session.id);
+            thread.setDaemon(true);
+            replay = thread;
+            thread.start();
+        }
+
+        private void stop()
+        {
+            Thread thread = replay;
+            if (thread != null)
+                thread.interrupt();
+            synchronized (this)
+            {
+                closed = true;
+                if (deflater != null)
+                    deflater.end();
+            }
+        }
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ *     Copyright 2015-2017 Austin Keener & Michael Ritter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.dv8tion.jda.core.requests;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for the Discord REST api, point JDA at it with
+ * {@link net.dv8tion.jda.core.JDABuilder#setRestEndpoint(String) JDABuilder.setRestEndpoint(getEndpoint())}.
+ *
+ * <p>Every route (the path without its query) is its own bucket that allows {@code routeLimit} requests per
+ * {@code resetMillis}. Responses carry the {@code X-RateLimit-Limit}, {@code X-RateLimit-Remaining},
+ * {@code X-RateLimit-Reset} and {@code Date} headers Discord sends. Requests that exceed a bucket are answered with a
+ * 429 and a {@code Retry-After} header. If a global limit is set, requests beyond it in the same second are answered with
+ * a global 429 ({@code X-RateLimit-Global: true}) regardless of their bucket.
+ *
+ * <p>Responses that are not registered with {@link #setResponse(String, String, int, String)} are {@code 200 {}},
+ * except {@code GET users/@me} which answers with the bot user of the {@link FakeGateway}.
+ */
+public class FakeRestServer
+{
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.RFC_1123_DATE_TIME;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final int routeLimit;
+    private final long resetMillis;
+    private final int globalLimit;
+
+    private final Map<String, Bucket> buckets = new HashMap<>();
+    private final Map<String, Response> responses = new HashMap<>();
+    private long globalWindow;
+    private int globalCount;
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger rateLimited = new AtomicInteger();
+    private final AtomicInteger globallyRateLimited = new AtomicInteger();
+
+    /**
+     * Starts a server on a free local port.
+     *
+     * @param  routeLimit
+     *         The amount of requests every route allows per window
+     * @param  resetMillis
+     *         The length of a route window in milliseconds
+     * @param  globalLimit
+     *         The amount of requests allowed per second over all routes, 0 for no global limit
+     *
+     * @throws IOException
+     *         If the server could not be started
+     */
+    public FakeRestServer(int routeLimit, long resetMillis, int globalLimit) throws IOException
+    {
+        this.routeLimit = routeLimit;
+        this.resetMillis = resetMillis;
+        this.globalLimit = globalLimit;
+
+        setResponse("GET", "users/@me", 200, FakeGateway.createSelfUser().toString());
+
+        executor = Executors.newCachedThreadPool(r ->
+        {
+            Thread t = new Thread(r, "FakeRestServer");
+            t.setDaemon(true);
+            return t;
+        });
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/api/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * The REST endpoint of this server.
+     *
+     * @return The base url, ending with a slash
+     */
+    public String getEndpoint()
+    {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/api/";
+    }
+
+    /**
+     * Registers the response of a route.
+     *
+     * @param  method
+     *         The http method
+     * @param  path
+     *         The path relative to the endpoint, without a query
+     * @param  status
+     *         The status code
+     * @param  body
+     *         The json body
+     */
+    public synchronized void setResponse(String method, String path, int status, String body)
+    {
+        responses.put(method + " " + path, new Response(status, body));
+    }
+
+    /**
+     * The amount of requests that were received, including rate limited ones.
+     *
+     * @return The request count
+     */
+    public int getRequestCount()
+    {
+        return requests.get();
+    }
+
+    /**
+     * The amount of requests that were answered with a 429 of their route.
+     *
+     * @return The count of route 429s
+     */
+    public int getRateLimitedCount()
+    {
+        return rateLimited.get();
+    }
+
+    /**
+     * The amount of requests that were answered with a global 429.
+     *
+     * @return The count of global 429s
+     */
+    public int getGloballyRateLimitedCount()
+    {
+        return globallyRateLimited.get();
+    }
+
+    public void shutdown()
+    {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException
+    {
+        requests.incrementAndGet();
+        try (InputStream in = exchange.getRequestBody())
+        {
+            while (in.read() != -1);
+        }
+
+        final String path = exchange.getRequestURI().getPath().substring("/api/".length());
+        final long now = System.currentTimeMillis();
+        Headers headers = exchange.getResponseHeaders();
+        headers.set("Content-Type", "application/json");
+        headers.set("Date", DATE_FORMAT.format(ZonedDateTime.now(ZoneOffset.UTC)));
+
+        Response response;
+        synchronized (this)
+        {
+            if (globalLimit > 0)
+            {
+                if (now - globalWindow >= 1000)
+                {
+                    globalWindow = now;
+                    globalCount = 0;
+                }
+                if (++globalCount > globalLimit)
+                {
+                    globallyRateLimited.incrementAndGet();
+                    long retryAfter = globalWindow + 1000 - now;
+                    headers.set("X-RateLimit-Global", "true");
+                    headers.set("Retry-After", Long.toString(retryAfter));
+                    send(exchange, 429, rateLimitBody(retryAfter, true));
+                    return;
+                }
+            }
+
+            Bucket bucket = buckets.computeIfAbsent(path, p -> new Bucket());
+            if (now >= bucket.resetAt)
+            {
+                bucket.resetAt = now + resetMillis;
+                bucket.remaining = routeLimit;
+            }
+            headers.set("X-RateLimit-Limit", Integer.toString(routeLimit));
+            //Discord reports the reset in whole epoch seconds, round up so clients never retry early
+            headers.set("X-RateLimit-Reset", Long.toString((bucket.resetAt + 999) / 1000));
+            if (bucket.remaining == 0)
+            {
+                rateLimited.incrementAndGet();
+                long retryAfter = bucket.resetAt - now;
+                headers.set("X-RateLimit-Remaining", "0");
+                headers.set("Retry-After", Long.toString(retryAfter));
+                send(exchange, 429, rateLimitBody(retryAfter, false));
+                return;
+            }
+            headers.set("X-RateLimit-Remaining", Integer.toString(--bucket.remaining));
+            response = responses.get(exchange.getRequestMethod() + " " + path);
+        }
+
+        if (response == null)
+            send(exchange, 200, "{}");
+        else
+            send(exchange, response.status, response.body);
+    }
+
+    private static String rateLimitBody(long retryAfter, boolean global)
+    {
+        return new JSONObject()
+                .put("message", "You are being rate limited.")
+                .put("retry_after", retryAfter)
+                .put("global", global)
+                .toString();
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException
+    {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody())
+        {
+            out.write(bytes);
+        }
+    }
+
+    private static class Bucket
+    {
+        private long resetAt;
+        private int remaining;
+    }
+
+    private static class Response
+    {
+        private final int status;
+        private final String body;
+
+        private Response(int status, String body)
+        {
+            this.status = status;
+            this.body = body;
+        }
+    }
+}